@@ -0,0 +1,36 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.api;
+
+/**
+ * A {@link Directive} that transforms each row in place, independently of the other rows and
+ * without using the {@link ExecutorContext}.
+ *
+ * <p>Executing the directive on a list of rows must be the same as calling {@link #transform(Row)}
+ * on each of the rows, and transforming a row never fails. This allows recipe optimizers to fuse
+ * consecutive fusible directives into a single pass over the rows, and to skip them when the columns
+ * they transform are discarded.</p>
+ */
+public interface FusibleDirective extends Directive {
+
+  /**
+   * Transforms a single row in place.
+   *
+   * @param row to be transformed.
+   */
+  void transform(Row row);
+}
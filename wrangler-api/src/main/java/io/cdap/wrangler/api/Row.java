@@ -20,8 +20,10 @@ import io.cdap.wrangler.api.annotations.PublicEvolving;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import javax.annotation.Nullable;
 
 /**
  * Row defines the schema and data on which the wrangler will operate upon.
@@ -36,9 +38,24 @@ public final class Row implements Serializable {
   // Values held by the row.
   private List<Object> values = new ArrayList<>();
 
+  // Optional layout indexing the columns, shared with other rows having the same columns.
+  private transient RowLayout layout;
+
   public Row() {
   }
 
+  /**
+   * Initializes a row with the columns of the layout and null values. Column lookups on the row,
+   * and on rows copied from it, use the hashed index of the layout instead of scanning the columns.
+   *
+   * @param layout of the columns to set in the row.
+   */
+  public Row(RowLayout layout) {
+    this.columns = new ArrayList<>(layout.getColumns());
+    this.values = new ArrayList<>(Collections.nCopies(layout.width(), null));
+    this.layout = layout;
+  }
+
   /**
    * Makes a copy of the row.
    *
@@ -47,6 +64,7 @@ public final class Row implements Serializable {
   public Row(Row row) {
     this.values = new ArrayList<>(row.values);
     this.columns = new ArrayList<>(row.columns);
+    this.layout = row.layout;
   }
 
   /**
@@ -90,6 +108,9 @@ public final class Row implements Serializable {
    */
   public void setColumn(int idx, String name) {
     columns.set(idx, name);
+    if (layout != null) {
+      layout = layout.rename(idx, name);
+    }
   }
 
   /**
@@ -138,6 +159,9 @@ public final class Row implements Serializable {
   public Row add(String name, Object value) {
     columns.add(name);
     values.add(value);
+    if (layout != null) {
+      layout = layout.add(name);
+    }
     return this;
   }
 
@@ -149,6 +173,9 @@ public final class Row implements Serializable {
   public Row remove(int idx) {
     columns.remove(idx);
     values.remove(idx);
+    if (layout != null) {
+      layout = layout.remove(idx);
+    }
     return this;
   }
 
@@ -171,6 +198,9 @@ public final class Row implements Serializable {
    * @return -1 if not present, else the index at which the column is found.
    */
   public int find(String col, int firstIdx) {
+    if (layout != null) {
+      return layout.find(col, firstIdx);
+    }
     for (int i = firstIdx, columnsSize = columns.size(); i < columnsSize; i++) {
       String name = columns.get(i);
       if (col.equalsIgnoreCase(name)) {
@@ -180,6 +210,14 @@ public final class Row implements Serializable {
     return -1;
   }
 
+  /**
+   * @return layout of the columns of the row, or {@code null} if the row is not using a layout.
+   */
+  @Nullable
+  public RowLayout getLayout() {
+    return layout;
+  }
+
   /**
    * @return  width of the row.
    */
@@ -238,6 +276,7 @@ public final class Row implements Serializable {
       if (index < columns.size() && index < values.size()) {
         columns.add(index, name);
         values.add(index, value);
+        layout = null;
       }
     }
   }
@@ -0,0 +1,275 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.api;
+
+import io.cdap.wrangler.api.annotations.PublicEvolving;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/**
+ * An immutable layout of the columns of a {@link Row}, indexing the case insensitive column
+ * names for constant time lookups.
+ *
+ * <p>A layout is shared by all the rows that have the same columns. When a column is added, renamed
+ * or removed from a row, the row moves to the layout derived from its current one. Derived layouts
+ * are cached in their parent, so rows created from the same input schema and transformed by the
+ * same directives keep sharing layouts. Both the number of layouts cached in a single layout and the total
+ * number of columns of the layouts derived from the same root are bounded. Once a bound is reached, no layout
+ * is derived and rows fall back to scanning their columns.</p>
+ */
+@PublicEvolving
+public final class RowLayout {
+  // Maximum number of layouts cached per kind of transition from a layout.
+  private static final int MAX_TRANSITIONS = 256;
+  // Maximum total number of columns of the layouts derived from the same layout created by root() or of().
+  private static final int MAX_DERIVED_COLUMNS = 1 << 18;
+
+  private final List<String> columns;
+  // Case folded column name to the first index of the column.
+  private final Map<String, Integer> indexes;
+  private final boolean hasDuplicates;
+  // Total number of columns of the layouts derived so far, shared by all the layouts derived from the same root.
+  private final AtomicInteger derivedColumns;
+
+  private final ConcurrentMap<String, RowLayout> added = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Integer, RowLayout> removed = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Rename, RowLayout> renamed = new ConcurrentHashMap<>();
+  private final ConcurrentMap<List<String>, RowLayout> derived = new ConcurrentHashMap<>();
+
+  private RowLayout(List<String> columns, AtomicInteger derivedColumns) {
+    this.columns = Collections.unmodifiableList(columns);
+    this.derivedColumns = derivedColumns;
+    this.indexes = new HashMap<>(columns.size() * 2);
+    boolean duplicates = false;
+    for (int i = 0; i < columns.size(); i++) {
+      if (indexes.putIfAbsent(fold(columns.get(i)), i) != null) {
+        duplicates = true;
+      }
+    }
+    this.hasDuplicates = duplicates;
+  }
+
+  /**
+   * @return a new layout without any columns, to be used as the starting point of rows.
+   */
+  public static RowLayout root() {
+    return new RowLayout(new ArrayList<>(), new AtomicInteger());
+  }
+
+  /**
+   * Creates a layout for the given columns.
+   *
+   * @param columns names of the columns, in order.
+   * @return a new layout for the columns.
+   */
+  public static RowLayout of(List<String> columns) {
+    return new RowLayout(new ArrayList<>(columns), new AtomicInteger());
+  }
+
+  /**
+   * @return unmodifiable list of column names in this layout.
+   */
+  public List<String> getColumns() {
+    return columns;
+  }
+
+  /**
+   * @return number of columns in this layout.
+   */
+  public int width() {
+    return columns.size();
+  }
+
+  /**
+   * Finds a column index based on the name of the column. The col name is case insensitive.
+   *
+   * @param col to be searched within the layout.
+   * @param firstIdx first index to check
+   * @return -1 if not present, else the index at which the column is found.
+   */
+  public int find(String col, int firstIdx) {
+    Integer idx = indexes.get(fold(col));
+    if (idx == null) {
+      return -1;
+    }
+    if (idx >= firstIdx) {
+      return idx;
+    }
+    if (!hasDuplicates) {
+      return -1;
+    }
+    for (int i = firstIdx, size = columns.size(); i < size; i++) {
+      if (col.equalsIgnoreCase(columns.get(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns a layout with the given columns, derived from this layout. Layouts derived for the same columns
+   * from the same layout are shared, unless the bounds on the derived layouts are reached.
+   *
+   * @param columns names of the columns, in order.
+   * @return this layout if it has the same columns, else a layout for the columns.
+   */
+  public RowLayout derive(List<String> columns) {
+    if (columns.equals(this.columns)) {
+      return this;
+    }
+    RowLayout layout = derived.get(columns);
+    if (layout == null) {
+      List<String> copy = new ArrayList<>(columns);
+      if (!reserve(derived, copy.size())) {
+        return of(copy);
+      }
+      layout = cache(derived, Collections.unmodifiableList(copy), new RowLayout(copy, derivedColumns));
+    }
+    return layout;
+  }
+
+  /**
+   * @return the layout with the column appended, or {@code null} if the layouts are no longer derived.
+   */
+  @Nullable
+  RowLayout add(String name) {
+    RowLayout layout = added.get(name);
+    if (layout == null && reserve(added, columns.size() + 1)) {
+      List<String> derived = new ArrayList<>(columns.size() + 1);
+      derived.addAll(columns);
+      derived.add(name);
+      layout = cache(added, name, new RowLayout(derived, derivedColumns));
+    }
+    return layout;
+  }
+
+  /**
+   * @return the layout with the column at idx removed, or {@code null} if the layouts are no longer derived.
+   */
+  @Nullable
+  RowLayout remove(int idx) {
+    RowLayout layout = removed.get(idx);
+    if (layout == null && reserve(removed, columns.size() - 1)) {
+      List<String> derived = new ArrayList<>(columns);
+      derived.remove(idx);
+      layout = cache(removed, idx, new RowLayout(derived, derivedColumns));
+    }
+    return layout;
+  }
+
+  /**
+   * @return the layout with the column at idx renamed, or {@code null} if the layouts are no longer derived.
+   */
+  @Nullable
+  RowLayout rename(int idx, String name) {
+    if (name.equals(columns.get(idx))) {
+      return this;
+    }
+    Rename key = new Rename(idx, name);
+    RowLayout layout = renamed.get(key);
+    if (layout == null && reserve(renamed, columns.size())) {
+      List<String> derived = new ArrayList<>(columns);
+      derived.set(idx, name);
+      layout = cache(renamed, key, new RowLayout(derived, derivedColumns));
+    }
+    return layout;
+  }
+
+  /**
+   * Reserves the columns of a layout to derive, returning {@code false} if either the cache or the total number
+   * of columns of the derived layouts is full.
+   */
+  private boolean reserve(ConcurrentMap<?, RowLayout> cache, int width) {
+    if (cache.size() >= MAX_TRANSITIONS) {
+      return false;
+    }
+    // Columns reserved for a layout that loses the race to be cached are not released, which is conservative.
+    if (derivedColumns.addAndGet(width) > MAX_DERIVED_COLUMNS) {
+      derivedColumns.addAndGet(-width);
+      return false;
+    }
+    return true;
+  }
+
+  private static <K> RowLayout cache(ConcurrentMap<K, RowLayout> cache, K key, RowLayout layout) {
+    RowLayout existing = cache.putIfAbsent(key, layout);
+    return existing == null ? layout : existing;
+  }
+
+  /**
+   * Folds the case of a column name such that two names are equal after folding if and only if
+   * they are equal according to {@link String#equalsIgnoreCase(String)}.
+   */
+  private static String fold(String name) {
+    int length = name.length();
+    int i = 0;
+    while (i < length) {
+      char c = name.charAt(i);
+      if (Character.toLowerCase(Character.toUpperCase(c)) != c) {
+        break;
+      }
+      i++;
+    }
+    if (i == length) {
+      return name;
+    }
+    char[] chars = name.toCharArray();
+    for (; i < length; i++) {
+      chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Key for the layouts derived by renaming a column.
+   */
+  private static final class Rename {
+    private final int idx;
+    private final String name;
+
+    Rename(int idx, String name) {
+      this.idx = idx;
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Rename that = (Rename) o;
+      return idx == that.idx && name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(idx, name);
+    }
+  }
+}
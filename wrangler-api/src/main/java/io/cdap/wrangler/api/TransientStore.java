@@ -61,4 +61,14 @@ public interface TransientStore extends Serializable {
    * @return list of all the variables.
    */
   Set<String> getVariables();
+
+  /**
+   * Checks if a variable is set in any of the scopes.
+   *
+   * @param name of the variable to be checked.
+   * @return true if the variable is set, false otherwise.
+   */
+  default boolean contains(String name) {
+    return getVariables().contains(name);
+  }
 }
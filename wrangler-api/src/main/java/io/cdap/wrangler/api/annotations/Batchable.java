@@ -0,0 +1,41 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.api.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a directive as safe to be executed on a batch of rows at a time.
+ *
+ * <p>A directive annotated with {@code Batchable} guarantees that executing it on a list of rows
+ * produces the same result as executing it on each row separately and concatenating the results.
+ * This means the directive does not depend on the per-row reset of the
+ * {@link io.cdap.wrangler.api.TransientVariableScope#LOCAL} scope and does not carry state across
+ * rows. Recipes made only of batchable directives can be executed a chunk at a time.</p>
+ */
+@Documented
+@Inherited
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@PublicEvolving
+public @interface Batchable {
+}
@@ -0,0 +1,64 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.api.columnar;
+
+import io.cdap.wrangler.api.annotations.PublicEvolving;
+
+import java.util.BitSet;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ColumnVector} of {@link Boolean} values.
+ */
+@PublicEvolving
+public final class BooleanVector extends ColumnVector {
+  private final boolean[] values;
+  private final BitSet nulls;
+
+  /**
+   * @param values of the vector, the values at null indexes are ignored.
+   * @param nulls indexes of the null values, or null if there are no nulls.
+   */
+  public BooleanVector(boolean[] values, @Nullable BitSet nulls) {
+    super(values.length);
+    this.values = values;
+    this.nulls = nulls == null || nulls.isEmpty() ? null : nulls;
+  }
+
+  /**
+   * @return the primitive value at idx, undefined if the value is null.
+   */
+  public boolean getBoolean(int idx) {
+    return values[idx];
+  }
+
+  @Override
+  public boolean isNull(int idx) {
+    return isNull(nulls, idx);
+  }
+
+  @Override
+  public boolean hasNulls() {
+    return nulls != null;
+  }
+
+  @Nullable
+  @Override
+  public Object get(int idx) {
+    return isNull(idx) ? null : Boolean.valueOf(values[idx]);
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.api.columnar;
+
+import io.cdap.wrangler.api.DirectiveExecutionException;
+import io.cdap.wrangler.api.annotations.PublicEvolving;
+
+import java.util.BitSet;
+import javax.annotation.Nullable;
+
+/**
+ * A column of values of a {@link RowBatch}.
+ *
+ * <p>Values of the same type are stored in primitive arrays or dictionary encoded, with nulls tracked
+ * separately. Values returned by {@link #get(int)} have the same type as the values the vector was
+ * created from. Vectors are immutable, transformations create new vectors.</p>
+ */
+@PublicEvolving
+public abstract class ColumnVector {
+  protected final int size;
+
+  protected ColumnVector(int size) {
+    this.size = size;
+  }
+
+  /**
+   * @return number of values in the vector.
+   */
+  public final int size() {
+    return size;
+  }
+
+  /**
+   * @param idx of the value.
+   * @return true if the value at idx is null.
+   */
+  public abstract boolean isNull(int idx);
+
+  /**
+   * @param idx of the value.
+   * @return value at idx, boxed to the type the vector was created from.
+   */
+  @Nullable
+  public abstract Object get(int idx);
+
+  /**
+   * @return true if any of the values is null.
+   */
+  public boolean hasNulls() {
+    for (int i = 0; i < size; i++) {
+      if (isNull(i)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Creates a new vector by applying the mapper to each value of this vector. The mapper must
+   * be a pure function, as vectors may apply it once per distinct value instead of once per value.
+   *
+   * @param mapper to apply to the values.
+   * @return a new vector with the mapped values.
+   * @throws DirectiveExecutionException thrown by the mapper.
+   */
+  public ColumnVector map(Mapper mapper) throws DirectiveExecutionException {
+    Object[] values = new Object[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = mapper.apply(get(i));
+    }
+    return of(values);
+  }
+
+  /**
+   * Creates a vector with the most compact representation for the values. Values that are all
+   * {@link Long} or {@link Integer} are stored as longs, all {@link Double} or {@link Float} as doubles,
+   * all {@link Boolean} as booleans and all {@link String} are dictionary encoded.
+   *
+   * @param values to store in the vector.
+   * @return a new vector holding the values.
+   */
+  public static ColumnVector of(Object[] values) {
+    Class<?> type = null;
+    BitSet nulls = null;
+    for (int i = 0; i < values.length; i++) {
+      Object value = values[i];
+      if (value == null) {
+        if (nulls == null) {
+          nulls = new BitSet(values.length);
+        }
+        nulls.set(i);
+      } else if (type == null) {
+        type = value.getClass();
+      } else if (type != value.getClass()) {
+        return new ObjectVector(values.clone());
+      }
+    }
+
+    if (type == Long.class || type == Integer.class) {
+      long[] longs = new long[values.length];
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          longs[i] = ((Number) values[i]).longValue();
+        }
+      }
+      return new LongVector(longs, nulls, type == Integer.class);
+    }
+    if (type == Double.class || type == Float.class) {
+      double[] doubles = new double[values.length];
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          doubles[i] = ((Number) values[i]).doubleValue();
+        }
+      }
+      return new DoubleVector(doubles, nulls, type == Float.class);
+    }
+    if (type == Boolean.class) {
+      boolean[] booleans = new boolean[values.length];
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          booleans[i] = (Boolean) values[i];
+        }
+      }
+      return new BooleanVector(booleans, nulls);
+    }
+    if (type == String.class) {
+      StringVector.Builder builder = new StringVector.Builder(values.length);
+      for (Object value : values) {
+        builder.add((String) value);
+      }
+      return builder.build();
+    }
+    return new ObjectVector(values.clone());
+  }
+
+  static boolean isNull(@Nullable BitSet nulls, int idx) {
+    return nulls != null && nulls.get(idx);
+  }
+
+  static void checkSize(int size, int length) {
+    if (size != length) {
+      throw new IllegalArgumentException(
+        String.format("Vector of %d values cannot be used in a batch of %d rows.", length, size));
+    }
+  }
+
+  /**
+   * Function applied to the values of a vector.
+   */
+  public interface Mapper {
+    /**
+     * @param value to be mapped, can be null.
+     * @return mapped value.
+     */
+    @Nullable
+    Object apply(@Nullable Object value) throws DirectiveExecutionException;
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.api.columnar;
+
+import io.cdap.wrangler.api.Directive;
+import io.cdap.wrangler.api.DirectiveExecutionException;
+import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.annotations.Batchable;
+import io.cdap.wrangler.api.annotations.PublicEvolving;
+
+/**
+ * Implemented by {@link Directive}s that can also be executed on a {@link RowBatch}.
+ *
+ * <p>The columnar execution is only used for directives that are {@link Batchable}, and must produce
+ * the same rows as executing the directive on the rows would. A directive that cannot handle a particular
+ * batch, for instance because of the types of its values, returns {@code false} without modifying the
+ * batch, and its rows are passed to {@code Directive#execute} instead.</p>
+ */
+@PublicEvolving
+public interface ColumnarDirective {
+
+  /**
+   * Executes the directive on a batch, modifying the batch in place.
+   *
+   * @param batch of rows to be transformed.
+   * @param context of the pipeline.
+   * @return true if the batch was transformed, false if the batch was left unchanged and has to be
+   * executed row by row.
+   * @throws DirectiveExecutionException if the directive fails on any of the rows.
+   */
+  boolean execute(RowBatch batch, ExecutorContext context) throws DirectiveExecutionException;
+}
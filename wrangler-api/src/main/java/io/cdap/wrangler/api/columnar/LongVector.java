@@ -0,0 +1,81 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.api.columnar;
+
+import io.cdap.wrangler.api.annotations.PublicEvolving;
+
+import java.util.BitSet;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ColumnVector} of {@link Long} or {@link Integer} values stored as longs.
+ */
+@PublicEvolving
+public final class LongVector extends ColumnVector {
+  private final long[] values;
+  private final BitSet nulls;
+  private final boolean ints;
+
+  /**
+   * @param values of the vector, the values at null indexes are ignored.
+   * @param nulls indexes of the null values, or null if there are no nulls.
+   * @param ints true if the values are returned as {@link Integer}, false for {@link Long}.
+   */
+  public LongVector(long[] values, @Nullable BitSet nulls, boolean ints) {
+    super(values.length);
+    this.values = values;
+    this.nulls = nulls == null || nulls.isEmpty() ? null : nulls;
+    this.ints = ints;
+  }
+
+  /**
+   * @return the primitive value at idx, undefined if the value is null.
+   */
+  public long getLong(int idx) {
+    return values[idx];
+  }
+
+  /**
+   * @return true if the values are {@link Integer}s.
+   */
+  public boolean isInts() {
+    return ints;
+  }
+
+  @Override
+  public boolean isNull(int idx) {
+    return isNull(nulls, idx);
+  }
+
+  @Override
+  public boolean hasNulls() {
+    return nulls != null;
+  }
+
+  @Nullable
+  @Override
+  public Object get(int idx) {
+    if (isNull(idx)) {
+      return null;
+    }
+    // Not a conditional expression, which would promote the Integer to a Long.
+    if (ints) {
+      return (int) values[idx];
+    }
+    return values[idx];
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.api.columnar;
+
+import io.cdap.wrangler.api.annotations.PublicEvolving;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ColumnVector} of values of mixed or non primitive types, stored as objects.
+ */
+@PublicEvolving
+public final class ObjectVector extends ColumnVector {
+  private final Object[] values;
+
+  public ObjectVector(Object[] values) {
+    super(values.length);
+    this.values = values;
+  }
+
+  @Override
+  public boolean isNull(int idx) {
+    return values[idx] == null;
+  }
+
+  @Nullable
+  @Override
+  public Object get(int idx) {
+    return values[idx];
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.api.columnar;
+
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.RowLayout;
+import io.cdap.wrangler.api.annotations.PublicEvolving;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * A batch of rows having the same columns, stored as one {@link ColumnVector} per column.
+ */
+@PublicEvolving
+public final class RowBatch {
+  private final int size;
+  private final List<String> columns;
+  private final List<ColumnVector> vectors;
+  // Layout shared by the rows the batch was converted from, if any.
+  @Nullable
+  private final RowLayout layout;
+
+  /**
+   * Creates a batch of rows without any columns.
+   *
+   * @param size number of rows in the batch.
+   */
+  public RowBatch(int size) {
+    this(size, null);
+  }
+
+  private RowBatch(int size, @Nullable RowLayout layout) {
+    this.size = size;
+    this.columns = new ArrayList<>();
+    this.vectors = new ArrayList<>();
+    this.layout = layout;
+  }
+
+  /**
+   * Converts rows to a batch. The conversion is only possible if all the rows have the
+   * same columns, in the same order.
+   *
+   * @param rows to be converted.
+   * @return the batch, or {@code null} if the rows have different columns.
+   */
+  @Nullable
+  public static RowBatch from(List<Row> rows) {
+    if (rows.isEmpty()) {
+      return new RowBatch(0);
+    }
+    Row first = rows.get(0);
+    RowLayout layout = first.getLayout();
+    int width = first.width();
+    for (Row row : rows) {
+      if (row.getLayout() != null && row.getLayout() == first.getLayout()) {
+        continue;
+      }
+      layout = null;
+      if (row.width() != width) {
+        return null;
+      }
+      for (int j = 0; j < width; j++) {
+        if (!row.getColumn(j).equals(first.getColumn(j))) {
+          return null;
+        }
+      }
+    }
+
+    RowBatch batch = new RowBatch(rows.size(), layout);
+    Object[] values = new Object[rows.size()];
+    for (int j = 0; j < width; j++) {
+      for (int i = 0; i < values.length; i++) {
+        values[i] = rows.get(i).getValue(j);
+      }
+      batch.add(first.getColumn(j), ColumnVector.of(values));
+    }
+    return batch;
+  }
+
+  /**
+   * @return the rows of the batch. The rows share the same {@link RowLayout}, which is derived from the layout of
+   * the rows the batch was converted from, so that batches converted from and to the same layouts share them.
+   */
+  public List<Row> toRows() {
+    RowLayout layout = this.layout == null ? RowLayout.of(columns) : this.layout.derive(columns);
+    List<Row> rows = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      Row row = new Row(layout);
+      for (int j = 0; j < vectors.size(); j++) {
+        row.setValue(j, vectors.get(j).get(i));
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  /**
+   * @return number of rows in the batch.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return number of columns in the batch.
+   */
+  public int width() {
+    return columns.size();
+  }
+
+  /**
+   * Finds a column index based on the name of the column. The col name is case insensitive.
+   *
+   * @param col to be searched within the batch.
+   * @return -1 if not present, else the index at which the column is found.
+   */
+  public int find(String col) {
+    for (int i = 0; i < columns.size(); i++) {
+      if (col.equalsIgnoreCase(columns.get(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return name of the column at idx.
+   */
+  public String getColumn(int idx) {
+    return columns.get(idx);
+  }
+
+  /**
+   * @return vector of the column at idx.
+   */
+  public ColumnVector getVector(int idx) {
+    return vectors.get(idx);
+  }
+
+  /**
+   * Replaces the vector of the column at idx.
+   *
+   * @param idx of the column.
+   * @param vector holding the new values of the column.
+   */
+  public RowBatch setVector(int idx, ColumnVector vector) {
+    ColumnVector.checkSize(size, vector.size());
+    vectors.set(idx, vector);
+    return this;
+  }
+
+  /**
+   * Adds a column at the end of the batch.
+   *
+   * @param name of the column.
+   * @param vector holding the values of the column.
+   */
+  public RowBatch add(String name, ColumnVector vector) {
+    ColumnVector.checkSize(size, vector.size());
+    columns.add(name);
+    vectors.add(vector);
+    return this;
+  }
+
+  /**
+   * Removes the column at idx.
+   *
+   * @param idx of the column to be removed.
+   */
+  public RowBatch remove(int idx) {
+    columns.remove(idx);
+    vectors.remove(idx);
+    return this;
+  }
+}
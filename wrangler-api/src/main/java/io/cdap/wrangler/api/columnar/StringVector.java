@@ -0,0 +1,197 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.api.columnar;
+
+import io.cdap.wrangler.api.DirectiveExecutionException;
+import io.cdap.wrangler.api.annotations.PublicEvolving;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ColumnVector} of {@link String} values, dictionary encoded. Each value is stored as
+ * a code into the dictionary of distinct strings, with {@link #NULL_CODE} for null values.
+ */
+@PublicEvolving
+public final class StringVector extends ColumnVector {
+  public static final int NULL_CODE = -1;
+
+  private final int[] codes;
+  // Distinct values, entries that are not referenced by any code may be null.
+  private final String[] dictionary;
+
+  /**
+   * @param codes into the dictionary for each value, {@link #NULL_CODE} for nulls.
+   * @param dictionary of the values.
+   */
+  public StringVector(int[] codes, String[] dictionary) {
+    super(codes.length);
+    this.codes = codes;
+    this.dictionary = dictionary;
+  }
+
+  /**
+   * Creates a vector with the same value repeated.
+   *
+   * @param value to repeat.
+   * @param size of the vector.
+   * @return a new vector.
+   */
+  public static StringVector constant(@Nullable String value, int size) {
+    int[] codes = new int[size];
+    if (value == null) {
+      Arrays.fill(codes, NULL_CODE);
+      return new StringVector(codes, new String[0]);
+    }
+    return new StringVector(codes, new String[] { value });
+  }
+
+  /**
+   * @return code of the value at idx.
+   */
+  public int getCode(int idx) {
+    return codes[idx];
+  }
+
+  /**
+   * @return number of entries in the dictionary.
+   */
+  public int getDictionarySize() {
+    return dictionary.length;
+  }
+
+  /**
+   * @return dictionary entry for the code.
+   */
+  public String lookup(int code) {
+    return dictionary[code];
+  }
+
+  @Override
+  public boolean isNull(int idx) {
+    return codes[idx] == NULL_CODE;
+  }
+
+  @Nullable
+  @Override
+  public String get(int idx) {
+    int code = codes[idx];
+    return code == NULL_CODE ? null : dictionary[code];
+  }
+
+  /**
+   * Applies the mapper once per dictionary entry, and once for null if the vector contains nulls.
+   * When all the mapped values are strings, the codes of this vector are reused.
+   */
+  @Override
+  public ColumnVector map(Mapper mapper) throws DirectiveExecutionException {
+    boolean hasNulls = hasNulls();
+    Object[] mapped = new Object[dictionary.length];
+    boolean strings = true;
+    for (int code = 0; code < dictionary.length; code++) {
+      if (dictionary[code] != null) {
+        mapped[code] = mapper.apply(dictionary[code]);
+        strings &= mapped[code] == null || mapped[code] instanceof String;
+      }
+    }
+    Object mappedNull = hasNulls ? mapper.apply(null) : null;
+    strings &= mappedNull == null || mappedNull instanceof String;
+
+    if (!strings) {
+      Object[] values = new Object[size];
+      for (int i = 0; i < size; i++) {
+        values[i] = codes[i] == NULL_CODE ? mappedNull : mapped[codes[i]];
+      }
+      return ColumnVector.of(values);
+    }
+
+    String[] mappedDictionary = new String[dictionary.length + (mappedNull == null ? 0 : 1)];
+    for (int code = 0; code < dictionary.length; code++) {
+      mappedDictionary[code] = (String) mapped[code];
+    }
+    int nullCode = NULL_CODE;
+    if (mappedNull != null) {
+      nullCode = dictionary.length;
+      mappedDictionary[nullCode] = (String) mappedNull;
+    }
+    int[] mappedCodes = new int[size];
+    for (int i = 0; i < size; i++) {
+      int code = codes[i];
+      if (code == NULL_CODE) {
+        mappedCodes[i] = nullCode;
+      } else {
+        mappedCodes[i] = mapped[code] == null ? NULL_CODE : code;
+      }
+    }
+    return new StringVector(mappedCodes, mappedDictionary);
+  }
+
+  @Override
+  public boolean hasNulls() {
+    for (int code : codes) {
+      if (code == NULL_CODE) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Builder for dictionary encoding strings into a {@link StringVector}.
+   */
+  public static final class Builder {
+    private final Map<String, Integer> lookup = new HashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+    private int[] codes;
+    private int size;
+
+    public Builder(int capacity) {
+      this.codes = new int[capacity];
+    }
+
+    /**
+     * @param value to add at the end of the vector, can be null.
+     * @return this builder.
+     */
+    public Builder add(@Nullable String value) {
+      if (size == codes.length) {
+        codes = Arrays.copyOf(codes, Math.max(16, size * 2));
+      }
+      if (value == null) {
+        codes[size++] = NULL_CODE;
+        return this;
+      }
+      Integer code = lookup.get(value);
+      if (code == null) {
+        code = dictionary.size();
+        lookup.put(value, code);
+        dictionary.add(value);
+      }
+      codes[size++] = code;
+      return this;
+    }
+
+    public StringVector build() {
+      int[] built = size == codes.length ? codes : Arrays.copyOf(codes, size);
+      return new StringVector(built, dictionary.toArray(new String[0]));
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.api;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for {@link RowLayout} and its use by {@link Row}.
+ */
+public class RowLayoutTest {
+
+  @Test
+  public void testCaseInsensitiveFind() {
+    RowLayout layout = RowLayout.of(Arrays.asList("First", "LAST", "email", "Ärger"));
+    Assert.assertEquals(0, layout.find("first", 0));
+    Assert.assertEquals(1, layout.find("Last", 0));
+    Assert.assertEquals(2, layout.find("EMAIL", 0));
+    Assert.assertEquals(3, layout.find("äRGER", 0));
+    Assert.assertEquals(-1, layout.find("phone", 0));
+    Assert.assertEquals(-1, layout.find("first", 1));
+  }
+
+  @Test
+  public void testDuplicateColumns() {
+    Row row = new Row(RowLayout.root());
+    row.add("a", 1).add("b", 2).add("A", 3);
+    Assert.assertEquals(0, row.find("a"));
+    Assert.assertEquals(2, row.find("a", 1));
+    Assert.assertEquals(-1, row.find("b", 2));
+  }
+
+  @Test
+  public void testLayoutsAreShared() {
+    RowLayout root = RowLayout.root();
+    Row first = new Row(root).add("a", 1).add("b", 2);
+    Row second = new Row(root).add("a", 3).add("b", 4);
+    Assert.assertSame(first.getLayout(), second.getLayout());
+
+    first.remove(0);
+    second.remove(0);
+    Assert.assertSame(first.getLayout(), second.getLayout());
+    Assert.assertEquals(0, first.find("B"));
+
+    first.setColumn(0, "c");
+    Assert.assertNotSame(first.getLayout(), second.getLayout());
+    Assert.assertEquals(0, first.find("c"));
+    Assert.assertEquals(-1, first.find("b"));
+    Assert.assertEquals(0, second.find("b"));
+
+    Row copy = new Row(first);
+    Assert.assertSame(first.getLayout(), copy.getLayout());
+  }
+
+  @Test
+  public void testRowWithLayoutMatchesRowWithout() {
+    Row indexed = new Row(RowLayout.root());
+    Row scanned = new Row();
+    for (Row row : Arrays.asList(indexed, scanned)) {
+      row.add("id", 1).add("Name", "joltie").add("city", "Palo Alto");
+      row.remove(0);
+      row.setColumn(1, "location");
+      row.addOrSet("zip", "94301");
+      row.addOrSet("NAME", "root");
+      row.addOrSetAtIndex(0, "id", 2);
+    }
+    Assert.assertEquals(scanned, indexed);
+    for (String column : Arrays.asList("id", "name", "LOCATION", "zip", "city")) {
+      Assert.assertEquals(scanned.find(column), indexed.find(column));
+    }
+  }
+
+  @Test
+  public void testTransitionsAreBounded() {
+    RowLayout root = RowLayout.root();
+    for (int i = 0; i < 1000; i++) {
+      Row row = new Row(root).add("column_" + i, i);
+      Assert.assertEquals(0, row.find("COLUMN_" + i));
+      Assert.assertEquals(i < 256, row.getLayout() != null);
+    }
+
+    // Layouts are no longer derived past the bound, and rows scan their columns instead.
+    Assert.assertSame(root.add("column_0"), root.add("column_0"));
+    Assert.assertNull(root.add("column_999"));
+  }
+
+  @Test
+  public void testDerivedColumnsAreBounded() {
+    Row row = new Row(RowLayout.root());
+    List<String> columns = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      row.add("column_" + i, i);
+      columns.add("column_" + i);
+    }
+    Assert.assertNull(row.getLayout());
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertEquals(i, row.find("COLUMN_" + i));
+    }
+
+    // Layouts created for the columns directly are not bounded by the layouts derived before.
+    RowLayout layout = RowLayout.of(columns);
+    Assert.assertEquals(999, new Row(layout).find("column_999"));
+    Assert.assertNotNull(layout.add("column_1000"));
+  }
+}
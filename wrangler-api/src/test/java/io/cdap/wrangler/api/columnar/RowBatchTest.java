@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.api.columnar;
+
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.RowLayout;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for {@link RowBatch} and the {@link ColumnVector} implementations.
+ */
+public class RowBatchTest {
+
+  @Test
+  public void testRoundTrip() {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      rows.add(new Row("id", i).add("amount", i * 10L).add("price", i * 0.5f)
+                 .add("flag", i % 2 == 0).add("name", i % 3 == 0 ? null : "name" + (i % 2)));
+    }
+
+    RowBatch batch = RowBatch.from(rows);
+    Assert.assertNotNull(batch);
+    Assert.assertEquals(6, batch.size());
+    Assert.assertEquals(5, batch.width());
+    Assert.assertTrue(batch.getVector(0) instanceof LongVector);
+    Assert.assertTrue(((LongVector) batch.getVector(0)).isInts());
+    Assert.assertTrue(batch.getVector(1) instanceof LongVector);
+    Assert.assertTrue(batch.getVector(2) instanceof DoubleVector);
+    Assert.assertTrue(batch.getVector(3) instanceof BooleanVector);
+    StringVector names = (StringVector) batch.getVector(batch.find("NAME"));
+    Assert.assertEquals(2, names.getDictionarySize());
+    Assert.assertTrue(names.hasNulls());
+
+    List<Row> converted = batch.toRows();
+    Assert.assertEquals(rows, converted);
+    for (int i = 0; i < rows.size(); i++) {
+      Assert.assertEquals(Integer.class, converted.get(i).getValue("id").getClass());
+      Assert.assertEquals(Float.class, converted.get(i).getValue("price").getClass());
+      Assert.assertSame(converted.get(0).getLayout(), converted.get(i).getLayout());
+    }
+  }
+
+  @Test
+  public void testLayoutIsReused() {
+    RowLayout root = RowLayout.root();
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      rows.add(new Row(root).add("id", i).add("name", "name" + i));
+    }
+    RowLayout layout = rows.get(0).getLayout();
+    Assert.assertSame(layout, RowBatch.from(rows).toRows().get(0).getLayout());
+
+    // Batches with the same columns added to rows of the same layout share the derived layout.
+    RowBatch first = RowBatch.from(rows).add("price", ColumnVector.of(new Object[] {1.0, 2.0, 3.0}));
+    RowBatch second = RowBatch.from(rows).add("price", ColumnVector.of(new Object[] {4.0, 5.0, 6.0}));
+    Row row = first.toRows().get(0);
+    Assert.assertSame(row.getLayout(), second.toRows().get(0).getLayout());
+    Assert.assertEquals(2, row.find("PRICE"));
+  }
+
+  @Test
+  public void testRowsWithDifferentColumns() {
+    List<Row> rows = Arrays.asList(new Row("a", 1).add("b", 2), new Row("a", 1).add("c", 2));
+    Assert.assertNull(RowBatch.from(rows));
+  }
+
+  @Test
+  public void testMixedTypes() {
+    ColumnVector vector = ColumnVector.of(new Object[] {1, 2L, "3", null});
+    Assert.assertTrue(vector instanceof ObjectVector);
+    Assert.assertEquals(1, vector.get(0));
+    Assert.assertEquals(2L, vector.get(1));
+    Assert.assertEquals("3", vector.get(2));
+    Assert.assertTrue(vector.isNull(3));
+  }
+
+  @Test
+  public void testDictionaryMap() throws Exception {
+    StringVector vector = new StringVector.Builder(4).add("a").add("b").add("a").add(null).build();
+    AtomicInteger calls = new AtomicInteger();
+    ColumnVector mapped = vector.map(value -> {
+      calls.incrementAndGet();
+      return value == null ? "none" : value.toString().toUpperCase();
+    });
+
+    Assert.assertEquals(3, calls.get());
+    Assert.assertTrue(mapped instanceof StringVector);
+    Assert.assertEquals(Arrays.asList("A", "B", "A", "none"),
+                        Arrays.asList(mapped.get(0), mapped.get(1), mapped.get(2), mapped.get(3)));
+
+    ColumnVector lengths = vector.map(value -> value == null ? null : value.toString().length());
+    Assert.assertTrue(lengths instanceof LongVector);
+    Assert.assertEquals(1, lengths.get(2));
+    Assert.assertTrue(lengths.isNull(3));
+  }
+}
@@ -100,6 +100,11 @@ public class DefaultTransientStore implements TransientStore {
     return (T) local.get(name);
   }
 
+  @Override
+  public boolean contains(String name) {
+    return global.containsKey(name) || local.containsKey(name);
+  }
+
   /**
    * Sets the value of the object for variable named 'name'.
    *
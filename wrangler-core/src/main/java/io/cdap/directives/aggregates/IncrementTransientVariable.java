@@ -29,6 +29,7 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.TransientVariableScope;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Stateful;
 import io.cdap.wrangler.api.parser.Expression;
 import io.cdap.wrangler.api.parser.Identifier;
 import io.cdap.wrangler.api.parser.Numeric;
@@ -49,12 +50,14 @@ import static io.cdap.wrangler.metrics.JexlCategoryMetricUtils.getJexlCategoryMe
 @Plugin(type = Directive.TYPE)
 @Name(IncrementTransientVariable.NAME)
 @Categories(categories = { "transient"})
+@Stateful
 @Description("Wrangler - A interactive tool for data cleansing and transformation.")
 public class IncrementTransientVariable implements Directive {
   public static final String NAME = "increment-variable";
   private String variable;
   private long incrementBy;
   private EL el;
+  private ELContext elContext;
 
   @Override
   public UsageDefinition define() {
@@ -72,6 +75,7 @@ public class IncrementTransientVariable implements Directive {
     String expression = ((Expression) args.value("condition")).value();
     try {
       el = EL.compile(expression);
+      elContext = new ELContext(el);
     } catch (ELException e) {
       throw new DirectiveParseException(NAME, e.getMessage(), e);
     }
@@ -80,19 +84,8 @@ public class IncrementTransientVariable implements Directive {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     for (Row row : rows) {
-      // Move the fields from the row into the context.
-      ELContext ctx = new ELContext();
-      ctx.set("this", row);
-      for (String var : el.variables()) {
-        ctx.set(var, row.getValue(var));
-      }
-
-      // Transient variables are added.
-      if (context != null) {
-        for (String variable : context.getTransientStore().getVariables()) {
-          ctx.set(variable, context.getTransientStore().get(variable));
-        }
-      }
+      // Bind the row to the context, the fields are read when the expression references them.
+      ELContext ctx = elContext.bind(context, row);
 
       // Execution of the script / expression based on the row data
       // mapped into context.
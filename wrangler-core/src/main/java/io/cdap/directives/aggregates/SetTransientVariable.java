@@ -29,6 +29,7 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.TransientVariableScope;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Stateful;
 import io.cdap.wrangler.api.parser.Expression;
 import io.cdap.wrangler.api.parser.Identifier;
 import io.cdap.wrangler.api.parser.TokenType;
@@ -51,10 +52,12 @@ import static io.cdap.wrangler.metrics.JexlCategoryMetricUtils.getJexlCategoryMe
 @Plugin(type = Directive.TYPE)
 @Name(SetTransientVariable.NAME)
 @Categories(categories = { "transient"})
+@Stateful
 @Description("Sets the value for a transient variable for the record being processed.")
 public class SetTransientVariable implements Directive {
   public static final String NAME = "set-variable";
   private EL el;
+  private ELContext elContext;
   private String variable;
 
   @Override
@@ -71,6 +74,7 @@ public class SetTransientVariable implements Directive {
     String expression = ((Expression) args.value("condition")).value();
     try {
       el = EL.compile(expression);
+      elContext = new ELContext(el);
     } catch (ELException e) {
       throw new DirectiveParseException(NAME, e.getMessage(), e);
     }
@@ -84,8 +88,8 @@ public class SetTransientVariable implements Directive {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     for (Row row : rows) {
-      // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context, el, row);
+      // Bind the row to the context, the fields are read when the expression references them.
+      ELContext ctx = elContext.bind(context, row);
 
       // Execution of the script / expression based on the row data
       // mapped into context.
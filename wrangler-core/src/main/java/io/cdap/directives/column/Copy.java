@@ -28,6 +28,7 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.SchemaResolutionContext;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -44,6 +45,7 @@ import java.util.List;
 @Plugin(type = Directive.TYPE)
 @Name(Copy.NAME)
 @Categories(categories = { "column"})
+@Batchable
 @Description("Copies values from a source column into a destination column.")
 public class Copy implements Directive, Lineage {
   public static final String NAME = "copy";
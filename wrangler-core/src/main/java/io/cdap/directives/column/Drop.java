@@ -25,7 +25,10 @@ import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.columnar.ColumnarDirective;
+import io.cdap.wrangler.api.columnar.RowBatch;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -42,8 +45,9 @@ import java.util.List;
 @Plugin(type = Directive.TYPE)
 @Name(Drop.NAME)
 @Categories(categories = { "column"})
+@Batchable
 @Description("Drop one or more columns.")
-public class Drop implements Directive, Lineage {
+public class Drop implements Directive, ColumnarDirective, Lineage {
   public static final String NAME = "drop";
 
   // Columns to be dropped.
@@ -81,6 +85,17 @@ public class Drop implements Directive, Lineage {
     return rows;
   }
 
+  @Override
+  public boolean execute(RowBatch batch, ExecutorContext context) {
+    for (String column : columns) {
+      int idx = batch.find(column.trim());
+      if (idx != -1) {
+        batch.remove(idx);
+      }
+    }
+    return true;
+  }
+
   @Override
   public Mutation lineage() {
     return Mutation.builder()
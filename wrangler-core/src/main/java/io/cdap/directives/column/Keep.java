@@ -26,7 +26,10 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Pair;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.columnar.ColumnarDirective;
+import io.cdap.wrangler.api.columnar.RowBatch;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnNameList;
@@ -46,8 +49,9 @@ import java.util.Set;
 @Plugin(type = Directive.TYPE)
 @Name("keep")
 @Categories(categories = { "column"})
+@Batchable
 @Description("Keeps the specified columns and drops all others.")
-public class Keep implements Directive, Lineage {
+public class Keep implements Directive, ColumnarDirective, Lineage {
   public static final String NAME = "keep";
   private final Set<String> keep = new HashSet<>();
 
@@ -86,6 +90,16 @@ public class Keep implements Directive, Lineage {
     return rows;
   }
 
+  @Override
+  public boolean execute(RowBatch batch, ExecutorContext context) {
+    for (int idx = batch.width() - 1; idx >= 0; --idx) {
+      if (!keep.contains(batch.getColumn(idx))) {
+        batch.remove(idx);
+      }
+    }
+    return true;
+  }
+
   @Override
   public Mutation lineage() {
     Mutation.Builder builder = Mutation.builder()
@@ -25,6 +25,7 @@ import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
@@ -44,6 +45,7 @@ import java.util.List;
 @Plugin(type = Directive.TYPE)
 @Name(Merge.NAME)
 @Categories(categories = { "column"})
+@Batchable
 @Description("Merges values from two columns using a separator into a new column.")
 public class Merge implements Directive, Lineage {
   public static final String NAME = "merge";
@@ -26,6 +26,7 @@ import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.SchemaResolutionContext;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -43,6 +44,7 @@ import java.util.stream.Collectors;
 @Plugin(type = Directive.TYPE)
 @Name(Rename.NAME)
 @Categories(categories = { "column"})
+@Batchable
 @Description("Renames a column 'source' to 'target'")
 public final class Rename implements Directive, Lineage {
   public static final String NAME = "rename";
@@ -28,6 +28,7 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.SchemaResolutionContext;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Stateful;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -47,6 +48,7 @@ import java.util.List;
 @Plugin(type = "directives")
 @Name(SetHeader.NAME)
 @Categories(categories = { "column"})
+@Stateful
 @Description("Sets the header of columns, in the order they are specified.")
 public class SetHeader implements Directive, Lineage {
   public static final String NAME = "set-headers";
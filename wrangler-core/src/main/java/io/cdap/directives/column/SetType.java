@@ -30,7 +30,10 @@ import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Pair;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.SchemaResolutionContext;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.columnar.ColumnarDirective;
+import io.cdap.wrangler.api.columnar.RowBatch;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -54,9 +57,10 @@ import java.util.stream.Collectors;
 @Plugin(type = "directives")
 @Name(SetType.NAME)
 @Categories(categories = {"column"})
+@Batchable
 @Description("Converting data type of a column. Optional arguments scale, precision and "
     + "rounding-mode are used only when type is decimal.")
-public final class SetType implements Directive, Lineage {
+public final class SetType implements Directive, ColumnarDirective, Lineage {
   public static final String NAME = "set-type";
 
   private String col;
@@ -114,6 +118,16 @@ public final class SetType implements Directive, Lineage {
     return rows;
   }
 
+  @Override
+  public boolean execute(RowBatch batch, ExecutorContext context) throws DirectiveExecutionException {
+    int idx = batch.find(col);
+    if (idx != -1) {
+      batch.setVector(idx, batch.getVector(idx).map(
+        object -> ColumnConverter.convertValue(NAME, col, type, scale, precision, roundingMode, object)));
+    }
+    return true;
+  }
+
   @Override
   public Mutation lineage() {
     return Mutation.builder()
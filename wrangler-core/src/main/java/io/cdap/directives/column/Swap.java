@@ -27,6 +27,7 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.SchemaResolutionContext;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
@@ -44,6 +45,7 @@ import java.util.stream.Collectors;
 @Plugin(type = Directive.TYPE)
 @Name(Swap.NAME)
 @Categories(categories = { "column"})
+@Batchable
 @Description("Swaps the column names of two columns.")
 public class Swap implements Directive, Lineage {
   public static final String NAME = "swap";
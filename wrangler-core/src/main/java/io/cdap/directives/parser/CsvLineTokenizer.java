@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.directives.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Splits a single line of CSV into its fields, following the rules of {@code CSVFormat.DEFAULT} with another
+ * delimiter: fields may be enclosed in double quotes, a quote within such a field is written as two quotes and
+ * whitespace may follow the closing quote.
+ *
+ * <p>The tokenizer does not handle lines holding several records, fields spanning several lines or malformed
+ * quoted fields, which are left to Commons CSV. The list of fields and the buffers are reused across calls,
+ * instances are therefore not thread safe.</p>
+ */
+final class CsvLineTokenizer {
+  private static final char QUOTE = '"';
+
+  private final char delimiter;
+  private final List<String> fields = new ArrayList<>();
+  private final StringBuilder buffer = new StringBuilder();
+
+  CsvLineTokenizer(char delimiter) {
+    this.delimiter = delimiter;
+  }
+
+  /**
+   * Splits a line into its fields.
+   *
+   * @param line to split.
+   * @return the fields of the line, valid until the next call, or {@code null} if the line has to be parsed
+   *   by Commons CSV.
+   */
+  @Nullable
+  List<String> tokenize(String line) {
+    if (line.indexOf('\n') >= 0 || line.indexOf('\r') >= 0) {
+      return null;
+    }
+    fields.clear();
+    int length = line.length();
+    int position = 0;
+    while (true) {
+      if (position < length && line.charAt(position) == QUOTE) {
+        position = readQuoted(line, position + 1);
+        if (position < 0) {
+          return null;
+        }
+        fields.add(buffer.toString());
+      } else {
+        int end = line.indexOf(delimiter, position);
+        if (end < 0) {
+          end = length;
+        }
+        fields.add(line.substring(position, end));
+        position = end;
+      }
+      if (position == length) {
+        return fields;
+      }
+      // Skips the delimiter. A delimiter ending the line is followed by an empty field.
+      position++;
+    }
+  }
+
+  /**
+   * Reads a quoted field into the buffer.
+   *
+   * @return the position of the delimiter or end of line following the field, or -1 if the field is not closed
+   *   or followed by something else than whitespace.
+   */
+  private int readQuoted(String line, int start) {
+    buffer.setLength(0);
+    int length = line.length();
+    int position = start;
+    while (true) {
+      int quote = line.indexOf(QUOTE, position);
+      if (quote < 0) {
+        return -1;
+      }
+      buffer.append(line, position, quote);
+      if (quote + 1 < length && line.charAt(quote + 1) == QUOTE) {
+        buffer.append(QUOTE);
+        position = quote + 2;
+      } else {
+        position = quote + 1;
+        break;
+      }
+    }
+    while (position < length && line.charAt(position) != delimiter) {
+      if (!Character.isWhitespace(line.charAt(position))) {
+        return -1;
+      }
+      position++;
+    }
+    return position;
+  }
+}
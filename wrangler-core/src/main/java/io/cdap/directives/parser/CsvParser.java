@@ -28,6 +28,7 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Stateful;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -55,6 +56,7 @@ import java.util.Set;
 @Plugin(type = Directive.TYPE)
 @Name(CsvParser.NAME)
 @Categories(categories = { "parser", "csv"})
+@Stateful
 @Description("Parses a column as CSV (comma-separated values).")
 public class CsvParser implements Directive, Lineage {
   public static final String NAME = "parse-as-csv";
@@ -74,6 +76,12 @@ public class CsvParser implements Directive, Lineage {
   // Header names.
   private List<String> headers = new ArrayList<>();
 
+  // Splits the lines holding a single record, without creating a Commons CSV parser for each of them.
+  private CsvLineTokenizer tokenizer;
+
+  // Names of the columns created when there is no header, generated once.
+  private final List<String> columnNames = new ArrayList<>();
+
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder("parse-as-csv");
@@ -103,6 +111,7 @@ public class CsvParser implements Directive, Lineage {
 
 
     this.format = CSVFormat.DEFAULT.withDelimiter(delimiter);
+    this.tokenizer = new CsvLineTokenizer(delimiter);
     this.format.withIgnoreEmptyLines(true)
       .withAllowMissingColumnNames(true)
       .withIgnoreSurroundingSpaces(true)
@@ -140,20 +149,22 @@ public class CsvParser implements Directive, Lineage {
       if (line == null || line.isEmpty()) {
         continue;
       }
+      List<String> fields = tokenizer.tokenize(line);
+      if (fields != null) {
+        if (addRecord(fields, row) && rows.size() > 0) {
+          return new ArrayList<>();
+        }
+        continue;
+      }
       CSVParser parser = null;
       try {
         parser = CSVParser.parse(line, format);
         List<CSVRecord> csvRecords = parser.getRecords();
         for (CSVRecord csvRecord : csvRecords) {
-          if (!checkedHeader && hasHeader && isHeader(csvRecord)) {
-            for (int i = 0; i < csvRecord.size(); i++) {
-              headers.add(csvRecord.get(i).trim().replaceAll("\\s+", "_"));
-            }
-            if (rows.size() > 0) {
-              return new ArrayList<>();
-            }
-          } else {
-            toRow(csvRecord, row);
+          List<String> values = new ArrayList<>(csvRecord.size());
+          csvRecord.forEach(values::add);
+          if (addRecord(values, row) && rows.size() > 0) {
+            return new ArrayList<>();
           }
         }
       } catch (IOException e) {
@@ -165,23 +176,43 @@ public class CsvParser implements Directive, Lineage {
   }
 
   /**
-   * Converts a {@link CSVRecord} to {@link Row}.
+   * Adds the fields of a record to the {@link Row}, unless the record is the header.
    *
-   * @param record
-   * @return
+   * @return true if the record is the header.
+   */
+  private boolean addRecord(List<String> record, Row row) {
+    if (!checkedHeader && hasHeader && isHeader(record)) {
+      for (int i = 0; i < record.size(); i++) {
+        headers.add(record.get(i).trim().replaceAll("\\s+", "_"));
+      }
+      return true;
+    }
+    toRow(record, row);
+    return false;
+  }
+
+  /**
+   * Converts the fields of a record to {@link Row}.
    */
-  private void toRow(CSVRecord record, Row row) {
+  private void toRow(List<String> record, Row row) {
     int size = headers.size();
     for (int i = 0; i < record.size(); i++) {
       if (size > 0) {
         row.add(headers.get(i), record.get(i));
       } else {
-        row.add(columnArg.value() + "_" + (i + 1), record.get(i));
+        row.add(getColumnName(i), record.get(i));
       }
     }
   }
 
-  private boolean isHeader(CSVRecord record) {
+  private String getColumnName(int index) {
+    while (columnNames.size() <= index) {
+      columnNames.add(columnArg.value() + "_" + (columnNames.size() + 1));
+    }
+    return columnNames.get(index);
+  }
+
+  private boolean isHeader(List<String> record) {
     checkedHeader = true;
     Set<String> columns = new HashSet<>();
     for (int i = 0; i < record.size(); i++) {
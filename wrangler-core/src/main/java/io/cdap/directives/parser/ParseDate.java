@@ -37,11 +37,23 @@ import io.cdap.wrangler.api.parser.ColumnName;
 import io.cdap.wrangler.api.parser.Text;
 import io.cdap.wrangler.api.parser.TokenType;
 import io.cdap.wrangler.api.parser.UsageDefinition;
+import io.cdap.wrangler.dq.DateTimePattern;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 
 /**
  * A Executor to parse date.
@@ -53,8 +65,17 @@ import java.util.TimeZone;
   "automatically identifying the format (expensive in terms of time consumed).")
 public class ParseDate implements Directive, Lineage {
   public static final String NAME = "parse-as-date";
+  // Maximum number of values whose dates are cached.
+  private static final int CACHE_SIZE = 1024;
+  // Known formats fully specifying a date and time, which are parsed without Natty. The dates are the ones
+  // Natty finds in such values.
+  private static final Map<Pattern, DateTimeFormatter> FORMATS = createFormats("yyyy-MM-dd HH:mm:ss");
+
   private String column;
   private TimeZone timezone;
+  private Parser parser;
+  // Dates of the values parsed, limited to the values not depending on the current time.
+  private Map<String, List<List<ZonedDateTime>>> cache;
 
   @Override
   public UsageDefinition define() {
@@ -72,6 +93,14 @@ public class ParseDate implements Directive, Lineage {
     } else {
       this.timezone = TimeZone.getTimeZone("UTC");
     }
+    // Natty builds its grammar when parsing, the parser is therefore created once.
+    this.parser = new Parser(timezone);
+    this.cache = new LinkedHashMap<String, List<List<ZonedDateTime>>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, List<List<ZonedDateTime>>> eldest) {
+        return size() > CACHE_SIZE;
+      }
+    };
   }
 
   @Override
@@ -90,6 +119,8 @@ public class ParseDate implements Directive, Lineage {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context)
     throws DirectiveExecutionException, ErrorRowException {
+    int hits = 0;
+    int misses = 0;
     for (Row row : rows) {
       int idx = row.find(column);
       if (idx != -1) {
@@ -100,13 +131,18 @@ public class ParseDate implements Directive, Lineage {
           continue;
         }
         if (object instanceof String) {
-          Parser parser = new Parser(timezone);
-          List<DateGroup> groups = parser.parse((String) object);
+          String value = (String) object;
+          List<List<ZonedDateTime>> groups = cache.get(value);
+          if (groups == null) {
+            misses++;
+            groups = parse(value);
+          } else {
+            hits++;
+          }
           int i = 1;
-          for (DateGroup group : groups) {
-            List<Date> dates = group.getDates();
-            for (Date date : dates) {
-              row.add(String.format("%s_%d", column, i), date.toInstant().atZone(timezone.toZoneId()));
+          for (List<ZonedDateTime> dates : groups) {
+            for (ZonedDateTime date : dates) {
+              row.add(String.format("%s_%d", column, i), date);
             }
             i++;
           }
@@ -117,6 +153,93 @@ public class ParseDate implements Directive, Lineage {
         }
       }
     }
+    if (context != null) {
+      if (hits > 0) {
+        context.getMetrics().count(NAME + ".cache.hits", hits);
+      }
+      if (misses > 0) {
+        context.getMetrics().count(NAME + ".cache.misses", misses);
+      }
+    }
     return rows;
   }
+
+  /**
+   * Parses the dates of a value, and caches them unless they depend on the current time.
+   *
+   * @return the dates of each group of dates found in the value.
+   */
+  private List<List<ZonedDateTime>> parse(String value) {
+    ZoneId zone = timezone.toZoneId();
+    ZonedDateTime known = parseKnownFormat(value, zone);
+    if (known != null) {
+      List<List<ZonedDateTime>> groups = Collections.singletonList(Collections.singletonList(known));
+      cache.put(value, groups);
+      return groups;
+    }
+
+    List<List<ZonedDateTime>> groups = new ArrayList<>();
+    boolean cacheable = true;
+    for (DateGroup group : parser.parse(value)) {
+      List<ZonedDateTime> dates = new ArrayList<>();
+      for (Date date : group.getDates()) {
+        dates.add(date.toInstant().atZone(zone));
+      }
+      groups.add(Collections.unmodifiableList(dates));
+      cacheable &= isAbsolute(group);
+    }
+    if (cacheable) {
+      cache.put(value, groups);
+    }
+    return groups;
+  }
+
+  @Nullable
+  private static ZonedDateTime parseKnownFormat(String value, ZoneId zone) {
+    for (Map.Entry<Pattern, DateTimeFormatter> entry : FORMATS.entrySet()) {
+      if (!entry.getKey().matcher(value).matches()) {
+        continue;
+      }
+      try {
+        LocalDateTime dateTime = LocalDateTime.parse(value, entry.getValue());
+        // Times skipped or repeated by a change of offset are left to Natty, which resolves them as Calendar does.
+        if (zone.getRules().getValidOffsets(dateTime).size() == 1) {
+          return dateTime.atZone(zone);
+        }
+      } catch (DateTimeParseException e) {
+        // Invalid dates such as February 30th are left to Natty.
+      }
+      return null;
+    }
+    return null;
+  }
+
+  /**
+   * @return whether the dates of the group do not depend on the current time, such as 'today' or a date without
+   *   time, which Natty completes with the current time.
+   */
+  private static boolean isAbsolute(DateGroup group) {
+    if (group.isRecurring() || group.isDateInferred() || group.isTimeInferred()) {
+      return false;
+    }
+    for (String rule : group.getParseLocations().keySet()) {
+      if (rule.startsWith("relative")) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Map<Pattern, DateTimeFormatter> createFormats(String... formats) {
+    Map<Pattern, DateTimeFormatter> result = new LinkedHashMap<>();
+    for (String format : formats) {
+      Pattern pattern = DateTimePattern.getDatePattern(format);
+      if (pattern != null) {
+        // Years are parsed as proleptic years, as required by the strict resolution.
+        result.put(pattern, DateTimeFormatter.ofPattern(format.replace('y', 'u'))
+          .withResolverStyle(ResolverStyle.STRICT));
+      }
+    }
+    return result;
+  }
 }
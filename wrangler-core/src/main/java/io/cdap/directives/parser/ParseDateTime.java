@@ -25,6 +25,7 @@ import io.cdap.wrangler.api.ErrorRowException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -43,6 +44,7 @@ import java.util.List;
 @Plugin(type = Directive.TYPE)
 @Name("parse-as-datetime")
 @Categories(categories = {"parser", "datetime"})
+@Batchable
 @Description("Parse a column value as datetime using the given format")
 public class ParseDateTime implements Directive, Lineage {
 
@@ -26,6 +26,7 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ErrorRowException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -50,6 +51,7 @@ import java.util.TimeZone;
 @Plugin(type = Directive.TYPE)
 @Name("parse-as-simple-date")
 @Categories(categories = {"parser", "date"})
+@Batchable
 @Description("Parses a column as date using format.")
 public class ParseSimpleDate implements Directive, Lineage {
   public static final String NAME = "parse-as-simple-date";
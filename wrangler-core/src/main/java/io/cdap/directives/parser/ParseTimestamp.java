@@ -27,6 +27,7 @@ import io.cdap.wrangler.api.ErrorRowException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -50,6 +51,7 @@ import java.util.concurrent.TimeUnit;
 @Plugin(type = Directive.TYPE)
 @Name("parse-timestamp")
 @Categories(categories = {"parser", "date"})
+@Batchable
 @Description("Parses column values representing unix timestamp as date.")
 public class ParseTimestamp implements Directive, Lineage {
   public static final String NAME = "parse-timestamp";
@@ -53,6 +53,7 @@ public class Fail implements Directive, Lineage {
   public static final String NAME = "fail";
   private String condition;
   private EL el;
+  private ELContext elContext;
 
   @Override
   public UsageDefinition define() {
@@ -71,6 +72,7 @@ public class Fail implements Directive, Lineage {
     condition = expression.value();
     try {
       el = EL.compile(condition);
+      elContext = new ELContext(el);
     } catch (ELException e) {
       throw new DirectiveParseException(NAME, e.getMessage(), e);
     }
@@ -85,8 +87,8 @@ public class Fail implements Directive, Lineage {
   public List<Row> execute(List<Row> rows, ExecutorContext context)
     throws DirectiveExecutionException {
     for (Row row : rows) {
-      // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context, el, row);
+      // Bind the row to the context, the fields are read when the expression references them.
+      ELContext ctx = elContext.bind(context, row);
 
       // Execution of the script / expression based on the row data
       // mapped into context.
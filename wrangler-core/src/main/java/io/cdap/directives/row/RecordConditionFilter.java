@@ -28,6 +28,7 @@ import io.cdap.wrangler.api.EntityCountMetric;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -56,10 +57,12 @@ import static io.cdap.wrangler.metrics.JexlCategoryMetricUtils.getJexlCategoryMe
 @Plugin(type = Directive.TYPE)
 @Name(RecordConditionFilter.NAME)
 @Categories(categories = { "row", "data-quality"})
+@Batchable
 @Description("Filters rows based on condition type specified.")
 public class RecordConditionFilter implements Directive, Lineage {
   public static final String NAME = "filter-row";
   private EL el;
+  private ELContext elContext;
   private boolean isTrue;
 
   @Override
@@ -79,6 +82,7 @@ public class RecordConditionFilter implements Directive, Lineage {
     String condition = ((Expression) args.value("condition")).value();
     try {
       el = EL.compile(condition);
+      elContext = new ELContext(el);
     } catch (ELException e) {
       throw new DirectiveParseException(NAME, e.getMessage(), e);
     }
@@ -93,13 +97,8 @@ public class RecordConditionFilter implements Directive, Lineage {
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     List<Row> results = new ArrayList<>();
     for (Row row : rows) {
-      // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context, el, row);
-      if (context != null) {
-        for (String variable : context.getTransientStore().getVariables()) {
-          ctx.set(variable, context.getTransientStore().get(variable));
-        }
-      }
+      // Bind the row to the context, the fields are read when the expression references them.
+      ELContext ctx = elContext.bind(context, row);
       try {
         Boolean result = el.execute(ctx).getBoolean();
         if (!isTrue) {
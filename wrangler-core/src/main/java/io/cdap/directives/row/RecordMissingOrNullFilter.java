@@ -25,6 +25,7 @@ import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -42,6 +43,7 @@ import java.util.List;
 @Plugin(type = Directive.TYPE)
 @Name(RecordMissingOrNullFilter.NAME)
 @Categories(categories = { "row", "data-quality"})
+@Batchable
 @Description("Filters row that have empty or null columns.")
 public class RecordMissingOrNullFilter implements Directive, Lineage {
   public static final String NAME = "filter-empty-or-null";
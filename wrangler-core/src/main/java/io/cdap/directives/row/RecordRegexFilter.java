@@ -25,6 +25,7 @@ import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -45,6 +46,7 @@ import java.util.regex.Pattern;
 @Plugin(type = Directive.TYPE)
 @Name(RecordRegexFilter.NAME)
 @Categories(categories = { "row", "data-quality"})
+@Batchable
 @Description("Filters rows if the regex is matched or not matched.")
 public class RecordRegexFilter implements Directive, Lineage {
   public static final String NAME = "filter-by-regex";
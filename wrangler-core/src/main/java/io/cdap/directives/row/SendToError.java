@@ -63,6 +63,7 @@ import static io.cdap.wrangler.metrics.JexlCategoryMetricUtils.getJexlCategoryMe
 public class SendToError implements Directive, Lineage {
   public static final String NAME = "send-to-error";
   private EL el;
+  private ELContext elContext;
   private String condition;
   private String metric = null;
   private String message = null;
@@ -81,6 +82,7 @@ public class SendToError implements Directive, Lineage {
     condition = ((Expression) args.value("condition")).value();
     try {
       el = EL.compile(condition);
+      elContext = new ELContext(el);
     } catch (ELException e) {
       throw new DirectiveParseException(
         NAME, String.format(" Invalid condition '%s'.", condition)
@@ -104,15 +106,8 @@ public class SendToError implements Directive, Lineage {
     throws DirectiveExecutionException, ErrorRowException {
     List<Row> results = new ArrayList<>();
     for (Row row : rows) {
-      // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context, el, row);
-
-      // Transient variables are added.
-      if (context != null) {
-        for (String variable : context.getTransientStore().getVariables()) {
-          ctx.set(variable, context.getTransientStore().get(variable));
-        }
-      }
+      // Bind the row to the context, the fields are read when the expression references them.
+      ELContext ctx = elContext.bind(context, row);
 
       // Execution of the script / expression based on the row data
       // mapped into context.
@@ -64,6 +64,7 @@ import static io.cdap.wrangler.metrics.JexlCategoryMetricUtils.getJexlCategoryMe
 public class SendToErrorAndContinue implements Directive, Lineage {
   public static final String NAME = "send-to-error-and-continue";
   private EL el;
+  private ELContext elContext;
   private String condition;
   private String metric = null;
   private String message = null;
@@ -82,6 +83,7 @@ public class SendToErrorAndContinue implements Directive, Lineage {
     condition = ((Expression) args.value("condition")).value();
     try {
       el = EL.compile(condition);
+      elContext = new ELContext(el);
     } catch (ELException e) {
       throw new DirectiveParseException(
         NAME, String.format("Invalid condition '%s'.", condition), e);
@@ -107,8 +109,8 @@ public class SendToErrorAndContinue implements Directive, Lineage {
     }
     List<Row> results = new ArrayList<>();
     for (Row row : rows) {
-      // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context, el, row);
+      // Bind the row to the context, the fields are read when the expression references them.
+      ELContext ctx = elContext.bind(context, row);
 
       // Execution of the script / expression based on the row data
       // mapped into context.
@@ -27,7 +27,11 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.EntityCountMetric;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.columnar.ColumnVector;
+import io.cdap.wrangler.api.columnar.ColumnarDirective;
+import io.cdap.wrangler.api.columnar.RowBatch;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -59,14 +63,18 @@ import static io.cdap.wrangler.metrics.JexlCategoryMetricUtils.getJexlCategoryMe
 @Plugin(type = Directive.TYPE)
 @Name(ColumnExpression.NAME)
 @Categories(categories = { "transform"})
+@Batchable
 @Description("Sets a column by evaluating a JEXL expression.")
-public class ColumnExpression implements Directive, Lineage {
+public class ColumnExpression implements Directive, ColumnarDirective, Lineage {
   public static final String NAME = "set-column";
   // Column to which the result of experience is applied to.
   private String column;
   // The actual expression
   private String expression;
   private EL el;
+  private ELContext elContext;
+  // Columnar evaluation of the expression, null if the expression is not a simple arithmetic.
+  private VectorArithmetic arithmetic;
 
   @Override
   public UsageDefinition define() {
@@ -82,6 +90,8 @@ public class ColumnExpression implements Directive, Lineage {
     this.expression = ((Expression) args.value("expression")).value();
     try {
       el = EL.compile(expression);
+      elContext = new ELContext(el);
+      arithmetic = VectorArithmetic.parse(expression, el.variables());
     } catch (ELException e) {
       throw new DirectiveParseException(NAME, e.getMessage(), e);
     }
@@ -95,8 +105,8 @@ public class ColumnExpression implements Directive, Lineage {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     for (Row row : rows) {
-      // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context, el, row);
+      // Bind the row to the context, the fields are read when the expression references them.
+      ELContext ctx = elContext.bind(context, row);
 
       // Execution of the script / expression based on the row data
       // mapped into context.
@@ -115,6 +125,24 @@ public class ColumnExpression implements Directive, Lineage {
     return rows;
   }
 
+  @Override
+  public boolean execute(RowBatch batch, ExecutorContext context) {
+    if (arithmetic == null) {
+      return false;
+    }
+    ColumnVector result = arithmetic.evaluate(batch, context);
+    if (result == null) {
+      return false;
+    }
+    int idx = batch.find(column);
+    if (idx == -1) {
+      batch.add(column, result);
+    } else {
+      batch.setVector(idx, result);
+    }
+    return true;
+  }
+
   @Override
   public Mutation lineage() {
     Mutation.Builder builder = Mutation.builder()
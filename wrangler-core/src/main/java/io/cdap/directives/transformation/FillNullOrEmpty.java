@@ -24,8 +24,17 @@ import io.cdap.wrangler.api.Directive;
 import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.FusibleDirective;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.columnar.BooleanVector;
+import io.cdap.wrangler.api.columnar.ColumnVector;
+import io.cdap.wrangler.api.columnar.ColumnarDirective;
+import io.cdap.wrangler.api.columnar.DoubleVector;
+import io.cdap.wrangler.api.columnar.LongVector;
+import io.cdap.wrangler.api.columnar.RowBatch;
+import io.cdap.wrangler.api.columnar.StringVector;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -42,8 +51,9 @@ import java.util.List;
 @Plugin(type = Directive.TYPE)
 @Name(FillNullOrEmpty.NAME)
 @Categories(categories = { "transform"})
+@Batchable
 @Description("Fills a value of a column with a fixed value if it is either null or empty.")
-public class FillNullOrEmpty implements Directive, Lineage {
+public class FillNullOrEmpty implements FusibleDirective, ColumnarDirective, Lineage {
   public static final String NAME = "fill-null-or-empty";
   private String column;
   private String value;
@@ -74,29 +84,50 @@ public class FillNullOrEmpty implements Directive, Lineage {
   public List<Row> execute(List<Row> rows, ExecutorContext context)
     throws DirectiveExecutionException {
     for (Row row : rows) {
-      int idx = row.find(column);
-      if (idx == -1) {
-        row.add(column, value);
-        continue;
-      }
-      Object object = row.getValue(idx);
-      if (object == null) {
-        row.setValue(idx, value);
-      } else {
-        if (object instanceof String) {
-          if (((String) object).isEmpty()) {
-            row.setValue(idx, value);
-          }
-        } else if (object instanceof JSONObject) {
-          if (JSONObject.NULL.equals(object)) {
-            row.setValue(idx, value);
-          }
-        }
-      }
+      transform(row);
     }
     return rows;
   }
 
+  @Override
+  public void transform(Row row) {
+    int idx = row.find(column);
+    if (idx == -1) {
+      row.add(column, value);
+      return;
+    }
+    if (isNullOrEmpty(row.getValue(idx))) {
+      row.setValue(idx, value);
+    }
+  }
+
+  @Override
+  public boolean execute(RowBatch batch, ExecutorContext context) throws DirectiveExecutionException {
+    int idx = batch.find(column);
+    if (idx == -1) {
+      batch.add(column, StringVector.constant(value, batch.size()));
+      return true;
+    }
+    ColumnVector vector = batch.getVector(idx);
+    // Primitive vectors can only hold nulls, never empty values.
+    boolean primitive = vector instanceof LongVector || vector instanceof DoubleVector
+      || vector instanceof BooleanVector;
+    if (!primitive || vector.hasNulls()) {
+      batch.setVector(idx, vector.map(object -> isNullOrEmpty(object) ? value : object));
+    }
+    return true;
+  }
+
+  private static boolean isNullOrEmpty(Object object) {
+    if (object == null) {
+      return true;
+    }
+    if (object instanceof String) {
+      return ((String) object).isEmpty();
+    }
+    return object instanceof JSONObject && JSONObject.NULL.equals(object);
+  }
+
   @Override
   public Mutation lineage() {
     return Mutation.builder()
@@ -32,8 +32,7 @@ import io.cdap.wrangler.api.parser.ColumnNameList;
 import io.cdap.wrangler.api.parser.Text;
 import io.cdap.wrangler.api.parser.TokenType;
 import io.cdap.wrangler.api.parser.UsageDefinition;
-import org.unix4j.Unix4j;
-import org.unix4j.builder.Unix4jCommandBuilder;
+import io.cdap.wrangler.utils.SedExpression;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +47,7 @@ import java.util.List;
 public class FindAndReplace implements Directive, Lineage {
   public static final String NAME = "find-and-replace";
   private String pattern;
+  private SedExpression expression;
   private List<String> columns;
 
 
@@ -63,6 +63,7 @@ public class FindAndReplace implements Directive, Lineage {
   public void initialize(Arguments args) throws DirectiveParseException {
     this.columns = ((ColumnNameList) args.value("column")).value();
     this.pattern = ((Text) args.value("pattern")).value();
+    this.expression = SedExpression.compile(pattern);
   }
 
   @Override
@@ -82,10 +83,7 @@ public class FindAndReplace implements Directive, Lineage {
           try {
             if (v instanceof String) {
               String value = (String) v; // Safely converts to String.
-              Unix4jCommandBuilder builder = Unix4j.echo(value).sed(pattern);
-              if (builder.toExitValue() == 0) {
-                row.setValue(idx, builder.toStringResult());
-              }
+              row.setValue(idx, expression.apply(value));
             }
           } catch (Exception e) {
             // If there is any issue, we pass it on without any transformation.
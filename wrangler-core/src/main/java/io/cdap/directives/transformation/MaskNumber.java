@@ -25,6 +25,7 @@ import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -61,6 +62,7 @@ import java.util.List;
 @Plugin(type = Directive.TYPE)
 @Name(MaskNumber.NAME)
 @Categories(categories = { "transform"})
+@Batchable
 @Description("Masks a column value using the specified masking pattern.")
 public class MaskNumber implements Directive, Lineage {
   public static final String NAME = "mask-number";
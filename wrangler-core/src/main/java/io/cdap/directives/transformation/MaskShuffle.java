@@ -25,6 +25,7 @@ import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -53,6 +54,7 @@ import java.util.Random;
 @Plugin(type = Directive.TYPE)
 @Name(MaskShuffle.NAME)
 @Categories(categories = { "transform"})
+@Batchable
 @Description("Masks a column value by shuffling characters while maintaining the same length.")
 public class MaskShuffle implements Directive, Lineage {
   public static final String NAME = "mask-shuffle";
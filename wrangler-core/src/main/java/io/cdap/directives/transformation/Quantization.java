@@ -29,7 +29,11 @@ import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.Triplet;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.columnar.ColumnVector;
+import io.cdap.wrangler.api.columnar.ColumnarDirective;
+import io.cdap.wrangler.api.columnar.RowBatch;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
 import io.cdap.wrangler.api.parser.ColumnName;
@@ -47,8 +51,9 @@ import java.util.List;
 @Plugin(type = Directive.TYPE)
 @Name(Quantization.NAME)
 @Categories(categories = { "transform"})
+@Batchable
 @Description("Quanitize the range of numbers into label values.")
-public class Quantization implements Directive, Lineage {
+public class Quantization implements Directive, ColumnarDirective, Lineage {
   public static final String NAME = "quantize";
   private final RangeMap<Double, String> rangeMap = TreeRangeMap.create();
   private String col1;
@@ -87,38 +92,12 @@ public class Quantization implements Directive, Lineage {
       int idx = row.find(col1);
 
       if (idx != -1) {
-        try {
-          Object object = row.getValue(idx);
-
-          if (object == null) {
-            throw new DirectiveExecutionException(
-              NAME, String.format("Column '%s' has null value. It should be a non-null 'String', " +
-                                    "'Float' or 'Double'.", col1));
-          }
-
-          Double d;
-          if (object instanceof String) {
-            d = Double.parseDouble((String) object);
-          } else if (object instanceof Double) {
-            d = (Double) object;
-          } else if (object instanceof Float) {
-            d = ((Float) object).doubleValue();
-          } else {
-            throw new DirectiveExecutionException(
-              NAME, String.format("Column '%s' has invalid type '%s'. It should be of type 'String', " +
-                                    "'Float' or 'Double'.", col1, object.getClass().getSimpleName()));
-          }
-          String value = rangeMap.get(d);
-          int destIdx = row.find(col2);
-          if (destIdx == -1) {
-            row.add(col2, value);
-          } else {
-            row.setValue(destIdx, value);
-          }
-        } catch (NumberFormatException e) {
-          throw new DirectiveExecutionException(
-            NAME, String.format("Column '%s' has invalid type. It should be of type 'String', " +
-                                  "'Float' or 'Double'.", col1), e);
+        String value = quantize(row.getValue(idx));
+        int destIdx = row.find(col2);
+        if (destIdx == -1) {
+          row.add(col2, value);
+        } else {
+          row.setValue(destIdx, value);
         }
       } else {
         throw new DirectiveExecutionException(NAME, "Column '" + col1 + "' does not exist.");
@@ -128,6 +107,50 @@ public class Quantization implements Directive, Lineage {
     return results;
   }
 
+  @Override
+  public boolean execute(RowBatch batch, ExecutorContext context) throws DirectiveExecutionException {
+    int idx = batch.find(col1);
+    if (idx == -1) {
+      throw new DirectiveExecutionException(NAME, "Column '" + col1 + "' does not exist.");
+    }
+    ColumnVector vector = batch.getVector(idx).map(this::quantize);
+    int destIdx = batch.find(col2);
+    if (destIdx == -1) {
+      batch.add(col2, vector);
+    } else {
+      batch.setVector(destIdx, vector);
+    }
+    return true;
+  }
+
+  private String quantize(Object object) throws DirectiveExecutionException {
+    if (object == null) {
+      throw new DirectiveExecutionException(
+        NAME, String.format("Column '%s' has null value. It should be a non-null 'String', " +
+                              "'Float' or 'Double'.", col1));
+    }
+
+    try {
+      Double d;
+      if (object instanceof String) {
+        d = Double.parseDouble((String) object);
+      } else if (object instanceof Double) {
+        d = (Double) object;
+      } else if (object instanceof Float) {
+        d = ((Float) object).doubleValue();
+      } else {
+        throw new DirectiveExecutionException(
+          NAME, String.format("Column '%s' has invalid type '%s'. It should be of type 'String', " +
+                                "'Float' or 'Double'.", col1, object.getClass().getSimpleName()));
+      }
+      return rangeMap.get(d);
+    } catch (NumberFormatException e) {
+      throw new DirectiveExecutionException(
+        NAME, String.format("Column '%s' has invalid type. It should be of type 'String', " +
+                              "'Float' or 'Double'.", col1), e);
+    }
+  }
+
   @Override
   public Mutation lineage() {
     return Mutation.builder()
@@ -24,7 +24,9 @@ import io.cdap.wrangler.api.Directive;
 import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.FusibleDirective;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -41,8 +43,9 @@ import java.util.List;
 @Plugin(type = Directive.TYPE)
 @Name(RightTrim.NAME)
 @Categories(categories = { "transform"})
+@Batchable
 @Description("Trimming whitespace from right side of a string.")
-public class RightTrim implements Directive, Lineage {
+public class RightTrim implements FusibleDirective, Lineage {
   public static final String NAME = "rtrim";
   // Columns of the column to be upper-cased
   private String column;
@@ -67,18 +70,23 @@ public class RightTrim implements Directive, Lineage {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     for (Row row : rows) {
-      int idx = row.find(column);
-      if (idx != -1) {
-        Object object = row.getValue(idx);
-        if (object instanceof String) {
-          if (object != null) {
-            String value = (String) object;
-            row.setValue(idx, Trimmer.rtrim(value));
-          }
+      transform(row);
+    }
+    return rows;
+  }
+
+  @Override
+  public void transform(Row row) {
+    int idx = row.find(column);
+    if (idx != -1) {
+      Object object = row.getValue(idx);
+      if (object instanceof String) {
+        if (object != null) {
+          String value = (String) object;
+          row.setValue(idx, Trimmer.rtrim(value));
         }
       }
     }
-    return rows;
   }
 
   @Override
@@ -24,7 +24,9 @@ import io.cdap.wrangler.api.Directive;
 import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.FusibleDirective;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
 import io.cdap.wrangler.api.annotations.Categories;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -40,8 +42,9 @@ import java.util.List;
 @Plugin(type = Directive.TYPE)
 @Name(Upper.NAME)
 @Categories(categories = { "transform"})
+@Batchable
 @Description("Changes the column values to uppercase.")
-public class Upper implements Directive, Lineage {
+public class Upper implements FusibleDirective, Lineage {
   public static final String NAME = "uppercase";
   // Columns of the column to be upper-cased
   private String column;
@@ -66,18 +69,23 @@ public class Upper implements Directive, Lineage {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     for (Row row : rows) {
-      int idx = row.find(column);
-      if (idx != -1) {
-        Object object = row.getValue(idx);
-        if (object instanceof String) {
-          if (object != null) {
-            String value = (String) object;
-            row.setValue(idx, value.toUpperCase());
-          }
+      transform(row);
+    }
+    return rows;
+  }
+
+  @Override
+  public void transform(Row row) {
+    int idx = row.find(column);
+    if (idx != -1) {
+      Object object = row.getValue(idx);
+      if (object instanceof String) {
+        if (object != null) {
+          String value = (String) object;
+          row.setValue(idx, value.toUpperCase());
         }
       }
     }
-    return rows;
   }
 
   @Override
@@ -0,0 +1,207 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.directives.transformation;
+
+import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.columnar.ColumnVector;
+import io.cdap.wrangler.api.columnar.DoubleVector;
+import io.cdap.wrangler.api.columnar.LongVector;
+import io.cdap.wrangler.api.columnar.RowBatch;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+
+/**
+ * Evaluates an expression of the form {@code <operand> <op> <operand>}, where the operator is one of
+ * {@code +}, {@code -} or {@code *} and the operands are numeric columns or number literals, on whole
+ * column vectors at a time.
+ *
+ * <p>The result follows the JEXL arithmetic: if any operand is floating point the result is a {@link Double},
+ * otherwise it is a {@link Long} if any operand is a {@link Long}, else an {@link Integer}. Cases where JEXL
+ * would widen the result (integer overflows) are not evaluated here, and are left to JEXL.</p>
+ */
+final class VectorArithmetic {
+  private static final String OPERAND = "([A-Za-z_$][A-Za-z0-9_$]*|\\d+(?:\\.\\d+)?)";
+  private static final Pattern EXPRESSION =
+    Pattern.compile("^\\s*" + OPERAND + "\\s*([-+*])\\s*" + OPERAND + "\\s*$");
+
+  private final Operand left;
+  private final char operator;
+  private final Operand right;
+
+  private VectorArithmetic(Operand left, char operator, Operand right) {
+    this.left = left;
+    this.operator = operator;
+    this.right = right;
+  }
+
+  /**
+   * Parses the expression.
+   *
+   * @param expression to be parsed.
+   * @param variables the variables of the compiled expression.
+   * @return the arithmetic, or {@code null} if the expression is not a simple arithmetic on columns.
+   */
+  @Nullable
+  static VectorArithmetic parse(String expression, Set<String> variables) {
+    Matcher matcher = EXPRESSION.matcher(expression);
+    if (!matcher.matches()) {
+      return null;
+    }
+    Operand left = Operand.parse(matcher.group(1), variables);
+    Operand right = Operand.parse(matcher.group(3), variables);
+    if (left == null || right == null || (left.column == null && right.column == null)) {
+      return null;
+    }
+    return new VectorArithmetic(left, matcher.group(2).charAt(0), right);
+  }
+
+  /**
+   * Evaluates the expression on the batch.
+   *
+   * @return the vector of results, or {@code null} if the columns of the batch cannot be evaluated here.
+   */
+  @Nullable
+  ColumnVector evaluate(RowBatch batch, ExecutorContext context) {
+    ColumnVector lhs = left.resolve(batch, context);
+    ColumnVector rhs = right.resolve(batch, context);
+    if (lhs == null || rhs == null) {
+      return null;
+    }
+    int size = batch.size();
+    if (lhs instanceof DoubleVector || rhs instanceof DoubleVector) {
+      double[] results = new double[size];
+      for (int i = 0; i < size; i++) {
+        results[i] = apply(toDouble(lhs, i), toDouble(rhs, i));
+      }
+      return new DoubleVector(results, null, false);
+    }
+
+    LongVector l = (LongVector) lhs;
+    LongVector r = (LongVector) rhs;
+    boolean ints = l.isInts() && r.isInts();
+    long[] results = new long[size];
+    try {
+      for (int i = 0; i < size; i++) {
+        long result = apply(l.getLong(i), r.getLong(i));
+        if (ints && (int) result != result) {
+          return null;
+        }
+        results[i] = result;
+      }
+    } catch (ArithmeticException e) {
+      return null;
+    }
+    return new LongVector(results, null, ints);
+  }
+
+  private double apply(double l, double r) {
+    switch (operator) {
+      case '+':
+        return l + r;
+      case '-':
+        return l - r;
+      default:
+        return l * r;
+    }
+  }
+
+  private long apply(long l, long r) {
+    switch (operator) {
+      case '+':
+        return Math.addExact(l, r);
+      case '-':
+        return Math.subtractExact(l, r);
+      default:
+        return Math.multiplyExact(l, r);
+    }
+  }
+
+  private static double toDouble(ColumnVector vector, int idx) {
+    if (vector instanceof DoubleVector) {
+      return ((DoubleVector) vector).getDouble(idx);
+    }
+    return ((LongVector) vector).getLong(idx);
+  }
+
+  /**
+   * Either a column or a number literal.
+   */
+  private static final class Operand {
+    @Nullable
+    private final String column;
+    @Nullable
+    private final Number literal;
+
+    private Operand(@Nullable String column, @Nullable Number literal) {
+      this.column = column;
+      this.literal = literal;
+    }
+
+    @Nullable
+    static Operand parse(String token, Set<String> variables) {
+      char first = token.charAt(0);
+      if (first >= '0' && first <= '9') {
+        if (token.indexOf('.') != -1) {
+          return new Operand(null, Double.parseDouble(token));
+        }
+        try {
+          return new Operand(null, Integer.parseInt(token));
+        } catch (NumberFormatException e) {
+          return null;
+        }
+      }
+      if (!variables.contains(token) || "this".equals(token) || "ctx".equals(token)) {
+        return null;
+      }
+      return new Operand(token, null);
+    }
+
+    /**
+     * @return the values of the operand as a vector without nulls, or {@code null} if not numeric.
+     */
+    @Nullable
+    ColumnVector resolve(RowBatch batch, ExecutorContext context) {
+      if (literal instanceof Double) {
+        double[] values = new double[batch.size()];
+        Arrays.fill(values, literal.doubleValue());
+        return new DoubleVector(values, null, false);
+      }
+      if (literal != null) {
+        long[] values = new long[batch.size()];
+        Arrays.fill(values, literal.longValue());
+        return new LongVector(values, null, true);
+      }
+      // Transient variables shadow the columns of the row.
+      if (context != null && context.getTransientStore().getVariables().contains(column)) {
+        return null;
+      }
+      int idx = batch.find(column);
+      if (idx == -1) {
+        return null;
+      }
+      ColumnVector vector = batch.getVector(idx);
+      if (vector.hasNulls() || !(vector instanceof LongVector || vector instanceof DoubleVector)) {
+        return null;
+      }
+      return vector;
+    }
+  }
+}
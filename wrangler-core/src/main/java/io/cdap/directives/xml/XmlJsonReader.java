@@ -0,0 +1,238 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.directives.xml;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.XML;
+import org.json.XMLTokener;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Converts a XML document to a {@link JsonObject} in a single pass over the document.
+ *
+ * <p>The document is read with the {@link XMLTokener} of {@link XML#toJSONObject(String, boolean)}, following the
+ * same rules: attributes and child elements become properties, text becomes the 'content' property, repeated
+ * properties become arrays, and values are converted to numbers, booleans and nulls unless strings are kept.
+ * The result is the one obtained by parsing the JSON text of the {@link JSONObject} with Gson, including the order
+ * of the properties, without building that object and its text.</p>
+ */
+final class XmlJsonReader {
+  private static final String CONTENT = "content";
+
+  private XmlJsonReader() {
+  }
+
+  /**
+   * Converts a XML document.
+   *
+   * @param xml document to convert.
+   * @param keepStrings whether to keep values as strings rather than converting them.
+   * @throws JSONException if the document is not well formed.
+   */
+  static JsonObject toJsonObject(String xml, boolean keepStrings) throws JSONException {
+    // Properties are held in hash maps until complete, as JSONObject does, so that they come in the same order.
+    Map<String, JsonElement> root = new HashMap<>();
+    XMLTokener x = new XMLTokener(xml);
+    while (x.more()) {
+      x.skipPast("<");
+      if (x.more()) {
+        parse(x, root, null, keepStrings);
+      }
+    }
+    return toJsonObject(root);
+  }
+
+  /**
+   * Parses a tag, adding the element it opens to the properties of its parent.
+   *
+   * @return true if the tag closes the parent.
+   */
+  private static boolean parse(XMLTokener x, Map<String, JsonElement> context, @Nullable String name,
+                               boolean keepStrings) throws JSONException {
+    Object token = x.nextToken();
+
+    if (token == XML.BANG) {
+      // <!-- ... -->, <![CDATA[ ... ]]> and <! ... >
+      char c = x.next();
+      if (c == '-') {
+        if (x.next() == '-') {
+          x.skipPast("-->");
+          return false;
+        }
+        x.back();
+      } else if (c == '[') {
+        token = x.nextToken();
+        if ("CDATA".equals(token) && x.next() == '[') {
+          String string = x.nextCDATA();
+          if (string.length() > 0) {
+            accumulate(context, CONTENT, new JsonPrimitive(string));
+          }
+          return false;
+        }
+        throw x.syntaxError("Expected 'CDATA['");
+      }
+      int depth = 1;
+      do {
+        token = x.nextMeta();
+        if (token == null) {
+          throw x.syntaxError("Missing '>' after '<!'.");
+        } else if (token == XML.LT) {
+          depth++;
+        } else if (token == XML.GT) {
+          depth--;
+        }
+      } while (depth > 0);
+      return false;
+    } else if (token == XML.QUEST) {
+      // <? ... ?>
+      x.skipPast("?>");
+      return false;
+    } else if (token == XML.SLASH) {
+      // </ ... >
+      token = x.nextToken();
+      if (name == null) {
+        throw x.syntaxError("Mismatched close tag " + token);
+      }
+      if (!token.equals(name)) {
+        throw x.syntaxError("Mismatched " + name + " and " + token);
+      }
+      if (x.nextToken() != XML.GT) {
+        throw x.syntaxError("Misshaped close tag");
+      }
+      return true;
+    } else if (token instanceof Character) {
+      throw x.syntaxError("Misshaped tag");
+    }
+
+    // < ... >
+    String tagName = (String) token;
+    Map<String, JsonElement> element = new HashMap<>();
+    token = null;
+    while (true) {
+      if (token == null) {
+        token = x.nextToken();
+      }
+      if (token instanceof String) {
+        // Attribute
+        String attribute = (String) token;
+        token = x.nextToken();
+        if (token == XML.EQ) {
+          token = x.nextToken();
+          if (!(token instanceof String)) {
+            throw x.syntaxError("Missing value");
+          }
+          accumulate(element, attribute, toValue((String) token, keepStrings));
+          token = null;
+        } else {
+          accumulate(element, attribute, new JsonPrimitive(""));
+        }
+      } else if (token == XML.SLASH) {
+        // Empty element <.../>
+        if (x.nextToken() != XML.GT) {
+          throw x.syntaxError("Misshaped tag");
+        }
+        accumulate(context, tagName, element.isEmpty() ? new JsonPrimitive("") : toJsonObject(element));
+        return false;
+      } else if (token == XML.GT) {
+        // Content, between <...> and </...>
+        while (true) {
+          token = x.nextContent();
+          if (token == null) {
+            throw x.syntaxError("Unclosed tag " + tagName);
+          } else if (token instanceof String) {
+            String string = (String) token;
+            if (string.length() > 0) {
+              accumulate(element, CONTENT, toValue(string, keepStrings));
+            }
+          } else if (token == XML.LT && parse(x, element, tagName, keepStrings)) {
+            JsonElement content = element.get(CONTENT);
+            if (element.isEmpty()) {
+              accumulate(context, tagName, new JsonPrimitive(""));
+            } else if (element.size() == 1 && content != null) {
+              accumulate(context, tagName, content);
+            } else {
+              accumulate(context, tagName, toJsonObject(element));
+            }
+            return false;
+          }
+        }
+      } else {
+        throw x.syntaxError("Misshaped tag");
+      }
+    }
+  }
+
+  /**
+   * Adds a property, turning it into an array if it is already present, as {@link JSONObject#accumulate} does.
+   * That includes wrapping a first value that is an array into another array.
+   */
+  private static void accumulate(Map<String, JsonElement> properties, String key, JsonElement value) {
+    JsonElement previous = properties.get(key);
+    if (previous == null) {
+      if (value.isJsonArray()) {
+        JsonArray array = new JsonArray();
+        array.add(value);
+        properties.put(key, array);
+      } else {
+        properties.put(key, value);
+      }
+    } else if (previous.isJsonArray()) {
+      previous.getAsJsonArray().add(value);
+    } else {
+      JsonArray array = new JsonArray();
+      array.add(previous);
+      array.add(value);
+      properties.put(key, array);
+    }
+  }
+
+  private static JsonElement toValue(String string, boolean keepStrings) {
+    if (keepStrings) {
+      return new JsonPrimitive(string);
+    }
+    Object value = XML.stringToValue(string);
+    if (value instanceof Number) {
+      // Numbers are written as JSONObject writes them, and read as Gson reads them.
+      return new JsonPrimitive(new LazilyParsedNumber(JSONObject.numberToString((Number) value)));
+    }
+    if (value instanceof Boolean) {
+      return new JsonPrimitive((Boolean) value);
+    }
+    if (JSONObject.NULL.equals(value)) {
+      return JsonNull.INSTANCE;
+    }
+    return new JsonPrimitive(value.toString());
+  }
+
+  private static JsonObject toJsonObject(Map<String, JsonElement> properties) {
+    JsonObject object = new JsonObject();
+    for (Map.Entry<String, JsonElement> entry : properties.entrySet()) {
+      object.add(entry.getKey(), entry.getValue());
+    }
+    return object;
+  }
+}
@@ -16,8 +16,6 @@
 
 package io.cdap.directives.xml;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Name;
@@ -40,7 +38,6 @@ import io.cdap.wrangler.api.parser.TokenType;
 import io.cdap.wrangler.api.parser.UsageDefinition;
 import org.apache.commons.lang.StringUtils;
 import org.json.JSONException;
-import org.json.XML;
 
 import java.util.List;
 
@@ -58,7 +55,6 @@ public class XmlToJson implements Directive, Lineage {
   private String col;
   private int depth;
   private boolean keepString;
-  private final Gson gson = new Gson();
 
   @Override
   public UsageDefinition define() {
@@ -103,8 +99,7 @@ public class XmlToJson implements Directive, Lineage {
 
         try {
           if (object instanceof String) {
-            JsonObject element = gson.fromJson(XML.toJSONObject((String) object, this.keepString).toString(),
-                                               JsonElement.class).getAsJsonObject();
+            JsonObject element = XmlJsonReader.toJsonObject((String) object, keepString);
             JsParser.jsonFlatten(element, col, 1, depth, row);
             row.remove(idx);
           } else {
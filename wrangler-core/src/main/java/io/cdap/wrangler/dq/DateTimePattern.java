@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 
 /**
  * Date time patterns
@@ -43,6 +44,9 @@ public class DateTimePattern {
     loadPatterns("TimeRegexes.txt", TIME_PATTERN_GROUP_LIST);
   }
 
+  private static final DateTimePatternIndex DATE_PATTERN_INDEX = new DateTimePatternIndex(DATE_PATTERN_GROUP_LIST);
+  private static final DateTimePatternIndex TIME_PATTERN_INDEX = new DateTimePatternIndex(TIME_PATTERN_GROUP_LIST);
+
   private static void loadPatterns(String patternFileName, List<Map<Pattern, String>> patternParsers) {
     InputStream stream = DateTimePattern.class.getClassLoader().getResourceAsStream(patternFileName);
     try {
@@ -82,7 +86,7 @@ public class DateTimePattern {
     if (value.length() < 6 || value.length() > 64) {
       return false;
     }
-    return isDateTime(DATE_PATTERN_GROUP_LIST, value);
+    return isDateTime(DATE_PATTERN_INDEX, value);
   }
 
   /**
@@ -99,10 +103,10 @@ public class DateTimePattern {
     if (value.length() < 4 || value.length() > 24) {
       return false;
     }
-    return isDateTime(TIME_PATTERN_GROUP_LIST, value);
+    return isDateTime(TIME_PATTERN_INDEX, value);
   }
 
-  private static boolean isDateTime(List<Map<Pattern, String>> patternGroupList, String value) {
+  private static boolean isDateTime(DateTimePatternIndex patternIndex, String value) {
     if (StringUtils.isNotEmpty(value)) {
       // at least 3 digit
       boolean hasEnoughDigits = false;
@@ -121,22 +125,34 @@ public class DateTimePattern {
         return false;
       }
 
-      // Check the value with a list of regex patterns
-      for (Map<Pattern, String> patternMap : patternGroupList) {
-        for (Pattern parser : patternMap.keySet()) {
-          try {
-            if (parser.matcher(value).find()) {
-              return true;
-            }
-          } catch (Exception e) {
-            // ignore
-          }
-        }
+      // Check the value with the regex patterns it may match
+      try {
+        return patternIndex.getCandidates(value).find(value);
+      } catch (Exception e) {
+        // ignore
       }
     }
     return false;
   }
 
+  /**
+   * Returns the regular expression matching the dates of a known format.
+   *
+   * @param format of the dates, as listed in the date patterns.
+   * @return the regular expression, or null if the format is not known.
+   */
+  @Nullable
+  public static Pattern getDatePattern(String format) {
+    for (Map<Pattern, String> patternMap : DATE_PATTERN_GROUP_LIST) {
+      for (Map.Entry<Pattern, String> entry : patternMap.entrySet()) {
+        if (entry.getValue().equals(format)) {
+          return entry.getKey();
+        }
+      }
+    }
+    return null;
+  }
+
   /**
    * Replace the value with date pattern string.
    *
@@ -144,7 +160,7 @@ public class DateTimePattern {
    * @return date pattern string.
    */
   public static Set<String> datePatternReplace(String value) {
-    return dateTimePatternReplace(DATE_PATTERN_GROUP_LIST, value);
+    return dateTimePatternReplace(DATE_PATTERN_INDEX, value);
   }
 
   /**
@@ -154,15 +170,15 @@ public class DateTimePattern {
    * @return
    */
   public static Set<String> timePatternReplace(String value) {
-    return dateTimePatternReplace(TIME_PATTERN_GROUP_LIST, value);
+    return dateTimePatternReplace(TIME_PATTERN_INDEX, value);
   }
 
-  private static Set<String> dateTimePatternReplace(List<Map<Pattern, String>> patternGroupList, String value) {
+  private static Set<String> dateTimePatternReplace(DateTimePatternIndex patternIndex, String value) {
     if (StringUtils.isEmpty(value)) {
       return Collections.singleton(StringUtils.EMPTY);
     }
     HashSet<String> resultSet = new HashSet<>();
-    for (Map<Pattern, String> patternMap : patternGroupList) {
+    for (Map<Pattern, String> patternMap : patternIndex.getCandidates(value).getGroups()) {
       for (Pattern parser : patternMap.keySet()) {
         if (parser.matcher(value).find()) {
           resultSet.add(patternMap.get(parser));
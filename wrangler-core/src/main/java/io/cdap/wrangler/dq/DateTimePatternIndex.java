@@ -0,0 +1,298 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.dq;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+
+/**
+ * Routes values to the date time patterns they may match, based on the separators they contain.
+ *
+ * <p>The shape of a value is the set of its characters other than letters, digits and line terminators. The
+ * separators a pattern requires, and for patterns matching whole values the separators it admits, are derived
+ * from its regular expression. A value can only match a pattern if its shape holds all the separators the
+ * pattern requires and, for patterns matching whole values, only separators the pattern admits. The patterns
+ * compatible with each shape are cached, together with a pattern combining them. The least recently used shapes
+ * are evicted once the cache is full.</p>
+ */
+final class DateTimePatternIndex {
+  // Maximum number of shapes whose patterns are cached.
+  private static final int MAX_SHAPES = 4096;
+
+  private final List<Map<Pattern, String>> groups;
+  private final Map<Pattern, PatternShape> shapes = new LinkedHashMap<>();
+  private final Cache<String, Candidates> candidates = CacheBuilder.newBuilder().maximumSize(MAX_SHAPES).build();
+
+  DateTimePatternIndex(List<Map<Pattern, String>> groups) {
+    this.groups = groups;
+    for (Map<Pattern, String> group : groups) {
+      for (Pattern pattern : group.keySet()) {
+        shapes.put(pattern, PatternShape.of(pattern.pattern()));
+      }
+    }
+  }
+
+  /**
+   * Returns the patterns a value may match.
+   */
+  Candidates getCandidates(String value) {
+    String shape = getShape(value);
+    Candidates result = candidates.getIfPresent(shape);
+    if (result == null) {
+      result = createCandidates(shape);
+      candidates.put(shape, result);
+    }
+    return result;
+  }
+
+  /**
+   * @return the sorted distinct characters of the value that are not letters, digits or line terminators.
+   */
+  static String getShape(String value) {
+    char[] chars = null;
+    int count = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (isSeparator(c)) {
+        if (chars == null) {
+          chars = new char[value.length() - i];
+        }
+        chars[count++] = c;
+      }
+    }
+    if (chars == null) {
+      return "";
+    }
+    Arrays.sort(chars, 0, count);
+    StringBuilder shape = new StringBuilder(count);
+    for (int i = 0; i < count; i++) {
+      if (i == 0 || chars[i] != chars[i - 1]) {
+        shape.append(chars[i]);
+      }
+    }
+    return shape.toString();
+  }
+
+  private Candidates createCandidates(String shape) {
+    List<Map<Pattern, String>> result = new ArrayList<>();
+    StringBuilder combined = new StringBuilder();
+    for (Map<Pattern, String> group : groups) {
+      Map<Pattern, String> compatible = new LinkedHashMap<>();
+      for (Map.Entry<Pattern, String> entry : group.entrySet()) {
+        if (shapes.get(entry.getKey()).accepts(shape)) {
+          compatible.put(entry.getKey(), entry.getValue());
+          combined.append(combined.length() == 0 ? "" : "|").append("(?:").append(entry.getKey().pattern()).append(')');
+        }
+      }
+      if (!compatible.isEmpty()) {
+        result.add(compatible);
+      }
+    }
+    return new Candidates(Collections.unmodifiableList(result),
+                          combined.length() == 0 ? null : Pattern.compile(combined.toString()));
+  }
+
+  // Line terminators are not separators, as $ matches before a line terminator ending the value.
+  private static boolean isSeparator(char c) {
+    return !Character.isLetterOrDigit(c) && c != '\n' && c != '\r' && c != '\u0085' && c != '\u2028'
+      && c != '\u2029';
+  }
+
+  /**
+   * Patterns a value may match.
+   */
+  static final class Candidates {
+    private final List<Map<Pattern, String>> groups;
+    private final Pattern combined;
+
+    private Candidates(List<Map<Pattern, String>> groups, @Nullable Pattern combined) {
+      this.groups = groups;
+      this.combined = combined;
+    }
+
+    /**
+     * @return the groups of patterns, without the patterns the value cannot match and the groups left empty.
+     */
+    List<Map<Pattern, String>> getGroups() {
+      return groups;
+    }
+
+    /**
+     * @return whether the value matches one of the patterns.
+     */
+    boolean find(String value) {
+      return combined != null && combined.matcher(value).find();
+    }
+  }
+
+  /**
+   * Separators required and admitted by a regular expression.
+   */
+  private static final class PatternShape {
+    private final BitSet required = new BitSet();
+    // Null if the regular expression may match any separator.
+    private BitSet admitted = new BitSet();
+
+    boolean accepts(String shape) {
+      BitSet present = new BitSet();
+      for (int i = 0; i < shape.length(); i++) {
+        present.set(shape.charAt(i));
+      }
+      BitSet missing = (BitSet) required.clone();
+      missing.andNot(present);
+      if (!missing.isEmpty()) {
+        return false;
+      }
+      if (admitted == null) {
+        return true;
+      }
+      present.andNot(admitted);
+      return present.isEmpty();
+    }
+
+    /**
+     * Derives the separators from a regular expression. Literals outside of groups and not made optional by a
+     * quantifier are required. Separators are only bounded when the expression is anchored at both ends and
+     * only uses character classes matching letters and digits besides literal separators.
+     */
+    static PatternShape of(String regex) {
+      PatternShape shape = new PatternShape();
+      boolean anchored = regex.startsWith("^") && regex.endsWith("$") && !regex.endsWith("\\$");
+      boolean alternation = false;
+      int depth = 0;
+      int i = 0;
+      while (i < regex.length()) {
+        char c = regex.charAt(i);
+        int literal = -1;
+        if (c == '\\' && i + 1 < regex.length()) {
+          char next = regex.charAt(i + 1);
+          i += 2;
+          if (!Character.isLetterOrDigit(next)) {
+            literal = next;
+          } else if (next == 'p' && regex.startsWith("{L}", i)) {
+            i += 3;
+          } else if (next != 'd') {
+            shape.admitted = null;
+            if (next == 'p' || next == 'P') {
+              int end = regex.indexOf('}', i);
+              i = end < 0 ? i : end + 1;
+            }
+          }
+        } else if (c == '[') {
+          i = shape.parseClass(regex, i + 1);
+        } else if (c == '(') {
+          depth++;
+          i++;
+          if (i < regex.length() && regex.charAt(i) == '?') {
+            shape.admitted = null;
+          }
+        } else if (c == ')') {
+          depth--;
+          i++;
+        } else if (c == '|') {
+          alternation |= depth == 0;
+          i++;
+        } else if (c == '{') {
+          int end = regex.indexOf('}', i);
+          i = end < 0 ? i + 1 : end + 1;
+        } else if (c == '.') {
+          shape.admitted = null;
+          i++;
+        } else if (c == '^' || c == '$' || c == '?' || c == '*' || c == '+') {
+          i++;
+        } else {
+          literal = c;
+          i++;
+        }
+        if (literal >= 0 && isSeparator((char) literal)) {
+          if (shape.admitted != null) {
+            shape.admitted.set(literal);
+          }
+          if (depth == 0 && !isOptional(regex, i)) {
+            shape.required.set(literal);
+          }
+        }
+      }
+      if (alternation) {
+        shape.required.clear();
+      }
+      if (!anchored || alternation) {
+        shape.admitted = null;
+      }
+      return shape;
+    }
+
+    /**
+     * Adds the separators of a character class to the admitted ones.
+     *
+     * @return the index following the class.
+     */
+    private int parseClass(String regex, int start) {
+      int i = start;
+      if (i < regex.length() && regex.charAt(i) == '^') {
+        admitted = null;
+      }
+      int previous = -1;
+      while (i < regex.length() && (regex.charAt(i) != ']' || i == start)) {
+        char c = regex.charAt(i);
+        if (c == '\\' && i + 1 < regex.length()) {
+          c = regex.charAt(i + 1);
+          i += 2;
+          if (Character.isLetterOrDigit(c)) {
+            admitted = null;
+            continue;
+          }
+        } else if (c == '-' && previous >= 0 && i + 1 < regex.length() && regex.charAt(i + 1) != ']') {
+          char end = regex.charAt(i + 1);
+          for (int range = previous; range <= end; range++) {
+            if (isSeparator((char) range) && admitted != null) {
+              admitted.set(range);
+            }
+          }
+          previous = -1;
+          i += 2;
+          continue;
+        } else {
+          i++;
+        }
+        if (isSeparator(c) && admitted != null) {
+          admitted.set(c);
+        }
+        previous = c;
+      }
+      return i + 1;
+    }
+
+    private static boolean isOptional(String regex, int index) {
+      if (index >= regex.length()) {
+        return false;
+      }
+      char c = regex.charAt(index);
+      return c == '?' || c == '*' || (c == '{' && index + 1 < regex.length() && regex.charAt(index + 1) == '0');
+    }
+  }
+}
@@ -30,6 +30,9 @@ import io.cdap.wrangler.api.RecipePipeline;
 import io.cdap.wrangler.api.ReportErrorAndProceed;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.TransientVariableScope;
+import io.cdap.wrangler.api.annotations.Batchable;
+import io.cdap.wrangler.api.columnar.ColumnarDirective;
+import io.cdap.wrangler.api.columnar.RowBatch;
 import io.cdap.wrangler.schema.DirectiveOutputSchemaGenerator;
 import io.cdap.wrangler.schema.DirectiveSchemaResolutionContext;
 import io.cdap.wrangler.schema.TransientStoreKeys;
@@ -55,11 +58,31 @@ public final class RecipePipelineExecutor implements RecipePipeline<Row, Structu
   private final SchemaConverter generator = new SchemaConverter();
   private final RecipeParser recipeParser;
   private final ExecutorContext context;
+  private final int batchSize;
   private List<Directive> directives;
+  private Boolean batchable;
 
   public RecipePipelineExecutor(RecipeParser recipeParser, @Nullable ExecutorContext context) {
+    this(recipeParser, context, 1);
+  }
+
+  /**
+   * Creates an executor that executes the directives on a batch of rows at a time, when all the
+   * directives of the recipe are {@link Batchable}. If any of the directives fails on a batch, the
+   * rows of that batch are re-executed one at a time, so the error records stay the same as executing
+   * a row at a time.
+   *
+   * @param recipeParser parser for the recipe to be executed.
+   * @param context context passed to the directives.
+   * @param batchSize maximum number of rows passed to a directive at a time.
+   */
+  public RecipePipelineExecutor(RecipeParser recipeParser, @Nullable ExecutorContext context, int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be greater than zero, found " + batchSize);
+    }
     this.context = context;
     this.recipeParser = recipeParser;
+    this.batchSize = batchSize;
   }
 
   /**
@@ -103,11 +126,23 @@ public final class RecipePipelineExecutor implements RecipePipeline<Row, Structu
    */
   @Override
   public List<Row> execute(List<Row> rows) throws RecipeException {
+    return execute(rows, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Executes the pipeline on the input rows, until at least {@code limit} output rows are produced. The rows
+   * following the ones needed to produce the output are not executed, so their errors are not collected and the
+   * output schema only reflects the executed rows. This is meant for previews of directives that do not carry
+   * state across rows.
+   *
+   * @param rows List of input record of type I.
+   * @param limit number of output rows after which the execution stops.
+   * @return Parsed output list of record of type I, which may hold more than {@code limit} rows when
+   *   executing in batches
+   */
+  public List<Row> execute(List<Row> rows, int limit) throws RecipeException {
     List<Directive> directives = getDirectives();
-    List<String> messages = new ArrayList<>();
     List<Row> results = new ArrayList<>();
-    int i = 0;
-    int directiveIndex = 0;
     // Initialize schema with input schema from TransientStore if running in service env (design-time) / testing env
     boolean schemaManagementEnabled = context != null && context.isSchemaManagementEnabled();
     Schema inputSchema = schemaManagementEnabled ?
@@ -120,48 +155,32 @@ public final class RecipePipelineExecutor implements RecipePipeline<Row, Structu
       }
     }
 
-    try {
-      collector.reset();
-      while (i < rows.size()) {
-        messages.clear();
-        // Resets the scope of local variable.
-        if (context != null) {
-          context.getTransientStore().reset(TransientVariableScope.LOCAL);
-        }
+    // Batches are only used when the output schema is not being generated, as the schema generators
+    // cannot be rolled back when a batch has to be re-executed a row at a time.
+    boolean batched = batchSize > 1 && !schemaManagementEnabled && isBatchable(directives);
 
-        List<Row> cumulativeRows = rows.subList(i, i + 1);
-        directiveIndex = 0;
-        try {
-          for (Executor<List<Row>, List<Row>> directive : directives) {
-            try {
-              directiveIndex++;
-              cumulativeRows = directive.execute(cumulativeRows, context);
-              if (cumulativeRows.size() < 1) {
-                break;
-              }
-              if (schemaManagementEnabled && inputSchema != null) {
-                outputSchemaGenerators.get(directiveIndex - 1).addNewOutputFields(cumulativeRows);
-              }
-            } catch (ReportErrorAndProceed e) {
-              messages.add(String.format("%s (ecode: %d)", e.getMessage(), e.getCode()));
-              collector
-                .add(new ErrorRecord(rows.subList(i, i + 1).get(0), String.join(",", messages), e.getCode(), true));
-              cumulativeRows = new ArrayList<>();
-              break;
-            }
-          }
-          results.addAll(cumulativeRows);
-        } catch (ErrorRowException e) {
-          messages.add(String.format("%s", e.getMessage()));
-          collector
-            .add(new ErrorRecord(rows.subList(i, i + 1).get(0), String.join(",", messages), e.getCode(),
-              e.isShownInWrangler()));
+    collector.reset();
+    int i = 0;
+    while (i < rows.size() && results.size() < limit) {
+      if (batched) {
+        int end = Math.min(i + batchSize, rows.size());
+        List<Row> output = executeBatch(directives, rows.subList(i, end));
+        if (output != null) {
+          results.addAll(output);
+          i = end;
+          continue;
+        }
+        // One of the directives failed on the batch, so fallback to executing
+        // the rows of this batch one at a time to preserve error semantics.
+        for (; i < end; ++i) {
+          executeRow(directives, rows, i, results, outputSchemaGenerators);
         }
+      } else {
+        executeRow(directives, rows, i, results, outputSchemaGenerators);
         ++i;
       }
-    } catch (DirectiveExecutionException e) {
-      throw new RecipeException(e.getMessage(), e, i, directiveIndex);
     }
+
     // Schema generation
     if (schemaManagementEnabled && inputSchema != null) {
       context.getTransientStore().set(TransientVariableScope.GLOBAL, TransientStoreKeys.OUTPUT_SCHEMA,
@@ -170,6 +189,101 @@ public final class RecipePipelineExecutor implements RecipePipeline<Row, Structu
     return results;
   }
 
+  /**
+   * Executes all the directives on the row at index {@code i}, adding the output to {@code results}
+   * and the errors to the error collector.
+   */
+  private void executeRow(List<Directive> directives, List<Row> rows, int i, List<Row> results,
+                          List<DirectiveOutputSchemaGenerator> outputSchemaGenerators) throws RecipeException {
+    List<String> messages = new ArrayList<>();
+    // Resets the scope of local variable.
+    if (context != null) {
+      context.getTransientStore().reset(TransientVariableScope.LOCAL);
+    }
+
+    List<Row> cumulativeRows = rows.subList(i, i + 1);
+    int directiveIndex = 0;
+    try {
+      for (Executor<List<Row>, List<Row>> directive : directives) {
+        try {
+          directiveIndex++;
+          cumulativeRows = directive.execute(cumulativeRows, context);
+          if (cumulativeRows.size() < 1) {
+            break;
+          }
+          if (!outputSchemaGenerators.isEmpty()) {
+            outputSchemaGenerators.get(directiveIndex - 1).addNewOutputFields(cumulativeRows);
+          }
+        } catch (ReportErrorAndProceed e) {
+          messages.add(String.format("%s (ecode: %d)", e.getMessage(), e.getCode()));
+          collector
+            .add(new ErrorRecord(rows.subList(i, i + 1).get(0), String.join(",", messages), e.getCode(), true));
+          cumulativeRows = new ArrayList<>();
+          break;
+        }
+      }
+      results.addAll(cumulativeRows);
+    } catch (ErrorRowException e) {
+      messages.add(String.format("%s", e.getMessage()));
+      collector
+        .add(new ErrorRecord(rows.subList(i, i + 1).get(0), String.join(",", messages), e.getCode(),
+          e.isShownInWrangler()));
+    } catch (DirectiveExecutionException e) {
+      throw new RecipeException(e.getMessage(), e, i, directiveIndex);
+    }
+  }
+
+  /**
+   * Executes all the directives on a batch of rows. The directives operate on copies of the input rows,
+   * so that the batch can be re-executed a row at a time if any of the directives fails.
+   *
+   * @return output of the batch, or {@code null} if any of the directives failed on the batch.
+   */
+  @Nullable
+  private List<Row> executeBatch(List<Directive> directives, List<Row> rows) {
+    if (context != null) {
+      context.getTransientStore().reset(TransientVariableScope.LOCAL);
+    }
+
+    List<Row> cumulativeRows = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      cumulativeRows.add(new Row(row));
+    }
+    try {
+      int directiveIndex = 0;
+      while (directiveIndex < directives.size() && !cumulativeRows.isEmpty()) {
+        Directive directive = directives.get(directiveIndex);
+        // Consecutive columnar directives are executed on the rows converted to columns.
+        RowBatch batch = directive instanceof ColumnarDirective ? RowBatch.from(cumulativeRows) : null;
+        int next = directiveIndex;
+        while (batch != null && next < directives.size() && directives.get(next) instanceof ColumnarDirective
+          && ((ColumnarDirective) directives.get(next)).execute(batch, context)) {
+          next++;
+        }
+        if (next > directiveIndex) {
+          cumulativeRows = batch.toRows();
+          directiveIndex = next;
+        } else {
+          cumulativeRows = directive.execute(cumulativeRows, context);
+          directiveIndex++;
+        }
+      }
+    } catch (ErrorRowException | ReportErrorAndProceed | DirectiveExecutionException e) {
+      return null;
+    }
+    return cumulativeRows;
+  }
+
+  /**
+   * @return true if all the directives are annotated with {@link Batchable}.
+   */
+  private boolean isBatchable(List<Directive> directives) {
+    if (batchable == null) {
+      batchable = directives.stream().allMatch(d -> d.getClass().isAnnotationPresent(Batchable.class));
+    }
+    return batchable;
+  }
+
   /**
    * Returns records that are errored out.
    *
@@ -0,0 +1,376 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.expression;
+
+import org.apache.commons.jexl3.JexlContext;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * A JEXL expression compiled into a tree of typed nodes, evaluated without the JEXL interpreter.
+ *
+ * <p>Nodes only evaluate the operand types whose JEXL semantics they reproduce exactly: integers, longs,
+ * doubles, strings and booleans, with the arithmetic of a strict JEXL engine. For any other operand, including
+ * null operands of arithmetic operators and values that make JEXL raise an error, a node throws
+ * {@link Fallback}, and the expression is evaluated by JEXL instead. This keeps the results and the errors of
+ * an expression the same whichever way it is evaluated.</p>
+ */
+abstract class CompiledExpression {
+
+  /**
+   * Evaluates the expression.
+   *
+   * @param context to resolve the variables from.
+   * @return the value of the expression.
+   * @throws Fallback if the expression has to be evaluated by JEXL.
+   */
+  abstract Object evaluate(JexlContext context);
+
+  /**
+   * Signals that an expression cannot be evaluated by the compiled tree for the current values.
+   * A single instance without stack trace is used, as it is thrown on the evaluation path.
+   */
+  static final class Fallback extends RuntimeException {
+    static final Fallback INSTANCE = new Fallback();
+
+    private Fallback() {
+      super("Expression must be evaluated by JEXL", null, false, false);
+    }
+  }
+
+  /**
+   * A constant.
+   */
+  static final class Literal extends CompiledExpression {
+    private final Object value;
+
+    Literal(Object value) {
+      this.value = value;
+    }
+
+    @Override
+    Object evaluate(JexlContext context) {
+      return value;
+    }
+  }
+
+  /**
+   * A variable, resolved from the context.
+   */
+  static final class Variable extends CompiledExpression {
+    private final String name;
+
+    Variable(String name) {
+      this.name = name;
+    }
+
+    @Override
+    Object evaluate(JexlContext context) {
+      return context.get(name);
+    }
+  }
+
+  /**
+   * Arithmetic operators {@code +}, {@code -}, {@code *} and {@code /}.
+   */
+  static final class Arithmetic extends CompiledExpression {
+    private final char operator;
+    private final CompiledExpression left;
+    private final CompiledExpression right;
+
+    Arithmetic(char operator, CompiledExpression left, CompiledExpression right) {
+      this.operator = operator;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    Object evaluate(JexlContext context) {
+      Object l = left.evaluate(context);
+      Object r = right.evaluate(context);
+      if (operator == '+' && (l instanceof String || r instanceof String)) {
+        // A strict engine concatenates as soon as one of the operands is a string.
+        return toConcatString(l).concat(toConcatString(r));
+      }
+      if (!isNumber(l) || !isNumber(r)) {
+        throw Fallback.INSTANCE;
+      }
+      if (l instanceof Double || r instanceof Double) {
+        double a = ((Number) l).doubleValue();
+        double b = ((Number) r).doubleValue();
+        switch (operator) {
+          case '+':
+            return a + b;
+          case '-':
+            return a - b;
+          case '*':
+            return a * b;
+          default:
+            if (b == 0.0) {
+              throw Fallback.INSTANCE;
+            }
+            return a / b;
+        }
+      }
+      long a = ((Number) l).longValue();
+      long b = ((Number) r).longValue();
+      long result;
+      try {
+        switch (operator) {
+          case '+':
+            result = Math.addExact(a, b);
+            break;
+          case '-':
+            result = Math.subtractExact(a, b);
+            break;
+          case '*':
+            result = Math.multiplyExact(a, b);
+            break;
+          default:
+            if (b == 0 || (a == Long.MIN_VALUE && b == -1)) {
+              throw Fallback.INSTANCE;
+            }
+            result = a / b;
+        }
+      } catch (ArithmeticException e) {
+        // The result is a BigInteger in JEXL.
+        throw Fallback.INSTANCE;
+      }
+      // Integer operations are narrowed to an integer when none of the operands is a long and the result fits.
+      if (!(l instanceof Long || r instanceof Long) && result <= Integer.MAX_VALUE && result >= Integer.MIN_VALUE) {
+        return (int) result;
+      }
+      return result;
+    }
+
+    private static String toConcatString(Object value) {
+      if (value instanceof String) {
+        return (String) value;
+      }
+      if (value instanceof Integer || value instanceof Long || value instanceof Boolean) {
+        return value.toString();
+      }
+      throw Fallback.INSTANCE;
+    }
+  }
+
+  /**
+   * Unary minus.
+   */
+  static final class Negate extends CompiledExpression {
+    private final CompiledExpression operand;
+
+    Negate(CompiledExpression operand) {
+      this.operand = operand;
+    }
+
+    @Override
+    Object evaluate(JexlContext context) {
+      Object value = operand.evaluate(context);
+      if (value instanceof Integer) {
+        return -(Integer) value;
+      }
+      if (value instanceof Long) {
+        return -(Long) value;
+      }
+      if (value instanceof Double) {
+        return -(Double) value;
+      }
+      throw Fallback.INSTANCE;
+    }
+  }
+
+  /**
+   * Comparison operators {@code ==}, {@code !=}, {@code <}, {@code <=}, {@code >} and {@code >=}.
+   */
+  static final class Comparison extends CompiledExpression {
+    private final String operator;
+    private final CompiledExpression left;
+    private final CompiledExpression right;
+
+    Comparison(String operator, CompiledExpression left, CompiledExpression right) {
+      this.operator = operator;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    Object evaluate(JexlContext context) {
+      Object l = left.evaluate(context);
+      Object r = right.evaluate(context);
+      switch (operator) {
+        case "==":
+          return equal(l, r);
+        case "!=":
+          return !equal(l, r);
+        case "<":
+          return compare(l, r) < 0;
+        case "<=":
+          return compare(l, r) <= 0;
+        case ">":
+          return compare(l, r) > 0;
+        default:
+          return compare(l, r) >= 0;
+      }
+    }
+
+    private static boolean equal(Object l, Object r) {
+      if (l == r) {
+        return true;
+      }
+      if (l == null || r == null) {
+        return false;
+      }
+      if (l instanceof Boolean && r instanceof Boolean) {
+        return l.equals(r);
+      }
+      return compare(l, r) == 0;
+    }
+
+    private static int compare(Object l, Object r) {
+      if (isNumber(l) && isNumber(r)) {
+        if (l instanceof Double || r instanceof Double) {
+          double a = ((Number) l).doubleValue();
+          double b = ((Number) r).doubleValue();
+          // Not Double.compare, as values that are neither lower nor greater are equal in JEXL.
+          return a < b ? -1 : a > b ? 1 : 0;
+        }
+        return Long.compare(((Number) l).longValue(), ((Number) r).longValue());
+      }
+      if (l instanceof String && r instanceof String) {
+        return ((String) l).compareTo((String) r);
+      }
+      throw Fallback.INSTANCE;
+    }
+  }
+
+  /**
+   * Logical operators {@code &&} and {@code ||}, evaluating the right operand only when needed.
+   */
+  static final class Logical extends CompiledExpression {
+    private final boolean and;
+    private final CompiledExpression left;
+    private final CompiledExpression right;
+
+    Logical(boolean and, CompiledExpression left, CompiledExpression right) {
+      this.and = and;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    Object evaluate(JexlContext context) {
+      boolean l = toBoolean(left.evaluate(context));
+      if (and != l) {
+        return l;
+      }
+      return toBoolean(right.evaluate(context));
+    }
+  }
+
+  /**
+   * Logical negation.
+   */
+  static final class Not extends CompiledExpression {
+    private final CompiledExpression operand;
+
+    Not(CompiledExpression operand) {
+      this.operand = operand;
+    }
+
+    @Override
+    Object evaluate(JexlContext context) {
+      return !toBoolean(operand.evaluate(context));
+    }
+  }
+
+  /**
+   * Conditional operator {@code condition ? then : otherwise}.
+   */
+  static final class Conditional extends CompiledExpression {
+    private final CompiledExpression condition;
+    private final CompiledExpression then;
+    private final CompiledExpression otherwise;
+
+    Conditional(CompiledExpression condition, CompiledExpression then, CompiledExpression otherwise) {
+      this.condition = condition;
+      this.then = then;
+      this.otherwise = otherwise;
+    }
+
+    @Override
+    Object evaluate(JexlContext context) {
+      return toBoolean(condition.evaluate(context)) ? then.evaluate(context) : otherwise.evaluate(context);
+    }
+  }
+
+  /**
+   * Call of a static function of a namespace, resolved when the expression is compiled.
+   */
+  static final class Call extends CompiledExpression {
+    private final Method method;
+    private final Class<?>[] parameters;
+    private final CompiledExpression[] arguments;
+
+    Call(Method method, List<CompiledExpression> arguments) {
+      this.method = method;
+      this.parameters = method.getParameterTypes();
+      this.arguments = arguments.toArray(new CompiledExpression[0]);
+    }
+
+    @Override
+    Object evaluate(JexlContext context) {
+      Object[] values = new Object[arguments.length];
+      for (int i = 0; i < arguments.length; i++) {
+        Object value = arguments[i].evaluate(context);
+        // Arguments are only passed as they are, JEXL is left with any conversion.
+        if (!isAssignable(parameters[i], value)) {
+          throw Fallback.INSTANCE;
+        }
+        values[i] = value;
+      }
+      try {
+        return method.invoke(null, values);
+      } catch (Exception e) {
+        // Errors are raised by JEXL, so that they are reported the same way.
+        throw Fallback.INSTANCE;
+      }
+    }
+
+    private static boolean isAssignable(Class<?> parameter, Object value) {
+      if (!parameter.isPrimitive()) {
+        return value == null || parameter.isInstance(value);
+      }
+      return parameter == int.class && value instanceof Integer
+        || parameter == long.class && value instanceof Long
+        || parameter == double.class && value instanceof Double
+        || parameter == boolean.class && value instanceof Boolean;
+    }
+  }
+
+  private static boolean isNumber(Object value) {
+    return value instanceof Integer || value instanceof Long || value instanceof Double;
+  }
+
+  private static boolean toBoolean(Object value) {
+    if (value instanceof Boolean) {
+      return (Boolean) value;
+    }
+    throw Fallback.INSTANCE;
+  }
+}
@@ -18,6 +18,8 @@ package io.cdap.wrangler.expression;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.cdap.cdap.api.common.Bytes;
 import io.cdap.functions.DDL;
 import io.cdap.functions.DataQuality;
@@ -43,19 +45,34 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
 
 /**
  * This class <code>EL</code> is a Expression Language Handler.
  */
 public final class EL {
+  // Maximum number of compiled scripts cached per engine.
+  private static final int MAX_CACHED_SCRIPTS = 1024;
+  // Maximum number of distinct sets of functions an engine is kept for.
+  private static final int MAX_ENGINES = 32;
+  private static final ELRegistration DEFAULT_FUNCTIONS = new DefaultFunctions();
+  // Engines shared by all the expressions compiled with the same functions, the least recently used are evicted.
+  private static final Cache<Map<String, Object>, Engine> ENGINES =
+    CacheBuilder.newBuilder().maximumSize(MAX_ENGINES).build();
+  private static final AtomicLong CACHE_HITS = new AtomicLong();
+  private static final AtomicLong CACHE_MISSES = new AtomicLong();
 
   private static volatile boolean used;
 
   private final Set<String> variables;
   private final JexlScript script;
+  // Compiled form of the script, or null if the script can only be executed by JEXL.
+  private final CompiledExpression compiled;
 
   /**
    * Returns {@code true} if this class has been used to execute JEXL script.
@@ -64,11 +81,25 @@ public final class EL {
     return used;
   }
 
+  /**
+   * @return number of compilations served from the cache of compiled scripts.
+   */
+  public static long getCacheHits() {
+    return CACHE_HITS.get();
+  }
+
+  /**
+   * @return number of compilations that had to compile the script.
+   */
+  public static long getCacheMisses() {
+    return CACHE_MISSES.get();
+  }
+
   /**
    * Same as calling {@link #compile(ELRegistration, String)} using {@link DefaultFunctions}.
    */
   public static EL compile(String expression) throws ELException {
-    return compile(new DefaultFunctions(), expression);
+    return compile(DEFAULT_FUNCTIONS, expression);
   }
 
   /**
@@ -81,23 +112,25 @@ public final class EL {
    */
   public static EL compile(ELRegistration registration, String expression) throws ELException {
     used = true;
-    JexlEngine engine = new JexlBuilder()
-      .namespaces(registration.functions())
-      .silent(false)
-      .cache(1024)
-      .strict(true)
-      .logger(new NullLogger())
-      .create();
+    Engine engine = getEngine(registration.functions());
+    EL cached = engine.get(expression);
+    if (cached != null) {
+      CACHE_HITS.incrementAndGet();
+      return cached;
+    }
+    CACHE_MISSES.incrementAndGet();
 
     try {
       Set<String> variables = new HashSet<>();
-      JexlScript script = engine.createScript(expression);
+      JexlScript script = engine.jexl.createScript(expression);
       Set<List<String>> varSet = script.getVariables();
       for (List<String> vars : varSet) {
         variables.add(Joiner.on(".").join(vars));
       }
 
-      return new EL(script, variables);
+      EL el = new EL(script, variables, ExpressionCompiler.compile(expression, engine.functions));
+      engine.put(expression, el);
+      return el;
     } catch (JexlException e) {
       // JexlException.getMessage() uses 'io.cdap.wrangler.expression.EL' class name in the error message.
       // So instead use info object to get information about error message and create custom error message.
@@ -114,9 +147,18 @@ public final class EL {
 
   }
 
-  private EL(JexlScript script, Set<String> variables) {
+  /**
+   * Returns the engine for the functions, creating it if needed. Engines are only kept for a bounded number
+   * of distinct functions, as registrations holding function instances never compare equal.
+   */
+  private static Engine getEngine(Map<String, Object> functions) {
+    return ENGINES.asMap().computeIfAbsent(functions, Engine::new);
+  }
+
+  private EL(JexlScript script, Set<String> variables, @Nullable CompiledExpression compiled) {
     this.script = script;
     this.variables = Collections.unmodifiableSet(variables);
+    this.compiled = compiled;
   }
 
   public Set<String> variables() {
@@ -127,7 +169,25 @@ public final class EL {
     return script.getParsedText();
   }
 
+  /**
+   * @return {@code true} if the expression is evaluated without the JEXL interpreter when possible.
+   */
+  boolean isCompiled() {
+    return compiled != null;
+  }
+
   public ELResult execute(ELContext context) throws ELException {
+    return execute(context, true);
+  }
+
+  /**
+   * Executes the script with the JEXL interpreter only, for comparison with the compiled expression.
+   */
+  ELResult interpret(ELContext context) throws ELException {
+    return execute(context, false);
+  }
+
+  private ELResult execute(ELContext context, boolean useCompiled) throws ELException {
     try {
       // Null the missing fields
       for (String variable : variables) {
@@ -135,7 +195,16 @@ public final class EL {
           context.add(variable, null);
         }
       }
-      Object value = script.execute(context);
+      Object value;
+      if (useCompiled && compiled != null) {
+        try {
+          value = compiled.evaluate(context);
+        } catch (CompiledExpression.Fallback e) {
+          value = script.execute(context);
+        }
+      } else {
+        value = script.execute(context);
+      }
       return new ELResult(value);
     } catch (JexlException e) {
       // JexlException.getMessage() uses 'io.cdap.wrangler.expression.EL' class name in the error message.
@@ -190,6 +259,40 @@ public final class EL {
 
   }
 
+  /**
+   * A JEXL engine with the cache of the scripts it compiled. Compiled scripts are immutable and thread
+   * safe, so the same {@link EL} is returned for all the compilations of an expression.
+   */
+  private static final class Engine {
+    private final JexlEngine jexl;
+    private final Map<String, Object> functions;
+    private final Map<String, EL> scripts = new LinkedHashMap<String, EL>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, EL> eldest) {
+        return size() > MAX_CACHED_SCRIPTS;
+      }
+    };
+
+    Engine(Map<String, Object> functions) {
+      this.functions = functions;
+      this.jexl = new JexlBuilder()
+        .namespaces(functions)
+        .silent(false)
+        .cache(1024)
+        .strict(true)
+        .logger(new NullLogger())
+        .create();
+    }
+
+    synchronized EL get(String expression) {
+      return scripts.get(expression);
+    }
+
+    synchronized void put(String expression, EL el) {
+      scripts.put(expression, el);
+    }
+  }
+
   private static final class NullLogger implements Log {
     @Override
     public void debug(Object o) {
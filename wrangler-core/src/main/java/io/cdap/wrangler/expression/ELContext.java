@@ -18,6 +18,7 @@ package io.cdap.wrangler.expression;
 
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.RowLayout;
 import org.apache.commons.jexl3.JexlContext;
 
 import java.util.HashMap;
@@ -36,8 +37,20 @@ import javax.annotation.Nullable;
  * variables may lead to unexpected results unless specified otherwise.</p>
  */
 public class ELContext implements JexlContext {
+  private static final String THIS = "this";
+  private static final String CTX = "ctx";
+
   private final Map<String, Object> values = new HashMap<>();
 
+  // Variables of the expression, when the context is created to be bound to rows.
+  private final String[] variables;
+  private ExecutorContext context;
+  private Row row;
+  private Context ctx;
+  // Index in the row of each of the variables, for rows of the layout.
+  private RowLayout layout;
+  private int[] indexes;
+
   /**
    * Context object passed to every expression evaluation.
    * All properties of this class are public to ensure they can be accessed with dot(.) format.
@@ -60,7 +73,19 @@ public class ELContext implements JexlContext {
    * No-op constructors that does nothing but create a instance of context.
    */
   public ELContext() {
-    // no-op
+    this.variables = null;
+  }
+
+  /**
+   * Creates a context to evaluate the expression on rows, one row at a time. The context is bound to a row
+   * with {@link #bind(ExecutorContext, Row)}, and resolves the variables of the expression from the row and
+   * the transient store only when the expression reads them, instead of copying them into the context.
+   * This resolves the variables the same way as {@link #ELContext(ExecutorContext, EL, Row)}.
+   *
+   * @param el the expression evaluated with this context.
+   */
+  public ELContext(EL el) {
+    this.variables = el.variables().toArray(new String[0]);
   }
 
   /**
@@ -71,6 +96,7 @@ public class ELContext implements JexlContext {
    * @param context to be examined to be extracted into JEXL expression variables.
    */
   public ELContext(ExecutorContext context) {
+    this.variables = null;
     init(context);
   }
 
@@ -82,6 +108,7 @@ public class ELContext implements JexlContext {
    * @param row the row for 'this'.
    */
   public ELContext(ExecutorContext context, EL el, Row row) {
+    this.variables = null;
     for (String var : el.variables()) {
       set(var, row.getValue(var));
     }
@@ -109,6 +136,7 @@ public class ELContext implements JexlContext {
    * @param object the object associated with the variable.
    */
   public ELContext(String name, Object object) {
+    this.variables = null;
     values.put(name, object);
   }
 
@@ -118,9 +146,31 @@ public class ELContext implements JexlContext {
    * @param values map of values.
    */
   public ELContext(Map<String, Object> values) {
+    this.variables = null;
     this.values.putAll(values);
   }
 
+  /**
+   * Binds the context to a row, discarding the variables set while evaluating the previous row.
+   * Only contexts created with {@link #ELContext(EL)} can be bound.
+   *
+   * @param context to read the transient variables and the 'ctx' variable from.
+   * @param row the row for 'this' and the variables of the expression.
+   * @return 'this' context.
+   */
+  public ELContext bind(@Nullable ExecutorContext context, Row row) {
+    if (variables == null) {
+      throw new IllegalStateException("Only contexts created for an expression can be bound to rows.");
+    }
+    if (!values.isEmpty()) {
+      values.clear();
+    }
+    this.context = context;
+    this.row = row;
+    this.ctx = null;
+    return this;
+  }
+
   /**
    * Returns the object associated with the name if found, else it's null.
    *
@@ -129,7 +179,54 @@ public class ELContext implements JexlContext {
    */
   @Override
   public Object get(String name) {
-    return values.get(name);
+    if (row == null || values.containsKey(name)) {
+      return values.get(name);
+    }
+    // Resolved with the same precedence as the variables set by ELContext(ExecutorContext, EL, Row).
+    if (THIS.equals(name)) {
+      return row;
+    }
+    if (context != null) {
+      if (CTX.equals(name)) {
+        if (ctx == null) {
+          ctx = new Context(context.getEnvironment().name(), context.getContextName());
+        }
+        return ctx;
+      }
+      if (context.getTransientStore().contains(name)) {
+        return context.getTransientStore().get(name);
+      }
+    }
+    int idx = indexOf(name);
+    return idx == -1 ? null : row.getValue(idx);
+  }
+
+  /**
+   * @return the index of the column of the variable in the bound row, or -1 if not found.
+   */
+  private int indexOf(String name) {
+    int variable = -1;
+    for (int i = 0; i < variables.length; i++) {
+      if (variables[i].equals(name)) {
+        variable = i;
+        break;
+      }
+    }
+    if (variable == -1) {
+      return -1;
+    }
+    RowLayout rowLayout = row.getLayout();
+    if (rowLayout == null) {
+      return row.find(name);
+    }
+    if (rowLayout != layout) {
+      indexes = new int[variables.length];
+      for (int i = 0; i < variables.length; i++) {
+        indexes[i] = variables[i].isEmpty() ? -1 : row.find(variables[i]);
+      }
+      layout = rowLayout;
+    }
+    return indexes[variable];
   }
 
   /**
@@ -163,6 +260,17 @@ public class ELContext implements JexlContext {
    */
   @Override
   public boolean has(String name) {
-    return values.containsKey(name);
+    if (row == null || values.containsKey(name)) {
+      return values.containsKey(name);
+    }
+    if (THIS.equals(name) || context != null && (CTX.equals(name) || context.getTransientStore().contains(name))) {
+      return true;
+    }
+    for (String variable : variables) {
+      if (variable.equals(name)) {
+        return true;
+      }
+    }
+    return false;
   }
 }
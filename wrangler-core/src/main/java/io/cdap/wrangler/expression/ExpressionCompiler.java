@@ -0,0 +1,385 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.expression;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Compiles the common subset of JEXL expressions into a {@link CompiledExpression}.
+ *
+ * <p>The subset consists of integer, decimal, string, boolean and null literals, variables, the arithmetic
+ * operators {@code + - * /}, comparisons, the logical operators {@code && || !}, the conditional operator,
+ * parentheses and calls to static functions of the registered namespaces, such as {@code IsNull(a)} or
+ * {@code dq:isNumber(a)}. Anything else, such as property and method access, word operators, regular
+ * expression matching or escaped strings, is not compiled, and the expression is left to JEXL. Expressions
+ * are expected to be valid JEXL, as they are compiled by JEXL first.</p>
+ */
+final class ExpressionCompiler {
+  // Words with a meaning in JEXL, which cannot be compiled as variables or functions.
+  private static final Set<String> RESERVED = ImmutableSet.of(
+    "or", "and", "eq", "ne", "lt", "gt", "le", "ge", "div", "mod", "not", "NaN", "new", "var", "do", "while",
+    "for", "if", "else", "return", "function", "empty", "size", "in");
+
+  private final String text;
+  private final Map<String, Object> functions;
+  private int pos;
+
+  private ExpressionCompiler(String text, Map<String, Object> functions) {
+    this.text = text;
+    this.functions = functions;
+  }
+
+  /**
+   * Compiles the expression.
+   *
+   * @param expression the JEXL expression.
+   * @param functions namespaces of the functions available to the expression.
+   * @return the compiled expression, or {@code null} if the expression is not part of the supported subset.
+   */
+  @Nullable
+  static CompiledExpression compile(String expression, Map<String, Object> functions) {
+    ExpressionCompiler compiler = new ExpressionCompiler(expression, functions);
+    try {
+      CompiledExpression compiled = compiler.expression();
+      compiler.skipWhitespace();
+      return compiler.pos == expression.length() ? compiled : null;
+    } catch (UnsupportedExpressionException e) {
+      return null;
+    }
+  }
+
+  private CompiledExpression expression() {
+    CompiledExpression condition = or();
+    if (accept("?")) {
+      if (peek(":")) {
+        // The elvis operator.
+        throw new UnsupportedExpressionException();
+      }
+      CompiledExpression then = expression();
+      expect(":");
+      return new CompiledExpression.Conditional(condition, then, expression());
+    }
+    return condition;
+  }
+
+  private CompiledExpression or() {
+    CompiledExpression left = and();
+    while (accept("||")) {
+      left = new CompiledExpression.Logical(false, left, and());
+    }
+    return left;
+  }
+
+  private CompiledExpression and() {
+    CompiledExpression left = equality();
+    while (accept("&&")) {
+      left = new CompiledExpression.Logical(true, left, equality());
+    }
+    return left;
+  }
+
+  private CompiledExpression equality() {
+    CompiledExpression left = relational();
+    for (String operator : new String[] {"==", "!="}) {
+      if (accept(operator)) {
+        return new CompiledExpression.Comparison(operator, left, relational());
+      }
+    }
+    return left;
+  }
+
+  private CompiledExpression relational() {
+    CompiledExpression left = additive();
+    // Two character operators are checked first, so that '<=' is not read as '<'.
+    for (String operator : new String[] {"<=", ">=", "<", ">"}) {
+      if (accept(operator)) {
+        return new CompiledExpression.Comparison(operator, left, additive());
+      }
+    }
+    return left;
+  }
+
+  private CompiledExpression additive() {
+    CompiledExpression left = multiplicative();
+    while (true) {
+      if (accept("+")) {
+        left = new CompiledExpression.Arithmetic('+', left, multiplicative());
+      } else if (accept("-")) {
+        left = new CompiledExpression.Arithmetic('-', left, multiplicative());
+      } else {
+        return left;
+      }
+    }
+  }
+
+  private CompiledExpression multiplicative() {
+    CompiledExpression left = unary();
+    while (true) {
+      if (accept("*")) {
+        left = new CompiledExpression.Arithmetic('*', left, unary());
+      } else if (accept("/")) {
+        left = new CompiledExpression.Arithmetic('/', left, unary());
+      } else {
+        return left;
+      }
+    }
+  }
+
+  private CompiledExpression unary() {
+    if (accept("-")) {
+      return new CompiledExpression.Negate(unary());
+    }
+    if (accept("!")) {
+      if (peek("=") || peek("~")) {
+        throw new UnsupportedExpressionException();
+      }
+      return new CompiledExpression.Not(unary());
+    }
+    return primary();
+  }
+
+  private CompiledExpression primary() {
+    skipWhitespace();
+    if (pos >= text.length()) {
+      throw new UnsupportedExpressionException();
+    }
+    char c = text.charAt(pos);
+    if (c == '(') {
+      pos++;
+      CompiledExpression expression = expression();
+      expect(")");
+      return expression;
+    }
+    if (c == '\'' || c == '"') {
+      return new CompiledExpression.Literal(string(c));
+    }
+    if (c >= '0' && c <= '9') {
+      return new CompiledExpression.Literal(number());
+    }
+    String name = identifier();
+    switch (name) {
+      case "true":
+        return new CompiledExpression.Literal(Boolean.TRUE);
+      case "false":
+        return new CompiledExpression.Literal(Boolean.FALSE);
+      case "null":
+        return new CompiledExpression.Literal(null);
+    }
+    int start = pos;
+    if (accept(":")) {
+      skipWhitespace();
+      if (pos < text.length() && isIdentifierStart(text.charAt(pos))) {
+        String function = identifier();
+        if (accept("(")) {
+          return call(name, function);
+        }
+      }
+      // Not a namespace function, such as the variable before the ':' of a conditional.
+      pos = start;
+    } else if (accept("(")) {
+      return call(null, name);
+    }
+    skipWhitespace();
+    if (pos < text.length() && (text.charAt(pos) == '.' || text.charAt(pos) == '[')) {
+      throw new UnsupportedExpressionException();
+    }
+    return new CompiledExpression.Variable(name);
+  }
+
+  /**
+   * Compiles a call to a function, after its opening parenthesis.
+   */
+  private CompiledExpression call(@Nullable String namespace, String function) {
+    List<CompiledExpression> arguments = new ArrayList<>();
+    if (!accept(")")) {
+      do {
+        arguments.add(expression());
+      } while (accept(","));
+      expect(")");
+    }
+    return new CompiledExpression.Call(resolve(namespace, function, arguments.size()), arguments);
+  }
+
+  /**
+   * Resolves the only public static method of the namespace with the name and number of parameters.
+   */
+  private Method resolve(@Nullable String namespace, String function, int arity) {
+    Object target = functions.get(namespace);
+    if (!(target instanceof Class) || !Modifier.isPublic(((Class<?>) target).getModifiers())) {
+      throw new UnsupportedExpressionException();
+    }
+    Method resolved = null;
+    for (Method method : ((Class<?>) target).getMethods()) {
+      if (!method.getName().equals(function)) {
+        continue;
+      }
+      if (!Modifier.isStatic(method.getModifiers()) || method.isVarArgs()) {
+        throw new UnsupportedExpressionException();
+      }
+      if (method.getParameterCount() == arity) {
+        if (resolved != null) {
+          // Overloads with the same number of parameters are resolved by JEXL.
+          throw new UnsupportedExpressionException();
+        }
+        resolved = method;
+      }
+    }
+    if (resolved == null) {
+      throw new UnsupportedExpressionException();
+    }
+    return resolved;
+  }
+
+  private String string(char quote) {
+    int start = ++pos;
+    while (pos < text.length() && text.charAt(pos) != quote) {
+      char c = text.charAt(pos);
+      if (c == '\\' || c == '\n' || c == '\r') {
+        throw new UnsupportedExpressionException();
+      }
+      pos++;
+    }
+    if (pos >= text.length()) {
+      throw new UnsupportedExpressionException();
+    }
+    return text.substring(start, pos++);
+  }
+
+  /**
+   * Reads a decimal integer, which is an integer or a long depending on its value, or a decimal number without
+   * exponent, which is a double. Numbers with a type suffix, an exponent, or in octal or hexadecimal notation
+   * are not supported.
+   */
+  private Object number() {
+    int start = pos;
+    while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+      pos++;
+    }
+    boolean real = false;
+    if (pos + 1 < text.length() && text.charAt(pos) == '.' && Character.isDigit(text.charAt(pos + 1))) {
+      real = true;
+      pos++;
+      while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+        pos++;
+      }
+    }
+    if (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+      throw new UnsupportedExpressionException();
+    }
+    String number = text.substring(start, pos);
+    if (number.length() > 1 && number.charAt(0) == '0' && !real) {
+      throw new UnsupportedExpressionException();
+    }
+    if (real) {
+      return Double.valueOf(number);
+    }
+    try {
+      long value = Long.parseLong(number);
+      if (value <= Integer.MAX_VALUE) {
+        return (int) value;
+      }
+      return value;
+    } catch (NumberFormatException e) {
+      throw new UnsupportedExpressionException();
+    }
+  }
+
+  private String identifier() {
+    int start = pos;
+    if (pos < text.length() && isIdentifierStart(text.charAt(pos))) {
+      pos++;
+      while (pos < text.length() && (isIdentifierStart(text.charAt(pos)) || Character.isDigit(text.charAt(pos)))) {
+        pos++;
+      }
+    }
+    String name = text.substring(start, pos);
+    if (name.isEmpty() || RESERVED.contains(name)) {
+      throw new UnsupportedExpressionException();
+    }
+    return name;
+  }
+
+  private static boolean isIdentifierStart(char c) {
+    return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_';
+  }
+
+  private boolean peek(String token) {
+    skipWhitespace();
+    return text.startsWith(token, pos);
+  }
+
+  /**
+   * Consumes the operator if it is next. Operators followed by a character that would make them another operator,
+   * such as '=' in '==' or '=~', are not consumed, and such operators are rejected when they cannot be compiled.
+   */
+  private boolean accept(String token) {
+    skipWhitespace();
+    if (!text.startsWith(token, pos)) {
+      return false;
+    }
+    int end = pos + token.length();
+    char next = end < text.length() ? text.charAt(end) : ' ';
+    if (token.equals("<") || token.equals(">") || token.equals("!")) {
+      if (next == '=') {
+        return false;
+      }
+    } else if (token.equals("=") || token.equals("==") || token.equals("!=")) {
+      if (next == '~' || next == '^' || next == '$' || next == '=') {
+        throw new UnsupportedExpressionException();
+      }
+    } else if (token.equals("+") || token.equals("-")) {
+      if (next == '=' || next == token.charAt(0)) {
+        throw new UnsupportedExpressionException();
+      }
+    } else if (token.equals("*") || token.equals("/")) {
+      if (next == '=') {
+        throw new UnsupportedExpressionException();
+      }
+    }
+    pos = end;
+    return true;
+  }
+
+  private void expect(String token) {
+    if (!accept(token)) {
+      throw new UnsupportedExpressionException();
+    }
+  }
+
+  private void skipWhitespace() {
+    while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+      pos++;
+    }
+  }
+
+  /**
+   * Raised while compiling an expression that is not part of the supported subset.
+   */
+  private static final class UnsupportedExpressionException extends RuntimeException {
+    UnsupportedExpressionException() {
+      super(null, null, false, false);
+    }
+  }
+}
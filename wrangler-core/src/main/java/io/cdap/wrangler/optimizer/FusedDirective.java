@@ -0,0 +1,95 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.optimizer;
+
+import io.cdap.wrangler.api.Arguments;
+import io.cdap.wrangler.api.DirectiveExecutionException;
+import io.cdap.wrangler.api.EntityCountMetric;
+import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.FusibleDirective;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
+import io.cdap.wrangler.api.parser.UsageDefinition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Executes consecutive {@link FusibleDirective}s in a single pass over the rows, applying all of
+ * them to a row before moving to the next one.
+ */
+@Batchable
+final class FusedDirective implements FusibleDirective {
+  static final String NAME = "fused";
+
+  private final List<FusibleDirective> directives;
+
+  FusedDirective(List<FusibleDirective> directives) {
+    this.directives = Collections.unmodifiableList(new ArrayList<>(directives));
+  }
+
+  /**
+   * @return the directives fused by this directive, in order of execution.
+   */
+  List<FusibleDirective> getDirectives() {
+    return directives;
+  }
+
+  @Override
+  public UsageDefinition define() {
+    return UsageDefinition.builder(NAME).build();
+  }
+
+  @Override
+  public void initialize(Arguments args) {
+    // no-op, the fused directives are already initialized.
+  }
+
+  @Override
+  public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
+    for (Row row : rows) {
+      transform(row);
+    }
+    return rows;
+  }
+
+  @Override
+  public void transform(Row row) {
+    for (FusibleDirective directive : directives) {
+      directive.transform(row);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    for (FusibleDirective directive : directives) {
+      directive.destroy();
+    }
+  }
+
+  @Override
+  public List<EntityCountMetric> getCountMetrics() {
+    List<EntityCountMetric> metrics = new ArrayList<>();
+    for (FusibleDirective directive : directives) {
+      if (directive.getCountMetrics() != null) {
+        metrics.addAll(directive.getCountMetrics());
+      }
+    }
+    return metrics.isEmpty() ? null : metrics;
+  }
+}
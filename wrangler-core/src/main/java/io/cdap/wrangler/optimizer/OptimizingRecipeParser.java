@@ -0,0 +1,55 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.optimizer;
+
+import io.cdap.wrangler.api.Directive;
+import io.cdap.wrangler.api.RecipeException;
+import io.cdap.wrangler.api.RecipeParser;
+
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link RecipeParser} that optimizes the directives parsed by another parser with the {@link RecipeOptimizer}.
+ *
+ * <p>The optimized directives are meant to be executed, and no longer match the recipe one to one.
+ * Lineage and directive indexes reported in errors should be derived from the original parser.
+ * The service and the Wrangler transform use it when the {@code wrangler.directives.optimize} and
+ * {@code wrangler.transform.optimize} runtime arguments are set to true.</p>
+ */
+public final class OptimizingRecipeParser implements RecipeParser {
+  private final RecipeParser parser;
+  private RecipePlan plan;
+
+  public OptimizingRecipeParser(RecipeParser parser) {
+    this.parser = parser;
+  }
+
+  @Override
+  public List<Directive> parse() throws RecipeException {
+    plan = RecipeOptimizer.optimize(parser.parse());
+    return plan.getDirectives();
+  }
+
+  /**
+   * @return the plan produced by the last call to {@link #parse()}, or {@code null} if the recipe is not parsed yet.
+   */
+  @Nullable
+  public RecipePlan getPlan() {
+    return plan;
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.optimizer;
+
+import io.cdap.directives.column.Drop;
+import io.cdap.directives.column.Keep;
+import io.cdap.directives.row.RecordConditionFilter;
+import io.cdap.directives.row.RecordMissingOrNullFilter;
+import io.cdap.directives.row.RecordRegexFilter;
+import io.cdap.wrangler.api.Directive;
+import io.cdap.wrangler.api.FusibleDirective;
+import io.cdap.wrangler.api.annotations.Batchable;
+import io.cdap.wrangler.api.lineage.Lineage;
+import io.cdap.wrangler.api.lineage.Mutation;
+import io.cdap.wrangler.api.lineage.Relation;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Rewrites the directives of a recipe into an equivalent {@link RecipePlan} that is cheaper to execute.
+ *
+ * <p>The optimizer relies on the {@link Mutation} declared by each directive through {@link Lineage}
+ * to find the columns a directive reads and writes. Only {@link Batchable} directives whose mutation
+ * consists of standard and drop relations are considered, as their effects on a row are fully declared.
+ * Any other directive is a barrier that nothing is moved across. The following rewrites are applied,
+ * in order:</p>
+ * <ul>
+ *   <li>Pruning: a {@link FusibleDirective}, which modifies columns in place and never fails, is removed
+ *   when all the columns it touches are discarded by a later {@code drop} or {@code keep}, without being
+ *   read in between. Directives that can fail or send rows to error are never pruned.</li>
+ *   <li>Filter hoisting: {@code filter-row} and {@code filter-by-regex} are moved ahead of the directives
+ *   preceding them that neither read nor write the columns the filter depends on, so that rows are
+ *   removed before the more expensive directives are applied to them.</li>
+ *   <li>Fusion: consecutive {@link FusibleDirective}s such as {@code trim}, {@code lowercase} and
+ *   {@code fill-null-or-empty} are executed in a single pass over the rows.</li>
+ * </ul>
+ *
+ * <p>The rows produced by the plan are the same as the rows produced by the recipe. As rows dropped by a
+ * hoisted filter are no longer seen by the directives it was moved ahead of, errors these directives would
+ * have raised for such rows are not raised.</p>
+ */
+public final class RecipeOptimizer {
+  // Name of the EL variable that exposes the whole row, which makes all the columns readable.
+  private static final String ROW_VARIABLE = "this";
+
+  private RecipeOptimizer() {
+    // Prevent instantiation.
+  }
+
+  /**
+   * Optimizes the directives of a recipe. The directives must be initialized, and are reused by the plan.
+   *
+   * @param directives of the recipe, in order of execution.
+   * @return the optimized plan.
+   */
+  public static RecipePlan optimize(List<Directive> directives) {
+    List<Directive> plan = new ArrayList<>(directives);
+    List<String> rewrites = new ArrayList<>();
+    Map<Directive, Effects> effects = new IdentityHashMap<>();
+    for (Directive directive : directives) {
+      effects.put(directive, Effects.of(directive));
+    }
+
+    prune(plan, effects, rewrites);
+    hoistFilters(plan, effects, rewrites);
+    fuse(plan, rewrites);
+    return new RecipePlan(plan, rewrites);
+  }
+
+  /**
+   * Removes fusible directives whose output is discarded. Only directives that cannot fail are removed, so that
+   * the rows sent to error are the same. Directives are visited from the last one, so that pruning a directive
+   * can make the directives preceding it prunable.
+   */
+  private static void prune(List<Directive> plan, Map<Directive, Effects> effects, List<String> rewrites) {
+    for (int i = plan.size() - 1; i >= 0; i--) {
+      Directive directive = plan.get(i);
+      Effects effect = effects.get(directive);
+      if (!(directive instanceof FusibleDirective) || !effect.known || !effect.reads.containsAll(effect.writes)) {
+        continue;
+      }
+
+      Set<String> live = columns(effect.reads);
+      for (int j = i + 1; j < plan.size() && !live.isEmpty(); j++) {
+        Directive next = plan.get(j);
+        Effects nextEffect = effects.get(next);
+        if (next instanceof Keep) {
+          live.retainAll(nextEffect.writes);
+        } else if (next instanceof Drop) {
+          live.removeAll(nextEffect.drops);
+        } else if (!nextEffect.known || intersects(nextEffect.reads, live)) {
+          break;
+        }
+      }
+      if (live.isEmpty()) {
+        plan.remove(i);
+        rewrites.add(String.format("Pruned '%s' on columns %s, as the columns are discarded without being read.",
+                                   RecipePlan.name(directive), effect.reads));
+      }
+    }
+  }
+
+  /**
+   * Moves filters ahead of the preceding directives that do not touch the columns the filter reads.
+   */
+  private static void hoistFilters(List<Directive> plan, Map<Directive, Effects> effects, List<String> rewrites) {
+    for (int i = 1; i < plan.size(); i++) {
+      Directive filter = plan.get(i);
+      Effects effect = effects.get(filter);
+      if (!(filter instanceof RecordConditionFilter || filter instanceof RecordRegexFilter) || !effect.known) {
+        continue;
+      }
+
+      int target = i;
+      while (target > 0 && commutes(plan.get(target - 1), effects.get(plan.get(target - 1)), effect)) {
+        target--;
+      }
+      if (target < i) {
+        List<String> skipped = new ArrayList<>();
+        for (Directive directive : plan.subList(target, i)) {
+          skipped.add(RecipePlan.name(directive));
+        }
+        plan.remove(i);
+        plan.add(target, filter);
+        rewrites.add(String.format("Moved '%s' on columns %s ahead of %s.",
+                                   RecipePlan.name(filter), effect.reads, skipped));
+      }
+    }
+  }
+
+  /**
+   * @return true if a filter reading the columns of filterEffect can be executed before the directive.
+   */
+  private static boolean commutes(Directive directive, Effects effect, Effects filterEffect) {
+    if (!effect.known || isFilter(directive) || directive instanceof Keep) {
+      return false;
+    }
+    return !intersects(filterEffect.reads, effect.reads) && !intersects(filterEffect.reads, effect.writes)
+      && !intersects(filterEffect.reads, effect.drops);
+  }
+
+  /**
+   * Replaces runs of consecutive fusible directives with a single directive.
+   */
+  private static void fuse(List<Directive> plan, List<String> rewrites) {
+    int i = 0;
+    while (i < plan.size()) {
+      int end = i;
+      while (end < plan.size() && plan.get(end) instanceof FusibleDirective) {
+        end++;
+      }
+      if (end - i > 1) {
+        List<Directive> run = plan.subList(i, end);
+        List<FusibleDirective> fused = new ArrayList<>();
+        for (Directive directive : run) {
+          fused.add((FusibleDirective) directive);
+        }
+        FusedDirective directive = new FusedDirective(fused);
+        run.clear();
+        plan.add(i, directive);
+        rewrites.add(String.format("Fused %s into a single pass.", RecipePlan.name(directive)));
+      }
+      i++;
+    }
+  }
+
+  private static boolean isFilter(Directive directive) {
+    return directive instanceof RecordConditionFilter || directive instanceof RecordRegexFilter
+      || directive instanceof RecordMissingOrNullFilter;
+  }
+
+  private static Set<String> columns(Set<String> columns) {
+    Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    result.addAll(columns);
+    return result;
+  }
+
+  private static boolean intersects(Set<String> first, Set<String> second) {
+    for (String column : first) {
+      if (second.contains(column)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The columns a directive reads, writes and drops, as declared by its {@link Mutation}.
+   * Column names are compared ignoring case, the same way rows look up columns.
+   */
+  private static final class Effects {
+    private static final Effects UNKNOWN = new Effects(false);
+
+    // True if the effects of the directive on a row are fully declared.
+    private final boolean known;
+    private final Set<String> reads = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    private final Set<String> writes = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    private final Set<String> drops = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    private Effects(boolean known) {
+      this.known = known;
+    }
+
+    static Effects of(Directive directive) {
+      if (!(directive instanceof Lineage) || !directive.getClass().isAnnotationPresent(Batchable.class)) {
+        return UNKNOWN;
+      }
+      Mutation mutation = ((Lineage) directive).lineage();
+      if (mutation == null) {
+        return UNKNOWN;
+      }
+      Effects effects = new Effects(true);
+      for (Relation relation : mutation.relations()) {
+        if (relation.getType() == Relation.Type.DROP) {
+          effects.drops.addAll(relation.getSources());
+        } else if (relation.getType() == Relation.Type.STANDARD) {
+          addColumns(effects.reads, relation.getSources());
+          addColumns(effects.writes, relation.getTargets());
+        } else {
+          return UNKNOWN;
+        }
+      }
+      if (effects.reads.contains(ROW_VARIABLE)) {
+        return UNKNOWN;
+      }
+      return effects;
+    }
+
+    /**
+     * Adds columns, including the leading part of dotted names, as EL resolves {@code a.b} either as
+     * the column {@code a.b} or as the property {@code b} of the column {@code a}.
+     */
+    private static void addColumns(Set<String> to, List<String> columns) {
+      for (String column : columns) {
+        to.add(column);
+        int dot = column.indexOf('.');
+        if (dot > 0) {
+          to.add(column.substring(0, dot));
+        }
+      }
+    }
+  }
+}
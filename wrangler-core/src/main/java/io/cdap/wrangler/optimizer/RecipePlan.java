@@ -0,0 +1,91 @@
+/*
+ *  Copyright © 2025 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package io.cdap.wrangler.optimizer;
+
+import io.cdap.cdap.api.annotation.Name;
+import io.cdap.wrangler.api.Directive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The result of optimizing a recipe: the directives to execute, and a description of each of the
+ * rewrites the {@link RecipeOptimizer} applied to produce them.
+ */
+public final class RecipePlan {
+  private final List<Directive> directives;
+  private final List<String> rewrites;
+
+  RecipePlan(List<Directive> directives, List<String> rewrites) {
+    this.directives = Collections.unmodifiableList(new ArrayList<>(directives));
+    this.rewrites = Collections.unmodifiableList(new ArrayList<>(rewrites));
+  }
+
+  /**
+   * @return the directives of the plan, in order of execution.
+   */
+  public List<Directive> getDirectives() {
+    return directives;
+  }
+
+  /**
+   * @return a readable description of each rewrite applied to the recipe, in the order they were applied.
+   */
+  public List<String> getRewrites() {
+    return rewrites;
+  }
+
+  /**
+   * @return the names of the directives of the plan, in order of execution. Fused directives are
+   * named after the directives they fuse.
+   */
+  public List<String> getSteps() {
+    return directives.stream().map(RecipePlan::name).collect(Collectors.toList());
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("Plan:");
+    List<String> steps = getSteps();
+    for (int i = 0; i < steps.size(); i++) {
+      builder.append(System.lineSeparator()).append("  ").append(i).append(": ").append(steps.get(i));
+    }
+    builder.append(System.lineSeparator()).append("Rewrites:");
+    if (rewrites.isEmpty()) {
+      builder.append(" none");
+    }
+    for (String rewrite : rewrites) {
+      builder.append(System.lineSeparator()).append("  - ").append(rewrite);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * @return the name of the directive, as used in recipes.
+   */
+  static String name(Directive directive) {
+    if (directive instanceof FusedDirective) {
+      return FusedDirective.NAME + ((FusedDirective) directive).getDirectives().stream()
+        .map(RecipePlan::name)
+        .collect(Collectors.joining(", ", "[", "]"));
+    }
+    Name name = directive.getClass().getAnnotation(Name.class);
+    return name == null ? directive.getClass().getSimpleName() : name.value();
+  }
+}
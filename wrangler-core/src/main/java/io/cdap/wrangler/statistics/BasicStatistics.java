@@ -17,10 +17,12 @@
 package io.cdap.wrangler.statistics;
 
 import io.cdap.wrangler.api.Row;
-import io.dataapps.chlorine.finder.FinderEngine;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 
 /**
  * Basic class to compute summary from a list of rows
@@ -28,24 +30,40 @@ import java.util.Map;
 public class BasicStatistics implements Statistics {
   // default time out be 10s
   private static final long TIME_OUT_MILLIS = 10000;
-  private final FinderEngine engine;
+  private final ColumnTypeProfiler profiler;
 
   public BasicStatistics() throws Exception {
-    engine = new FinderEngine("wrangler-finder.xml", true, false);
+    profiler = ColumnTypeProfiler.getInstance();
   }
 
   @Override
   public Row aggregate(List<Row> rows) {
+    return aggregate(rows, null);
+  }
+
+  /**
+   * Computes the summary of the rows and, in the same pass over the rows, the sketches of their columns.
+   *
+   * @param rows to summarize.
+   * @param sketches sketches of the columns by name, to which the values of the rows are added. Sketches are created
+   *                 for the columns that do not have one yet. No sketch is computed if {@code null}.
+   * @return the summary of the rows, as returned by {@link #aggregate(List)}.
+   */
+  public Row aggregate(List<Row> rows, @Nullable Map<String, ColumnSketch> sketches) {
     ColumnMetric types = new ColumnMetric();
     ColumnMetric stats = new ColumnMetric();
 
-    long startTime = System.currentTimeMillis();
+    // Non-empty string values of each column, whose types are found by the profiler.
+    Map<String, List<String>> values = new LinkedHashMap<>();
     Double count = new Double(0);
     for (Row row : rows) {
       ++count;
       for (int i = 0; i < row.width(); ++i) {
         String column = row.getColumn(i);
         Object object = row.getValue(i);
+        if (sketches != null) {
+          sketches.computeIfAbsent(column, c -> new ColumnSketch()).add(object);
+        }
 
         if (object == null) {
           stats.increment(column, "null");
@@ -58,20 +76,20 @@ public class BasicStatistics implements Statistics {
           if (value.isEmpty()) {
             stats.increment(column, "empty");
           } else {
-            // this call is very expensive for string > 2000 characters, took seconds to return
-            Map<String, List<String>> finds = engine.findWithType(value);
-            for (String find : finds.keySet()) {
-              types.increment(column, find);
-            }
-            // TODO: this is a workaround for CDAP-18262, to proper fix we should revisit this computation logic
-            if (System.currentTimeMillis() - startTime > TIME_OUT_MILLIS) {
-              break;
-            }
+            values.computeIfAbsent(column, c -> new ArrayList<>()).add(value);
           }
         }
       }
     }
 
+    // TODO: the time out is a workaround for CDAP-18262, to proper fix we should revisit this computation logic
+    long deadline = System.currentTimeMillis() + TIME_OUT_MILLIS;
+    for (Map.Entry<String, Map<String, Double>> column : profiler.profile(values, deadline).entrySet()) {
+      for (Map.Entry<String, Double> type : column.getValue().entrySet()) {
+        types.set(column.getKey(), type.getKey(), type.getValue());
+      }
+    }
+
     Row rowTypes = new Row();
     for (String column : types.getColumns()) {
       rowTypes.add(column, types.percentage(column, count));
@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.statistics;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.cdap.wrangler.api.Pair;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Mergeable summary of the values of a column: estimated number of distinct values, most frequent values,
+ * quantiles, minimum and maximum of the numeric values and histogram of the lengths of the string values.
+ *
+ * <p>Each summary uses a bounded amount of memory whatever the number of values added. Sketches built on chunks of
+ * the rows can be merged with {@link #merge(ColumnSketch)} into the sketch of all the rows, so they can be computed
+ * in parallel. Only strings, numbers, booleans, dates and times are summarized, other values such as byte arrays,
+ * maps, lists and JSON elements are ignored. This class is not thread safe.</p>
+ */
+public final class ColumnSketch {
+  /**
+   * Number of buckets of the length histogram. Bucket 0 counts empty strings, bucket {@code i} counts the lengths
+   * from {@code 2^(i-1)} to {@code 2^i - 1} and the last bucket counts all the longer lengths.
+   */
+  public static final int LENGTH_BUCKETS = 17;
+  private static final int FREQUENT_CAPACITY = 64;
+  // Frequent values longer than this are truncated when returned.
+  private static final int MAX_FREQUENT_LENGTH = 256;
+  private static final double COMPRESSION = 100;
+  private static final HashFunction HASH = Hashing.murmur3_128();
+
+  private final HyperLogLog distinct = new HyperLogLog();
+  private final SpaceSaving frequent = new SpaceSaving(FREQUENT_CAPACITY);
+  private final TDigest numbers = new TDigest(COMPRESSION);
+  private final long[] lengths = new long[LENGTH_BUCKETS];
+  private long count;
+  private int minLength = Integer.MAX_VALUE;
+  private int maxLength = -1;
+
+  /**
+   * Adds a value of the column, {@code null} values and values of types that are not summarized are ignored.
+   */
+  public void add(@Nullable Object value) {
+    if (!isSummarized(value)) {
+      return;
+    }
+    count++;
+    String text = value instanceof String ? (String) value : String.valueOf(value);
+    distinct.add(HASH.hashUnencodedChars(text).asLong());
+    frequent.add(text);
+    if (value instanceof Number) {
+      numbers.add(((Number) value).doubleValue());
+    } else if (value instanceof String) {
+      int length = text.length();
+      lengths[getLengthBucket(length)]++;
+      minLength = Math.min(minLength, length);
+      maxLength = Math.max(maxLength, length);
+    }
+  }
+
+  /**
+   * Adds the values summarized by another sketch to this sketch.
+   */
+  public void merge(ColumnSketch other) {
+    count += other.count;
+    distinct.merge(other.distinct);
+    frequent.merge(other.frequent);
+    numbers.merge(other.numbers);
+    for (int i = 0; i < LENGTH_BUCKETS; i++) {
+      lengths[i] += other.lengths[i];
+    }
+    minLength = Math.min(minLength, other.minLength);
+    maxLength = Math.max(maxLength, other.maxLength);
+  }
+
+  /**
+   * @return number of values summarized.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * @return estimated number of distinct non null values, compared by their string representation.
+   */
+  public long getDistinct() {
+    return Math.min(count, distinct.estimate());
+  }
+
+  /**
+   * @param k maximum number of values returned.
+   * @return the most frequent values, as strings truncated to {@value #MAX_FREQUENT_LENGTH} characters, with their
+   *         estimated counts by decreasing count.
+   */
+  public List<Pair<String, Long>> getFrequent(int k) {
+    List<Pair<String, Long>> top = frequent.top(k);
+    List<Pair<String, Long>> result = new ArrayList<>(top.size());
+    for (Pair<String, Long> value : top) {
+      String text = value.getFirst();
+      result.add(text.length() <= MAX_FREQUENT_LENGTH ? value
+                   : new Pair<>(text.substring(0, MAX_FREQUENT_LENGTH) + "...", value.getSecond()));
+    }
+    return result;
+  }
+
+  /**
+   * @return number of numeric values added.
+   */
+  public long getNumericCount() {
+    return numbers.size();
+  }
+
+  /**
+   * @return minimum of the numeric values, {@code null} if there is none.
+   */
+  @Nullable
+  public Double getMin() {
+    return getNumericCount() == 0 ? null : numbers.getMin();
+  }
+
+  /**
+   * @return maximum of the numeric values, {@code null} if there is none.
+   */
+  @Nullable
+  public Double getMax() {
+    return getNumericCount() == 0 ? null : numbers.getMax();
+  }
+
+  /**
+   * @param q quantile between 0 and 1.
+   * @return estimated quantile of the numeric values, {@code null} if there is none.
+   */
+  @Nullable
+  public Double getQuantile(double q) {
+    return getNumericCount() == 0 ? null : numbers.quantile(q);
+  }
+
+  /**
+   * @return the histogram of the lengths of the string values, see {@link #LENGTH_BUCKETS}.
+   */
+  public long[] getLengths() {
+    return lengths.clone();
+  }
+
+  /**
+   * @return minimum length of the string values, {@code null} if there is none.
+   */
+  @Nullable
+  public Integer getMinLength() {
+    return maxLength < 0 ? null : minLength;
+  }
+
+  /**
+   * @return maximum length of the string values, {@code null} if there is none.
+   */
+  @Nullable
+  public Integer getMaxLength() {
+    return maxLength < 0 ? null : maxLength;
+  }
+
+  /**
+   * @return the range of the lengths counted by a bucket of the length histogram, such as {@code 4-7}.
+   */
+  public static String getLengthRange(int bucket) {
+    if (bucket <= 1) {
+      return String.valueOf(bucket);
+    }
+    int low = 1 << (bucket - 1);
+    return bucket == LENGTH_BUCKETS - 1 ? low + "+" : low + "-" + ((low << 1) - 1);
+  }
+
+  private static boolean isSummarized(@Nullable Object value) {
+    return value instanceof String || value instanceof Number || value instanceof Boolean
+      || value instanceof TemporalAccessor || value instanceof Date;
+  }
+
+  private static int getLengthBucket(int length) {
+    return Math.min(LENGTH_BUCKETS - 1, 32 - Integer.numberOfLeadingZeros(length));
+  }
+}
@@ -0,0 +1,537 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.statistics;
+
+import io.dataapps.chlorine.finder.Finder;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+/**
+ * Finds the types of string values with the finders of {@code wrangler-finder.xml}, giving the same types as the
+ * chlorine {@code FinderEngine} at a fraction of the cost.
+ *
+ * <p>A value is scanned once to collect the ASCII characters it holds. The regular expression of a finder is only
+ * run on values that hold the characters, and are at least as long as, any match of the expression requires. These
+ * requirements are derived from the top level of the expression when the finders are loaded. Finders of a type are
+ * skipped once a value is known to be of that type. Values are only scanned up to {@link #MAX_LENGTH} characters,
+ * columns with more than {@link #MAX_VALUES} values are sampled, and large samples are profiled a column per
+ * thread. Instances are thread safe.</p>
+ */
+public final class ColumnTypeProfiler {
+  private static final String FINDERS_FILE = "wrangler-finder.xml";
+  // Maximum number of characters of a value that are scanned.
+  static final int MAX_LENGTH = 1024;
+  // Maximum number of values of a column that are profiled, the values of larger columns are sampled.
+  static final int MAX_VALUES = 1000;
+  // Minimum number of values for the columns to be profiled in parallel.
+  private static final int MIN_PARALLEL_VALUES = 2000;
+  // Bits of the digits in the set of the first 64 ASCII characters.
+  private static final long DIGITS = 0x3FFL << '0';
+
+  private static volatile ColumnTypeProfiler instance;
+
+  private final List<TypeFinder> finders;
+  private final int maxLength;
+  private final int maxValues;
+
+  ColumnTypeProfiler(List<TypeFinder> finders, int maxLength, int maxValues) {
+    this.finders = finders;
+    this.maxLength = maxLength;
+    this.maxValues = maxValues;
+  }
+
+  /**
+   * @return the profiler of the finders of {@code wrangler-finder.xml}, which are loaded once.
+   */
+  public static ColumnTypeProfiler getInstance() throws IOException {
+    ColumnTypeProfiler profiler = instance;
+    if (profiler == null) {
+      synchronized (ColumnTypeProfiler.class) {
+        profiler = instance;
+        if (profiler == null) {
+          profiler = new ColumnTypeProfiler(load(FINDERS_FILE), MAX_LENGTH, MAX_VALUES);
+          instance = profiler;
+        }
+      }
+    }
+    return profiler;
+  }
+
+  /**
+   * Counts the values of each type in each column.
+   *
+   * @param columns non-empty string values of each column.
+   * @param deadline time in milliseconds after which values are no longer profiled.
+   * @return for each column, the number of values of each type. Counts of sampled columns are scaled to all the
+   *   values of the column.
+   */
+  public Map<String, Map<String, Double>> profile(Map<String, List<String>> columns, long deadline) {
+    int values = columns.values().stream().mapToInt(List::size).sum();
+    Stream<Map.Entry<String, List<String>>> stream = columns.size() > 1 && values >= MIN_PARALLEL_VALUES ?
+      columns.entrySet().parallelStream() : columns.entrySet().stream();
+    return stream.collect(Collectors.toMap(Map.Entry::getKey, entry -> profile(entry.getValue(), deadline)));
+  }
+
+  private Map<String, Double> profile(List<String> values, long deadline) {
+    Map<String, Double> counts = new HashMap<>();
+    if (values.isEmpty()) {
+      return counts;
+    }
+    // Every stride-th value is profiled, standing for the values up to the next one.
+    int stride = (values.size() + maxValues - 1) / maxValues;
+    for (int i = 0; i < values.size() && System.currentTimeMillis() <= deadline; i += stride) {
+      for (String type : findTypes(values.get(i))) {
+        counts.merge(type, 1.0, Double::sum);
+      }
+    }
+    if (stride > 1) {
+      double scale = (double) values.size() / ((values.size() + stride - 1) / stride);
+      counts.replaceAll((type, count) -> count * scale);
+    }
+    return counts;
+  }
+
+  /**
+   * @return the types found in the value.
+   */
+  Set<String> findTypes(String value) {
+    String scanned = value.length() > maxLength ? value.substring(0, maxLength) : value;
+    long low = 0;
+    long high = 0;
+    for (int i = 0; i < scanned.length(); i++) {
+      char c = scanned.charAt(i);
+      if (c >= 'A' && c <= 'Z') {
+        c = Character.toLowerCase(c);
+      }
+      if (c < 64) {
+        low |= 1L << c;
+      } else if (c < 128) {
+        high |= 1L << (c - 64);
+      }
+    }
+
+    Set<String> types = new TreeSet<>();
+    for (TypeFinder finder : finders) {
+      if (!types.contains(finder.type) && finder.requirement.accepts(scanned.length(), low, high)
+        && finder.find(scanned)) {
+        types.add(finder.type);
+      }
+    }
+    return types;
+  }
+
+  /**
+   * Loads the enabled finders of a finder configuration file, in the format read by the chlorine
+   * {@code FinderEngine}. Finders given by class are run after the regular expressions.
+   */
+  static List<TypeFinder> load(String resource) throws IOException {
+    Document document;
+    try (InputStream in = ColumnTypeProfiler.class.getClassLoader().getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new IOException("Unable to find the finders file " + resource);
+      }
+      document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in);
+    } catch (IOException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IOException("Unable to parse the finders file " + resource, e);
+    }
+
+    List<TypeFinder> finders = new ArrayList<>();
+    List<TypeFinder> classFinders = new ArrayList<>();
+    NodeList nodes = document.getElementsByTagName("finder");
+    for (int i = 0; i < nodes.getLength(); i++) {
+      Element element = (Element) nodes.item(i);
+      String enabled = getText(element, "enabled");
+      if (enabled != null && !Boolean.parseBoolean(enabled)) {
+        continue;
+      }
+      String className = getText(element, "class");
+      if (className != null) {
+        try {
+          classFinders.add(new ClassFinder((Finder) Class.forName(className).getDeclaredConstructor().newInstance()));
+        } catch (ReflectiveOperationException | ClassCastException e) {
+          throw new IOException("Unable to create the finder " + className, e);
+        }
+        continue;
+      }
+      String flags = getText(element, "flags");
+      // Expressions are case insensitive unless flags are given, as in chlorine.
+      finders.add(new RegexFinder(getText(element, "name"), getText(element, "pattern"),
+                                  flags == null ? Pattern.CASE_INSENSITIVE : Integer.parseInt(flags)));
+    }
+    finders.addAll(classFinders);
+    return finders;
+  }
+
+  private static String getText(Element element, String tag) {
+    NodeList nodes = element.getElementsByTagName(tag);
+    return nodes.getLength() == 0 ? null : nodes.item(0).getTextContent().trim();
+  }
+
+  /**
+   * Finder of a type of values, with the requirements on the values it can find.
+   */
+  abstract static class TypeFinder {
+    private final String type;
+    private final Requirement requirement;
+
+    TypeFinder(String type, Requirement requirement) {
+      this.type = type;
+      this.requirement = requirement;
+    }
+
+    abstract boolean find(String value);
+  }
+
+  /**
+   * Finds values matching a regular expression.
+   */
+  static final class RegexFinder extends TypeFinder {
+    private final Pattern pattern;
+
+    RegexFinder(String type, String pattern, int flags) {
+      super(type, Requirement.of(pattern, flags));
+      this.pattern = Pattern.compile(pattern, flags);
+    }
+
+    @Override
+    boolean find(String value) {
+      return pattern.matcher(value).find();
+    }
+  }
+
+  /**
+   * Finds values with a chlorine {@link Finder}, without any requirement on the values.
+   */
+  static final class ClassFinder extends TypeFinder {
+    private final Finder finder;
+
+    ClassFinder(Finder finder) {
+      super(finder.getName(), Requirement.NONE);
+      this.finder = finder;
+    }
+
+    @Override
+    boolean find(String value) {
+      List<String> matches = finder.find(value);
+      return matches != null && !matches.isEmpty();
+    }
+  }
+
+  /**
+   * ASCII characters and length required in a value for a regular expression to find a match. ASCII letters are
+   * folded to lower case, both in the requirements and in the values.
+   */
+  static final class Requirement {
+    static final Requirement NONE = new Requirement(0, 0, false, 0);
+
+    // Required characters, in two bit sets for the first and the last 64 ASCII characters.
+    private final long low;
+    private final long high;
+    private final boolean digit;
+    private final int minLength;
+
+    private Requirement(long low, long high, boolean digit, int minLength) {
+      this.low = low;
+      this.high = high;
+      this.digit = digit;
+      this.minLength = minLength;
+    }
+
+    private static Requirement of(char c) {
+      return c < 64 ? new Requirement(1L << c, 0, false, 1) : new Requirement(0, 1L << (c - 64), false, 1);
+    }
+
+    /**
+     * @return true if the value, as scanned by {@link ColumnTypeProfiler#findTypes(String)}, meets the requirement.
+     */
+    boolean accepts(int length, long low, long high) {
+      return length >= minLength && (low & this.low) == this.low && (high & this.high) == this.high
+        && (!digit || (low & DIGITS) != 0);
+    }
+
+    /**
+     * @return requirement of the sequence of this and the other expression.
+     */
+    private Requirement then(Requirement other) {
+      return new Requirement(low | other.low, high | other.high, digit || other.digit,
+                             saturatedAdd(minLength, other.minLength));
+    }
+
+    /**
+     * @return requirement of either this or the other expression.
+     */
+    private Requirement or(Requirement other) {
+      return new Requirement(low & other.low, high & other.high, digit && other.digit,
+                             Math.min(minLength, other.minLength));
+    }
+
+    private Requirement times(int count) {
+      if (count == 0) {
+        return NONE;
+      }
+      return new Requirement(low, high, digit, (int) Math.min(Integer.MAX_VALUE, (long) minLength * count));
+    }
+
+    private static int saturatedAdd(int a, int b) {
+      return (int) Math.min(Integer.MAX_VALUE, (long) a + b);
+    }
+
+    /**
+     * Derives the requirement of a regular expression. Lookarounds are not analyzed, and there is no requirement
+     * for expressions using constructs or flags that are not understood.
+     */
+    static Requirement of(String pattern, int flags) {
+      if ((flags & (Pattern.COMMENTS | Pattern.LITERAL | Pattern.CANON_EQ)) != 0 || pattern.contains("\\Q")) {
+        return NONE;
+      }
+      Parser parser = new Parser(pattern, (flags & Pattern.UNICODE_CASE) == 0);
+      try {
+        Requirement requirement = parser.alternatives();
+        return parser.index == pattern.length() ? requirement : NONE;
+      } catch (IllegalArgumentException e) {
+        return NONE;
+      }
+    }
+
+    /**
+     * Recursive descent parser of the subset of the regular expression syntax used by finders.
+     */
+    private static final class Parser {
+      private final String pattern;
+      // Letters can only be required when they match ASCII letters only, in any case.
+      private boolean letters;
+      private int index;
+
+      Parser(String pattern, boolean letters) {
+        this.pattern = pattern;
+        this.letters = letters;
+      }
+
+      Requirement alternatives() {
+        Requirement requirement = sequence();
+        while (index < pattern.length() && pattern.charAt(index) == '|') {
+          index++;
+          requirement = requirement.or(sequence());
+        }
+        return requirement;
+      }
+
+      private Requirement sequence() {
+        Requirement requirement = NONE;
+        while (index < pattern.length() && pattern.charAt(index) != '|' && pattern.charAt(index) != ')') {
+          Requirement atom = atom();
+          requirement = requirement.then(atom.times(quantifier()));
+        }
+        return requirement;
+      }
+
+      private Requirement atom() {
+        char c = pattern.charAt(index);
+        switch (c) {
+          case '^':
+          case '$':
+            index++;
+            return NONE;
+          case '.':
+            index++;
+            return new Requirement(0, 0, false, 1);
+          case '(':
+            return group();
+          case '[':
+            int end = skipClass(index);
+            boolean digit = pattern.startsWith("[0-9]", index) && end - index == 5;
+            index = end;
+            return new Requirement(0, 0, digit, 1);
+          case '\\':
+            return escape();
+          case '*':
+          case '+':
+          case '?':
+          case '{':
+            throw new IllegalArgumentException("Unexpected quantifier at " + index);
+          default:
+            index++;
+            if (c >= 128) {
+              return new Requirement(0, 0, false, 1);
+            }
+            if (Character.isLetter(c)) {
+              return letters ? of(Character.toLowerCase(c)) : new Requirement(0, 0, false, 1);
+            }
+            return of(c);
+        }
+      }
+
+      private Requirement group() {
+        if (pattern.startsWith("(?=", index) || pattern.startsWith("(?!", index)
+          || pattern.startsWith("(?<=", index) || pattern.startsWith("(?<!", index)) {
+          index = skipGroup(index);
+          return NONE;
+        }
+        if (pattern.startsWith("(?:", index) || pattern.startsWith("(?>", index)) {
+          index += 3;
+        } else if (pattern.startsWith("(?<", index)) {
+          index = pattern.indexOf('>', index) + 1;
+          if (index == 0) {
+            throw new IllegalArgumentException("Unterminated group name");
+          }
+        } else if (pattern.startsWith("(?", index)) {
+          // Flags, either for the rest of the expression or for the group.
+          index += 2;
+          while (index < pattern.length() && (Character.isLetter(pattern.charAt(index))
+            || pattern.charAt(index) == '-')) {
+            char flag = pattern.charAt(index++);
+            if (flag == 'x') {
+              throw new IllegalArgumentException("Comments are not supported");
+            }
+            if (flag == 'u') {
+              letters = false;
+            }
+          }
+          if (index < pattern.length() && pattern.charAt(index) == ')') {
+            index++;
+            return NONE;
+          }
+          index++;
+        } else {
+          index++;
+        }
+        Requirement requirement = alternatives();
+        if (index >= pattern.length() || pattern.charAt(index) != ')') {
+          throw new IllegalArgumentException("Unterminated group");
+        }
+        index++;
+        return requirement;
+      }
+
+      private Requirement escape() {
+        if (index + 1 >= pattern.length()) {
+          throw new IllegalArgumentException("Unterminated escape");
+        }
+        char c = pattern.charAt(index + 1);
+        index += 2;
+        if (!Character.isLetterOrDigit(c)) {
+          return c < 128 ? of(c) : new Requirement(0, 0, false, 1);
+        }
+        if ("bBAzZG".indexOf(c) >= 0) {
+          return NONE;
+        }
+        if (c == 'p' || c == 'P') {
+          if (index < pattern.length() && pattern.charAt(index) == '{') {
+            index = pattern.indexOf('}', index) + 1;
+            if (index == 0) {
+              throw new IllegalArgumentException("Unterminated property");
+            }
+          } else {
+            index++;
+          }
+          return new Requirement(0, 0, false, 1);
+        }
+        if ("dDsSwWhHvVtnrfae".indexOf(c) >= 0) {
+          return new Requirement(0, 0, c == 'd', 1);
+        }
+        throw new IllegalArgumentException("Unsupported escape \\" + c);
+      }
+
+      /**
+       * @return minimum number of repetitions of the preceding atom.
+       */
+      private int quantifier() {
+        if (index >= pattern.length()) {
+          return 1;
+        }
+        int min;
+        char c = pattern.charAt(index);
+        if (c == '?' || c == '*') {
+          min = 0;
+          index++;
+        } else if (c == '+') {
+          min = 1;
+          index++;
+        } else if (c == '{') {
+          int close = pattern.indexOf('}', index);
+          if (close < 0) {
+            throw new IllegalArgumentException("Unterminated quantifier");
+          }
+          min = Integer.parseInt(pattern.substring(index + 1, close).split(",", -1)[0].trim());
+          index = close + 1;
+        } else {
+          return 1;
+        }
+        // Reluctant and possessive quantifiers.
+        if (index < pattern.length() && (pattern.charAt(index) == '?' || pattern.charAt(index) == '+')) {
+          index++;
+        }
+        return min;
+      }
+
+      private int skipGroup(int start) {
+        int depth = 0;
+        for (int i = start; i < pattern.length(); i++) {
+          char c = pattern.charAt(i);
+          if (c == '\\') {
+            i++;
+          } else if (c == '[') {
+            i = skipClass(i) - 1;
+          } else if (c == '(') {
+            depth++;
+          } else if (c == ')' && --depth == 0) {
+            return i + 1;
+          }
+        }
+        throw new IllegalArgumentException("Unterminated group");
+      }
+
+      private int skipClass(int start) {
+        int i = start + 1;
+        if (i < pattern.length() && pattern.charAt(i) == '^') {
+          i++;
+        }
+        if (i < pattern.length() && pattern.charAt(i) == ']') {
+          throw new IllegalArgumentException("Unsupported class");
+        }
+        int depth = 1;
+        for (; i < pattern.length(); i++) {
+          char c = pattern.charAt(i);
+          if (c == '\\') {
+            i++;
+          } else if (c == '[') {
+            depth++;
+          } else if (c == ']' && --depth == 0) {
+            return i + 1;
+          }
+        }
+        throw new IllegalArgumentException("Unterminated class");
+      }
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.statistics;
+
+import io.cdap.wrangler.api.Pair;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Space-Saving summary of the most frequent values, counting at most a fixed number of values.
+ *
+ * <p>When the summary is full, a new value replaces the value with the smallest count and inherits that count, so
+ * counts are over-estimated by at most the smallest count. Any value more frequent than {@code n / capacity} is
+ * guaranteed to be counted. Summaries are merged by adding the counts of both summaries, a value missing from a full
+ * summary being counted with the smallest count of that summary.</p>
+ */
+final class SpaceSaving {
+  private final int capacity;
+  private final Map<String, Long> counts;
+
+  SpaceSaving(int capacity) {
+    this.capacity = capacity;
+    this.counts = new HashMap<>(capacity * 2);
+  }
+
+  void add(String value) {
+    Long count = counts.get(value);
+    if (count != null) {
+      counts.put(value, count + 1);
+    } else if (counts.size() < capacity) {
+      counts.put(value, 1L);
+    } else {
+      Map.Entry<String, Long> smallest = getSmallest();
+      counts.remove(smallest.getKey());
+      counts.put(value, smallest.getValue() + 1);
+    }
+  }
+
+  void merge(SpaceSaving other) {
+    long missing = getMissingCount();
+    long otherMissing = other.getMissingCount();
+    Set<String> values = new HashSet<>(counts.keySet());
+    values.addAll(other.counts.keySet());
+
+    List<Pair<String, Long>> merged = new ArrayList<>(values.size());
+    for (String value : values) {
+      merged.add(new Pair<>(value, counts.getOrDefault(value, missing) + other.counts.getOrDefault(value,
+                                                                                                 otherMissing)));
+    }
+    merged.sort((a, b) -> Long.compare(b.getSecond(), a.getSecond()));
+    counts.clear();
+    for (Pair<String, Long> value : merged.subList(0, Math.min(capacity, merged.size()))) {
+      counts.put(value.getFirst(), value.getSecond());
+    }
+  }
+
+  /**
+   * @param k maximum number of values returned.
+   * @return the most frequent values with their estimated counts, by decreasing count.
+   */
+  List<Pair<String, Long>> top(int k) {
+    List<Pair<String, Long>> top = new ArrayList<>(counts.size());
+    for (Map.Entry<String, Long> entry : counts.entrySet()) {
+      top.add(new Pair<>(entry.getKey(), entry.getValue()));
+    }
+    top.sort((a, b) -> b.getSecond().equals(a.getSecond()) ?
+      a.getFirst().compareTo(b.getFirst()) : Long.compare(b.getSecond(), a.getSecond()));
+    return top.size() > k ? new ArrayList<>(top.subList(0, k)) : top;
+  }
+
+  /**
+   * @return the count of a value that is not in the summary, which is at most the smallest count once it is full.
+   */
+  private long getMissingCount() {
+    return counts.size() < capacity ? 0 : getSmallest().getValue();
+  }
+
+  private Map.Entry<String, Long> getSmallest() {
+    Map.Entry<String, Long> smallest = null;
+    for (Map.Entry<String, Long> entry : counts.entrySet()) {
+      if (smallest == null || entry.getValue() < smallest.getValue()) {
+        smallest = entry;
+      }
+    }
+    return smallest;
+  }
+}
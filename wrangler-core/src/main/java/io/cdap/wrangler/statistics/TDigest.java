@@ -0,0 +1,177 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.statistics;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest estimating the quantiles of the numbers added.
+ *
+ * <p>Numbers are buffered and merged into weighted centroids sorted by mean. The weight of a centroid is bounded
+ * by how close it is to the tails of the distribution, so that extreme quantiles are estimated more precisely
+ * than the median. Digests are merged by merging their centroids.</p>
+ */
+final class TDigest {
+  private final double compression;
+  private final double[] buffer;
+  private int buffered;
+  private double[] means = new double[0];
+  private double[] weights = new double[0];
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+
+  /**
+   * @param compression bound of the number of centroids kept, higher values give more precise quantiles.
+   */
+  TDigest(double compression) {
+    this.compression = compression;
+    this.buffer = new double[(int) (5 * compression)];
+  }
+
+  void add(double value) {
+    if (Double.isNaN(value)) {
+      return;
+    }
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+    buffer[buffered++] = value;
+    if (buffered == buffer.length) {
+      compress(new double[0], new double[0]);
+    }
+  }
+
+  void merge(TDigest other) {
+    if (other.buffered == 0 && other.means.length == 0) {
+      return;
+    }
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+    double[] otherMeans = Arrays.copyOf(other.means, other.means.length + other.buffered);
+    double[] otherWeights = Arrays.copyOf(other.weights, otherMeans.length);
+    System.arraycopy(other.buffer, 0, otherMeans, other.means.length, other.buffered);
+    Arrays.fill(otherWeights, other.means.length, otherWeights.length, 1);
+    compress(otherMeans, otherWeights);
+  }
+
+  /**
+   * @return the total weight of the numbers added.
+   */
+  long size() {
+    long size = buffered;
+    for (double weight : weights) {
+      size += (long) weight;
+    }
+    return size;
+  }
+
+  double getMin() {
+    return min;
+  }
+
+  double getMax() {
+    return max;
+  }
+
+  /**
+   * @param q quantile between 0 and 1.
+   * @return the estimated value of the quantile, {@code NaN} if no numbers were added.
+   */
+  double quantile(double q) {
+    compress(new double[0], new double[0]);
+    int count = means.length;
+    if (count == 0) {
+      return Double.NaN;
+    }
+    if (count == 1) {
+      return means[0];
+    }
+    double total = 0;
+    for (double weight : weights) {
+      total += weight;
+    }
+    double index = q * total;
+    // Values are interpolated between the centers of the centroids, and between the extremes and the centers of the
+    // first and last centroids.
+    if (index < weights[0] / 2) {
+      return min + (means[0] - min) * index / (weights[0] / 2);
+    }
+    double center = weights[0] / 2;
+    for (int i = 0; i < count - 1; i++) {
+      double next = center + (weights[i] + weights[i + 1]) / 2;
+      if (index <= next) {
+        return means[i] + (means[i + 1] - means[i]) * (index - center) / (next - center);
+      }
+      center = next;
+    }
+    double last = weights[count - 1] / 2;
+    return means[count - 1] + (max - means[count - 1]) * Math.min(1, (index - center) / last);
+  }
+
+  /**
+   * Merges the buffered numbers and the given centroids into the centroids of the digest.
+   */
+  private void compress(double[] otherMeans, double[] otherWeights) {
+    if (buffered == 0 && otherMeans.length == 0) {
+      return;
+    }
+    int count = means.length + buffered + otherMeans.length;
+    double[][] centroids = new double[count][];
+    int n = 0;
+    for (int i = 0; i < means.length; i++) {
+      centroids[n++] = new double[] { means[i], weights[i] };
+    }
+    for (int i = 0; i < buffered; i++) {
+      centroids[n++] = new double[] { buffer[i], 1 };
+    }
+    for (int i = 0; i < otherMeans.length; i++) {
+      centroids[n++] = new double[] { otherMeans[i], otherWeights[i] };
+    }
+    buffered = 0;
+    Arrays.sort(centroids, (a, b) -> Double.compare(a[0], b[0]));
+
+    double total = 0;
+    for (double[] centroid : centroids) {
+      total += centroid[1];
+    }
+    double[] mergedMeans = new double[count];
+    double[] mergedWeights = new double[count];
+    int merged = 0;
+    double mean = centroids[0][0];
+    double weight = centroids[0][1];
+    double before = 0;
+    for (int i = 1; i < count; i++) {
+      double[] centroid = centroids[i];
+      double q0 = before / total;
+      double q2 = (before + weight + centroid[1]) / total;
+      double limit = 4 * total * Math.min(q0 * (1 - q0), q2 * (1 - q2)) / compression;
+      if (weight + centroid[1] <= limit) {
+        weight += centroid[1];
+        mean += (centroid[0] - mean) * centroid[1] / weight;
+      } else {
+        mergedMeans[merged] = mean;
+        mergedWeights[merged++] = weight;
+        before += weight;
+        mean = centroid[0];
+        weight = centroid[1];
+      }
+    }
+    mergedMeans[merged] = mean;
+    mergedWeights[merged++] = weight;
+    means = Arrays.copyOf(mergedMeans, merged);
+    weights = Arrays.copyOf(mergedWeights, merged);
+  }
+}
@@ -28,6 +28,7 @@ import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.Optional;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.annotations.Categories;
+import io.cdap.wrangler.api.annotations.Stateful;
 import io.cdap.wrangler.api.lineage.Lineage;
 import io.cdap.wrangler.api.lineage.Many;
 import io.cdap.wrangler.api.lineage.Mutation;
@@ -49,6 +50,7 @@ import java.util.regex.Pattern;
 @Plugin(type = Directive.TYPE)
 @Name("aggregate-stats")
 @Categories(categories = { "aggregator", "statistics"})
+@Stateful
 @Description("Aggregates byte size and time duration columns and outputs statistics.")
 public class AggregateStats implements Directive, Lineage {
   public static final String FUNCTION_NAME = "aggregate-stats";
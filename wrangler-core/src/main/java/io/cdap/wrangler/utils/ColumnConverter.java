@@ -28,6 +28,7 @@ import java.math.RoundingMode;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import javax.annotation.Nullable;
 
 /**
  * Utility class that converts a {@link Row} column into another column.
@@ -83,20 +84,36 @@ public final class ColumnConverter {
       if (object == null || (object instanceof String && ((String) object).trim().isEmpty())) {
         return;
       }
-      try {
-        Object converted = ColumnConverter.convertType(column, toType, object);
-        if (toType.equalsIgnoreCase(ColumnTypeNames.DECIMAL)) {
-          row.setValue(idx, setDecimalScaleAndPrecision((BigDecimal) converted, scale,
-              precision, roundingMode));
-        } else {
-          row.setValue(idx, converted);
-        }
-      } catch (DirectiveExecutionException e) {
-        throw e;
-      } catch (Exception e) {
-        throw new DirectiveExecutionException(
-            directiveName, String.format("Column '%s' cannot be converted to a '%s'.", column, toType), e);
+      row.setValue(idx, convertValue(directiveName, column, toType, scale, precision, roundingMode, object));
+    }
+  }
+
+  /**
+   * Converts a value of a column to the given type. Null values and blank strings are returned as is.
+   *
+   * @param directiveName name of the directive converting the value, used in error messages.
+   * @param column name of the column holding the value.
+   * @param object value to be converted.
+   * @return the converted value.
+   */
+  @Nullable
+  public static Object convertValue(String directiveName, String column, String toType,
+      Integer scale, Integer precision, RoundingMode roundingMode, @Nullable Object object)
+      throws DirectiveExecutionException {
+    if (object == null || (object instanceof String && ((String) object).trim().isEmpty())) {
+      return object;
+    }
+    try {
+      Object converted = ColumnConverter.convertType(column, toType, object);
+      if (toType.equalsIgnoreCase(ColumnTypeNames.DECIMAL)) {
+        return setDecimalScaleAndPrecision((BigDecimal) converted, scale, precision, roundingMode);
       }
+      return converted;
+    } catch (DirectiveExecutionException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DirectiveExecutionException(
+          directiveName, String.format("Column '%s' cannot be converted to a '%s'.", column, toType), e);
     }
   }
 
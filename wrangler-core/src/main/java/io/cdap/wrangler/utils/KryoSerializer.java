@@ -19,82 +19,282 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.pool.KryoPool;
 import com.esotericsoftware.kryo.serializers.JavaSerializer;
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.wrangler.api.RemoteDirectiveResponse;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.RowLayout;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 
 /**
  * A helper class with allows Serialization and Deserialization using Kryo
  * We should register all schema classes present in {@link SchemaConverter}
  * and {@link RemoteDirectiveResponse}
+ *
+ * <p>Kryo instances are expensive to create and are not thread safe, so they are shared through a pool.
+ * Rows of a response are written by {@link RemoteDirectiveResponseSerializer}, which writes the column names only
+ * when they differ from the previous row, and values with the class id of their registration as type tag.</p>
  **/
 public class KryoSerializer {
 
-  private final Kryo kryo;
-  private static final Gson GSON = new Gson();
+  private static final KryoPool POOL = new KryoPool.Builder(KryoSerializer::createKryo).softReferences().build();
 
-  public KryoSerializer() {
-    kryo = new Kryo();
+  private static Kryo createKryo() {
+    Kryo kryo = new Kryo();
     // Register all classes from RemoteDirectiveResponse
-    kryo.register(RemoteDirectiveResponse.class);
+    kryo.register(RemoteDirectiveResponse.class, new RemoteDirectiveResponseSerializer());
     // Schema does not have no-arg constructor but implements Serializable
     kryo.register(Schema.class, new JavaSerializer());
     // Register all classes from SchemaConverter
-    kryo.register(Row.class);
+    kryo.register(Row.class, new RowSerializer());
     kryo.register(ArrayList.class);
+    kryo.register(HashMap.class);
+    kryo.register(HashSet.class);
+    kryo.register(byte[].class);
+    kryo.register(BigDecimal.class);
+    kryo.register(BigInteger.class);
+    // java.time classes are written by the serializers Kryo provides for them
     kryo.register(LocalDate.class);
     kryo.register(LocalTime.class);
+    kryo.register(LocalDateTime.class);
     kryo.register(ZonedDateTime.class);
+    kryo.register(Instant.class);
+    kryo.register(ZoneOffset.class);
     kryo.register(Map.class);
-    kryo.register(JsonNull.class);
-    // JsonPrimitive does not have no-arg constructor hence we need a
-    // custom serializer as it is not serializable by JavaSerializer
-    kryo.register(JsonPrimitive.class, new JsonSerializer());
-    kryo.register(JsonArray.class);
-    kryo.register(JsonObject.class);
+    // Gson trees are written natively, without going through their JSON text
+    kryo.register(JsonNull.class, new JsonNullSerializer());
+    kryo.register(JsonPrimitive.class, new JsonPrimitiveSerializer());
+    kryo.register(JsonArray.class, new JsonArraySerializer());
+    kryo.register(JsonObject.class, new JsonObjectSerializer());
     // Support deprecated util.date classes
     kryo.register(Date.class);
     kryo.register(java.sql.Date.class);
     kryo.register(Time.class);
     kryo.register(Timestamp.class);
+    return kryo;
   }
 
   public byte[] fromRemoteDirectiveResponse(RemoteDirectiveResponse response) {
-    Output output = new Output(1024, -1);
-    kryo.writeClassAndObject(output, response);
-    return output.getBuffer();
+    return POOL.run(kryo -> {
+      Output output = new Output(1024, -1);
+      kryo.writeClassAndObject(output, response);
+      return output.toBytes();
+    });
   }
 
   public RemoteDirectiveResponse toRemoteDirectiveResponse(byte[] bytes) {
-    Input input = new Input(bytes);
-    return (RemoteDirectiveResponse) kryo.readClassAndObject(input);
+    return POOL.run(kryo -> (RemoteDirectiveResponse) kryo.readClassAndObject(new Input(bytes)));
+  }
+
+  /**
+   * Writes the rows of a response. The columns of a row are written only if they differ from the columns of the
+   * previous row, and rows with the same columns share a {@link RowLayout} once read.
+   */
+  static class RemoteDirectiveResponseSerializer extends Serializer<RemoteDirectiveResponse> {
+
+    @Override
+    public void write(Kryo kryo, Output output, RemoteDirectiveResponse response) {
+      kryo.writeObjectOrNull(output, response.getOutputSchema(), Schema.class);
+      List<Row> rows = response.getRows();
+      if (rows == null) {
+        output.writeVarInt(0, true);
+        return;
+      }
+      output.writeVarInt(rows.size() + 1, true);
+      String[] columns = new String[0];
+      for (Row row : rows) {
+        int width = row.width();
+        boolean same = width == columns.length;
+        for (int i = 0; same && i < width; i++) {
+          same = columns[i].equals(row.getColumn(i));
+        }
+        if (same) {
+          output.writeVarInt(0, true);
+        } else {
+          output.writeVarInt(width + 1, true);
+          columns = new String[width];
+          for (int i = 0; i < width; i++) {
+            columns[i] = row.getColumn(i);
+            output.writeString(columns[i]);
+          }
+        }
+        for (int i = 0; i < width; i++) {
+          kryo.writeClassAndObject(output, row.getValue(i));
+        }
+      }
+    }
+
+    @Override
+    public RemoteDirectiveResponse read(Kryo kryo, Input input, Class<RemoteDirectiveResponse> type) {
+      Schema schema = kryo.readObjectOrNull(input, Schema.class);
+      int count = input.readVarInt(true) - 1;
+      if (count < 0) {
+        return new RemoteDirectiveResponse(null, schema);
+      }
+      List<Row> rows = new ArrayList<>(count);
+      RowLayout layout = RowLayout.root();
+      for (int n = 0; n < count; n++) {
+        int width = input.readVarInt(true) - 1;
+        if (width >= 0) {
+          String[] columns = new String[width];
+          for (int i = 0; i < width; i++) {
+            columns[i] = input.readString();
+          }
+          layout = RowLayout.of(Arrays.asList(columns));
+        }
+        Row row = new Row(layout);
+        for (int i = 0; i < layout.width(); i++) {
+          row.setValue(i, kryo.readClassAndObject(input));
+        }
+        rows.add(row);
+      }
+      return new RemoteDirectiveResponse(rows, schema);
+    }
+  }
+
+  /**
+   * Writes a single row, with its columns and values.
+   */
+  static class RowSerializer extends Serializer<Row> {
+
+    @Override
+    public void write(Kryo kryo, Output output, Row row) {
+      output.writeVarInt(row.width(), true);
+      for (int i = 0; i < row.width(); i++) {
+        output.writeString(row.getColumn(i));
+        kryo.writeClassAndObject(output, row.getValue(i));
+      }
+    }
+
+    @Override
+    public Row read(Kryo kryo, Input input, Class<Row> type) {
+      int width = input.readVarInt(true);
+      Row row = new Row();
+      for (int i = 0; i < width; i++) {
+        row.add(input.readString(), kryo.readClassAndObject(input));
+      }
+      return row;
+    }
+  }
+
+  static class JsonNullSerializer extends Serializer<JsonNull> {
+
+    @Override
+    public void write(Kryo kryo, Output output, JsonNull object) {
+      // There is nothing to write for the singleton.
+    }
+
+    @Override
+    public JsonNull read(Kryo kryo, Input input, Class<JsonNull> type) {
+      return JsonNull.INSTANCE;
+    }
+  }
+
+  static class JsonPrimitiveSerializer extends Serializer<JsonPrimitive> {
+    private static final byte BOOLEAN = 0;
+    private static final byte STRING = 1;
+    private static final byte NUMBER = 2;
+    private static final byte NUMBER_TEXT = 3;
+
+    @Override
+    public void write(Kryo kryo, Output output, JsonPrimitive primitive) {
+      if (primitive.isBoolean()) {
+        output.writeByte(BOOLEAN);
+        output.writeBoolean(primitive.getAsBoolean());
+      } else if (primitive.isString()) {
+        output.writeByte(STRING);
+        output.writeString(primitive.getAsString());
+      } else {
+        Number number = primitive.getAsNumber();
+        // Numbers parsed by Gson are kept as their text, to be parsed again to the type they are read as.
+        if (number instanceof LazilyParsedNumber) {
+          output.writeByte(NUMBER_TEXT);
+          output.writeString(number.toString());
+        } else {
+          output.writeByte(NUMBER);
+          kryo.writeClassAndObject(output, number);
+        }
+      }
+    }
+
+    @Override
+    public JsonPrimitive read(Kryo kryo, Input input, Class<JsonPrimitive> type) {
+      switch (input.readByte()) {
+        case BOOLEAN:
+          return new JsonPrimitive(input.readBoolean());
+        case STRING:
+          return new JsonPrimitive(input.readString());
+        case NUMBER:
+          return new JsonPrimitive((Number) kryo.readClassAndObject(input));
+        default:
+          return new JsonPrimitive(new LazilyParsedNumber(input.readString()));
+      }
+    }
+  }
+
+  static class JsonArraySerializer extends Serializer<JsonArray> {
+
+    @Override
+    public void write(Kryo kryo, Output output, JsonArray array) {
+      output.writeVarInt(array.size(), true);
+      for (JsonElement element : array) {
+        kryo.writeClassAndObject(output, element);
+      }
+    }
+
+    @Override
+    public JsonArray read(Kryo kryo, Input input, Class<JsonArray> type) {
+      int size = input.readVarInt(true);
+      JsonArray array = new JsonArray();
+      for (int i = 0; i < size; i++) {
+        array.add((JsonElement) kryo.readClassAndObject(input));
+      }
+      return array;
+    }
   }
 
-  static class JsonSerializer extends Serializer<JsonElement> {
+  static class JsonObjectSerializer extends Serializer<JsonObject> {
 
     @Override
-    public void write(Kryo kryo, Output output, JsonElement object) {
-      output.writeString(GSON.toJson(object));
+    public void write(Kryo kryo, Output output, JsonObject object) {
+      output.writeVarInt(object.entrySet().size(), true);
+      for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+        output.writeString(entry.getKey());
+        kryo.writeClassAndObject(output, entry.getValue());
+      }
     }
 
     @Override
-    public JsonElement read(Kryo kryo, Input input, Class<JsonElement> type) {
-      return GSON.fromJson(input.readString(), type);
+    public JsonObject read(Kryo kryo, Input input, Class<JsonObject> type) {
+      int size = input.readVarInt(true);
+      JsonObject object = new JsonObject();
+      for (int i = 0; i < size; i++) {
+        object.add(input.readString(), (JsonElement) kryo.readClassAndObject(input));
+      }
+      return object;
     }
   }
 }
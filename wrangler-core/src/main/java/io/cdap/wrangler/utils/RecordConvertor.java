@@ -36,7 +36,6 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -45,6 +44,8 @@ import javax.annotation.Nullable;
  * Converts {@link Row} to {@link StructuredRecord}.
  */
 public final class RecordConvertor implements Serializable {
+  // Writer compiled for the schema of the last conversion.
+  private transient RecordWriter writer;
 
   /**
    * Converts a list of {@link Row} into populated list of {@link StructuredRecord}
@@ -54,12 +55,10 @@ public final class RecordConvertor implements Serializable {
    * @return Populated list of {@link StructuredRecord}
    */
   public List<StructuredRecord> toStructureRecord(List<Row> rows, Schema schema) throws RecordConvertorException {
-    List<StructuredRecord> results = new ArrayList<>();
-    for (Row row : rows) {
-      StructuredRecord r = decodeRecord(row, schema);
-      results.add(r);
+    if (writer == null || (writer.getSchema() != schema && !writer.getSchema().equals(schema))) {
+      writer = RecordWriter.of(this, schema);
     }
-    return results;
+    return writer.write(rows);
   }
 
   /**
@@ -105,20 +104,7 @@ public final class RecordConvertor implements Serializable {
         value = row.getValue(idx);
       }
       try {
-        Object decodedObj = decode(name, value, field.getSchema());
-        if (decodedObj instanceof LocalDate) {
-          builder.setDate(name, (LocalDate) decodedObj);
-        } else if (decodedObj instanceof LocalTime) {
-          builder.setTime(name, (LocalTime) decodedObj);
-        } else if (decodedObj instanceof ZonedDateTime) {
-          builder.setTimestamp(name, (ZonedDateTime) decodedObj);
-        } else if (decodedObj instanceof BigDecimal) {
-          builder.setDecimal(name, (BigDecimal) decodedObj);
-        } else if (decodedObj instanceof LocalDateTime) {
-          builder.setDateTime(name, (LocalDateTime) decodedObj);
-        } else {
-          builder.set(name, decodedObj);
-        }
+        set(builder, name, decode(name, value, field.getSchema()));
       } catch (UnexpectedFormatException e) {
         throw new RecordConvertorException(
           String.format("Field '%s' of type '%s' cannot be set to '%s'. Make sure the value is " +
@@ -131,7 +117,26 @@ public final class RecordConvertor implements Serializable {
     return builder.build();
   }
 
-  private Object decode(String name, Object object, Schema schema) throws RecordConvertorException {
+  /**
+   * Sets a decoded value to a field, with the setter matching the type of the value.
+   */
+  static void set(StructuredRecord.Builder builder, String name, @Nullable Object value) {
+    if (value instanceof LocalDate) {
+      builder.setDate(name, (LocalDate) value);
+    } else if (value instanceof LocalTime) {
+      builder.setTime(name, (LocalTime) value);
+    } else if (value instanceof ZonedDateTime) {
+      builder.setTimestamp(name, (ZonedDateTime) value);
+    } else if (value instanceof BigDecimal) {
+      builder.setDecimal(name, (BigDecimal) value);
+    } else if (value instanceof LocalDateTime) {
+      builder.setDateTime(name, (LocalDateTime) value);
+    } else {
+      builder.set(name, value);
+    }
+  }
+
+  Object decode(String name, Object object, Schema schema) throws RecordConvertorException {
     boolean isNullable = schema.isNullable();
 
     if (object == null && isNullable) {
@@ -252,7 +257,7 @@ public final class RecordConvertor implements Serializable {
   }
 
   @SuppressWarnings("RedundantCast")
-  private Object decodeSimpleTypes(String name, Object object, Schema schema) throws RecordConvertorException {
+  Object decodeSimpleTypes(String name, Object object, Schema schema) throws RecordConvertorException {
     Schema.Type type = schema.getType();
 
     if (object == null || JsonNull.INSTANCE.equals(object)) {
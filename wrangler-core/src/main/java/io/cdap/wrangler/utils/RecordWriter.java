@@ -0,0 +1,360 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.utils;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.format.UnexpectedFormatException;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.RowLayout;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Converts {@link Row}s into {@link StructuredRecord}s of a schema, with a plan compiled once for the schema.
+ *
+ * <p>The plan resolves the type of each field of the schema up front, so that converting a row only decodes
+ * and sets the values. The positions of the columns mapped to the fields are cached per {@link RowLayout},
+ * so rows sharing a layout are converted without looking up any column by name. Instances are not thread
+ * safe.</p>
+ */
+public final class RecordWriter {
+  // Maximum number of layouts the column positions are cached for.
+  private static final int MAX_CACHED_LAYOUTS = 64;
+
+  private final RecordConvertor convertor;
+  private final Schema schema;
+  private final FieldWriter[] fields;
+  private final boolean output;
+  private final Map<RowLayout, int[]> positions = new IdentityHashMap<>();
+
+  private RecordWriter(RecordConvertor convertor, Schema schema, boolean output) {
+    this.convertor = convertor;
+    this.schema = schema;
+    this.output = output;
+    List<Schema.Field> schemaFields = schema.getFields();
+    this.fields = new FieldWriter[schemaFields.size()];
+    for (int i = 0; i < fields.length; i++) {
+      fields[i] = new FieldWriter(schemaFields.get(i), output);
+    }
+  }
+
+  /**
+   * Creates a writer producing the same records as {@link RecordConvertor#decodeRecord(Row, Schema)}.
+   *
+   * @param convertor used to decode the values of complex types.
+   * @param schema of the records to produce.
+   */
+  static RecordWriter of(RecordConvertor convertor, Schema schema) {
+    return new RecordWriter(convertor, schema, false);
+  }
+
+  /**
+   * Creates a writer producing records ready to be emitted by a stage with the given output schema.
+   * On top of the conversion done by {@link RecordConvertor}, string values set to fields of other types
+   * are converted to the type of the field, and records held as the only column of a row are copied to
+   * the output schema.
+   *
+   * @param schema output schema of the records to produce.
+   */
+  public static RecordWriter forOutput(Schema schema) {
+    return new RecordWriter(new RecordConvertor(), schema, true);
+  }
+
+  /**
+   * @return the schema of the records produced by this writer.
+   */
+  public Schema getSchema() {
+    return schema;
+  }
+
+  /**
+   * Converts a list of {@link Row} into a list of {@link StructuredRecord}.
+   *
+   * @param rows to be converted.
+   * @return the records, in the order of the rows.
+   */
+  public List<StructuredRecord> write(List<Row> rows) throws RecordConvertorException {
+    List<StructuredRecord> records = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      records.add(write(row));
+    }
+    return records;
+  }
+
+  /**
+   * Converts a {@link Row} into a {@link StructuredRecord}.
+   *
+   * @param row to be converted.
+   * @return the record, or {@code null} if the row is {@code null}.
+   */
+  @Nullable
+  public StructuredRecord write(@Nullable Row row) throws RecordConvertorException {
+    if (row == null) {
+      return null;
+    }
+    // Rows holding a single record are the record itself, as in RecordConvertor.
+    if (row.width() == 1 && row.getValue(0) instanceof StructuredRecord) {
+      StructuredRecord record = (StructuredRecord) row.getValue(0);
+      return output ? copy(record) : record;
+    }
+
+    int[] indexes = getPositions(row);
+    StructuredRecord.Builder builder = StructuredRecord.builder(schema);
+    for (int i = 0; i < fields.length; i++) {
+      fields[i].write(builder, indexes[i] == -1 ? null : row.getValue(indexes[i]), convertor);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Copies the fields of the output schema from a record, the same way fields are set from a row.
+   */
+  private StructuredRecord copy(StructuredRecord record) throws RecordConvertorException {
+    StructuredRecord.Builder builder = StructuredRecord.builder(schema);
+    for (FieldWriter field : fields) {
+      field.set(builder, record.get(field.name));
+    }
+    return builder.build();
+  }
+
+  private int[] getPositions(Row row) {
+    RowLayout layout = row.getLayout();
+    if (layout == null) {
+      return resolve(row);
+    }
+    int[] indexes = positions.get(layout);
+    if (indexes == null) {
+      if (positions.size() >= MAX_CACHED_LAYOUTS) {
+        positions.clear();
+      }
+      indexes = resolve(row);
+      positions.put(layout, indexes);
+    }
+    return indexes;
+  }
+
+  /**
+   * Maps each field to the index of its column in the row, or -1 if the row has no such column. Columns are
+   * claimed in order, so that rows whose columns match the fields are mapped without any lookup.
+   */
+  private int[] resolve(Row row) {
+    int[] indexes = new int[fields.length];
+    int firstUnclaimedField = 0;
+    for (int i = 0; i < fields.length; i++) {
+      String name = fields[i].name;
+      int idx;
+      if ((firstUnclaimedField < row.width()) && (name.equals(row.getColumn(firstUnclaimedField)))) {
+        idx = firstUnclaimedField;
+        firstUnclaimedField++;
+      } else {
+        idx = row.find(name, firstUnclaimedField);
+        if (idx == firstUnclaimedField) {
+          firstUnclaimedField++;
+        }
+      }
+      indexes[i] = idx;
+    }
+    return indexes;
+  }
+
+  /**
+   * How the value of a field is decoded.
+   */
+  private enum Decoding {
+    // Values of date, time, timestamp and decimal fields are set as they are.
+    NONE,
+    // Values of primitive fields are decoded directly to the primitive type.
+    PRIMITIVE,
+    // Values of any other field go through the generic decoding of the convertor.
+    GENERIC
+  }
+
+  /**
+   * Decodes and sets the value of a field, following the type of the field resolved once.
+   */
+  private static final class FieldWriter {
+    private final String name;
+    private final Schema schema;
+    private final boolean nullable;
+    private final String displayName;
+    @Nullable
+    private final Schema.LogicalType logicalType;
+    private final Decoding decoding;
+    // Schema the values of primitive fields are decoded with.
+    private final Schema primitiveSchema;
+    // True if string values have to be converted to the type of the field.
+    private final boolean convertStrings;
+
+    FieldWriter(Schema.Field field, boolean output) {
+      this.name = field.getName();
+      this.schema = field.getSchema();
+      this.nullable = schema.isNullable();
+      Schema nonNullable = nullable ? schema.getNonNullable() : schema;
+      this.displayName = nonNullable.getDisplayName();
+      this.logicalType = nonNullable.getLogicalType();
+      this.convertStrings = output && nonNullable.getType() != Schema.Type.STRING;
+
+      // A union is decoded with its first schema.
+      Schema decoded = schema.getType() == Schema.Type.UNION ? schema.getUnionSchemas().get(0) : schema;
+      if (isPassThrough(logicalType)) {
+        decoding = Decoding.NONE;
+        primitiveSchema = null;
+      } else if (logicalType == null && decoded.getLogicalType() == null && isPrimitive(decoded.getType())) {
+        decoding = Decoding.PRIMITIVE;
+        primitiveSchema = decoded;
+      } else {
+        decoding = Decoding.GENERIC;
+        primitiveSchema = null;
+      }
+    }
+
+    void write(StructuredRecord.Builder builder, @Nullable Object value,
+               RecordConvertor convertor) throws RecordConvertorException {
+      try {
+        Object decoded;
+        switch (decoding) {
+          case NONE:
+            decoded = value;
+            break;
+          case PRIMITIVE:
+            decoded = value == null && nullable ? null : convertor.decodeSimpleTypes(name, value, primitiveSchema);
+            break;
+          default:
+            decoded = convertor.decode(name, value, schema);
+        }
+        setDecoded(builder, decoded);
+      } catch (UnexpectedFormatException e) {
+        throw new RecordConvertorException(
+          String.format("Field '%s' of type '%s' cannot be set to '%s'. Make sure the value is " +
+                          "being set is inline with the specified schema.",
+                        name, displayName, value == null ? "NULL" : value), e);
+      }
+    }
+
+    /**
+     * Sets a value already decoded, such as the value of a field of another record.
+     */
+    void set(StructuredRecord.Builder builder, @Nullable Object value) throws RecordConvertorException {
+      try {
+        if (convertStrings && value instanceof String) {
+          builder.convertAndSet(name, (String) value);
+        } else {
+          builder.set(name, value);
+        }
+      } catch (UnexpectedFormatException e) {
+        throw new RecordConvertorException(
+          String.format("Field '%s' of type '%s' cannot be set to '%s'. Make sure the value is " +
+                          "being set is inline with the specified schema.",
+                        name, displayName, value == null ? "NULL" : value), e);
+      }
+    }
+
+    private void setDecoded(StructuredRecord.Builder builder, @Nullable Object value) {
+      if (convertStrings && value instanceof String) {
+        builder.convertAndSet(name, (String) value);
+        return;
+      }
+      if (logicalType == null) {
+        // Values of fields without a logical type can only be one of the java.time types or a decimal when
+        // decoded from a nested structure, in which case they are set the same way as by the convertor.
+        if (decoding == Decoding.PRIMITIVE) {
+          builder.set(name, value);
+        } else {
+          RecordConvertor.set(builder, name, value);
+        }
+        return;
+      }
+      switch (logicalType) {
+        case DATE:
+          if (value instanceof LocalDate) {
+            builder.setDate(name, (LocalDate) value);
+            return;
+          }
+          break;
+        case TIME_MILLIS:
+        case TIME_MICROS:
+          if (value instanceof LocalTime) {
+            builder.setTime(name, (LocalTime) value);
+            return;
+          }
+          break;
+        case TIMESTAMP_MILLIS:
+        case TIMESTAMP_MICROS:
+          if (value instanceof ZonedDateTime) {
+            builder.setTimestamp(name, (ZonedDateTime) value);
+            return;
+          }
+          break;
+        case DECIMAL:
+          if (value instanceof BigDecimal) {
+            builder.setDecimal(name, (BigDecimal) value);
+            return;
+          }
+          break;
+        case DATETIME:
+          if (value instanceof LocalDateTime) {
+            builder.setDateTime(name, (LocalDateTime) value);
+            return;
+          }
+          break;
+      }
+      RecordConvertor.set(builder, name, value);
+    }
+
+    private static boolean isPassThrough(@Nullable Schema.LogicalType logicalType) {
+      if (logicalType == null) {
+        return false;
+      }
+      switch (logicalType) {
+        case DATE:
+        case TIME_MILLIS:
+        case TIME_MICROS:
+        case TIMESTAMP_MILLIS:
+        case TIMESTAMP_MICROS:
+        case DECIMAL:
+          return true;
+        default:
+          return false;
+      }
+    }
+
+    private static boolean isPrimitive(Schema.Type type) {
+      switch (type) {
+        case BOOLEAN:
+        case INT:
+        case LONG:
+        case FLOAT:
+        case DOUBLE:
+        case BYTES:
+        case STRING:
+          return true;
+        default:
+          return false;
+      }
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.utils;
+
+import org.unix4j.Unix4j;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import javax.annotation.Nullable;
+
+/**
+ * A sed expression applied to single values, as done by {@code echo value | sed expression}.
+ *
+ * <p>The expressions commonly used by recipes are compiled once: substitutions {@code s/regex/replacement/flags}
+ * with a literal replacement and the {@code g} and {@code I} flags, and translations {@code y/source/target/}.
+ * They are applied to the values without running a sed pipeline. All other expressions, as well as values
+ * spanning several lines, are applied with Unix4j, so that the result is always the one of Unix4j.</p>
+ */
+public final class SedExpression {
+  private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+  private final String script;
+  // Compiled substitution, null if the expression is not a substitution compiled.
+  private final Pattern pattern;
+  private final String replacement;
+  private final boolean global;
+  // Compiled translation, null if the expression is not a translation compiled.
+  private final String source;
+  private final String target;
+
+  private SedExpression(String script, @Nullable Pattern pattern, @Nullable String replacement, boolean global,
+                        @Nullable String source, @Nullable String target) {
+    this.script = script;
+    this.pattern = pattern;
+    this.replacement = replacement;
+    this.global = global;
+    this.source = source;
+    this.target = target;
+  }
+
+  /**
+   * Compiles a sed expression.
+   *
+   * @param script the sed expression. Invalid expressions are not rejected, they fail when applied.
+   */
+  public static SedExpression compile(String script) {
+    SedExpression expression = null;
+    if (script.length() > 1) {
+      char command = script.charAt(0);
+      if (command == 's') {
+        expression = compileSubstitution(script);
+      } else if (command == 'y') {
+        expression = compileTranslation(script);
+      }
+    }
+    return expression == null ? new SedExpression(script, null, null, false, null, null) : expression;
+  }
+
+  /**
+   * @return whether the expression is applied without Unix4j to single line values.
+   */
+  boolean isCompiled() {
+    return pattern != null || source != null;
+  }
+
+  /**
+   * Applies the expression to a value.
+   *
+   * @param value to apply the expression to.
+   * @return the result of the expression.
+   * @throws IllegalArgumentException if the expression is not a valid sed expression.
+   */
+  public String apply(String value) {
+    if (!isCompiled() || value.isEmpty() || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+      return Unix4j.echo(value).sed(script).toStringResult();
+    }
+    return pattern != null ? substitute(value) : translate(value);
+  }
+
+  private String substitute(String value) {
+    Matcher matcher = pattern.matcher(value);
+    if (!matcher.find()) {
+      return value;
+    }
+    StringBuilder result = new StringBuilder(value.length() + replacement.length());
+    int end = 0;
+    do {
+      result.append(value, end, matcher.start()).append(replacement);
+      end = matcher.end();
+    } while (global && matcher.find());
+    return result.append(value, end, value.length()).toString();
+  }
+
+  private String translate(String value) {
+    char[] chars = null;
+    for (int i = 0; i < value.length(); i++) {
+      int index = source.indexOf(value.charAt(i));
+      if (index >= 0) {
+        if (chars == null) {
+          chars = value.toCharArray();
+        }
+        chars[i] = target.charAt(index);
+      }
+    }
+    return chars == null ? value : new String(chars);
+  }
+
+  @Nullable
+  private static SedExpression compileSubstitution(String script) {
+    char delimiter = script.charAt(1);
+    int regexEnd = findDelimiter(script, 2, delimiter);
+    int replacementEnd = regexEnd < 0 ? -1 : findDelimiter(script, regexEnd + 1, delimiter);
+    if (!isDelimiter(delimiter) || replacementEnd < 0) {
+      return null;
+    }
+    String regex = script.substring(2, regexEnd);
+    // Within the replacement, an escaped delimiter is the delimiter itself.
+    String replacement = script.substring(regexEnd + 1, replacementEnd).replace("\\" + delimiter,
+                                                                                  String.valueOf(delimiter));
+    String flags = script.substring(replacementEnd + 1);
+    // An escaped delimiter means the delimiter character itself, which is not the case in a regular expression
+    // when the delimiter is a metacharacter. Replacements with other escapes or referring to the match are not
+    // compiled.
+    if (regex.isEmpty() || (REGEX_METACHARACTERS.indexOf(delimiter) >= 0 && regex.indexOf("\\" + delimiter) >= 0)
+      || replacement.indexOf('\\') >= 0 || replacement.indexOf('$') >= 0 || replacement.indexOf('&') >= 0) {
+      return null;
+    }
+    boolean global = false;
+    boolean ignoreCase = false;
+    for (char flag : flags.toCharArray()) {
+      if (flag == 'g' && !global) {
+        global = true;
+      } else if (flag == 'I' && !ignoreCase) {
+        ignoreCase = true;
+      } else {
+        return null;
+      }
+    }
+    try {
+      Pattern pattern = Pattern.compile(regex, ignoreCase ? Pattern.CASE_INSENSITIVE : 0);
+      return new SedExpression(script, pattern, replacement, global, null, null);
+    } catch (PatternSyntaxException e) {
+      return null;
+    }
+  }
+
+  @Nullable
+  private static SedExpression compileTranslation(String script) {
+    char delimiter = script.charAt(1);
+    int sourceEnd = findDelimiter(script, 2, delimiter);
+    int targetEnd = sourceEnd < 0 ? -1 : findDelimiter(script, sourceEnd + 1, delimiter);
+    if (!isDelimiter(delimiter) || targetEnd != script.length() - 1) {
+      return null;
+    }
+    String source = script.substring(2, sourceEnd);
+    String target = script.substring(sourceEnd + 1, targetEnd);
+    if (source.length() != target.length() || source.indexOf('\\') >= 0 || target.indexOf('\\') >= 0) {
+      return null;
+    }
+    return new SedExpression(script, null, null, false, source, target);
+  }
+
+  private static boolean isDelimiter(char c) {
+    return !Character.isLetterOrDigit(c) && !Character.isWhitespace(c) && c != '\\';
+  }
+
+  /**
+   * @return the index of the first delimiter not escaped by a backslash, -1 if there is none.
+   */
+  private static int findDelimiter(String script, int start, char delimiter) {
+    for (int i = start; i < script.length(); i++) {
+      char c = script.charAt(i);
+      if (c == '\\') {
+        i++;
+      } else if (c == delimiter) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
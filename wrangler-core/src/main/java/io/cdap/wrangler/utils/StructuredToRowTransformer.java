@@ -22,6 +22,7 @@ import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.format.UnexpectedFormatException;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.RowLayout;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -42,7 +43,45 @@ public class StructuredToRowTransformer {
    * @return the row corresponding to the record
    */
   public static Row transform(StructuredRecord record) {
-    Row row = new Row();
+    return transform(record, new Row());
+  }
+
+  /**
+   * Creates the layout of the rows transformed from records of the given schema.
+   *
+   * @param schema the schema of the records
+   * @return the layout with a column per field of the schema
+   */
+  public static RowLayout getLayout(Schema schema) {
+    List<Schema.Field> fields = schema.getFields();
+    List<String> columns = new ArrayList<>(fields.size());
+    for (Schema.Field field : fields) {
+      columns.add(field.getName());
+    }
+    return RowLayout.of(columns);
+  }
+
+  /**
+   * Get the row from the given transform, using the layout created by {@link #getLayout(Schema)} for the schema
+   * of the record. Rows transformed using the same layout share their column index.
+   *
+   * @param record the record to transform
+   * @param layout the layout of the schema of the record
+   * @return the row corresponding to the record
+   */
+  public static Row transform(StructuredRecord record, RowLayout layout) {
+    List<Schema.Field> fields = record.getSchema().getFields();
+    if (fields.size() != layout.width()) {
+      throw new IllegalArgumentException("The layout does not match the schema of the record.");
+    }
+    Row row = new Row(layout);
+    for (int i = 0; i < fields.size(); i++) {
+      row.setValue(i, getValue(record, fields.get(i).getName()));
+    }
+    return row;
+  }
+
+  private static Row transform(StructuredRecord record, Row row) {
     for (Schema.Field field : record.getSchema().getFields()) {
       row.add(field.getName(), getValue(record, field.getName()));
     }
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.directives.parser;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests {@link CsvLineTokenizer}
+ */
+public class CsvLineTokenizerTest {
+
+  @Test
+  public void testFields() {
+    CsvLineTokenizer tokenizer = new CsvLineTokenizer(',');
+    Assert.assertEquals(Arrays.asList("a", "b", "c"), tokenizer.tokenize("a,b,c"));
+    Assert.assertEquals(Arrays.asList("a", "", ""), tokenizer.tokenize("a,,"));
+    Assert.assertEquals(Arrays.asList("a, b", "say \"hi\"", ""),
+                        tokenizer.tokenize("\"a, b\",\"say \"\"hi\"\"\",\"\""));
+    Assert.assertEquals(Arrays.asList("quoted", " x\"y "), tokenizer.tokenize("\"quoted\"  , x\"y "));
+    Assert.assertEquals(Arrays.asList("x"), tokenizer.tokenize("x"));
+
+    // Left to Commons CSV.
+    Assert.assertNull(tokenizer.tokenize("a,\"b\nc\""));
+    Assert.assertNull(tokenizer.tokenize("a,b\r\nc,d"));
+    Assert.assertNull(tokenizer.tokenize("a,\"unclosed"));
+    Assert.assertNull(tokenizer.tokenize("\"a\"b,c"));
+  }
+
+  @Test
+  public void testSameAsCommonsCsv() throws Exception {
+    List<String> lines = Arrays.asList(
+      "07/29/2013,Debt collection,\"Other (i.e. phone, health club, etc.)\",Cont'd attempts collect debt not owed," +
+        "Debt is not mine,,,\"NRA Group, LLC\",VA,20147,,N/A,Web,08/07/2013,Closed with non-monetary relief,Yes,No," +
+        "467801",
+      "school_id, student_id, last_name, first_name,,,", " leading, trailing ", "\"\"\"\",\"a\"\"\"", ",", "\t\"a\"\t",
+      "a|b|\"c|d\"", "a\tb\t\"c\td\""
+    );
+    for (char delimiter : new char[] {',', '|', '\t'}) {
+      CsvLineTokenizer tokenizer = new CsvLineTokenizer(delimiter);
+      CSVFormat format = CSVFormat.DEFAULT.withDelimiter(delimiter);
+      for (String line : lines) {
+        List<String> expected = new ArrayList<>();
+        for (CSVRecord record : CSVParser.parse(line, format).getRecords()) {
+          record.forEach(expected::add);
+        }
+        Assert.assertEquals(line, expected, tokenizer.tokenize(line));
+      }
+    }
+  }
+}
@@ -187,6 +187,30 @@ public class ParseDateTest {
     // TODO CDAP-14243 - add more tests once the issue with parser is fixed
   }
 
+  @Test
+  public void testDateParserRepeatedValues() throws Exception {
+    String[] directives = new String[] {
+      "parse-as-date date US/Eastern"
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("date", "2016-12-10 06:45:11"),
+      new Row("date", "september 7th 2016 at 10:15am"),
+      new Row("date", "2016-12-10 06:45:11"),
+      new Row("date", "september 7th 2016 at 10:15am")
+    );
+
+    rows = TestingRig.execute(directives, rows);
+
+    Assert.assertEquals(4, rows.size());
+    ZonedDateTime expected = ZonedDateTime.of(2016, 12, 10, 6, 45, 11, 0, ZoneId.of("US/Eastern"));
+    Assert.assertEquals(expected, rows.get(0).getValue("date_1"));
+    Assert.assertEquals(expected, rows.get(2).getValue("date_1"));
+    ZonedDateTime parsed = (ZonedDateTime) rows.get(1).getValue("date_1");
+    Assert.assertEquals(LocalDate.of(2016, 9, 7), parsed.toLocalDate());
+    Assert.assertEquals(parsed.toLocalDate(), ((ZonedDateTime) rows.get(3).getValue("date_1")).toLocalDate());
+  }
+
   @Test
   public void testFormatDate() throws Exception {
     String[] directives = new String[] {
@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.directives.xml;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import org.json.JSONException;
+import org.json.XML;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests {@link XmlJsonReader}
+ */
+public class XmlJsonReaderTest {
+  private static final Gson GSON = new Gson();
+
+  @Test
+  public void testSameAsJsonObject() {
+    List<String> documents = Arrays.asList(
+      "<?xml version=\"1.0\" encoding=\"UTF-8\" ?><Data><tagid>303246306303E8</tagid></Data>",
+      "<catalog><book id=\"bk101\" available=\"true\"><author>Gambardella, Matthew</author><price>44.95</price>" +
+        "<stock>10</stock><isbn>9780131103627</isbn><code>-0</code><note>null</note></book>" +
+        "<book id=\"bk102\"><author>Ralls, Kim</author><price>5.0</price><empty/><empty2></empty2></book></catalog>",
+      "<a>text <b>bold</b> more text<!-- comment --><c x=\"1\"/>last</a>",
+      "<a>x<!-- comment -->y</a>",
+      "<a><![CDATA[<not a tag> & 42]]></a>",
+      "<a>&lt;escaped&gt; &amp; &quot;quoted&quot; &#65;</a>",
+      "<!DOCTYPE note [<!ELEMENT note (#PCDATA)>]><note checked>  spaced  </note>",
+      "<r><i>1</i><i>2</i><i>3</i><j k=\"a\" k=\"b\"/></r>",
+      "<first>1</first><second>TRUE</second>",
+      "<ClinicalDocument><id root=\"2.16.840.1.113883.19.5\" extension=\"c266\"/><code code=\"11488-4\" " +
+        "codeSystem=\"2.16.840.1.113883.6.1\"/><title>Consultation Note</title><effectiveTime value=\"20050329\"/>" +
+        "<recordTarget><patientRole><id extension=\"12345\"/><patient><name><given>Henry</given>" +
+        "<family>Levin</family><suffix>the 7th</suffix></name></patient></patientRole></recordTarget>" +
+        "</ClinicalDocument>"
+    );
+    for (String document : documents) {
+      for (boolean keepStrings : new boolean[] {false, true}) {
+        JsonElement expected = GSON.fromJson(XML.toJSONObject(document, keepStrings).toString(), JsonElement.class);
+        JsonElement actual = XmlJsonReader.toJsonObject(document, keepStrings);
+        Assert.assertEquals(document, expected, actual);
+        // Properties come in the same order.
+        Assert.assertEquals(document, expected.toString(), actual.toString());
+      }
+    }
+  }
+
+  @Test
+  public void testErrors() {
+    for (String document : Arrays.asList("<a><b></a>", "<a>unclosed", "</a>", "<a =\"x\"/>", "<![DATA[x]]>")) {
+      String expected = null;
+      try {
+        XML.toJSONObject(document);
+      } catch (JSONException e) {
+        expected = e.getMessage();
+      }
+      try {
+        XmlJsonReader.toJsonObject(document, false);
+        Assert.fail(document);
+      } catch (JSONException e) {
+        Assert.assertEquals(document, expected, e.getMessage());
+      }
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.dq;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Tests {@link DateTimePatternIndex}
+ */
+public class DateTimePatternIndexTest {
+
+  @Test
+  public void testShape() {
+    Assert.assertEquals("", DateTimePatternIndex.getShape("20161210"));
+    Assert.assertEquals(" -:", DateTimePatternIndex.getShape("2016-12-10 06:45:11\n"));
+    Assert.assertEquals("+-.:", DateTimePatternIndex.getShape("2016-12-10T06:45:11.111+01:00"));
+  }
+
+  @Test
+  public void testCandidates() {
+    Map<Pattern, String> group = new LinkedHashMap<>();
+    group.put(Pattern.compile("^[0-9]{4}\\-(0[1-9]|1[0-2])\\-(0[1-9]|[1-2][0-9]|3[0-1])$"), "yyyy-MM-dd");
+    group.put(Pattern.compile("^(0?[1-9]|1[0-2])\\/(0?[1-9]|[1-2][0-9]|3[0-1])\\/[0-9]{2}$"), "M/d/yy");
+    group.put(Pattern.compile("^[0-9]{4}\\-(0[1-9]|1[0-2])[+-](0[0-9]|1[0-2]):00$"), "yyyy-MMXXX");
+    group.put(Pattern.compile("^(0?[1-9]|1[0-2]):([0-5][0-9])\\.? \\p{L}{2}$"), "h:mm. a");
+    group.put(Pattern.compile("[0-9]{2}-[0-9]{2}"), "unanchored");
+    DateTimePatternIndex index = new DateTimePatternIndex(Collections.singletonList(group));
+
+    assertCandidates(index, "2016-12-10", "yyyy-MM-dd", "unanchored");
+    assertCandidates(index, "12/10/16", "M/d/yy");
+    assertCandidates(index, "2016-12+01:00", "yyyy-MMXXX", "unanchored");
+    assertCandidates(index, "6:45 PM", "h:mm. a");
+    assertCandidates(index, "6:45. PM", "h:mm. a");
+    assertCandidates(index, "x 12-10", "unanchored");
+
+    Assert.assertTrue(index.getCandidates("2016-12-10").find("2016-12-10"));
+    Assert.assertTrue(index.getCandidates("12/10/16\n").find("12/10/16\n"));
+    Assert.assertFalse(index.getCandidates("2016/13/10").find("2016/13/10"));
+    Assert.assertFalse(index.getCandidates("abc").find("abc"));
+  }
+
+  @Test
+  public void testRecentShapesStayCached() {
+    Map<Pattern, String> group = new LinkedHashMap<>();
+    group.put(Pattern.compile("^[0-9]{4}\\-(0[1-9]|1[0-2])\\-(0[1-9]|[1-2][0-9]|3[0-1])$"), "yyyy-MM-dd");
+    DateTimePatternIndex index = new DateTimePatternIndex(Collections.singletonList(group));
+    DateTimePatternIndex.Candidates candidates = index.getCandidates("2016-12-10");
+    // More distinct shapes than are cached, made of an arrow and a box drawing character.
+    for (int i = 0; i < 5000; i++) {
+      String value = "1" + (char) ('\u2190' + i / 100) + (char) ('\u2500' + i % 100);
+      Assert.assertFalse(index.getCandidates(value).find(value));
+      Assert.assertSame(candidates, index.getCandidates("2016-12-10"));
+    }
+  }
+
+  @Test
+  public void testDateTimePatterns() {
+    List<String> dates = Arrays.asList("12/10/16", "2016-12-10", "2016-12-10 06:45:11", "10.12.2016", "Dec 10, 2016",
+                                       "2016-12-10T06:45:11.111+01:00[Europe/Paris]", "12/10/16 6:45 PM", "12/10/16\n");
+    for (String value : dates) {
+      Assert.assertTrue(value, DateTimePattern.isDate(value));
+      Assert.assertFalse(value, DateTimePattern.datePatternReplace(value).isEmpty());
+    }
+    for (String value : Arrays.asList("2016/13/45", "1485800109", "12-10-2016 at 06:45", "not a date 123")) {
+      Assert.assertFalse(value, DateTimePattern.isDate(value));
+    }
+    Assert.assertTrue(DateTimePattern.datePatternReplace("2016-12-10 06:45:11").contains("yyyy-MM-dd HH:mm:ss"));
+    Assert.assertTrue(DateTimePattern.isTime("06:45 PM"));
+    Assert.assertTrue(DateTimePattern.isTime("06:45:11 o'clock PST"));
+    Assert.assertFalse(DateTimePattern.isTime("06-45-11"));
+  }
+
+  private static void assertCandidates(DateTimePatternIndex index, String value, String... formats) {
+    List<Map<Pattern, String>> groups = index.getCandidates(value).getGroups();
+    List<String> candidates = groups.isEmpty() ? Collections.emptyList() : new ArrayList<>(groups.get(0).values());
+    Assert.assertEquals(value, Arrays.asList(formats), candidates);
+  }
+}
@@ -18,13 +18,28 @@ package io.cdap.wrangler.executor;
 
 import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.wrangler.TestingPipelineContext;
 import io.cdap.wrangler.TestingRig;
+import io.cdap.wrangler.api.Arguments;
+import io.cdap.wrangler.api.Directive;
+import io.cdap.wrangler.api.ErrorRecord;
+import io.cdap.wrangler.api.ErrorRowException;
+import io.cdap.wrangler.api.ExecutorContext;
+import io.cdap.wrangler.api.RecipeException;
 import io.cdap.wrangler.api.RecipePipeline;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.annotations.Batchable;
+import io.cdap.wrangler.api.columnar.ColumnarDirective;
+import io.cdap.wrangler.api.columnar.LongVector;
+import io.cdap.wrangler.api.columnar.RowBatch;
+import io.cdap.wrangler.api.parser.UsageDefinition;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Tests {@link RecipePipelineExecutor}.
@@ -96,4 +111,180 @@ public class RecipePipelineExecutorTest {
     Assert.assertEquals(1481666448L, record.<Long>get("timestamp").longValue());
     Assert.assertEquals(186.66f, record.get("weight"), 0.0001f);
   }
+
+  @Test
+  public void testBatchedExecutionMatchesRowAtATime() throws Exception {
+    String[] commands = new String[] {
+      "trim name",
+      "lowercase name",
+      "fill-null-or-empty city N/A",
+      "drop ignore",
+      "filter-row-if-true name == 'skip'"
+    };
+
+    List<Row> expected = new RecipePipelineExecutor(TestingRig.parse(commands), new TestingPipelineContext())
+      .execute(createRows(10));
+    List<Row> actual = new RecipePipelineExecutor(TestingRig.parse(commands), new TestingPipelineContext(), 4)
+      .execute(createRows(10));
+
+    Assert.assertEquals(8, expected.size());
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testBatchedExecutionFallsBackOnErrorRow() throws Exception {
+    RecipePipeline pipeline = new RecipePipelineExecutor(
+      () -> Arrays.asList(new ErrorOnValue("name", "  Row-5 "), new ErrorOnValue("city", "unused")),
+      new TestingPipelineContext(), 4);
+
+    List<Row> results = pipeline.execute(createRows(10));
+    List<ErrorRecord> errors = pipeline.errors();
+
+    Assert.assertEquals(9, results.size());
+    Assert.assertEquals(1, errors.size());
+    Assert.assertEquals("  Row-5 ", errors.get(0).getRow().getValue("name"));
+    for (int i = 0; i < results.size(); i++) {
+      Assert.assertNotEquals("  Row-5 ", results.get(i).getValue("name"));
+    }
+  }
+
+  @Test
+  public void testBatchedExecutionReportsFailingRow() throws Exception {
+    String[] commands = new String[] {
+      "trim name",
+      "swap name missing"
+    };
+
+    try {
+      new RecipePipelineExecutor(TestingRig.parse(commands), new TestingPipelineContext(), 4)
+        .execute(createRows(10));
+      Assert.fail("Expected execution to fail on the first row");
+    } catch (RecipeException e) {
+      Assert.assertEquals(0, e.getRowIndex());
+      Assert.assertEquals(2, e.getDirectiveIndex());
+    }
+  }
+
+  @Test
+  public void testExecutionStopsAtLimit() throws Exception {
+    String[] commands = new String[] {
+      "trim name",
+      "filter-row-if-true name == 'SKIP'"
+    };
+
+    List<Row> expected = new RecipePipelineExecutor(TestingRig.parse(commands), new TestingPipelineContext())
+      .execute(createRows(100));
+    List<Row> actual = new RecipePipelineExecutor(TestingRig.parse(commands), new TestingPipelineContext())
+      .execute(createRows(100), 5);
+    Assert.assertEquals(expected.subList(0, 5), actual);
+
+    // Rows after the limit are not executed, so they do not fail the execution.
+    List<Row> rows = createRows(10);
+    rows.get(9).remove(0);
+    actual = new RecipePipelineExecutor(TestingRig.parse(new String[] { "swap name city" }),
+                                        new TestingPipelineContext(), 4).execute(rows, 3);
+    Assert.assertEquals(4, actual.size());
+    Assert.assertEquals("  Row-0 ", actual.get(0).getValue("city"));
+  }
+
+  @Test
+  public void testColumnarExecutionMatchesRowAtATime() throws Exception {
+    String[] commands = new String[] {
+      "set-column total amount * 3",
+      "set-column next id + 1",
+      "set-column cost price * id",
+      "quantize score grade 0:30=LOW,31:100=HIGH",
+      "set-type id long",
+      "fill-null-or-empty city N/A",
+      "keep id,amount,total,next,cost,grade,city",
+      "drop amount"
+    };
+
+    List<Row> expected = new RecipePipelineExecutor(TestingRig.parse(commands), new TestingPipelineContext())
+      .execute(createNumericRows(10));
+    List<Row> actual = new RecipePipelineExecutor(TestingRig.parse(commands), new TestingPipelineContext(), 4)
+      .execute(createNumericRows(10));
+
+    Assert.assertEquals(10, expected.size());
+    Assert.assertEquals(expected, actual);
+    for (int i = 0; i < expected.size(); i++) {
+      for (int j = 0; j < expected.get(i).width(); j++) {
+        Assert.assertEquals(expected.get(i).getValue(j).getClass(), actual.get(i).getValue(j).getClass());
+      }
+    }
+  }
+
+  @Test
+  public void testColumnarArithmetic() throws Exception {
+    List<Directive> directives = TestingRig.parse(new String[] {
+      "set-column total amount * 3",
+      "set-column name name + 1"
+    }).parse();
+    RowBatch batch = RowBatch.from(createNumericRows(4));
+
+    Assert.assertTrue(((ColumnarDirective) directives.get(0)).execute(batch, new TestingPipelineContext()));
+    LongVector total = (LongVector) batch.getVector(batch.find("total"));
+    Assert.assertFalse(total.isInts());
+    Assert.assertEquals(9000L, total.getLong(3));
+    // Operands that are not numeric are left to JEXL.
+    Assert.assertFalse(((ColumnarDirective) directives.get(1)).execute(batch, new TestingPipelineContext()));
+  }
+
+  private static List<Row> createRows(int count) {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      String name = (i % 5 == 3) ? " SKIP " : "  Row-" + i + " ";
+      rows.add(new Row("name", name).add("city", i % 2 == 0 ? null : "City" + i).add("ignore", i));
+    }
+    return rows;
+  }
+
+  private static List<Row> createNumericRows(int count) {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      rows.add(new Row("id", i).add("amount", i * 1000L).add("price", i * 1.5)
+                 .add("score", String.valueOf(i * 10)).add("city", i % 3 == 0 ? "" : "City" + i)
+                 .add("name", "Row-" + i));
+    }
+    return rows;
+  }
+
+  /**
+   * Batchable directive that sends a row to error when a column has the given value.
+   */
+  @Batchable
+  private static final class ErrorOnValue implements Directive {
+    private final String column;
+    private final String value;
+
+    ErrorOnValue(String column, String value) {
+      this.column = column;
+      this.value = value;
+    }
+
+    @Override
+    public UsageDefinition define() {
+      return UsageDefinition.builder("error-on-value").build();
+    }
+
+    @Override
+    public void initialize(Arguments args) {
+      // no-op
+    }
+
+    @Override
+    public List<Row> execute(List<Row> rows, ExecutorContext context) throws ErrorRowException {
+      for (Row row : rows) {
+        if (value.equals(row.getValue(column))) {
+          throw new ErrorRowException("error-on-value", "Found value " + value, 1);
+        }
+      }
+      return rows;
+    }
+
+    @Override
+    public void destroy() {
+      // no-op
+    }
+  }
 }
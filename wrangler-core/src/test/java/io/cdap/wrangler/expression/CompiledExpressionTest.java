@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.expression;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests {@link CompiledExpression}. Each expression is evaluated both compiled and by the JEXL interpreter,
+ * and the results must be identical.
+ */
+public class CompiledExpressionTest {
+  private static final List<Object> VALUES = Arrays.asList(
+    null, 0, 1, -7, 42, Integer.MAX_VALUE, Integer.MIN_VALUE, 3L, Long.MAX_VALUE, 0.0, 2.5, -10.25, Double.NaN,
+    "", "m", "f", "abc", "10", true, false);
+
+  @Test
+  public void testCompiledExpressions() throws Exception {
+    String[] expressions = {
+      "a + b", "a - b", "a * b", "a / b", "-a", "!a",
+      "a < b", "a <= b", "a > b", "a >= b", "a == b", "a != b",
+      "a < 10.0 && b == 'm'", "a < 1 || a > 130", "a == null", "(a / b) * 100 > 50.0",
+      "a > 100 ? 100 : a", "a > 21 ? 'yes' : 'no'", "a * 2", "a + ' ' + b", "\"x\" + a",
+      "a != null && b != null ? a + b : 0", "2147483647 + a", "9223372036854775807 + a", "1.5 * a - b",
+      "IsNotNull(a) ? a : 0", "NullToValue(a, 42)", "IsNull(b)", "concat(a, b)", "concat(a, ', ', b)",
+      "!(a == b) || a"
+    };
+    for (String expression : expressions) {
+      EL el = EL.compile(expression);
+      Assert.assertTrue(expression, el.isCompiled());
+      for (Object a : VALUES) {
+        for (Object b : VALUES) {
+          assertSameResult(el, a, b);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testExpressionsLeftToJexl() throws Exception {
+    String[] expressions = {
+      "a.length()", "a =~ 'm.*'", "a % 2", "a eq b", "empty(a)", "size(a)", "a ?: b", "'a\\'b' + a",
+      "0x10 + a", "1e3 * a", "10L * a", "coalesce(a, b)", "math:max(a, b)", "var c = a; c", "a[0]",
+      "this.getValue('a')", "a & b"
+    };
+    for (String expression : expressions) {
+      EL el;
+      try {
+        el = EL.compile(expression);
+      } catch (ELException e) {
+        continue;
+      }
+      Assert.assertFalse(expression, el.isCompiled());
+    }
+  }
+
+  private static void assertSameResult(EL el, Object a, Object b) {
+    String message = String.format("%s with a=%s, b=%s", el.getScriptParsedText(), a, b);
+    Object expected;
+    try {
+      expected = el.interpret(context(a, b)).getObject();
+    } catch (ELException e) {
+      try {
+        el.execute(context(a, b));
+        Assert.fail(message + " should fail");
+      } catch (ELException actual) {
+        Assert.assertEquals(message, e.getMessage(), actual.getMessage());
+      }
+      return;
+    }
+    try {
+      Object actual = el.execute(context(a, b)).getObject();
+      Assert.assertEquals(message, expected == null ? null : expected.getClass(),
+                          actual == null ? null : actual.getClass());
+      Assert.assertEquals(message, expected, actual);
+    } catch (ELException e) {
+      throw new AssertionError(message + " failed", e);
+    }
+  }
+
+  private static ELContext context(Object a, Object b) {
+    Map<String, Object> values = new HashMap<>();
+    values.put("a", a);
+    values.put("b", b);
+    return new ELContext(values);
+  }
+}
@@ -16,11 +16,14 @@
 
 package io.cdap.wrangler.expression;
 
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.RowLayout;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +43,43 @@ public class ELTest {
     Assert.assertFalse(el.variables().contains("c"));
   }
 
+  @Test
+  public void testCompiledScriptCache() throws Exception {
+    String expression = "cacheTestColumn * 2";
+    long misses = EL.getCacheMisses();
+    EL el = EL.compile(expression);
+    Assert.assertEquals(misses + 1, EL.getCacheMisses());
+
+    long hits = EL.getCacheHits();
+    Assert.assertSame(el, EL.compile(expression));
+    Assert.assertSame(el, EL.compile(new EL.DefaultFunctions(), expression));
+    Assert.assertEquals(hits + 2, EL.getCacheHits());
+
+    // The cached script can be executed by any number of directives.
+    Assert.assertEquals(new Integer(4), el.execute(new ELContext().add("cacheTestColumn", 2)).getInteger());
+    Assert.assertEquals(new Integer(6), el.execute(new ELContext().add("cacheTestColumn", 3)).getInteger());
+  }
+
+  @Test
+  public void testContextBoundToRows() throws Exception {
+    EL el = EL.compile("a + b + this.getValue('a')");
+    ELContext context = new ELContext(el);
+
+    Row row = new Row("a", 1).add("b", 2);
+    Assert.assertEquals(el.execute(new ELContext(null, el, row)).getObject(),
+                        el.execute(context.bind(null, row)).getObject());
+    Assert.assertEquals(new Integer(4), el.execute(context.bind(null, row)).getInteger());
+
+    // Rebinding discards the previous row, including rows with a different layout.
+    RowLayout layout = RowLayout.of(Arrays.asList("b", "a"));
+    for (int i = 0; i < 3; i++) {
+      Row laidOut = new Row(layout);
+      laidOut.setValue(0, i);
+      laidOut.setValue(1, 10);
+      Assert.assertEquals(new Integer(20 + i), el.execute(context.bind(null, laidOut)).getInteger());
+    }
+  }
+
   @Test(expected = ELException.class)
   public void testUndefinedVariableException() throws Exception {
     EL el = EL.compile("a + b + c");
@@ -0,0 +1,177 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.optimizer;
+
+import io.cdap.wrangler.TestingPipelineContext;
+import io.cdap.wrangler.TestingRig;
+import io.cdap.wrangler.api.RecipePipeline;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.executor.RecipePipelineExecutor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests for {@link RecipeOptimizer}. Each recipe is executed both as written and as optimized,
+ * and the results must be identical.
+ */
+public class RecipeOptimizerTest {
+
+  @Test
+  public void testFusion() throws Exception {
+    RecipePlan plan = assertSameResults(
+      "trim name",
+      "lowercase name",
+      "fill-null-or-empty name unknown",
+      "uppercase email"
+    );
+
+    Assert.assertEquals(
+      Collections.singletonList("fused[trim, lowercase, fill-null-or-empty, uppercase]"), plan.getSteps());
+    Assert.assertEquals(1, plan.getRewrites().size());
+  }
+
+  @Test
+  public void testPruneColumnsDiscardedByDrop() throws Exception {
+    RecipePlan plan = assertSameResults(
+      "trim tmp",
+      "lowercase tmp",
+      "set-column age2 age * 2",
+      "drop tmp"
+    );
+
+    Assert.assertEquals(Arrays.asList("set-column", "drop"), plan.getSteps());
+    Assert.assertEquals(2, plan.getRewrites().size());
+  }
+
+  @Test
+  public void testDirectivesThatCanFailAreNotPruned() throws Exception {
+    // Parsing the dates of the discarded column sends the rows to error.
+    RecipePlan plan = assertSameResults(
+      "parse-as-simple-date tmp yyyy-MM-dd",
+      "drop tmp"
+    );
+
+    Assert.assertEquals(Arrays.asList("parse-as-simple-date", "drop"), plan.getSteps());
+    Assert.assertTrue(plan.getRewrites().isEmpty());
+  }
+
+  @Test
+  public void testPruneColumnsDiscardedByKeep() throws Exception {
+    RecipePlan plan = assertSameResults(
+      "trim name",
+      "uppercase TMP",
+      "keep name,age"
+    );
+
+    Assert.assertEquals(Arrays.asList("trim", "keep"), plan.getSteps());
+  }
+
+  @Test
+  public void testNoPruningWhenColumnIsRead() throws Exception {
+    RecipePlan plan = assertSameResults(
+      "trim tmp",
+      "set-column excited tmp + '!'",
+      "drop tmp"
+    );
+
+    Assert.assertEquals(Arrays.asList("trim", "set-column", "drop"), plan.getSteps());
+    Assert.assertTrue(plan.getRewrites().isEmpty());
+  }
+
+  @Test
+  public void testFilterHoisting() throws Exception {
+    RecipePlan plan = assertSameResults(
+      "trim name",
+      "parse-as-simple-date dob yyyy-MM-dd",
+      "filter-row-if-true age > 40"
+    );
+
+    Assert.assertEquals(Arrays.asList("filter-row", "trim", "parse-as-simple-date"), plan.getSteps());
+  }
+
+  @Test
+  public void testFilterNotHoistedAheadOfItsInputs() throws Exception {
+    RecipePlan plan = assertSameResults(
+      "set-column age age + 10",
+      "parse-as-simple-date dob yyyy-MM-dd",
+      "filter-row-if-true age > 40"
+    );
+
+    Assert.assertEquals(Arrays.asList("set-column", "filter-row", "parse-as-simple-date"), plan.getSteps());
+  }
+
+  @Test
+  public void testFilterNotHoistedAheadOfBarrier() throws Exception {
+    RecipePlan plan = assertSameResults(
+      "set-column total this.getValue('age') + 1",
+      "filter-row-if-true age > 40"
+    );
+
+    Assert.assertEquals(Arrays.asList("set-column", "filter-row"), plan.getSteps());
+  }
+
+  @Test
+  public void testCombinedRewrites() throws Exception {
+    RecipePlan plan = assertSameResults(
+      "trim name",
+      "lowercase name",
+      "lowercase tmp",
+      "parse-as-simple-date dob yyyy-MM-dd",
+      "filter-row-if-true age < 30",
+      "fill-null-or-empty email none",
+      "trim email",
+      "drop tmp"
+    );
+
+    Assert.assertEquals(Arrays.asList("filter-row", "fused[trim, lowercase]", "parse-as-simple-date",
+                                      "fused[fill-null-or-empty, trim]", "drop"), plan.getSteps());
+    Assert.assertEquals(4, plan.getRewrites().size());
+  }
+
+  /**
+   * Executes the recipe as written and optimized on the same rows, and checks the results are identical.
+   *
+   * @return the optimized plan.
+   */
+  private static RecipePlan assertSameResults(String... recipe) throws Exception {
+    RecipePipeline expected = new RecipePipelineExecutor(TestingRig.parse(recipe), new TestingPipelineContext());
+    OptimizingRecipeParser parser = new OptimizingRecipeParser(TestingRig.parse(recipe));
+    RecipePipeline actual = new RecipePipelineExecutor(parser, new TestingPipelineContext());
+
+    Assert.assertEquals(expected.execute(createRows()), actual.execute(createRows()));
+    Assert.assertEquals(expected.errors().size(), actual.errors().size());
+    return parser.getPlan();
+  }
+
+  private static List<Row> createRows() {
+    List<Row> rows = new ArrayList<>();
+    String[] names = {"  Joltie  ", null, "", "ROOT", " Mr. Smith"};
+    for (int i = 0; i < 20; i++) {
+      rows.add(new Row("name", names[i % names.length])
+                 .add("email", i % 3 == 0 ? null : "User" + i + "@Example.com")
+                 .add("age", 18 + i * 3)
+                 .add("dob", String.format("19%02d-0%d-1%d", 50 + i, 1 + i % 9, i % 10))
+                 .add("tmp", " Temp " + i));
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.statistics;
+
+import com.google.common.base.Strings;
+import com.google.gson.JsonPrimitive;
+import io.cdap.wrangler.api.Pair;
+import io.cdap.wrangler.api.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Tests {@link ColumnSketch}
+ */
+public class ColumnSketchTest {
+
+  @Test
+  public void testDistinct() {
+    ColumnSketch sketch = new ColumnSketch();
+    for (int i = 0; i < 100000; i++) {
+      sketch.add("value" + (i % 20000));
+    }
+    Assert.assertEquals(20000, sketch.getDistinct(), 20000 * 0.07);
+
+    sketch = new ColumnSketch();
+    for (int i = 0; i < 1000; i++) {
+      sketch.add(i % 10);
+    }
+    Assert.assertEquals(10, sketch.getDistinct());
+  }
+
+  @Test
+  public void testQuantiles() {
+    ColumnSketch sketch = new ColumnSketch();
+    Random random = new Random(0);
+    for (int i = 0; i < 50000; i++) {
+      sketch.add(random.nextDouble() * 1000);
+    }
+    Assert.assertEquals(50000, sketch.getNumericCount());
+    Assert.assertEquals(0, sketch.getMin(), 1);
+    Assert.assertEquals(1000, sketch.getMax(), 1);
+    Assert.assertEquals(10, sketch.getQuantile(0.01), 2);
+    Assert.assertEquals(500, sketch.getQuantile(0.5), 10);
+    Assert.assertEquals(990, sketch.getQuantile(0.99), 2);
+
+    sketch = new ColumnSketch();
+    sketch.add("text");
+    Assert.assertNull(sketch.getMin());
+    Assert.assertNull(sketch.getQuantile(0.5));
+    sketch.add(42);
+    Assert.assertEquals(42, sketch.getQuantile(0.5), 0);
+  }
+
+  @Test
+  public void testFrequentAndLengths() {
+    ColumnSketch sketch = new ColumnSketch();
+    for (int i = 0; i < 10000; i++) {
+      // Three frequent values among many values seen once.
+      sketch.add(i % 10 == 0 ? "a" : i % 10 == 1 ? "bb" : i % 10 == 2 ? "" : "value" + i);
+    }
+    sketch.add(null);
+    Assert.assertEquals(10000, sketch.getCount());
+
+    List<Pair<String, Long>> frequent = sketch.getFrequent(3);
+    Assert.assertEquals(3, frequent.size());
+    for (Pair<String, Long> value : frequent) {
+      Assert.assertTrue(value.getFirst().length() < 3);
+      Assert.assertTrue(value.getSecond() >= 1000);
+    }
+
+    long[] lengths = sketch.getLengths();
+    Assert.assertEquals(1000, lengths[0]);
+    Assert.assertEquals(1000, lengths[1]);
+    Assert.assertEquals(1000, lengths[2]);
+    Assert.assertEquals(7000, lengths[3] + lengths[4]);
+    Assert.assertEquals(0, (int) sketch.getMinLength());
+    Assert.assertEquals(9, (int) sketch.getMaxLength());
+    Assert.assertEquals("0", ColumnSketch.getLengthRange(0));
+    Assert.assertEquals("4-7", ColumnSketch.getLengthRange(3));
+    Assert.assertEquals("32768+", ColumnSketch.getLengthRange(ColumnSketch.LENGTH_BUCKETS - 1));
+  }
+
+  @Test
+  public void testSummarizedTypes() {
+    ColumnSketch sketch = new ColumnSketch();
+    sketch.add(new byte[] {1, 2});
+    sketch.add(new JsonPrimitive("json"));
+    sketch.add(Collections.singletonMap("key", "value"));
+    sketch.add(Collections.singletonList("value"));
+    Assert.assertEquals(0, sketch.getCount());
+    Assert.assertTrue(sketch.getFrequent(3).isEmpty());
+
+    sketch.add(true);
+    sketch.add(LocalDate.of(2020, 1, 1));
+    Assert.assertEquals(2, sketch.getCount());
+
+    sketch = new ColumnSketch();
+    String text = Strings.repeat("x", 10000);
+    sketch.add(text);
+    sketch.add(text);
+    List<Pair<String, Long>> frequent = sketch.getFrequent(1);
+    Assert.assertEquals(1, frequent.size());
+    Assert.assertEquals(Strings.repeat("x", 256) + "...", frequent.get(0).getFirst());
+    Assert.assertEquals(2L, (long) frequent.get(0).getSecond());
+    Assert.assertEquals(10000, (int) sketch.getMaxLength());
+  }
+
+  @Test
+  public void testMerge() {
+    Random random = new Random(1);
+    ColumnSketch all = new ColumnSketch();
+    List<ColumnSketch> chunks = new ArrayList<>();
+    for (int chunk = 0; chunk < 8; chunk++) {
+      ColumnSketch sketch = new ColumnSketch();
+      for (int i = 0; i < 5000; i++) {
+        Object value = i % 4 == 0 ? "frequent" : i % 2 == 0 ? "text" + random.nextInt(3000) : random.nextGaussian();
+        sketch.add(value);
+        all.add(value);
+      }
+      chunks.add(sketch);
+    }
+    ColumnSketch merged = new ColumnSketch();
+    chunks.forEach(merged::merge);
+
+    Assert.assertEquals(all.getCount(), merged.getCount());
+    Assert.assertEquals(all.getDistinct(), merged.getDistinct());
+    Assert.assertArrayEquals(all.getLengths(), merged.getLengths());
+    Assert.assertEquals(all.getMin(), merged.getMin());
+    Assert.assertEquals(all.getMax(), merged.getMax());
+    Assert.assertEquals(all.getNumericCount(), merged.getNumericCount());
+    Assert.assertEquals(0, merged.getQuantile(0.5), 0.05);
+    Assert.assertEquals(all.getQuantile(0.25), merged.getQuantile(0.25), 0.05);
+    Assert.assertEquals("frequent", merged.getFrequent(1).get(0).getFirst());
+    Assert.assertEquals(10000L, (long) merged.getFrequent(1).get(0).getSecond());
+  }
+
+  @Test
+  public void testComputedWithStatistics() throws Exception {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      rows.add(new Row("name", "user" + (i % 5)).add("id", i).add("empty", null));
+    }
+    Map<String, ColumnSketch> sketches = new HashMap<>();
+    Row summary = new BasicStatistics().aggregate(rows, sketches);
+    Assert.assertEquals(100.0, summary.getValue("total"));
+    Assert.assertEquals(5, sketches.get("name").getDistinct());
+    Assert.assertEquals(100, sketches.get("id").getDistinct(), 3);
+    Assert.assertEquals(99, sketches.get("id").getMax(), 0);
+    Assert.assertEquals(0, sketches.get("empty").getCount());
+  }
+}
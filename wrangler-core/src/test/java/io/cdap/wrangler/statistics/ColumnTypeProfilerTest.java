@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.statistics;
+
+import io.dataapps.chlorine.finder.FinderEngine;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Tests {@link ColumnTypeProfiler}
+ */
+public class ColumnTypeProfilerTest {
+  private static final List<String> VALUES = Arrays.asList(
+    "1234.45", "650-897-3839", "111-11-1111", "32826", "02/29/2000", "$1234.56", "http://www.yahoo.com", "222",
+    "9/14/2016", "john@example.com", "JOHN@EXAMPLE.COM", "192.168.0.1", "Male", "true", "NO", "CA", "California",
+    "New York", "2020-01-01 10:11:12", "00:1B:44:11:3A:B7", "0000.1111.2222", "4111111111111111", "378282246310005",
+    "12:30", "1:2:3", "01/2020", "31.12.2019", "K1A 0B1", "F-75001", "123 Main Street", "123 45 6789",
+    "2001:0db8:85a3:0000:0000:8a2e:0370:7334", "::1", "hello world", "abc123", "GB82WEST12345698765432",
+    "978-3-16-148410-0", "January", "$56,789", "www.google.com/x?y=1", "12345-6789", " 42 ", "a.b", "☃ snow");
+
+  @Test
+  public void testSameTypesAsFinderEngine() throws Exception {
+    FinderEngine engine = new FinderEngine("wrangler-finder.xml", true, false);
+    ColumnTypeProfiler profiler = ColumnTypeProfiler.getInstance();
+
+    List<String> values = new ArrayList<>(VALUES);
+    Random random = new Random(0);
+    String chars = "0123456789abcXYZ.-:/@ $,()";
+    for (int i = 0; i < 2000; i++) {
+      StringBuilder value = new StringBuilder();
+      for (int j = random.nextInt(20) + 1; j > 0; j--) {
+        value.append(chars.charAt(random.nextInt(chars.length())));
+      }
+      values.add(value.toString());
+    }
+    for (String value : values) {
+      Assert.assertEquals(value, engine.findWithType(value).keySet(), profiler.findTypes(value));
+    }
+  }
+
+  @Test
+  public void testRequirements() {
+    ColumnTypeProfiler.Requirement requirement = ColumnTypeProfiler.Requirement.of("(\\D|^)[0-9]{3}\\-[0-9]{2}", 0);
+    Assert.assertTrue(requirement.accepts(6, (1L << '-') | (1L << '1'), 0));
+    Assert.assertFalse(requirement.accepts(5, (1L << '-') | (1L << '1'), 0));
+    Assert.assertFalse(requirement.accepts(6, 1L << '1', 0));
+    Assert.assertFalse(requirement.accepts(6, 1L << '-', 0));
+    // Alternatives only require what all of them require.
+    requirement = ColumnTypeProfiler.Requirement.of("a-b|(c-d)+|e-?", 0);
+    Assert.assertTrue(requirement.accepts(1, 0, 0));
+    Assert.assertSame(ColumnTypeProfiler.Requirement.NONE, ColumnTypeProfiler.Requirement.of("a\\Qb", 0));
+    Assert.assertSame(ColumnTypeProfiler.Requirement.NONE, ColumnTypeProfiler.Requirement.of("(?x) a", 0));
+    Assert.assertSame(ColumnTypeProfiler.Requirement.NONE, ColumnTypeProfiler.Requirement.of("a", Pattern.LITERAL));
+  }
+
+  @Test
+  public void testSampling() throws Exception {
+    ColumnTypeProfiler profiler = new ColumnTypeProfiler(ColumnTypeProfiler.load("wrangler-finder.xml"),
+                                                         ColumnTypeProfiler.MAX_LENGTH, 100);
+    List<String> values = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      values.add((i / 10) % 2 == 0 ? String.valueOf(i) : "text");
+    }
+    Map<String, Double> counts = profiler.profile(Collections.singletonMap("column", values), Long.MAX_VALUE)
+      .get("column");
+    Assert.assertEquals(500.0, counts.get("Integer"), 0.001);
+    Assert.assertEquals(500.0, counts.get("Text"), 0.001);
+  }
+}
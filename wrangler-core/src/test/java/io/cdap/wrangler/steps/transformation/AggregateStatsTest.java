@@ -17,6 +17,7 @@
 package io.cdap.wrangler.steps.transformation;
 
 import com.google.gson.JsonObject;
+import io.cdap.wrangler.TestingPipelineContext;
 import io.cdap.wrangler.api.DirectiveExecutionException;
 import io.cdap.wrangler.api.DirectiveParseException;
 import io.cdap.wrangler.api.ExecutorContext;
@@ -28,6 +29,7 @@ import io.cdap.wrangler.api.parser.TokenDefinition;
 import io.cdap.wrangler.api.parser.UsageDefinition;
 import io.cdap.wrangler.api.TransientStore;
 import io.cdap.wrangler.api.TransientVariableScope;
+import io.cdap.wrangler.api.annotations.Stateful;
 import io.cdap.cdap.etl.api.StageMetrics;
 import org.junit.Assert;
 import org.junit.Test;
@@ -54,7 +56,7 @@ public class AggregateStatsTest {
     variables.put("aggregate-stats:row-count", 0L);
     
     Mockito.when(context.getTransientStore()).thenReturn(store);
-    Mockito.when(store.getVariables()).thenReturn(variables);
+    Mockito.when(store.getVariables()).thenReturn(variables.keySet());
     Mockito.when(store.get("aggregate-stats:total-bytes")).thenReturn(0L);
     Mockito.when(store.get("aggregate-stats:total-millis")).thenReturn(0L);
     Mockito.when(store.get("aggregate-stats:row-count")).thenReturn(0L);
@@ -238,6 +240,37 @@ public class AggregateStatsTest {
     Assert.assertEquals("1.00s", result.getValue("total_time")); // Default to s
   }
 
+  @Test
+  public void testTotalsOverManyRows() throws DirectiveParseException, DirectiveExecutionException {
+    // Totals are carried across the rows through the global store, so the rows must not be split into partitions.
+    Assert.assertTrue(AggregateStats.class.isAnnotationPresent(Stateful.class));
+
+    AggregateStats directive = new AggregateStats();
+    Map<String, Object> args = new HashMap<>();
+    args.put("byteSizeColumn", new ColumnName("size"));
+    args.put("timeDurationColumn", new ColumnName("duration"));
+    args.put("totalSizeColumnName", new ColumnName("total_size"));
+    args.put("totalTimeColumnName", new ColumnName("total_time"));
+    directive.initialize(new MockArguments(args));
+
+    ExecutorContext context = new TestingPipelineContext();
+    TransientStore store = context.getTransientStore();
+
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 2500; i++) {
+      rows.add(new Row("size", "1KB").add("duration", "10ms"));
+    }
+    // More rows than a partition of a parallel execution, executed by a single instance in batches.
+    for (int offset = 0; offset < rows.size(); offset += 1000) {
+      Assert.assertTrue(directive.execute(rows.subList(offset, Math.min(offset + 1000, rows.size())), context)
+                          .isEmpty());
+    }
+
+    Assert.assertEquals(2500L * 1024, (long) store.get("aggregate-stats:total-bytes"));
+    Assert.assertEquals(25000L, (long) store.get("aggregate-stats:total-millis"));
+    Assert.assertEquals(2500L, (long) store.get("aggregate-stats:row-count"));
+  }
+
   private static class MockArguments implements io.cdap.wrangler.api.Arguments {
     private final Map<String, Object> args;
     
@@ -16,7 +16,11 @@
 package io.cdap.wrangler.utils;
 
 import com.google.common.collect.Lists;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.wrangler.TestingRig;
 import io.cdap.wrangler.api.RecipePipeline;
@@ -143,4 +147,47 @@ public class KryoSerializerTest {
     Assert.assertArrayEquals(expectedRows.toArray(), response.getRows().toArray());
     Assert.assertEquals(expectedSchema, response.getOutputSchema());
   }
+
+  @Test
+  public void testJsonElements() throws Exception {
+    JsonObject object = new JsonObject();
+    object.add("int", new JsonPrimitive(1));
+    object.add("long", new JsonPrimitive(Long.MAX_VALUE));
+    object.add("decimal", new JsonPrimitive(new BigDecimal("1.50")));
+    object.add("string", new JsonPrimitive("abc"));
+    object.add("boolean", new JsonPrimitive(true));
+    object.add("null", JsonNull.INSTANCE);
+    JsonArray array = new JsonArray();
+    array.add(new JsonPrimitive('c'));
+    array.add(new JsonParser().parse("{\"a\": [1, 2.5, null]}"));
+    object.add("array", array);
+
+    List<Row> expectedRows = Collections.singletonList(new Row("body", object).add("primitive", array.get(0)));
+    byte[] serializedRows = new KryoSerializer().fromRemoteDirectiveResponse(
+        new RemoteDirectiveResponse(expectedRows, null));
+    Row row = new KryoSerializer().toRemoteDirectiveResponse(serializedRows).getRows().get(0);
+    Assert.assertEquals(expectedRows.get(0), row);
+    JsonObject gotObject = (JsonObject) row.getValue("body");
+    Assert.assertEquals(Long.MAX_VALUE, gotObject.get("long").getAsNumber());
+    Assert.assertEquals(new BigDecimal("1.50"), gotObject.get("decimal").getAsNumber());
+  }
+
+  @Test
+  public void testRowsWithDifferentColumns() throws Exception {
+    List<Row> expectedRows = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      Row row = new Row("id", i).add("name", "user" + i).add("score", i * 0.5);
+      if (i % 10 == 0) {
+        row.add("extra", LocalDate.of(2020, 1, 1 + i % 28));
+      }
+      expectedRows.add(row);
+    }
+    expectedRows.add(new Row());
+    RemoteDirectiveResponse expected = new RemoteDirectiveResponse(expectedRows, null);
+    byte[] serializedRows = new KryoSerializer().fromRemoteDirectiveResponse(expected);
+    Assert.assertEquals(expectedRows, new KryoSerializer().toRemoteDirectiveResponse(serializedRows).getRows());
+    // Column names are not repeated for rows with the same columns as the previous row.
+    Assert.assertTrue(
+      serializedRows.length * 2 < new ObjectSerDe<RemoteDirectiveResponse>().toByteArray(expected).length);
+  }
 }
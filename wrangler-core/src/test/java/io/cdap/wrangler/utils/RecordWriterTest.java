@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.utils;
+
+import com.google.common.collect.ImmutableList;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.RowLayout;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests {@link RecordWriter}
+ */
+public class RecordWriterTest {
+  private static final Schema SCHEMA = Schema.recordOf(
+    "record",
+    Schema.Field.of("id", Schema.of(Schema.Type.INT)),
+    Schema.Field.of("name", Schema.nullableOf(Schema.of(Schema.Type.STRING))),
+    Schema.Field.of("score", Schema.nullableOf(Schema.of(Schema.Type.DOUBLE))),
+    Schema.Field.of("active", Schema.nullableOf(Schema.of(Schema.Type.BOOLEAN))),
+    Schema.Field.of("dob", Schema.nullableOf(Schema.of(Schema.LogicalType.DATE))),
+    Schema.Field.of("amount", Schema.nullableOf(Schema.decimalOf(10, 2))),
+    Schema.Field.of("tags", Schema.nullableOf(Schema.arrayOf(Schema.of(Schema.Type.STRING))))
+  );
+
+  @Test
+  public void testSameRecordsAsConvertor() throws Exception {
+    RecordConvertor convertor = new RecordConvertor();
+    RecordWriter writer = RecordWriter.of(convertor, SCHEMA);
+
+    for (Row row : createRows()) {
+      Assert.assertEquals(convertor.decodeRecord(row, SCHEMA), writer.write(row));
+    }
+  }
+
+  @Test
+  public void testColumnPositionsCachedPerLayout() throws Exception {
+    RecordWriter writer = RecordWriter.of(new RecordConvertor(), SCHEMA);
+    RowLayout layout = RowLayout.of(Arrays.asList("name", "id", "extra", "score"));
+
+    for (int i = 0; i < 3; i++) {
+      Row row = new Row(layout);
+      row.setValue(0, "user" + i);
+      row.setValue(1, i);
+      row.setValue(2, "ignored");
+      row.setValue(3, i * 1.5);
+
+      StructuredRecord record = writer.write(row);
+      Assert.assertEquals(i, (int) record.get("id"));
+      Assert.assertEquals("user" + i, record.get("name"));
+      Assert.assertEquals(i * 1.5, (Double) record.get("score"), 0.0);
+      Assert.assertNull(record.get("active"));
+    }
+
+    // A row with another layout is mapped with its own columns.
+    Row row = new Row(RowLayout.of(Arrays.asList("id", "name")));
+    row.setValue(0, 7);
+    row.setValue(1, "other");
+    StructuredRecord record = writer.write(row);
+    Assert.assertEquals(7, (int) record.get("id"));
+    Assert.assertEquals("other", record.get("name"));
+  }
+
+  @Test
+  public void testOutputConvertsStrings() throws Exception {
+    RecordWriter writer = RecordWriter.forOutput(SCHEMA);
+
+    StructuredRecord record = writer.write(new Row("id", 1).add("active", "true").add("name", "x"));
+    Assert.assertEquals(true, record.get("active"));
+    Assert.assertEquals("x", record.get("name"));
+
+    // Records held by a row are copied to the output schema.
+    StructuredRecord input = StructuredRecord.builder(Schema.recordOf(
+      "input",
+      Schema.Field.of("id", Schema.of(Schema.Type.INT)),
+      Schema.Field.of("score", Schema.of(Schema.Type.STRING))))
+      .set("id", 3)
+      .set("score", "2.5")
+      .build();
+    record = writer.write(new Row("body", input));
+    Assert.assertEquals(SCHEMA, record.getSchema());
+    Assert.assertEquals(3, (int) record.get("id"));
+    Assert.assertEquals(2.5, (Double) record.get("score"), 0.0);
+  }
+
+  @Test(expected = RecordConvertorException.class)
+  public void testInvalidValue() throws Exception {
+    RecordWriter.of(new RecordConvertor(), SCHEMA).write(new Row("id", "not a number"));
+  }
+
+  private static List<Row> createRows() {
+    return Arrays.asList(
+      new Row("id", 1).add("name", "a").add("score", 1.5).add("active", true)
+        .add("dob", LocalDate.of(2020, 1, 2)).add("amount", new BigDecimal("12.50"))
+        .add("tags", ImmutableList.of("x", "y")),
+      new Row("id", "2").add("score", "2.5").add("active", "false").add("name", null),
+      new Row("name", "reordered").add("id", 3).add("score", 7),
+      new Row("ID", 4).add("Name", "case").add("unused", "z"),
+      new Row("id", 5).add("score", "").add("tags", null)
+    );
+  }
+}
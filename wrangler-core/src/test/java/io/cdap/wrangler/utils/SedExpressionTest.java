@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.unix4j.Unix4j;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests {@link SedExpression}
+ */
+public class SedExpressionTest {
+  private static final List<String> VALUES = Arrays.asList(
+    "data_body", "body_data_", "\"quoted\" \"value\"", "1 Main St. st", "test a test", "no match",
+    "/usr/local/bin/wrangler", "a.b.c", "ABCabc", "", "a", "multiple\nlines test", "ünïcode test"
+  );
+
+  @Test
+  public void testCompiledExpressionsMatchSed() {
+    List<String> scripts = Arrays.asList(
+      "s/^data_//g", "s/\"//g", "s/St./Street/Ig", "s/St./Street/", "s/test//g", "s/test/X/",
+      "s/\\/usr\\/local\\/bin/\\/common\\/bin/g", "s|/usr/local|/opt|", "s/[ab]+/-/g", "s/c/C/gI",
+      "y/abc/xyz/", "y/./_/"
+    );
+    for (String script : scripts) {
+      SedExpression expression = SedExpression.compile(script);
+      Assert.assertTrue(script, expression.isCompiled());
+      for (String value : VALUES) {
+        Assert.assertEquals(script + " on '" + value + "'", sed(script, value), expression.apply(value));
+      }
+    }
+  }
+
+  @Test
+  public void testOtherExpressionsUseSed() {
+    List<String> scripts = Arrays.asList(
+      "s/\\(a\\)/\\1\\1/g", "s/a/&&/g", "s/a/$/", "s/a/b/2", "s/a/b/p", "s.a\\.b.x.", "s//x/", "y/ab/x/",
+      "2s/a/b/", "/a/s/b/c/"
+    );
+    for (String script : scripts) {
+      SedExpression expression = SedExpression.compile(script);
+      Assert.assertFalse(script, expression.isCompiled());
+      for (String value : VALUES) {
+        Assert.assertEquals(script + " on '" + value + "'", sed(script, value), expression.apply(value));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidExpression() {
+    SedExpression.compile("r/^data_//g").apply("data_body");
+  }
+
+  private static String sed(String script, String value) {
+    return Unix4j.echo(value).sed(script).toStringResult();
+  }
+}
@@ -22,6 +22,7 @@ import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.wrangler.api.Pair;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.RowLayout;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -127,4 +128,21 @@ public class StructuredToRowTransformerTest {
     Assert.assertEquals(expected.getValue("f15"), row.getValue("f15"));
     Assert.assertEquals(expected, row);
   }
+
+  @Test
+  public void testRowsShareLayout() {
+    Schema schema = Schema.recordOf("schema",
+                                    Schema.Field.of("id", Schema.of(Schema.Type.INT)),
+                                    Schema.Field.of("Name", Schema.of(Schema.Type.STRING)));
+    RowLayout layout = StructuredToRowTransformer.getLayout(schema);
+    Row first = StructuredToRowTransformer.transform(
+      StructuredRecord.builder(schema).set("id", 1).set("Name", "a").build(), layout);
+    Row second = StructuredToRowTransformer.transform(
+      StructuredRecord.builder(schema).set("id", 2).set("Name", "b").build(), layout);
+
+    Assert.assertSame(layout, first.getLayout());
+    Assert.assertSame(layout, second.getLayout());
+    Assert.assertEquals(1, second.find("name"));
+    Assert.assertEquals("b", second.getValue("NAME"));
+  }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.proto.workspace;
+
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Approximate profile of the values of a column, estimated from sketches of the values.
+ */
+public class ColumnProfile {
+  private final long distinct;
+  private final Map<String, Long> frequent;
+  private final Double min;
+  private final Double max;
+  private final Map<String, Double> quantiles;
+  private final Integer minLength;
+  private final Integer maxLength;
+  private final Map<String, Long> lengths;
+
+  public ColumnProfile(long distinct, Map<String, Long> frequent, @Nullable Double min, @Nullable Double max,
+                       @Nullable Map<String, Double> quantiles, @Nullable Integer minLength,
+                       @Nullable Integer maxLength, @Nullable Map<String, Long> lengths) {
+    this.distinct = distinct;
+    this.frequent = frequent;
+    this.min = min;
+    this.max = max;
+    this.quantiles = quantiles;
+    this.minLength = minLength;
+    this.maxLength = maxLength;
+    this.lengths = lengths;
+  }
+
+  public long getDistinct() {
+    return distinct;
+  }
+
+  public Map<String, Long> getFrequent() {
+    return frequent;
+  }
+
+  @Nullable
+  public Double getMin() {
+    return min;
+  }
+
+  @Nullable
+  public Double getMax() {
+    return max;
+  }
+
+  @Nullable
+  public Map<String, Double> getQuantiles() {
+    return quantiles;
+  }
+
+  @Nullable
+  public Integer getMinLength() {
+    return minLength;
+  }
+
+  @Nullable
+  public Integer getMaxLength() {
+    return maxLength;
+  }
+
+  @Nullable
+  public Map<String, Long> getLengths() {
+    return lengths;
+  }
+}
@@ -25,10 +25,17 @@ import javax.annotation.Nullable;
 public class ColumnStatistics {
   private final Map<String, Float> general;
   private final Map<String, Float> types;
+  private final ColumnProfile profile;
 
   public ColumnStatistics(@Nullable Map<String, Float> general, @Nullable Map<String, Float> types) {
+    this(general, types, null);
+  }
+
+  public ColumnStatistics(@Nullable Map<String, Float> general, @Nullable Map<String, Float> types,
+                          @Nullable ColumnProfile profile) {
     this.general = general;
     this.types = types;
+    this.profile = profile;
   }
 
   @Nullable
@@ -40,4 +47,9 @@ public class ColumnStatistics {
   public Map<String, Float> getTypes() {
     return types;
   }
+
+  @Nullable
+  public ColumnProfile getProfile() {
+    return profile;
+  }
 }
@@ -19,12 +19,9 @@ package io.cdap.wrangler.proto.workspace.v2;
 
 import io.cdap.wrangler.api.Row;
 
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import javax.annotation.Nullable;
 
 /**
  * Full information about the workspace, including sample data
@@ -32,23 +29,17 @@ import java.util.Objects;
 public class WorkspaceDetail {
   private final Workspace workspace;
   private final List<Row> sample;
-  private final byte[] sampleAsBytes;
+  // Identifies the stored sample, null if the sample was not read from the store.
+  private final String sampleVersion;
 
   public WorkspaceDetail(Workspace workspace, List<Row> sample) {
-    this.workspace = workspace;
-    this.sample = sample;
-    this.sampleAsBytes = convertToBytes(sample);
+    this(workspace, sample, null);
   }
 
-  private byte[] convertToBytes(List<Row> sample) {
-    try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
-         ObjectOutput out = new ObjectOutputStream(bos)) {
-      out.writeObject(sample);
-      out.flush();
-      return bos.toByteArray();
-    } catch (Exception e) {
-      throw new RuntimeException("Error getting bytes from sample", e);
-    }
+  public WorkspaceDetail(Workspace workspace, List<Row> sample, @Nullable String sampleVersion) {
+    this.workspace = workspace;
+    this.sample = sample;
+    this.sampleVersion = sampleVersion;
   }
 
   public Workspace getWorkspace() {
@@ -59,8 +50,13 @@ public class WorkspaceDetail {
     return sample;
   }
 
-  public byte[] getSampleAsBytes() {
-    return sampleAsBytes;
+  /**
+   * @return a version of the sample that changes whenever the stored sample changes, or {@code null} if the sample
+   *   was not read from the store.
+   */
+  @Nullable
+  public String getSampleVersion() {
+    return sampleVersion;
   }
 
   @Override
@@ -75,12 +71,11 @@ public class WorkspaceDetail {
 
     WorkspaceDetail detail = (WorkspaceDetail) o;
     return Objects.equals(workspace, detail.workspace) &&
-      Objects.equals(sample, detail.sample) &&
-      Arrays.equals(sampleAsBytes, detail.sampleAsBytes);
+      Objects.equals(sample, detail.sample);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(workspace, sample, sampleAsBytes);
+    return Objects.hash(workspace, sample);
   }
 }
@@ -100,6 +100,13 @@ public class DataPrepService extends AbstractSystemService {
 
     UpgradeStore upgradeStore = new UpgradeStore(context);
     WorkspaceStore wsStore = new WorkspaceStore(context);
+    try {
+      WorkspaceUpgrader.upgradeSamples(upgradeStore, wsStore);
+    } catch (Exception e) {
+      // samples in the previous format can still be read, so the service can start
+      LOG.error("Failed to upgrade the workspace samples", e);
+    }
+
     UpgradeState connState = upgradeStore.getEntityUpgradeState(UpgradeEntityType.CONNECTION);
     UpgradeState wsState = upgradeStore.getEntityUpgradeState(UpgradeEntityType.WORKSPACE);
     boolean isConnDone = connState != null && connState.getVersion() == 1L;
@@ -36,6 +36,7 @@ import io.cdap.wrangler.dataset.workspace.DataType;
 import io.cdap.wrangler.dataset.workspace.Workspace;
 import io.cdap.wrangler.dataset.workspace.WorkspaceDataset;
 import io.cdap.wrangler.dataset.workspace.WorkspaceMeta;
+import io.cdap.wrangler.proto.BadRequestException;
 import io.cdap.wrangler.proto.ConnectionSample;
 import io.cdap.wrangler.proto.Namespace;
 import io.cdap.wrangler.proto.NamespacedId;
@@ -76,12 +77,15 @@ import java.sql.Timestamp;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
@@ -98,6 +102,8 @@ public class DatabaseHandler extends AbstractWranglerHandler {
   private static final Logger LOG = LoggerFactory.getLogger(DatabaseHandler.class);
   private static final List<String> MACRO_FIELDS = ImmutableList.of("username", "password");
   private static final String JDBC = "jdbc";
+  // Maximum number of rows fetched at once when reading a table.
+  private static final int MAX_FETCH_SIZE = 1000;
   private final Map<String, ServiceMacroEvaluator> macroEvaluators = new HashMap<>();
 
   static final class DriverInfo {
@@ -404,6 +410,8 @@ public class DatabaseHandler extends AbstractWranglerHandler {
    * @param id Connection id for which the tables need to be listed from database.
    * @param table Name of the database table.
    * @param lines No of lines to be read from RDBMS table.
+   * @param columns Comma separated columns to be read, all the columns are read if not provided.
+   * @param fraction Fraction of the rows randomly sampled before reading the lines, if supported by the database.
    * @param scope Group the workspace should be created in.
    */
   @GET
@@ -412,51 +420,166 @@ public class DatabaseHandler extends AbstractWranglerHandler {
   public void read(HttpServiceRequest request, HttpServiceResponder responder,
                    @PathParam("context") String namespace, @PathParam("id") String id, @PathParam("table") String table,
                    @QueryParam("lines") int lines,
+                   @QueryParam("columns") String columns,
+                   @QueryParam("fraction") double fraction,
                    @QueryParam("scope") @DefaultValue(WorkspaceDataset.DEFAULT_SCOPE) String scope) {
     respond(request, responder, namespace, ns -> {
       AtomicReference<ConnectionSample> sampleRef = new AtomicReference<>();
       Connection conn = getConnection(new NamespacedId(ns, id));
+      DriverInfo driver = drivers.get(conn.getProperties().get("name"));
+      SqlDialect dialect = SqlDialect.fromUrl(driver == null ?
+                                                conn.getProperties().get("url") : driver.getJdbcUrlPattern());
 
       loadAndExecute(ns, conn, connection -> {
-        try (Statement statement = connection.createStatement();
-          ResultSet result = statement.executeQuery(String.format("select * from %s", table))) {
-          List<Row> rows = getRows(lines, result);
-
-          Map<String, String> properties = new HashMap<>();
-          properties.put(PropertyIds.NAME, table);
-          properties.put(PropertyIds.CONNECTION_TYPE, ConnectionType.DATABASE.getType());
-          properties.put(PropertyIds.SAMPLER_TYPE, SamplingMethod.NONE.getMethod());
-          properties.put(PropertyIds.CONNECTION_ID, id);
-          WorkspaceMeta workspaceMeta = WorkspaceMeta.builder(table)
-            .setScope(scope)
-            .setProperties(properties)
-            .build();
-          String sampleId = TransactionRunners.run(getContext(), context -> {
-            WorkspaceDataset ws = WorkspaceDataset.get(context);
-            NamespacedId workspaceId = ws.createWorkspace(ns, workspaceMeta);
-
-            ObjectSerDe<List<Row>> serDe = new ObjectSerDe<>();
-            byte[] data = serDe.toByteArray(rows);
-            ws.updateWorkspaceData(workspaceId, DataType.RECORDS, data);
-            return workspaceId.getId();
-          });
-
-          ConnectionSample sample = new ConnectionSample(sampleId, table,
-                                                         ConnectionType.DATABASE.getType(),
-                                                         SamplingMethod.NONE.getMethod(), id);
-          sampleRef.set(sample);
-        }
+        List<Row> rows = readRows(connection, dialect, table, columns, lines, fraction);
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(PropertyIds.NAME, table);
+        properties.put(PropertyIds.CONNECTION_TYPE, ConnectionType.DATABASE.getType());
+        properties.put(PropertyIds.SAMPLER_TYPE, SamplingMethod.NONE.getMethod());
+        properties.put(PropertyIds.CONNECTION_ID, id);
+        WorkspaceMeta workspaceMeta = WorkspaceMeta.builder(table)
+          .setScope(scope)
+          .setProperties(properties)
+          .build();
+        String sampleId = TransactionRunners.run(getContext(), context -> {
+          WorkspaceDataset ws = WorkspaceDataset.get(context);
+          NamespacedId workspaceId = ws.createWorkspace(ns, workspaceMeta);
+
+          ObjectSerDe<List<Row>> serDe = new ObjectSerDe<>();
+          byte[] data = serDe.toByteArray(rows);
+          ws.updateWorkspaceData(workspaceId, DataType.RECORDS, data);
+          return workspaceId.getId();
+        });
+
+        ConnectionSample sample = new ConnectionSample(sampleId, table,
+                                                       ConnectionType.DATABASE.getType(),
+                                                       SamplingMethod.NONE.getMethod(), id);
+        sampleRef.set(sample);
       }, getContext());
       return new ServiceResponse<>(sampleRef.get());
     });
   }
 
+  /**
+   * Reads the first rows of a table. The number of rows is pushed down to the database in its dialect, and the rows
+   * are read with a forward only cursor fetching them in batches.
+   *
+   * @param connection to the database.
+   * @param dialect of the database.
+   * @param table to read.
+   * @param columns comma separated columns to read, all the columns are read if {@code null} or empty.
+   *                Each column must be a column of the table.
+   * @param lines number of rows to read.
+   * @param fraction fraction of the rows randomly sampled before reading the first rows. Rows are not sampled if
+   *                 the fraction is not between 0 and 1, or if the database does not support sampling.
+   */
+  @VisibleForTesting
+  static List<Row> readRows(java.sql.Connection connection, SqlDialect dialect, String table,
+                            @Nullable String columns, int lines, double fraction) throws SQLException {
+    if (lines <= 0) {
+      return new ArrayList<>();
+    }
+    String projection = columns == null || columns.trim().isEmpty() ? "*" : getProjection(connection, table, columns);
+    if (fraction > 0 && fraction < 1 && dialect.supportsSampling()) {
+      try {
+        return executeQuery(connection, dialect.select(projection, dialect.sample(table, fraction * 100), lines),
+                            lines);
+      } catch (SQLException e) {
+        // Sampling may not be supported by the version of the database or by the table.
+        LOG.debug("Unable to sample table {}, reading its first rows instead.", table, e);
+      }
+    }
+    return executeQuery(connection, dialect.select(projection, table, lines), lines);
+  }
+
+  /**
+   * Returns the projection of a query reading the given columns of a table. The columns are checked against the
+   * columns of the table and quoted as identifiers, so that they are never read as SQL.
+   *
+   * @param columns comma separated names of the columns, matched case insensitively if no column has the exact name.
+   * @throws BadRequestException if a column is not a column of the table.
+   */
+  @VisibleForTesting
+  static String getProjection(java.sql.Connection connection, String table, String columns) throws SQLException {
+    DatabaseMetaData metaData = connection.getMetaData();
+    String quote = metaData.getIdentifierQuoteString().trim();
+    List<String> tableColumns = getColumns(metaData, table, quote);
+    List<String> projection = new ArrayList<>();
+    for (String column : columns.split(",")) {
+      String name = unquote(column.trim(), quote);
+      String found = tableColumns.contains(name) ? name
+        : tableColumns.stream().filter(name::equalsIgnoreCase).findFirst().orElse(null);
+      if (found == null) {
+        throw new BadRequestException(String.format("Column '%s' does not exist in table '%s'.",
+                                                    column.trim(), table));
+      }
+      projection.add(quote.isEmpty() ? found : quote + found.replace(quote, quote + quote) + quote);
+    }
+    return String.join(", ", projection);
+  }
+
+  /**
+   * Returns the names of the columns of a table, named as {@code [schema.]table} with optionally quoted parts.
+   * Unquoted names are also looked up in upper and lower case, as databases store them in either case.
+   */
+  private static List<String> getColumns(DatabaseMetaData metaData, String table, String quote) throws SQLException {
+    int separator = table.lastIndexOf('.');
+    String schema = separator < 0 ? null : escapePattern(metaData, unquote(table.substring(0, separator), quote));
+    String name = unquote(table.substring(separator + 1), quote);
+    Set<String> candidates = new LinkedHashSet<>(Arrays.asList(name, name.toUpperCase(), name.toLowerCase()));
+    List<String> columns = new ArrayList<>();
+    for (String candidate : candidates) {
+      try (ResultSet resultSet = metaData.getColumns(null, schema, escapePattern(metaData, candidate), null)) {
+        while (resultSet.next()) {
+          columns.add(resultSet.getString("COLUMN_NAME"));
+        }
+      }
+      if (!columns.isEmpty()) {
+        break;
+      }
+    }
+    return columns;
+  }
+
+  private static String unquote(String identifier, String quote) {
+    String trimmed = identifier.trim();
+    if (!quote.isEmpty() && trimmed.length() >= 2 * quote.length()
+      && trimmed.startsWith(quote) && trimmed.endsWith(quote)) {
+      return trimmed.substring(quote.length(), trimmed.length() - quote.length()).replace(quote + quote, quote);
+    }
+    return trimmed;
+  }
+
+  /**
+   * Escapes the wildcards of a name used as a pattern of the database metadata.
+   */
+  private static String escapePattern(DatabaseMetaData metaData, String name) throws SQLException {
+    String escape = metaData.getSearchStringEscape();
+    if (escape == null || escape.isEmpty()) {
+      return name;
+    }
+    return name.replace(escape, escape + escape).replace("_", escape + "_").replace("%", escape + "%");
+  }
+
+  private static List<Row> executeQuery(java.sql.Connection connection, String query,
+                                        int lines) throws SQLException {
+    try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+      // Drivers that do not understand the limit of the query are still asked not to fetch more rows.
+      statement.setMaxRows(lines);
+      statement.setFetchSize(Math.min(lines, MAX_FETCH_SIZE));
+      try (ResultSet result = statement.executeQuery(query)) {
+        return getRows(lines, result);
+      }
+    }
+  }
+
   @VisibleForTesting
   static List<Row> getRows(int lines, ResultSet result) throws SQLException {
     List<Row> rows = new ArrayList<>();
     ResultSetMetaData meta = result.getMetaData();
     int count = lines;
-    while (result.next() && count > 0) {
+    while (count > 0 && result.next()) {
       Row row = new Row();
       for (int i = 1; i < meta.getColumnCount() + 1; ++i) {
         Object object = result.getObject(i);
@@ -578,8 +701,9 @@ public class DatabaseHandler extends AbstractWranglerHandler {
       String username = evaluated.get("username");
       String password = evaluated.get("password");
 
-      java.sql.Connection conn = DriverManager.getConnection(url, username, password);
-      executor.execute(conn);
+      try (java.sql.Connection conn = DriverManager.getConnection(url, username, password)) {
+        executor.execute(conn);
+      }
     } finally {
       cleanup.destroy();
     }
@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.database;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import javax.annotation.Nullable;
+
+/**
+ * SQL dialects of the databases a table is read from, used to push the number of rows read and the sampling of
+ * the rows down to the database, so that drivers do not fetch the whole table.
+ */
+enum SqlDialect {
+  MYSQL(RowLimit.LIMIT, null, "jdbc:mysql:", "jdbc:mariadb:"),
+  POSTGRESQL(RowLimit.LIMIT, "%s TABLESAMPLE BERNOULLI (%s)", "jdbc:postgresql:"),
+  HIVE(RowLimit.LIMIT, "%s TABLESAMPLE (%s PERCENT)", "jdbc:hive2:"),
+  SQLSERVER(RowLimit.TOP, "%s TABLESAMPLE (%s PERCENT)", "jdbc:sqlserver:", "jdbc:jtds:sqlserver:"),
+  ORACLE(RowLimit.ROWNUM, "%s SAMPLE (%s)", "jdbc:oracle:"),
+  DB2(RowLimit.FETCH_FIRST, "%s TABLESAMPLE BERNOULLI (%s)", "jdbc:db2:"),
+  DERBY(RowLimit.FETCH_FIRST, null, "jdbc:derby:"),
+  OTHER_LIMIT(RowLimit.LIMIT, null, "jdbc:redshift:", "jdbc:sap:", "jdbc:h2:", "jdbc:hsqldb:", "jdbc:sqlite:"),
+  UNKNOWN(RowLimit.NONE, null);
+
+  /**
+   * Syntax limiting the number of rows returned by a query.
+   */
+  private enum RowLimit {
+    LIMIT, FETCH_FIRST, TOP, ROWNUM, NONE
+  }
+
+  private final RowLimit rowLimit;
+  private final String sample;
+  private final String[] prefixes;
+
+  SqlDialect(RowLimit rowLimit, @Nullable String sample, String... prefixes) {
+    this.rowLimit = rowLimit;
+    this.sample = sample;
+    this.prefixes = prefixes;
+  }
+
+  /**
+   * @param url JDBC connection string or pattern of the database.
+   * @return the dialect of the database, {@link #UNKNOWN} if the database is not known.
+   */
+  static SqlDialect fromUrl(@Nullable String url) {
+    if (url == null) {
+      return UNKNOWN;
+    }
+    String lowerUrl = url.toLowerCase(Locale.ROOT);
+    for (SqlDialect dialect : values()) {
+      for (String prefix : dialect.prefixes) {
+        if (lowerUrl.startsWith(prefix)) {
+          return dialect;
+        }
+      }
+    }
+    return UNKNOWN;
+  }
+
+  /**
+   * @return whether the rows of a table can be sampled with {@link #sample(String, double)}.
+   */
+  boolean supportsSampling() {
+    return sample != null;
+  }
+
+  /**
+   * Returns the table reference sampling a percentage of the rows of a table.
+   *
+   * @param table to sample.
+   * @param percent percentage of the rows sampled, between 0 and 100.
+   * @throws UnsupportedOperationException if the dialect does not support sampling.
+   */
+  String sample(String table, double percent) {
+    if (sample == null) {
+      throw new UnsupportedOperationException("Sampling is not supported by " + this);
+    }
+    return String.format(sample, table, BigDecimal.valueOf(percent).stripTrailingZeros().toPlainString());
+  }
+
+  /**
+   * Returns the query reading the first rows of a table.
+   *
+   * @param columns projected, such as {@code *}.
+   * @param table to read from, which may be sampled.
+   * @param limit maximum number of rows read.
+   */
+  String select(String columns, String table, int limit) {
+    switch (rowLimit) {
+      case LIMIT:
+        return String.format("SELECT %s FROM %s LIMIT %d", columns, table, limit);
+      case FETCH_FIRST:
+        return String.format("SELECT %s FROM %s FETCH FIRST %d ROWS ONLY", columns, table, limit);
+      case TOP:
+        return String.format("SELECT TOP %d %s FROM %s", limit, columns, table);
+      case ROWNUM:
+        return String.format("SELECT %s FROM %s WHERE ROWNUM <= %d", columns, table, limit);
+      default:
+        return String.format("SELECT %s FROM %s", columns, table);
+    }
+  }
+}
@@ -17,6 +17,7 @@
 
 package io.cdap.wrangler.service.directive;
 
+import com.google.common.base.Throwables;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import io.cdap.cdap.api.data.schema.Schema;
@@ -24,8 +25,10 @@ import io.cdap.cdap.api.service.http.SystemHttpServiceContext;
 import io.cdap.cdap.features.Feature;
 import io.cdap.directives.aggregates.DefaultTransientStore;
 import io.cdap.wrangler.api.CompileException;
+import io.cdap.wrangler.api.Directive;
 import io.cdap.wrangler.api.DirectiveConfig;
 import io.cdap.wrangler.api.DirectiveParseException;
+import io.cdap.wrangler.api.ErrorRecord;
 import io.cdap.wrangler.api.ErrorRecordBase;
 import io.cdap.wrangler.api.ExecutorContext;
 import io.cdap.wrangler.api.GrammarMigrator;
@@ -34,7 +37,10 @@ import io.cdap.wrangler.api.RecipeException;
 import io.cdap.wrangler.api.RecipeParser;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.TransientStore;
+import io.cdap.wrangler.api.TransientVariableScope;
+import io.cdap.wrangler.api.annotations.Stateful;
 import io.cdap.wrangler.executor.RecipePipelineExecutor;
+import io.cdap.wrangler.optimizer.OptimizingRecipeParser;
 import io.cdap.wrangler.parser.ConfigDirectiveContext;
 import io.cdap.wrangler.parser.GrammarBasedParser;
 import io.cdap.wrangler.parser.GrammarWalker;
@@ -42,6 +48,7 @@ import io.cdap.wrangler.parser.MigrateToV2;
 import io.cdap.wrangler.parser.RecipeCompiler;
 import io.cdap.wrangler.proto.BadRequestException;
 import io.cdap.wrangler.proto.ErrorRecordsException;
+import io.cdap.wrangler.proto.workspace.ColumnProfile;
 import io.cdap.wrangler.proto.workspace.ColumnStatistics;
 import io.cdap.wrangler.proto.workspace.ColumnValidationResult;
 import io.cdap.wrangler.proto.workspace.WorkspaceValidationResult;
@@ -53,7 +60,7 @@ import io.cdap.wrangler.registry.UserDirectiveRegistry;
 import io.cdap.wrangler.schema.TransientStoreKeys;
 import io.cdap.wrangler.service.common.AbstractWranglerHandler;
 import io.cdap.wrangler.statistics.BasicStatistics;
-import io.cdap.wrangler.statistics.Statistics;
+import io.cdap.wrangler.statistics.ColumnSketch;
 import io.cdap.wrangler.utils.SchemaConverter;
 import io.cdap.wrangler.validator.ColumnNameValidator;
 import io.cdap.wrangler.validator.Validator;
@@ -69,7 +76,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /**
  * Abstract handler which contains common logic for v1 and v2 endpoints
@@ -86,9 +98,25 @@ public class AbstractDirectiveHandler extends AbstractWranglerHandler {
   protected static final String RECORD_DELIMITER_HEADER = "recorddelimiter";
   protected static final String DELIMITER_HEADER = "delimiter";
   protected static final TransientStore TRANSIENT_STORE = new DefaultTransientStore();
+  // Number of threads used to execute the directives on a sample. Samples are executed sequentially when set to 1.
+  private static final String EXECUTION_PARALLELISM = "wrangler.directives.execution.parallelism";
+  // Optimizes the recipes before executing them when set to true.
+  private static final String OPTIMIZE_DIRECTIVES = "wrangler.directives.optimize";
+  // Minimum number of rows of a sample partition executed in parallel.
+  private static final int MIN_PARTITION_ROWS = 1000;
+  // Maximum number of rows the column statistics of the workspace summary are computed on.
+  private static final String SUMMARY_ROWS = "wrangler.workspace.summary.rows";
+  private static final int DEFAULT_SUMMARY_ROWS = 1000;
+  // Number of most frequent values and percentiles of the numeric values in the profile of a column.
+  private static final int PROFILE_FREQUENT_VALUES = 10;
+  private static final int[] PROFILE_PERCENTILES = { 1, 25, 50, 75, 99 };
 
   protected DirectiveRegistry composite;
   protected boolean schemaManagementEnabled;
+  protected int summaryRows;
+  private int parallelism;
+  private ForkJoinPool executionPool;
+  private boolean optimize;
 
   @Override
   public void initialize(SystemHttpServiceContext context) throws Exception {
@@ -98,6 +126,13 @@ public class AbstractDirectiveHandler extends AbstractWranglerHandler {
       new UserDirectiveRegistry(context)
     );
     schemaManagementEnabled = Feature.WRANGLER_SCHEMA_MANAGEMENT.isEnabled(context);
+    parallelism = Integer.parseInt(context.getRuntimeArguments().getOrDefault(EXECUTION_PARALLELISM, "1"));
+    if (parallelism > 1) {
+      executionPool = new ForkJoinPool(parallelism);
+    }
+    optimize = Boolean.parseBoolean(context.getRuntimeArguments().get(OPTIMIZE_DIRECTIVES));
+    summaryRows = Integer.parseInt(context.getRuntimeArguments().getOrDefault(
+      SUMMARY_ROWS, String.valueOf(DEFAULT_SUMMARY_ROWS)));
   }
 
   /**
@@ -106,6 +141,9 @@ public class AbstractDirectiveHandler extends AbstractWranglerHandler {
   @Override
   public void destroy() {
     super.destroy();
+    if (executionPool != null) {
+      executionPool.shutdownNow();
+    }
     try {
       composite.close();
     } catch (IOException e) {
@@ -119,11 +157,79 @@ public class AbstractDirectiveHandler extends AbstractWranglerHandler {
       List<String> directives,
       List<Row> sample,
       GrammarWalker.Visitor<E> grammarVisitor) throws DirectiveParseException, E, RecipeException {
+    return executeDirectives(namespace, directives, sample, grammarVisitor, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Executes the directives on the sample for a preview of at most {@code limit} rows. Unless the directives carry
+   * state across rows or the output schema is generated, the execution stops once {@code limit} rows are produced,
+   * so rows after them are neither executed nor checked for errors.
+   *
+   * @param limit number of output rows needed, the result may hold more rows.
+   */
+  protected <E extends Exception> List<Row> executeDirectives(
+      String namespace,
+      List<String> directives,
+      List<Row> sample,
+      GrammarWalker.Visitor<E> grammarVisitor,
+      int limit) throws DirectiveParseException, E, RecipeException {
+    return executeDirectives(namespace, directives, sample, grammarVisitor, limit, new AtomicBoolean());
+  }
+
+  /**
+   * Same as {@link #executeDirectives(String, List, List, GrammarWalker.Visitor, int)}, also reporting whether the
+   * execution could stop once {@code limit} rows were produced.
+   *
+   * @param limited set to {@code true} if the execution could stop before executing all the rows of the sample, in
+   *                which case the result is not the result of the directives on the whole sample.
+   */
+  protected <E extends Exception> List<Row> executeDirectives(
+      String namespace,
+      List<String> directives,
+      List<Row> sample,
+      GrammarWalker.Visitor<E> grammarVisitor,
+      int limit,
+      AtomicBoolean limited) throws DirectiveParseException, E, RecipeException {
 
     if (directives.isEmpty()) {
       return sample;
     }
 
+    String recipe = visitDirectives(directives, grammarVisitor);
+    RecipeParser parser = new GrammarBasedParser(namespace, recipe, composite,
+                                                 new ConfigDirectiveContext(DirectiveConfig.EMPTY));
+    if (optimize) {
+      parser = new OptimizingRecipeParser(parser);
+    }
+    List<Directive> parsed = parser.parse();
+    // Rows can be executed independently of each other only if no state is carried across them.
+    boolean independent = !schemaManagementEnabled && !isStateful(parsed);
+    limited.set(independent && limit < sample.size());
+    int partitions = Math.min(parallelism, sample.size() / MIN_PARTITION_ROWS);
+    if (!limited.get() && executionPool != null && partitions > 1 && independent) {
+      return executeInParallel(parser, parsed, namespace, sample, partitions);
+    }
+
+    try (RecipePipelineExecutor executor = new RecipePipelineExecutor(() -> parsed,
+                                                                      new ServicePipelineContext(
+                                                                        namespace, ExecutorContext.Environment.SERVICE,
+                                                                        getContext(), TRANSIENT_STORE))) {
+      List<Row> result = limited.get() ? executor.execute(sample, limit) : executor.execute(sample);
+      throwIfErrors(executor.errors());
+      return result;
+    }
+  }
+
+  /**
+   * Migrates the directives to the current grammar and calls the visitor on each of them, without executing them.
+   *
+   * @param directives the list of directives to visit
+   * @param grammarVisitor visitor to call while parsing directives
+   * @return the migrated recipe
+   */
+  protected <E extends Exception> String visitDirectives(List<String> directives,
+                                                         GrammarWalker.Visitor<E> grammarVisitor)
+    throws DirectiveParseException, E {
     GrammarMigrator migrator = new MigrateToV2(directives);
     String recipe = migrator.migrate();
 
@@ -134,32 +240,102 @@ public class AbstractDirectiveHandler extends AbstractWranglerHandler {
     } catch (CompileException e) {
       throw new BadRequestException(e.getMessage(), e);
     }
+    return recipe;
+  }
 
-    RecipeParser parser = new GrammarBasedParser(namespace, recipe, composite,
-                                                 new ConfigDirectiveContext(DirectiveConfig.EMPTY));
-    try (RecipePipelineExecutor executor = new RecipePipelineExecutor(parser,
-                                                                      new ServicePipelineContext(
-                                                                        namespace, ExecutorContext.Environment.SERVICE,
-                                                                        getContext(), TRANSIENT_STORE))) {
-      List<Row> result = executor.execute(sample);
+  /**
+   * Splits the sample into contiguous partitions, executes each partition with its own directive instances
+   * and transient store on the execution pool, and concatenates the results in the order of the sample.
+   */
+  private List<Row> executeInParallel(RecipeParser parser, List<Directive> parsed, String namespace,
+                                      List<Row> sample, int partitions) throws RecipeException {
+    // Variables set before the execution are visible to all the partitions.
+    TRANSIENT_STORE.reset(TransientVariableScope.LOCAL);
+    Map<String, Object> variables = new HashMap<>();
+    for (String variable : TRANSIENT_STORE.getVariables()) {
+      variables.put(variable, TRANSIENT_STORE.get(variable));
+    }
 
-      List<ErrorRecordBase> errors = executor.errors()
-        .stream()
-        .filter(ErrorRecordBase::isShownInWrangler)
-        .collect(Collectors.toList());
+    int partitionSize = (sample.size() + partitions - 1) / partitions;
+    List<Integer> offsets = new ArrayList<>();
+    List<ForkJoinTask<Pair<List<Row>, List<ErrorRecord>>>> tasks = new ArrayList<>();
+    for (int offset = 0; offset < sample.size(); offset += partitionSize) {
+      // Directives are parsed on the request thread, as registries are not meant to be used concurrently.
+      List<Directive> directives = offset == 0 ? parsed : parser.parse();
+      List<Row> partition = sample.subList(offset, Math.min(offset + partitionSize, sample.size()));
+      TransientStore store = new DefaultTransientStore();
+      variables.forEach((name, value) -> store.set(TransientVariableScope.GLOBAL, name, value));
+      ExecutorContext context = new ServicePipelineContext(namespace, ExecutorContext.Environment.SERVICE,
+                                                            getContext(), store);
+      offsets.add(offset);
+      tasks.add(executionPool.submit(() -> {
+        try (RecipePipelineExecutor executor = new RecipePipelineExecutor(() -> directives, context)) {
+          return new Pair<>(executor.execute(partition), executor.errors());
+        }
+      }));
+    }
 
-      if (!errors.isEmpty()) {
-        throw new ErrorRecordsException(errors);
+    List<Row> result = new ArrayList<>(sample.size());
+    List<ErrorRecord> errors = new ArrayList<>();
+    try {
+      for (int i = 0; i < tasks.size(); i++) {
+        Pair<List<Row>, List<ErrorRecord>> partitionResult;
+        try {
+          partitionResult = tasks.get(i).get();
+        } catch (ExecutionException e) {
+          if (e.getCause() instanceof RecipeException) {
+            // Report the index of the row within the sample, not within the partition.
+            RecipeException cause = (RecipeException) e.getCause();
+            throw new RecipeException(cause.getMessage(), cause.getCause(), offsets.get(i) + cause.getRowIndex(),
+                                      cause.getDirectiveIndex());
+          }
+          Throwables.propagateIfPossible(e.getCause());
+          throw new RecipeException(e.getCause().getMessage(), e.getCause());
+        }
+        result.addAll(partitionResult.getFirst());
+        errors.addAll(partitionResult.getSecond());
       }
-      return result;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RecipeException("Interrupted while executing the directives.", e);
+    } finally {
+      tasks.forEach(task -> task.cancel(true));
+    }
+    throwIfErrors(errors);
+    return result;
+  }
+
+  private static void throwIfErrors(List<ErrorRecord> errorRecords) {
+    List<ErrorRecordBase> errors = errorRecords
+      .stream()
+      .filter(ErrorRecordBase::isShownInWrangler)
+      .collect(Collectors.toList());
+
+    if (!errors.isEmpty()) {
+      throw new ErrorRecordsException(errors);
     }
   }
 
+  /**
+   * @return true if any of the directives carries state across rows.
+   */
+  private static boolean isStateful(List<Directive> directives) {
+    return directives.stream().anyMatch(directive -> directive.getClass().isAnnotationPresent(Stateful.class));
+  }
+
   /**
    * Transform the rows to response that is user friendly. Also generates the summary from the rows.
    */
   protected DirectiveExecutionResponse generateExecutionResponse(
     List<Row> rows, int limit) throws Exception {
+    return generateExecutionResponse(rows, limit, getWorkspaceSummary(rows));
+  }
+
+  /**
+   * Transform the rows to response that is user friendly, with a summary computed before.
+   */
+  protected DirectiveExecutionResponse generateExecutionResponse(
+    List<Row> rows, int limit, WorkspaceValidationResult summary) throws Exception {
     List<Map<String, Object>> values = new ArrayList<>(rows.size());
     Map<String, String> types = new LinkedHashMap<>();
     SchemaConverter convertor = new SchemaConverter();
@@ -211,13 +387,21 @@ public class AbstractDirectiveHandler extends AbstractWranglerHandler {
       }
       values.add(value);
     }
-    return new DirectiveExecutionResponse(values, types.keySet(), types, getWorkspaceSummary(rows));
+    return new DirectiveExecutionResponse(values, types.keySet(), types, summary);
   }
 
   /**
-   * Get the summary for the workspace rows
+   * Get the summary for the workspace rows. Column statistics are computed on the first rows only, as configured
+   * by {@link #SUMMARY_ROWS}.
    */
   protected WorkspaceValidationResult getWorkspaceSummary(List<Row> rows) throws Exception {
+    return new WorkspaceValidationResult(getColumnValidation(rows), getColumnStatistics(rows));
+  }
+
+  /**
+   * Validates the names of the columns of the rows.
+   */
+  protected Map<String, ColumnValidationResult> getColumnValidation(List<Row> rows) {
     // Validate Column names.
     Validator<String> validator = new ColumnNameValidator();
     validator.initialize();
@@ -239,10 +423,19 @@ public class AbstractDirectiveHandler extends AbstractWranglerHandler {
         columnValidationResults.put(name, new ColumnValidationResult(e.getMessage()));
       }
     }
+    return columnValidationResults;
+  }
 
+  /**
+   * Computes the statistics and the profile of each column on the first rows, as configured by
+   * {@link #SUMMARY_ROWS}.
+   */
+  protected Map<String, ColumnStatistics> getColumnStatistics(List<Row> rows) throws Exception {
     // Generate General and Type related Statistics for each column.
-    Statistics statsGenerator = new BasicStatistics();
-    Row summary = statsGenerator.aggregate(rows);
+    BasicStatistics statsGenerator = new BasicStatistics();
+    Map<String, ColumnSketch> sketches = new HashMap<>();
+    Row summary = statsGenerator.aggregate(rows.size() > summaryRows ? rows.subList(0, summaryRows) : rows,
+                                           sketches);
 
     Row stats = (Row) summary.getValue("stats");
     Row types = (Row) summary.getValue("types");
@@ -255,7 +448,8 @@ public class AbstractDirectiveHandler extends AbstractWranglerHandler {
       for (Pair<String, Double> value : values) {
         generalStats.put(value.getFirst(), value.getSecond().floatValue() * 100);
       }
-      ColumnStatistics columnStatistics = new ColumnStatistics(generalStats, null);
+      ColumnStatistics columnStatistics = new ColumnStatistics(generalStats, null,
+                                                               getProfile(sketches.get(field.getFirst())));
       statistics.put(field.getFirst(), columnStatistics);
     }
 
@@ -268,10 +462,46 @@ public class AbstractDirectiveHandler extends AbstractWranglerHandler {
       }
       ColumnStatistics existingStats = statistics.get(field.getFirst());
       Map<String, Float> generalStats = existingStats == null ? null : existingStats.getGeneral();
-      statistics.put(field.getFirst(), new ColumnStatistics(generalStats, typeStats));
+      ColumnProfile profile = existingStats == null ?
+        getProfile(sketches.get(field.getFirst())) : existingStats.getProfile();
+      statistics.put(field.getFirst(), new ColumnStatistics(generalStats, typeStats, profile));
     }
+    return statistics;
+  }
 
-    return new WorkspaceValidationResult(columnValidationResults, statistics);
+  /**
+   * Converts the sketch of the values of a column to the profile returned with the summary.
+   */
+  @Nullable
+  private static ColumnProfile getProfile(@Nullable ColumnSketch sketch) {
+    if (sketch == null || sketch.getCount() == 0) {
+      return null;
+    }
+    Map<String, Long> frequent = new LinkedHashMap<>();
+    for (Pair<String, Long> value : sketch.getFrequent(PROFILE_FREQUENT_VALUES)) {
+      frequent.put(value.getFirst(), value.getSecond());
+    }
+
+    Map<String, Double> quantiles = null;
+    if (sketch.getNumericCount() > 0) {
+      quantiles = new LinkedHashMap<>();
+      for (int percentile : PROFILE_PERCENTILES) {
+        quantiles.put("p" + percentile, sketch.getQuantile(percentile / 100d));
+      }
+    }
+
+    Map<String, Long> lengths = null;
+    if (sketch.getMaxLength() != null) {
+      lengths = new LinkedHashMap<>();
+      long[] histogram = sketch.getLengths();
+      for (int i = 0; i < histogram.length; i++) {
+        if (histogram[i] > 0) {
+          lengths.put(ColumnSketch.getLengthRange(i), histogram[i]);
+        }
+      }
+    }
+    return new ColumnProfile(sketch.getDistinct(), frequent, sketch.getMin(), sketch.getMax(), quantiles,
+                             sketch.getMinLength(), sketch.getMaxLength(), lengths);
   }
 
   private String getColumnDisplayType(Schema schema) {
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.directive;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the records of a body separated by a literal delimiter. The body is decoded incrementally, so that
+ * it is never held as a single string.
+ *
+ * <p>Records are the same as the ones returned by splitting the decoded body on the delimiter with
+ * {@link String#split(String)}, except that the delimiter is not a regular expression: trailing empty records are
+ * dropped. When the number of bytes read is bounded, the record cut by the bound is dropped as well.</p>
+ */
+final class DelimitedRecordIterator implements Iterator<String> {
+  private static final int CHUNK_SIZE = 8192;
+
+  private final ByteBuffer content;
+  private final boolean truncated;
+  private final CharsetDecoder decoder;
+  private final String delimiter;
+  private final CharBuffer chars = CharBuffer.allocate(CHUNK_SIZE);
+  private final StringBuilder record = new StringBuilder();
+  private boolean endOfInput;
+  private boolean finished;
+  // Empty records read and not returned yet, they are only returned if a non empty record follows them.
+  private int emptyRecords;
+  private String nextRecord;
+
+  /**
+   * @param content body to read the records from, its position is not modified.
+   * @param charset of the body.
+   * @param delimiter between records. The body is a single record if it is empty.
+   * @param maxBytes maximum number of bytes of the body read.
+   */
+  DelimitedRecordIterator(ByteBuffer content, Charset charset, String delimiter, long maxBytes) {
+    this.content = content.duplicate();
+    this.truncated = maxBytes < this.content.remaining();
+    if (truncated) {
+      this.content.limit(this.content.position() + (int) maxBytes);
+    }
+    this.decoder = charset.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.delimiter = delimiter;
+    chars.flip();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (emptyRecords > 0 || nextRecord != null) {
+      return true;
+    }
+    while (!finished) {
+      String record = readRecord();
+      if (record == null) {
+        // Trailing empty records are dropped.
+        emptyRecords = 0;
+        return false;
+      }
+      if (!record.isEmpty()) {
+        nextRecord = record;
+        return true;
+      }
+      emptyRecords++;
+    }
+    return false;
+  }
+
+  @Override
+  public String next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more records");
+    }
+    if (emptyRecords > 0) {
+      emptyRecords--;
+      return "";
+    }
+    String record = nextRecord;
+    nextRecord = null;
+    return record;
+  }
+
+  /**
+   * Reads the next record.
+   *
+   * @return the record, or {@code null} if all the records were read.
+   */
+  private String readRecord() {
+    int length = delimiter.length();
+    char last = length == 0 ? 0 : delimiter.charAt(length - 1);
+    while (true) {
+      while (chars.hasRemaining()) {
+        char c = chars.get();
+        record.append(c);
+        if (length > 0 && c == last && endsWithDelimiter()) {
+          String result = record.substring(0, record.length() - length);
+          record.setLength(0);
+          return result;
+        }
+      }
+      if (endOfInput) {
+        finished = true;
+        // The last record is incomplete if the body was cut.
+        String result = truncated ? null : record.toString();
+        record.setLength(0);
+        return result;
+      }
+      decode();
+    }
+  }
+
+  private boolean endsWithDelimiter() {
+    int offset = record.length() - delimiter.length();
+    if (offset < 0) {
+      return false;
+    }
+    for (int i = 0; i < delimiter.length(); i++) {
+      if (record.charAt(offset + i) != delimiter.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Decodes the next chunk of the body.
+   */
+  private void decode() {
+    chars.clear();
+    decoder.decode(content, chars, true);
+    if (!content.hasRemaining()) {
+      decoder.flush(chars);
+      endOfInput = true;
+    }
+    chars.flip();
+  }
+}
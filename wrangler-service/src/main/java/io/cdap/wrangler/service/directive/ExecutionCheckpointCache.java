@@ -0,0 +1,267 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.directive;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import io.cdap.wrangler.api.Row;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Cache of the rows produced by executing a prefix of the directives of a workspace on its sample, so that an
+ * execution only has to run the directives following the longest cached prefix.
+ *
+ * <p>Checkpoints are keyed by the workspace, the version of its sample and a hash chained over the directives of
+ * the prefix. They are evicted in least recently used order once their estimated size exceeds the capacity.
+ * Rows are copied in and out of the cache, as directives modify the rows they are executed on. The values are
+ * shared by the copies, so rows holding values that can be modified in place, such as JSON objects, byte arrays
+ * or collections, are not cached. This class is thread safe.</p>
+ */
+final class ExecutionCheckpointCache {
+  // Rough sizes in bytes of the objects held by a checkpoint, used to estimate its memory footprint.
+  private static final int ROW_OVERHEAD = 64;
+  private static final int COLUMN_OVERHEAD = 16;
+  private static final int VALUE_OVERHEAD = 16;
+  private static final int STRING_OVERHEAD = 40;
+  private static final int OBJECT_SIZE = 64;
+  // Types of the values that cannot be modified, which are safe to share between the rows in and out of the cache.
+  private static final Set<Class<?>> IMMUTABLE_TYPES = ImmutableSet.of(
+    String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class,
+    Double.class, BigDecimal.class, BigInteger.class, LocalDate.class, LocalTime.class, LocalDateTime.class,
+    ZonedDateTime.class, OffsetDateTime.class, Instant.class);
+
+  private final long capacity;
+  private final LinkedHashMap<String, Checkpoint> checkpoints = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+  private long hits;
+  private long misses;
+
+  /**
+   * @param capacity maximum estimated size in bytes of the cached checkpoints.
+   */
+  ExecutionCheckpointCache(long capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Computes the keys of all the prefixes of the directives, the key at index {@code i} being the key of the
+   * first {@code i + 1} directives.
+   *
+   * @param workspace identifies the workspace and the version of its sample.
+   * @param directives of the workspace.
+   */
+  static List<String> getKeys(String workspace, List<String> directives) {
+    List<String> keys = new ArrayList<>(directives.size());
+    HashCode hash = HashCode.fromInt(0);
+    for (String directive : directives) {
+      hash = Hashing.sha256().newHasher()
+        .putBytes(hash.asBytes())
+        .putString(directive, StandardCharsets.UTF_8)
+        .hash();
+      keys.add(workspace + ":" + (keys.size() + 1) + ":" + hash);
+    }
+    return keys;
+  }
+
+  /**
+   * Computes the key of the result of directives executed until a number of rows was produced. Such a result only
+   * holds the rows needed to produce that number of rows, so it cannot be resumed with more directives.
+   *
+   * @param key of the directives, as returned by {@link #getKeys(String, List)}.
+   * @param limit number of rows after which the execution stopped.
+   */
+  static String getLimitedKey(String key, int limit) {
+    return key + ":limit:" + limit;
+  }
+
+  /**
+   * Returns the checkpoint of the longest prefix of the directives present in the cache.
+   *
+   * @param keys of the prefixes, as returned by {@link #getKeys(String, List)}.
+   * @return the checkpoint, or {@code null} if none of the prefixes is cached.
+   */
+  @Nullable
+  synchronized Checkpoint get(List<String> keys) {
+    for (int i = keys.size() - 1; i >= 0; i--) {
+      Checkpoint checkpoint = checkpoints.get(keys.get(i));
+      if (checkpoint != null) {
+        hits++;
+        return checkpoint.copy();
+      }
+    }
+    misses++;
+    return null;
+  }
+
+  /**
+   * Caches the result of executing a prefix of the directives, unless the rows hold values that can be modified.
+   *
+   * @param key of the prefix, as returned by {@link #getKeys(String, List)}.
+   * @param directives number of directives in the prefix.
+   * @param rows produced by the directives.
+   * @param variables global transient variables set after executing the directives.
+   */
+  void put(String key, int directives, List<Row> rows, Map<String, Object> variables) {
+    long checkpointSize = estimateSize(rows);
+    if (checkpointSize > capacity || !isImmutable(rows)) {
+      return;
+    }
+    // Rows are copied outside of the lock, as copies are not shared until cached.
+    Checkpoint checkpoint = new Checkpoint(directives, rows, variables, checkpointSize).copy();
+    synchronized (this) {
+      Checkpoint previous = checkpoints.put(key, checkpoint);
+      if (previous != null) {
+        size -= previous.size;
+      }
+      size += checkpointSize;
+      Iterator<Checkpoint> iterator = checkpoints.values().iterator();
+      while (size > capacity && iterator.hasNext()) {
+        size -= iterator.next().size;
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Removes all the checkpoints of a workspace.
+   *
+   * @param workspace identifies the workspace, as given to {@link #getKeys(String, List)}, without the version.
+   */
+  synchronized void invalidate(String workspace) {
+    Iterator<Map.Entry<String, Checkpoint>> iterator = checkpoints.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Checkpoint> entry = iterator.next();
+      if (entry.getKey().startsWith(workspace + ":")) {
+        size -= entry.getValue().size;
+        iterator.remove();
+      }
+    }
+  }
+
+  synchronized long getHits() {
+    return hits;
+  }
+
+  synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * @return estimated size in bytes of the cached checkpoints.
+   */
+  synchronized long getSize() {
+    return size;
+  }
+
+  private static boolean isImmutable(List<Row> rows) {
+    for (Row row : rows) {
+      for (int i = 0; i < row.width(); i++) {
+        Object value = row.getValue(i);
+        if (value != null && !IMMUTABLE_TYPES.contains(value.getClass())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static long estimateSize(List<Row> rows) {
+    long size = 0;
+    for (Row row : rows) {
+      size += ROW_OVERHEAD;
+      for (int i = 0; i < row.width(); i++) {
+        size += COLUMN_OVERHEAD + estimateSize(row.getColumn(i)) + estimateSize(row.getValue(i));
+      }
+    }
+    return size;
+  }
+
+  private static long estimateSize(@Nullable Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof String) {
+      return STRING_OVERHEAD + 2L * ((String) value).length();
+    }
+    if (value instanceof Number || value instanceof Boolean) {
+      return VALUE_OVERHEAD;
+    }
+    if (value instanceof byte[]) {
+      return VALUE_OVERHEAD + ((byte[]) value).length;
+    }
+    return OBJECT_SIZE;
+  }
+
+  /**
+   * Rows and global transient variables after executing a prefix of the directives.
+   */
+  static final class Checkpoint {
+    private final int directives;
+    private final List<Row> rows;
+    private final Map<String, Object> variables;
+    private final long size;
+
+    private Checkpoint(int directives, List<Row> rows, Map<String, Object> variables, long size) {
+      this.directives = directives;
+      this.rows = rows;
+      this.variables = variables;
+      this.size = size;
+    }
+
+    /**
+     * @return number of directives executed to produce the checkpoint.
+     */
+    int getDirectives() {
+      return directives;
+    }
+
+    List<Row> getRows() {
+      return rows;
+    }
+
+    Map<String, Object> getVariables() {
+      return variables;
+    }
+
+    private Checkpoint copy() {
+      List<Row> copy = new ArrayList<>(rows.size());
+      for (Row row : rows) {
+        copy.add(new Row(row));
+      }
+      return new Checkpoint(directives, copy, Collections.unmodifiableMap(new HashMap<>(variables)), size);
+    }
+  }
+}
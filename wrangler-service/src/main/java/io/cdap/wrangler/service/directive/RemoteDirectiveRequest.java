@@ -15,29 +15,48 @@
  */
 package io.cdap.wrangler.service.directive;
 
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.google.gson.Gson;
+import io.cdap.cdap.api.artifact.ArtifactId;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.wrangler.parser.DirectiveClass;
+import io.cdap.wrangler.registry.DirectiveScope;
 
+import java.io.IOException;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
+import javax.annotation.Nullable;
 
 /**
- * Request for remote execution of directives
+ * Request for remote execution of directives.
+ *
+ * <p>The request is sent as a compact binary envelope, with length prefixed fields, encoded in Base64 as task
+ * parameters are strings. The sample is identified by its checksum, and is left out of the request when the
+ * task worker is expected to have it cached already.</p>
  */
 public class RemoteDirectiveRequest {
+  private static final Gson GSON = new Gson();
+  private static final int VERSION = 1;
 
   private final String recipe;
   private final Map<String, DirectiveClass> systemDirectives;
   private final String pluginNameSpace;
-  private final byte[] data;
+  private final String sampleChecksum;
+  @Nullable
+  private final byte[] sample;
+  @Nullable
   private final Schema inputSchema;
 
   RemoteDirectiveRequest(String recipe, Map<String, DirectiveClass> systemDirectives,
-                         String pluginNameSpace, byte[] data, Schema inputSchema) {
+                         String pluginNameSpace, String sampleChecksum, @Nullable byte[] sample,
+                         @Nullable Schema inputSchema) {
     this.recipe = recipe;
     this.systemDirectives = new HashMap<>(systemDirectives);
     this.pluginNameSpace = pluginNameSpace;
-    this.data = data;
+    this.sampleChecksum = sampleChecksum;
+    this.sample = sample;
     this.inputSchema = inputSchema;
   }
 
@@ -49,15 +68,93 @@ public class RemoteDirectiveRequest {
     return systemDirectives;
   }
 
-  public byte[] getData() {
-    return data;
+  /**
+   * @return checksum of the sample the directives are executed on.
+   */
+  public String getSampleChecksum() {
+    return sampleChecksum;
+  }
+
+  /**
+   * @return the sample encoded with {@link io.cdap.wrangler.store.workspace.SampleCodec}, or {@code null} if the
+   *   sample is not part of the request.
+   */
+  @Nullable
+  public byte[] getSample() {
+    return sample;
   }
 
   public String getPluginNameSpace() {
     return pluginNameSpace;
   }
 
+  @Nullable
   public Schema getInputSchema() {
     return inputSchema;
   }
+
+  /**
+   * @return the same request without the sample, for task workers that have it cached.
+   */
+  RemoteDirectiveRequest withoutSample() {
+    return new RemoteDirectiveRequest(recipe, systemDirectives, pluginNameSpace, sampleChecksum, null, inputSchema);
+  }
+
+  /**
+   * @return the request encoded as a task parameter.
+   */
+  String toParam() {
+    Output output = new Output(1024, -1);
+    output.writeVarInt(VERSION, true);
+    output.writeString(recipe);
+    output.writeString(pluginNameSpace);
+    output.writeString(sampleChecksum);
+    output.writeVarInt(systemDirectives.size(), true);
+    for (Map.Entry<String, DirectiveClass> entry : systemDirectives.entrySet()) {
+      DirectiveClass directive = entry.getValue();
+      output.writeString(entry.getKey());
+      output.writeString(directive.getName());
+      output.writeString(directive.getClassName());
+      output.writeString(directive.getScope().name());
+      output.writeString(directive.getArtifactId() == null ? null : GSON.toJson(directive.getArtifactId()));
+    }
+    output.writeString(inputSchema == null ? null : inputSchema.toString());
+    // The length is shifted by one, so that zero stands for a missing sample.
+    output.writeVarInt(sample == null ? 0 : sample.length + 1, true);
+    if (sample != null) {
+      output.writeBytes(sample);
+    }
+    return Base64.getEncoder().encodeToString(output.toBytes());
+  }
+
+  /**
+   * Decodes a request encoded by {@link #toParam()}.
+   */
+  static RemoteDirectiveRequest fromParam(String param) throws IOException {
+    Input input = new Input(Base64.getDecoder().decode(param));
+    int version = input.readVarInt(true);
+    if (version != VERSION) {
+      throw new IOException("Unsupported remote directive request version " + version);
+    }
+    String recipe = input.readString();
+    String namespace = input.readString();
+    String checksum = input.readString();
+    int count = input.readVarInt(true);
+    Map<String, DirectiveClass> systemDirectives = new HashMap<>(count);
+    for (int i = 0; i < count; i++) {
+      String command = input.readString();
+      String name = input.readString();
+      String className = input.readString();
+      DirectiveScope scope = DirectiveScope.valueOf(input.readString());
+      String artifactId = input.readString();
+      systemDirectives.put(command, new DirectiveClass(name, className, scope,
+                                                       artifactId == null ? null :
+                                                         GSON.fromJson(artifactId, ArtifactId.class)));
+    }
+    String schema = input.readString();
+    int length = input.readVarInt(true);
+    byte[] sample = length == 0 ? null : input.readBytes(length - 1);
+    return new RemoteDirectiveRequest(recipe, systemDirectives, namespace, checksum, sample,
+                                      schema == null ? null : Schema.parseJson(schema));
+  }
 }
@@ -15,14 +15,14 @@
  */
 package io.cdap.wrangler.service.directive;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.cdap.api.service.worker.RunnableTask;
 import io.cdap.cdap.api.service.worker.RunnableTaskContext;
 import io.cdap.cdap.api.service.worker.SystemAppTaskContext;
 import io.cdap.cdap.features.Feature;
-import io.cdap.cdap.internal.io.SchemaTypeAdapter;
 import io.cdap.directives.aggregates.DefaultTransientStore;
 import io.cdap.wrangler.api.Arguments;
 import io.cdap.wrangler.api.CompileException;
@@ -49,6 +49,7 @@ import io.cdap.wrangler.proto.BadRequestException;
 import io.cdap.wrangler.proto.ErrorRecordsException;
 import io.cdap.wrangler.registry.DirectiveInfo;
 import io.cdap.wrangler.registry.UserDirectiveRegistry;
+import io.cdap.wrangler.store.workspace.SampleCodec;
 import io.cdap.wrangler.utils.KryoSerializer;
 import io.cdap.wrangler.utils.ObjectSerDe;
 import java.util.ArrayList;
@@ -62,17 +63,42 @@ import static io.cdap.wrangler.schema.TransientStoreKeys.OUTPUT_SCHEMA;
 
 /**
  * Task for remote execution of directives
+ *
+ * <p>The first byte of the result is a status. It is followed by the serialized {@link RemoteDirectiveResponse}
+ * if the status is {@link #RESULT_OK} or {@link #RESULT_OK_TERMINATING}, the latter meaning that the task worker
+ * terminates once the task completes, losing the samples it cached. Samples are cached by checksum, and the status
+ * is {@link #RESULT_SAMPLE_REQUIRED} if the request does not carry a sample that is not cached, in which case the
+ * request must be sent again with the sample.</p>
  */
 public class RemoteExecutionTask implements RunnableTask {
+  static final byte RESULT_OK = 0;
+  static final byte RESULT_SAMPLE_REQUIRED = 1;
+  static final byte RESULT_OK_TERMINATING = 2;
 
-  private static final Gson GSON = new GsonBuilder()
-          .registerTypeAdapter(Schema.class, new SchemaTypeAdapter())
-          .create();
+  private static final long SAMPLE_CACHE_SIZE = 64L * 1024 * 1024;
+  private static final Cache<String, byte[]> SAMPLES = CacheBuilder.newBuilder()
+    .maximumWeight(SAMPLE_CACHE_SIZE)
+    .<String, byte[]>weigher((checksum, sample) -> sample.length)
+    .build();
 
   @Override
   public void run(RunnableTaskContext runnableTaskContext) throws Exception {
-    RemoteDirectiveRequest directiveRequest = GSON.fromJson(runnableTaskContext.getParam(),
-                                                            RemoteDirectiveRequest.class);
+    RemoteDirectiveRequest directiveRequest = RemoteDirectiveRequest.fromParam(runnableTaskContext.getParam());
+    byte[] sample = directiveRequest.getSample();
+    if (sample == null) {
+      sample = SAMPLES.getIfPresent(directiveRequest.getSampleChecksum());
+      if (sample == null) {
+        runnableTaskContext.writeResult(new byte[] { RESULT_SAMPLE_REQUIRED });
+        return;
+      }
+    } else {
+      // The checksum identifies the sample for later requests, so it must not be trusted.
+      String checksum = Hashing.sha256().hashBytes(sample).toString();
+      if (!checksum.equals(directiveRequest.getSampleChecksum())) {
+        throw new BadRequestException("Checksum of the sample does not match the checksum of the request.");
+      }
+      SAMPLES.put(checksum, sample);
+    }
 
     SystemAppTaskContext systemAppContext = runnableTaskContext.getRunnableTaskSystemAppContext();
     String namespace = directiveRequest.getPluginNameSpace();
@@ -105,15 +131,13 @@ public class RemoteExecutionTask implements RunnableTask {
         directives.add(directive);
       });
 
+      List<Row> rows = SampleCodec.decode(sample);
       // If there is no directives, there is nothing to execute
       if (directives.isEmpty()) {
-        runnableTaskContext.writeResult(directiveRequest.getData());
+        writeResult(runnableTaskContext, systemAppContext, new RemoteDirectiveResponse(rows, null), RESULT_OK);
         return;
       }
 
-      ObjectSerDe<List<Row>> objectSerDe = new ObjectSerDe<>();
-      List<Row> rows = objectSerDe.toObject(directiveRequest.getData());
-
       Schema inputSchema = directiveRequest.getInputSchema();
       TransientStore transientStore = new DefaultTransientStore();
       if (inputSchema != null) {
@@ -139,18 +163,26 @@ public class RemoteExecutionTask implements RunnableTask {
       }
 
       Schema outputSchema = transientStore.get(OUTPUT_SCHEMA);
-      RemoteDirectiveResponse response = new RemoteDirectiveResponse(rows, outputSchema);
-      ObjectSerDe<RemoteDirectiveResponse> responseSerDe = new ObjectSerDe<>();
-
-      runnableTaskContext.setTerminateOnComplete(hasUDD.get() || EL.isUsed());
-
-      if (Feature.WRANGLER_KRYO_SERIALIZATION.isEnabled(systemAppContext)) {
-        runnableTaskContext.writeResult(new KryoSerializer().fromRemoteDirectiveResponse(response));
-      } else {
-        runnableTaskContext.writeResult(responseSerDe.toByteArray(response));
-      }
+      boolean terminate = hasUDD.get() || EL.isUsed();
+      runnableTaskContext.setTerminateOnComplete(terminate);
+      writeResult(runnableTaskContext, systemAppContext, new RemoteDirectiveResponse(rows, outputSchema),
+                  terminate ? RESULT_OK_TERMINATING : RESULT_OK);
     } catch (DirectiveParseException | ClassNotFoundException | CompileException e) {
       throw new BadRequestException(e.getMessage(), e);
     }
   }
+
+  private static void writeResult(RunnableTaskContext runnableTaskContext, SystemAppTaskContext systemAppContext,
+                                  RemoteDirectiveResponse response, byte status) throws Exception {
+    byte[] bytes;
+    if (Feature.WRANGLER_KRYO_SERIALIZATION.isEnabled(systemAppContext)) {
+      bytes = new KryoSerializer().fromRemoteDirectiveResponse(response);
+    } else {
+      bytes = new ObjectSerDe<RemoteDirectiveResponse>().toByteArray(response);
+    }
+    byte[] result = new byte[bytes.length + 1];
+    result[0] = status;
+    System.arraycopy(bytes, 0, result, 1, bytes.length);
+    runnableTaskContext.writeResult(result);
+  }
 }
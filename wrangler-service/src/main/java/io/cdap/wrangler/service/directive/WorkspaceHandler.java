@@ -18,7 +18,10 @@
 package io.cdap.wrangler.service.directive;
 
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
@@ -44,6 +47,7 @@ import io.cdap.cdap.internal.io.SchemaTypeAdapter;
 import io.cdap.cdap.proto.id.NamespaceId;
 import io.cdap.wrangler.PropertyIds;
 import io.cdap.wrangler.RequestExtractor;
+import io.cdap.wrangler.SamplingMethod;
 import io.cdap.wrangler.api.DirectiveConfig;
 import io.cdap.wrangler.api.DirectiveLoadException;
 import io.cdap.wrangler.api.DirectiveParseException;
@@ -52,6 +56,7 @@ import io.cdap.wrangler.api.RecipeException;
 import io.cdap.wrangler.api.RemoteDirectiveResponse;
 import io.cdap.wrangler.api.Row;
 import io.cdap.wrangler.api.TransientVariableScope;
+import io.cdap.wrangler.expression.EL;
 import io.cdap.wrangler.parser.ConfigDirectiveContext;
 import io.cdap.wrangler.parser.DirectiveClass;
 import io.cdap.wrangler.parser.GrammarWalker;
@@ -60,6 +65,8 @@ import io.cdap.wrangler.parser.RecipeCompiler;
 import io.cdap.wrangler.proto.BadRequestException;
 import io.cdap.wrangler.proto.recipe.v2.Recipe;
 import io.cdap.wrangler.proto.recipe.v2.RecipeId;
+import io.cdap.wrangler.proto.workspace.ColumnStatistics;
+import io.cdap.wrangler.proto.workspace.WorkspaceValidationResult;
 import io.cdap.wrangler.proto.workspace.v2.Artifact;
 import io.cdap.wrangler.proto.workspace.v2.DirectiveExecutionRequest;
 import io.cdap.wrangler.proto.workspace.v2.DirectiveExecutionResponse;
@@ -76,8 +83,12 @@ import io.cdap.wrangler.proto.workspace.v2.WorkspaceSpec;
 import io.cdap.wrangler.proto.workspace.v2.WorkspaceUpdateRequest;
 import io.cdap.wrangler.registry.DirectiveInfo;
 import io.cdap.wrangler.registry.SystemDirectiveRegistry;
+import io.cdap.wrangler.sampling.Bernoulli;
+import io.cdap.wrangler.sampling.Poisson;
+import io.cdap.wrangler.sampling.Reservoir;
 import io.cdap.wrangler.schema.TransientStoreKeys;
 import io.cdap.wrangler.store.recipe.RecipeStore;
+import io.cdap.wrangler.store.workspace.SampleCodec;
 import io.cdap.wrangler.store.workspace.WorkspaceStore;
 import io.cdap.wrangler.utils.KryoSerializer;
 import io.cdap.wrangler.utils.ObjectSerDe;
@@ -87,10 +98,13 @@ import io.cdap.wrangler.utils.StructuredToRowTransformer;
 import org.apache.commons.lang3.StringEscapeUtils;
 
 import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -117,10 +131,41 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
   private static final Pattern PRAGMA_PATTERN = Pattern.compile("^\\s*#pragma\\s+load-directives\\s+");
   private static final String UPLOAD_COUNT = "upload.file.count";
   private static final String CONNECTION_TYPE = "upload";
+  // Maximum number of records and of bytes of the body read when uploading data to a workspace.
+  private static final String UPLOAD_MAX_ROWS = "wrangler.workspace.upload.max.rows";
+  private static final String UPLOAD_MAX_BYTES = "wrangler.workspace.upload.max.bytes";
+  private static final String LINES_HEADER = "lines";
+  private static final String FRACTION_HEADER = "fraction";
+  // Maximum estimated size in bytes of the execution checkpoints cached. Checkpoints are disabled when set to 0.
+  private static final String CHECKPOINT_CACHE_SIZE = "wrangler.workspace.checkpoint.cache.bytes";
+  private static final long DEFAULT_CHECKPOINT_CACHE_SIZE = 64L * 1024 * 1024;
+  private static final String CHECKPOINT_HITS = "workspace.checkpoint.hits";
+  private static final String CHECKPOINT_MISSES = "workspace.checkpoint.misses";
+  private static final String CHECKPOINT_BYTES = "workspace.checkpoint.bytes";
+  private static final String EXPRESSION_CACHE_HITS = "workspace.expression.cache.hits";
+  private static final String EXPRESSION_CACHE_MISSES = "workspace.expression.cache.misses";
+  private static final String REMOTE_SAMPLE_RESENDS = "workspace.remote.sample.resends";
+  // Checksums of the samples sent to task workers, which are not sent again until a task worker asks for them.
+  private static final Cache<String, Boolean> SENT_SAMPLES = CacheBuilder.newBuilder().maximumSize(1000).build();
+  // Samples encoded for remote execution, along with their checksums, keyed by the version of the stored sample.
+  private static final Cache<String, EncodedSample> ENCODED_SAMPLES = CacheBuilder.newBuilder()
+    .maximumWeight(64L * 1024 * 1024)
+    .<String, EncodedSample>weigher((version, sample) -> sample.bytes.length)
+    .build();
+  private static final String SUMMARY_HITS = "workspace.summary.hits";
+  // Column statistics of the latest executions, keyed like the checkpoints. They only depend on the first rows of
+  // the result, so they are not computed again when only the number of rows displayed changes.
+  private static final Cache<String, Map<String, ColumnStatistics>> SUMMARIES =
+    CacheBuilder.newBuilder().maximumSize(256).build();
+
+  // Shared by all the handler instances, so that the cache is bounded for the whole service.
+  private static ExecutionCheckpointCache checkpointCache;
 
   private WorkspaceStore wsStore;
   private RecipeStore recipeStore;
   private ConnectionDiscoverer discoverer;
+  private int uploadMaxRows;
+  private long uploadMaxBytes;
 
   // Injected by CDAP
   @SuppressWarnings("unused")
@@ -132,6 +177,18 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
     wsStore = new WorkspaceStore(context);
     recipeStore = new RecipeStore(context);
     discoverer = new ConnectionDiscoverer(context);
+    initializeCheckpointCache(Long.parseLong(context.getRuntimeArguments().getOrDefault(
+      CHECKPOINT_CACHE_SIZE, String.valueOf(DEFAULT_CHECKPOINT_CACHE_SIZE))));
+    uploadMaxRows = Integer.parseInt(context.getRuntimeArguments().getOrDefault(
+      UPLOAD_MAX_ROWS, String.valueOf(Integer.MAX_VALUE)));
+    uploadMaxBytes = Long.parseLong(context.getRuntimeArguments().getOrDefault(
+      UPLOAD_MAX_BYTES, String.valueOf(Long.MAX_VALUE)));
+  }
+
+  private static synchronized void initializeCheckpointCache(long capacity) {
+    if (checkpointCache == null && capacity > 0) {
+      checkpointCache = new ExecutionCheckpointCache(capacity);
+    }
   }
 
   @POST
@@ -280,6 +337,8 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
         .setUpdatedTimeMillis(System.currentTimeMillis())
         .setSampleSpec(newSpec).build();
       wsStore.saveWorkspace(wsId, new WorkspaceDetail(newWorkspace, rows));
+      // Checkpoints and summaries of the previous sample are not used anymore, as the version of the sample changed.
+      evictExecutions(ns.getName(), workspaceId);
       responder.sendStatus(HttpURLConnection.HTTP_OK);
     });
   }
@@ -295,6 +354,7 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
         throw new BadRequestException("Deleting workspace in system namespace is currently not supported");
       }
       wsStore.deleteWorkspace(new WorkspaceId(ns, workspaceId));
+      evictExecutions(ns.getName(), workspaceId);
       responder.sendStatus(HttpURLConnection.HTTP_OK);
     });
   }
@@ -323,16 +383,42 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
       // using 'recorddelimiter' or 'delimiter'
       String delimiter = handler.getHeader(RECORD_DELIMITER_HEADER, "\\u001A");
       delimiter = handler.getHeader(DELIMITER_HEADER, delimiter);
-      String content = handler.getContent(StandardCharsets.UTF_8);
-      if (content == null) {
+      ByteBuffer content = request.getContent();
+      if (content == null || !content.hasRemaining()) {
         throw new BadRequestException(
           "Body not present, please post the file containing the records to create a workspace.");
       }
 
       delimiter = StringEscapeUtils.unescapeJava(delimiter);
+      // Records are read lazily, so that only the records kept by the sampler are held in memory.
+      Iterator<String> records = new DelimitedRecordIterator(content, StandardCharsets.UTF_8, delimiter,
+                                                             uploadMaxBytes);
+      int lines;
+      double fraction;
+      try {
+        lines = Math.min(Integer.parseInt(handler.getHeader(LINES_HEADER, String.valueOf(uploadMaxRows))),
+                         uploadMaxRows);
+        fraction = Double.parseDouble(handler.getHeader(FRACTION_HEADER, "1"));
+      } catch (NumberFormatException e) {
+        throw new BadRequestException(String.format("Invalid '%s' or '%s' header: %s", LINES_HEADER,
+                                                    FRACTION_HEADER, e.getMessage()), e);
+      }
+      SamplingMethod samplingMethod = SamplingMethod.fromString(handler.getHeader(PropertyIds.SAMPLER_TYPE, null));
+      if (samplingMethod == SamplingMethod.POISSON || samplingMethod == SamplingMethod.BERNOULLI) {
+        records = samplingMethod == SamplingMethod.POISSON ?
+          new Poisson<String>(fraction).sample(records) : new Bernoulli<String>(fraction).sample(records);
+      } else if (samplingMethod == SamplingMethod.RESERVOIR) {
+        if (lines == Integer.MAX_VALUE) {
+          throw new BadRequestException(
+            String.format("The number of records must be provided in the '%s' header for reservoir sampling.",
+                          LINES_HEADER));
+        }
+        records = new Reservoir<String>(lines).sample(records);
+      }
+
       List<Row> sample = new ArrayList<>();
-      for (String line : content.split(delimiter)) {
-        sample.add(new Row(COLUMN_NAME, line));
+      while (sample.size() < lines && records.hasNext()) {
+        sample.add(new Row(COLUMN_NAME, records.next()));
       }
 
       WorkspaceId id = new WorkspaceId(ns);
@@ -409,7 +495,8 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
       WorkspaceDetail detail = wsStore.getWorkspaceDetail(wsId);
       List<String> directives = new ArrayList<>(detail.getWorkspace().getDirectives());
       UserDirectivesCollector userDirectivesCollector = new UserDirectivesCollector();
-      List<Row> result = executeDirectives(ns.getName(), directives, detail, userDirectivesCollector);
+      List<Row> result = executeDirectives(ns.getName(), directives, detail, userDirectivesCollector,
+                                           Integer.MAX_VALUE);
       userDirectivesCollector.addLoadDirectivesPragma(directives);
 
       Schema outputSchema;
@@ -478,10 +565,21 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
 
     WorkspaceDetail detail = wsStore.getWorkspaceDetail(workspaceId);
     UserDirectivesCollector userDirectivesCollector = new UserDirectivesCollector();
-    List<Row> result = executeDirectives(ns.getName(), directives, detail,
-                                         userDirectivesCollector);
-    DirectiveExecutionResponse response = generateExecutionResponse(result,
-                                                                    executionRequest.getLimit());
+    // Only the rows displayed and the rows the summary is computed on are needed.
+    List<Row> result = executeDirectives(ns.getName(), directives, detail, userDirectivesCollector,
+                                         Math.max(executionRequest.getLimit(), summaryRows));
+    String summaryKey = getSummaryKey(ns.getName(), detail, directives);
+    Map<String, ColumnStatistics> statistics = summaryKey == null ? null : SUMMARIES.getIfPresent(summaryKey);
+    if (statistics == null) {
+      statistics = getColumnStatistics(result);
+      if (summaryKey != null) {
+        SUMMARIES.put(summaryKey, statistics);
+      }
+    } else {
+      metrics.count(SUMMARY_HITS, 1);
+    }
+    WorkspaceValidationResult summary = new WorkspaceValidationResult(getColumnValidation(result), statistics);
+    DirectiveExecutionResponse response = generateExecutionResponse(result, executionRequest.getLimit(), summary);
     userDirectivesCollector.addLoadDirectivesPragma(directives);
     Workspace newWorkspace = Workspace.builder(detail.getWorkspace())
       .setDirectives(directives)
@@ -546,12 +644,14 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
    *                   {@code #pragma} directives for loading UDDs.
    * @param detail the workspace to operate on
    * @param grammarVisitor visitor to call while parsing directives
+   * @param limit number of resulting rows needed, the execution may stop once they are produced
    * @return the resulting rows after applying the directives
    */
   private <E extends Exception> List<Row> executeDirectives(String namespace,
                                                             List<String> directives,
                                                             WorkspaceDetail detail,
-                                                            GrammarWalker.Visitor<E> grammarVisitor) throws Exception {
+                                                            GrammarWalker.Visitor<E> grammarVisitor,
+                                                            int limit) throws Exception {
     // Remove all the #pragma from the existing directives. New ones will be generated.
     directives.removeIf(d -> PRAGMA_PATTERN.matcher(d).find());
 
@@ -564,29 +664,124 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
       TRANSIENT_STORE.set(TransientVariableScope.GLOBAL, TransientStoreKeys.INPUT_SCHEMA, inputSchema);
     }
 
-    return getContext().isRemoteTaskEnabled() ?
-      executeRemotely(namespace, directives, detail, grammarVisitor) :
-      executeLocally(namespace, directives, detail, grammarVisitor);
+    if (getContext().isRemoteTaskEnabled()) {
+      return executeRemotely(namespace, directives, detail, grammarVisitor);
+    }
+    List<Row> result = executeLocally(namespace, directives, detail, grammarVisitor, limit);
+    // Expressions are compiled once per service, the counts are for all the executions so far.
+    metrics.gauge(EXPRESSION_CACHE_HITS, EL.getCacheHits());
+    metrics.gauge(EXPRESSION_CACHE_MISSES, EL.getCacheMisses());
+    return result;
   }
 
   /**
-   * Executes the given list of directives on the given workspace locally in the same JVM.
+   * Executes the given list of directives on the given workspace locally in the same JVM. Execution resumes from
+   * the checkpoint of the longest prefix of the directives executed before, and the result is cached as the
+   * checkpoint of the directives. The result of an execution that could stop at the limit is only reused by
+   * executions of the same directives with the same limit.
    *
    * @param namespace the namespace to operate on for finding user defined directives
    * @param directives the list of directives to apply. The list provided must be a mutable list for the addition of
    *                   {@code #pragma} directives for loading UDDs.
    * @param detail the workspace to operate on
    * @param grammarVisitor visitor to call while parsing directives
+   * @param limit number of resulting rows needed, the execution may stop once they are produced
    * @return the resulting rows after applying the directives
    */
   private <E extends Exception> List<Row> executeLocally(String namespace, List<String> directives,
-                                   WorkspaceDetail detail, GrammarWalker.Visitor<E> grammarVisitor)
+                                   WorkspaceDetail detail, GrammarWalker.Visitor<E> grammarVisitor, int limit)
     throws DirectiveLoadException, DirectiveParseException, E, RecipeException {
 
     // load the udd
     composite.reload(namespace);
-    return executeDirectives(namespace, directives, new ArrayList<>(detail.getSample()),
-                             grammarVisitor);
+    // Checkpoints do not hold the schemas generated by the directives, so they are not used with schema management.
+    String samplePrefix = getSamplePrefix(namespace, detail);
+    if (checkpointCache == null || schemaManagementEnabled || directives.isEmpty() || samplePrefix == null) {
+      return executeDirectives(namespace, directives, new ArrayList<>(detail.getSample()),
+                               grammarVisitor, limit);
+    }
+
+    List<String> keys = ExecutionCheckpointCache.getKeys(samplePrefix, directives);
+    String limitedKey = ExecutionCheckpointCache.getLimitedKey(keys.get(keys.size() - 1), limit);
+    // The result of the same directives executed with the same limit is looked up before the prefixes.
+    List<String> lookupKeys = new ArrayList<>(keys);
+    lookupKeys.add(limitedKey);
+    ExecutionCheckpointCache.Checkpoint checkpoint = checkpointCache.get(lookupKeys);
+    AtomicBoolean limited = new AtomicBoolean();
+    List<Row> result;
+    if (checkpoint == null) {
+      metrics.count(CHECKPOINT_MISSES, 1);
+      result = executeDirectives(namespace, directives, new ArrayList<>(detail.getSample()), grammarVisitor, limit,
+                                 limited);
+    } else {
+      metrics.count(CHECKPOINT_HITS, 1);
+      int executed = checkpoint.getDirectives();
+      // Directives of the cached prefix are visited, but not executed again.
+      visitDirectives(directives.subList(0, executed), grammarVisitor);
+      checkpoint.getVariables().forEach(
+        (name, value) -> TRANSIENT_STORE.set(TransientVariableScope.GLOBAL, name, value));
+      if (executed == directives.size()) {
+        return checkpoint.getRows();
+      }
+      result = executeDirectives(namespace, new ArrayList<>(directives.subList(executed, directives.size())),
+                                 checkpoint.getRows(), grammarVisitor, limit, limited);
+    }
+    // Only the global variables are kept, local variables are reset for each row.
+    TRANSIENT_STORE.reset(TransientVariableScope.LOCAL);
+    Map<String, Object> variables = new HashMap<>();
+    for (String variable : TRANSIENT_STORE.getVariables()) {
+      variables.put(variable, TRANSIENT_STORE.get(variable));
+    }
+    // The result of an execution that may have stopped at the limit is not complete. Directives following it cannot
+    // be executed on it, so it is only cached for executions of the same directives with the same limit. Executions
+    // of directives carrying state across rows run on the whole sample, so their result can be resumed.
+    String key = limited.get() ? limitedKey : keys.get(keys.size() - 1);
+    checkpointCache.put(key, directives.size(), result, variables);
+    metrics.gauge(CHECKPOINT_BYTES, checkpointCache.getSize());
+    return result;
+  }
+
+  /**
+   * Removes the checkpoints and the column statistics of the executions on a workspace.
+   */
+  private static void evictExecutions(String namespace, String workspaceId) {
+    String prefix = getCheckpointPrefix(namespace, workspaceId);
+    if (checkpointCache != null) {
+      checkpointCache.invalidate(prefix);
+    }
+    SUMMARIES.asMap().keySet().removeIf(key -> key.startsWith(prefix + ":"));
+  }
+
+  /**
+   * Returns the prefix of the keys of the checkpoints of a workspace.
+   */
+  private static String getCheckpointPrefix(String namespace, String workspaceId) {
+    return namespace + ":" + workspaceId;
+  }
+
+  /**
+   * Returns the prefix of the keys of the checkpoints of the current sample of a workspace, or {@code null} if the
+   * version of the sample is not known.
+   */
+  @Nullable
+  private static String getSamplePrefix(String namespace, WorkspaceDetail detail) {
+    String version = detail.getSampleVersion();
+    return version == null ? null
+      : getCheckpointPrefix(namespace, detail.getWorkspace().getWorkspaceId()) + ":" + version;
+  }
+
+  /**
+   * Returns the key of the column statistics of the result of executing the directives on a workspace, or
+   * {@code null} if the version of the sample is not known.
+   */
+  @Nullable
+  private static String getSummaryKey(String namespace, WorkspaceDetail detail, List<String> directives) {
+    String prefix = getSamplePrefix(namespace, detail);
+    if (prefix == null) {
+      return null;
+    }
+    List<String> keys = ExecutionCheckpointCache.getKeys(prefix, directives);
+    return keys.isEmpty() ? prefix + ":0" : keys.get(keys.size() - 1);
   }
 
   /**
@@ -623,14 +818,35 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
       return detail.getSample();
     }
 
-    RemoteDirectiveRequest directiveRequest = new RemoteDirectiveRequest(recipe, systemDirectives,
-                                                                         namespace, detail.getSampleAsBytes(),
+    EncodedSample encoded = detail.getSampleVersion() == null ?
+      new EncodedSample(SampleCodec.encode(detail.getSample())) :
+      ENCODED_SAMPLES.get(detail.getSampleVersion(), () -> new EncodedSample(SampleCodec.encode(detail.getSample())));
+    byte[] sample = encoded.bytes;
+    String checksum = encoded.checksum;
+    RemoteDirectiveRequest directiveRequest = new RemoteDirectiveRequest(recipe, systemDirectives, namespace,
+                                                                         checksum, sample,
                                                                          TRANSIENT_STORE.get(INPUT_SCHEMA));
-    RunnableTaskRequest runnableTaskRequest = RunnableTaskRequest.getBuilder(RemoteExecutionTask.class.getName())
-      .withParam(GSON.toJson(directiveRequest))
-      .withNamespace(namespace)
-      .build();
-    byte[] bytes = getContext().runTask(runnableTaskRequest);
+    byte[] bytes;
+    if (SENT_SAMPLES.getIfPresent(checksum) == null) {
+      bytes = runTask(namespace, directiveRequest);
+    } else {
+      bytes = runTask(namespace, directiveRequest.withoutSample());
+      if (bytes[0] == RemoteExecutionTask.RESULT_SAMPLE_REQUIRED) {
+        // The task worker does not have the sample cached, e.g. after a restart.
+        metrics.count(REMOTE_SAMPLE_RESENDS, 1);
+        bytes = runTask(namespace, directiveRequest);
+      }
+    }
+    if (bytes[0] == RemoteExecutionTask.RESULT_OK) {
+      SENT_SAMPLES.put(checksum, Boolean.TRUE);
+    } else if (bytes[0] == RemoteExecutionTask.RESULT_OK_TERMINATING) {
+      // The task worker terminates along with the samples it cached, so they are sent with the next requests.
+      SENT_SAMPLES.invalidateAll();
+    } else {
+      throw new IllegalStateException("Remote execution of directives failed with status " + bytes[0]);
+    }
+
+    bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
     RemoteDirectiveResponse response;
     if (Feature.WRANGLER_KRYO_SERIALIZATION.isEnabled(getContext())) {
       response = new KryoSerializer().toRemoteDirectiveResponse(bytes);
@@ -643,6 +859,27 @@ public class WorkspaceHandler extends AbstractDirectiveHandler {
     return response.getRows();
   }
 
+  private byte[] runTask(String namespace, RemoteDirectiveRequest directiveRequest) throws Exception {
+    RunnableTaskRequest runnableTaskRequest = RunnableTaskRequest.getBuilder(RemoteExecutionTask.class.getName())
+      .withParam(directiveRequest.toParam())
+      .withNamespace(namespace)
+      .build();
+    return getContext().runTask(runnableTaskRequest);
+  }
+
+  /**
+   * A sample encoded with {@link SampleCodec}, along with the checksum identifying it in remote executions.
+   */
+  private static final class EncodedSample {
+    private final byte[] bytes;
+    private final String checksum;
+
+    private EncodedSample(byte[] bytes) {
+      this.bytes = bytes;
+      this.checksum = Hashing.sha256().hashBytes(bytes).toString();
+    }
+  }
+
   private List<Row> getSample(SampleResponse sampleResponse) {
     List<Row> rows = new ArrayList<>();
     if (!sampleResponse.getSample().isEmpty()) {
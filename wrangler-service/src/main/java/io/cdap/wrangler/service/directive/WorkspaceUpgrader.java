@@ -64,6 +64,7 @@ import java.util.Set;
 public class WorkspaceUpgrader {
   private static final Logger LOG = LoggerFactory.getLogger(WorkspaceUpgrader.class);
   private static final UpgradeState WS_COMPLETE_STATE = new UpgradeState(1L);
+  private static final UpgradeState SAMPLE_COMPLETE_STATE = new UpgradeState(1L);
 
   private final UpgradeStore upgradeStore;
   private final SystemServiceContext context;
@@ -91,6 +92,20 @@ public class WorkspaceUpgrader {
     upgradeStore.setEntityUpgradeState(UpgradeEntityType.WORKSPACE, WS_COMPLETE_STATE);
   }
 
+  /**
+   * Rewrites the samples of the workspaces stored as Java serialized rows in the columnar sample format.
+   * This upgrade is independent of the upgrade of the workspaces, and can be run before it.
+   */
+  public static void upgradeSamples(UpgradeStore upgradeStore, WorkspaceStore wsStore) {
+    UpgradeState state = upgradeStore.getEntityUpgradeState(UpgradeEntityType.WORKSPACE_SAMPLE);
+    if (state != null && state.getVersion() == SAMPLE_COMPLETE_STATE.getVersion()) {
+      return;
+    }
+    int upgraded = wsStore.upgradeSamples();
+    LOG.info("Upgraded the samples of {} workspaces to the columnar format", upgraded);
+    upgradeStore.setEntityUpgradeState(UpgradeEntityType.WORKSPACE_SAMPLE, SAMPLE_COMPLETE_STATE);
+  }
+
   private void upgradeWorkspacesInConnections(NamespaceSummary namespace) {
     List<Workspace> workspaces = TransactionRunners.run(context, ctx -> {
       WorkspaceDataset wsDataset = WorkspaceDataset.get(ctx);
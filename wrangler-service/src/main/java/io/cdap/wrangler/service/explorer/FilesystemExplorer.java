@@ -17,6 +17,8 @@
 package io.cdap.wrangler.service.explorer;
 
 import com.google.common.base.Charsets;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.io.ByteStreams;
 import io.cdap.cdap.api.annotation.TransactionControl;
 import io.cdap.cdap.api.annotation.TransactionPolicy;
 import io.cdap.cdap.api.dataset.Dataset;
@@ -49,8 +51,9 @@ import io.cdap.wrangler.utils.ReferenceNames;
 import org.apache.twill.filesystem.Location;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 
-import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.security.Security;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -71,7 +74,13 @@ import javax.ws.rs.QueryParam;
 public class FilesystemExplorer extends AbstractWranglerHandler {
   private Explorer explorer;
   private static final String COLUMN_NAME = "body";
-  private static final int FILE_SIZE = 10 * 1024 * 1024;
+  // Maximum size of the files read as a whole, and maximum number of bytes of a file scanned when sampling lines.
+  private static final String FILE_MAX_BYTES = "wrangler.explorer.file.max.bytes";
+  private static final int DEFAULT_FILE_MAX_BYTES = 10 * 1024 * 1024;
+  private static final String SAMPLE_MAX_BYTES = "wrangler.explorer.sample.max.bytes";
+  private static final long DEFAULT_SAMPLE_MAX_BYTES = 256L * 1024 * 1024;
+  private int fileMaxBytes;
+  private long sampleMaxBytes;
 
   /**
    * Lists the content of the path specified using the {@link Location}.
@@ -182,8 +191,9 @@ public class FilesystemExplorer extends AbstractWranglerHandler {
       throw new BadRequestException(String.format("%s (No such file)", path));
     }
 
-    if (location.length() > FILE_SIZE) {
-      throw new BadRequestException("Files larger than 10MB are currently not supported.");
+    if (location.length() > fileMaxBytes) {
+      throw new BadRequestException(String.format("Files larger than %d bytes are currently not supported.",
+                                                  fileMaxBytes));
     }
 
     // Creates workspace.
@@ -204,12 +214,7 @@ public class FilesystemExplorer extends AbstractWranglerHandler {
       WorkspaceDataset ws = WorkspaceDataset.get(context);
       NamespacedId workspaceId = ws.createWorkspace(namespace, workspaceMeta);
 
-      byte[] bytes = new byte[(int) location.length() + 1];
-      try (BufferedInputStream stream = new BufferedInputStream(location.getInputStream())) {
-        stream.read(bytes);
-      } catch (IOException e) {
-        e.printStackTrace();
-      }
+      byte[] bytes = readFile(location, fileMaxBytes);
 
       // Write records to workspace.
       if (type == DataType.RECORDS) {
@@ -230,6 +235,25 @@ public class FilesystemExplorer extends AbstractWranglerHandler {
                                     location.getName());
   }
 
+  /**
+   * Reads the whole content of a file.
+   *
+   * @param location of the file.
+   * @param maxBytes maximum size of the file.
+   * @throws BadRequestException if the file is larger than the maximum size.
+   */
+  private static byte[] readFile(Location location, int maxBytes) throws IOException {
+    try (InputStream stream = location.getInputStream()) {
+      // The length of the location is only used as a hint, as the file may change while being read.
+      byte[] bytes = ByteStreams.toByteArray(ByteStreams.limit(stream, maxBytes + 1L));
+      if (bytes.length > maxBytes) {
+        throw new BadRequestException(String.format("Files larger than %d bytes are currently not supported.",
+                                                    maxBytes));
+      }
+      return bytes;
+    }
+  }
+
   private FileConnectionSample loadSampleableFile(Namespace namespace, String scope, String path, int lines,
                                                   double fraction, String sampler)
     throws IOException, ExplorerException {
@@ -257,29 +281,39 @@ public class FilesystemExplorer extends AbstractWranglerHandler {
       .setProperties(properties)
       .build();
 
-    String sampleId = TransactionRunners.run(getContext(), context -> {
-      WorkspaceDataset ws = WorkspaceDataset.get(context);
-      NamespacedId workspaceId = ws.createWorkspace(namespace, workspaceMeta);
-
-      // Iterate through lines to extract only 'limit' random lines.
-      // Depending on the type, the sampling of the input is performed.
-      List<Row> rows = new ArrayList<>();
-      BoundedLineInputStream blis = BoundedLineInputStream.iterator(location.getInputStream(), Charsets.UTF_8, lines);
-      Iterator<String> it = blis;
+    // Iterate through lines to extract only 'limit' random lines.
+    // Depending on the type, the sampling of the input is performed.
+    // The first lines are read for the first sampling method. Other sampling methods are applied to the lines of
+    // the file, streamed up to the maximum number of bytes scanned, and only the sampled lines are kept.
+    // The file is sampled before the transaction is started, as scanning it may take long.
+    List<Row> rows = new ArrayList<>();
+    BoundedInputStream stream = new BoundedInputStream(
+      location.getInputStream(), samplingMethod == SamplingMethod.FIRST ? Long.MAX_VALUE : sampleMaxBytes);
+    BoundedLineInputStream blis = BoundedLineInputStream.iterator(
+      stream, Charsets.UTF_8, samplingMethod == SamplingMethod.FIRST ? lines : Integer.MAX_VALUE);
+    try {
+      Iterator<String> it = completeLines(blis, stream);
       if (samplingMethod == SamplingMethod.POISSON) {
-        it = new Poisson<String>(fraction).sample(blis);
+        it = new Poisson<String>(fraction).sample(it);
       } else if (samplingMethod == SamplingMethod.BERNOULLI) {
-        it = new Bernoulli<String>(fraction).sample(blis);
+        it = new Bernoulli<String>(fraction).sample(it);
       } else if (samplingMethod == SamplingMethod.RESERVOIR) {
-        it = new Reservoir<String>(lines).sample(blis);
+        it = new Reservoir<String>(lines).sample(it);
       }
-      while (it.hasNext()) {
+      while (rows.size() < lines && it.hasNext()) {
         rows.add(new Row(COLUMN_NAME, it.next()));
       }
+    } finally {
+      blis.close();
+    }
+    ObjectSerDe<List<Row>> serDe = new ObjectSerDe<>();
+    byte[] data = serDe.toByteArray(rows);
+
+    String sampleId = TransactionRunners.run(getContext(), context -> {
+      WorkspaceDataset ws = WorkspaceDataset.get(context);
+      NamespacedId workspaceId = ws.createWorkspace(namespace, workspaceMeta);
 
       // Write rows to workspace.
-      ObjectSerDe<List<Row>> serDe = new ObjectSerDe<>();
-      byte[] data = serDe.toByteArray(rows);
       ws.updateWorkspaceData(workspaceId, DataType.RECORDS, data);
       return workspaceId.getId();
     });
@@ -290,9 +324,91 @@ public class FilesystemExplorer extends AbstractWranglerHandler {
                                     location.getName());
   }
 
+  /**
+   * Returns the lines of the iterator, except the last line if it was cut by the bound of the stream.
+   */
+  private static Iterator<String> completeLines(Iterator<String> lines, BoundedInputStream stream) {
+    return new AbstractIterator<String>() {
+      @Override
+      protected String computeNext() {
+        if (!lines.hasNext()) {
+          return endOfData();
+        }
+        String line = lines.next();
+        // Checking for the next line reads the stream up to the end of the line that follows, if any.
+        if (!lines.hasNext() && stream.isLineCut()) {
+          return endOfData();
+        }
+        return line;
+      }
+    };
+  }
+
+  /**
+   * An input stream reading at most a given number of bytes, which records whether the bound cut a line.
+   */
+  private static final class BoundedInputStream extends FilterInputStream {
+    private long remaining;
+    private int last = '\n';
+    private boolean lineCut;
+
+    BoundedInputStream(InputStream in, long maxBytes) {
+      super(in);
+      this.remaining = maxBytes;
+    }
+
+    /**
+     * @return true if the bound was reached in the middle of a line that continues past it.
+     */
+    boolean isLineCut() {
+      return lineCut;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      if (remaining == 0) {
+        if (last != '\n' && last != '\r' && in.read() != -1) {
+          lineCut = true;
+        }
+        // Only checked once.
+        last = '\n';
+        return -1;
+      }
+      int read = in.read(b, off, (int) Math.min(len, remaining));
+      if (read > 0) {
+        remaining -= read;
+        last = b[off + read - 1];
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      throw new UnsupportedOperationException("Skip is not supported.");
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+  }
+
   @Override
   public void initialize(SystemHttpServiceContext context) throws Exception {
     super.initialize(context);
+    fileMaxBytes = Integer.parseInt(context.getRuntimeArguments().getOrDefault(
+      FILE_MAX_BYTES, String.valueOf(DEFAULT_FILE_MAX_BYTES)));
+    sampleMaxBytes = Long.parseLong(context.getRuntimeArguments().getOrDefault(
+      SAMPLE_MAX_BYTES, String.valueOf(DEFAULT_SAMPLE_MAX_BYTES)));
     final HttpServiceContext ctx = context;
     Security.addProvider(new BouncyCastleProvider());
     this.explorer = new Explorer(new DatasetProvider() {
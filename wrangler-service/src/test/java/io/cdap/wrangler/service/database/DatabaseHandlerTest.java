@@ -20,6 +20,7 @@ import com.google.common.base.Throwables;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.proto.BadRequestException;
 import org.hsqldb.Server;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -29,6 +30,7 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.DriverManager;
@@ -140,6 +142,59 @@ public class DatabaseHandlerTest {
     }
   }
 
+  @Test
+  public void testReadRows() throws Exception {
+    String table = "\"my_table\"";
+    try (Connection conn = getConnection()) {
+      for (SqlDialect dialect : new SqlDialect[] {
+        SqlDialect.OTHER_LIMIT, SqlDialect.DERBY, SqlDialect.SQLSERVER, SqlDialect.UNKNOWN }) {
+        List<Row> rows = DatabaseHandler.readRows(conn, dialect, table, null, 1, 0);
+        Assert.assertEquals(dialect.name(), 1, rows.size());
+        Assert.assertEquals(5, rows.get(0).width());
+      }
+
+      List<Row> rows = DatabaseHandler.readRows(conn, SqlDialect.OTHER_LIMIT, table, "ID, NAME", 10, 0);
+      Assert.assertEquals(2, rows.size());
+      Assert.assertEquals(2, rows.get(0).width());
+      Assert.assertEquals("NAME", rows.get(0).getColumn(1));
+
+      // Columns are matched against the columns of the table and quoted.
+      Assert.assertEquals("\"ID\", \"NAME\"", DatabaseHandler.getProjection(conn, table, "id, \"NAME\""));
+      rows = DatabaseHandler.readRows(conn, SqlDialect.OTHER_LIMIT, "my_table", "name", 10, 0);
+      Assert.assertEquals(2, rows.size());
+      Assert.assertEquals(1, rows.get(0).width());
+      for (String columns : new String[] { "MISSING", "ID, (SELECT 1)", "ID FROM \"my_table\"; DROP TABLE x; --" }) {
+        try {
+          DatabaseHandler.readRows(conn, SqlDialect.OTHER_LIMIT, table, columns, 10, 0);
+          Assert.fail(columns + " should be rejected");
+        } catch (BadRequestException e) {
+          Assert.assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, e.getCode());
+        }
+      }
+
+      // The table is read without sampling if the database does not support it.
+      Assert.assertEquals(2, DatabaseHandler.readRows(conn, SqlDialect.POSTGRESQL, table, null, 10, 0.5).size());
+      Assert.assertTrue(DatabaseHandler.readRows(conn, SqlDialect.OTHER_LIMIT, table, null, 0, 0).isEmpty());
+    }
+  }
+
+  @Test
+  public void testSqlDialects() {
+    Assert.assertEquals(SqlDialect.MYSQL, SqlDialect.fromUrl("jdbc:mysql://${hostname}:${port}/${database}"));
+    Assert.assertEquals(SqlDialect.ORACLE, SqlDialect.fromUrl("jdbc:oracle:thin:@${hostname}:${port}:${database}"));
+    Assert.assertEquals(SqlDialect.SQLSERVER, SqlDialect.fromUrl("jdbc:sqlserver://${hostname}:${port}"));
+    Assert.assertEquals(SqlDialect.UNKNOWN, SqlDialect.fromUrl("jdbc:unknown://host"));
+    Assert.assertEquals(SqlDialect.UNKNOWN, SqlDialect.fromUrl(null));
+
+    Assert.assertEquals("SELECT * FROM t LIMIT 10", SqlDialect.MYSQL.select("*", "t", 10));
+    Assert.assertEquals("SELECT TOP 10 a FROM t", SqlDialect.SQLSERVER.select("a", "t", 10));
+    Assert.assertEquals("SELECT * FROM t SAMPLE (12.5) WHERE ROWNUM <= 10",
+                        SqlDialect.ORACLE.select("*", SqlDialect.ORACLE.sample("t", 12.5), 10));
+    Assert.assertEquals("SELECT * FROM t TABLESAMPLE BERNOULLI (0.0001) FETCH FIRST 10 ROWS ONLY",
+                        SqlDialect.DB2.select("*", SqlDialect.DB2.sample("t", 0.0001), 10));
+    Assert.assertFalse(SqlDialect.MYSQL.supportsSampling());
+  }
+
   private static void createTestUser(Connection conn) throws SQLException {
     try (Statement stmt = conn.createStatement()) {
       stmt.execute("CREATE USER \"emptyPwdUser\" PASSWORD '' ADMIN");
@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.directive;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Tests {@link DelimitedRecordIterator}
+ */
+public class DelimitedRecordIteratorTest {
+
+  @Test
+  public void testSameAsSplit() {
+    String[] bodies = {
+      "a\nb\nc", "a\nb\n", "\na\n\n\nb\n\n\n", "\n", "\n\n", "single", "a\r\nb\r\n", "é€\n𝄞\nz"
+    };
+    for (String body : bodies) {
+      Assert.assertEquals(body, Arrays.asList(body.split("\n")), read(body, "\n", Long.MAX_VALUE));
+    }
+    Assert.assertEquals(Arrays.asList("a", "b", "c"), read("a\r\nb\r\nc\r\n", "\r\n", Long.MAX_VALUE));
+    Assert.assertEquals(Arrays.asList("a", "", "b"), read("a\u001A\u001Ab", "\u001A", Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testLiteralDelimiter() {
+    Assert.assertEquals(Arrays.asList("a", "b.c"), read("a|b.c", "|", Long.MAX_VALUE));
+    Assert.assertEquals(Arrays.asList("a", "b"), read("a.*b", ".*", Long.MAX_VALUE));
+    Assert.assertEquals(Collections.singletonList("a\nb"), read("a\nb", "", Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testLargeBody() {
+    StringBuilder body = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      body.append("record é ").append(i).append("||");
+    }
+    List<String> records = read(body.toString(), "||", Long.MAX_VALUE);
+    Assert.assertEquals(20000, records.size());
+    for (int i = 0; i < records.size(); i++) {
+      Assert.assertEquals("record é " + i, records.get(i));
+    }
+  }
+
+  @Test
+  public void testMaxBytes() {
+    String body = "aaa\nbbb\nccc\n";
+    Assert.assertEquals(Arrays.asList("aaa", "bbb"), read(body, "\n", 10));
+    Assert.assertEquals(Arrays.asList("aaa", "bbb"), read(body, "\n", 8));
+    Assert.assertEquals(Collections.singletonList("aaa"), read(body, "\n", 7));
+    Assert.assertEquals(Arrays.asList("aaa", "bbb", "ccc"), read(body, "\n", 12));
+  }
+
+  private static List<String> read(String body, String delimiter, long maxBytes) {
+    ByteBuffer content = ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8));
+    List<String> records = new ArrayList<>();
+    Iterator<String> iterator = new DelimitedRecordIterator(content, StandardCharsets.UTF_8, delimiter, maxBytes);
+    while (iterator.hasNext()) {
+      records.add(iterator.next());
+    }
+    Assert.assertEquals(0, content.position());
+    return records;
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.directive;
+
+import com.google.common.collect.ImmutableMap;
+import io.cdap.wrangler.api.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests {@link ExecutionCheckpointCache}
+ */
+public class ExecutionCheckpointCacheTest {
+
+  @Test
+  public void testLongestPrefix() {
+    ExecutionCheckpointCache cache = new ExecutionCheckpointCache(1024 * 1024);
+    List<String> directives = Arrays.asList("lowercase body", "trim body", "uppercase body");
+    List<String> keys = ExecutionCheckpointCache.getKeys("ns:ws:1", directives);
+    Assert.assertEquals(3, keys.size());
+    Assert.assertNull(cache.get(keys));
+
+    cache.put(keys.get(0), 1, createRows("a"), Collections.emptyMap());
+    cache.put(keys.get(1), 2, createRows("b"), ImmutableMap.of("var", 1L));
+
+    ExecutionCheckpointCache.Checkpoint checkpoint = cache.get(keys);
+    Assert.assertNotNull(checkpoint);
+    Assert.assertEquals(2, checkpoint.getDirectives());
+    Assert.assertEquals("b", checkpoint.getRows().get(0).getValue("body"));
+    Assert.assertEquals(1L, checkpoint.getVariables().get("var"));
+    Assert.assertEquals(1, cache.getHits());
+    Assert.assertEquals(1, cache.getMisses());
+
+    // Keys depend on the directives before the prefix, not only on its length.
+    List<String> others = ExecutionCheckpointCache.getKeys("ns:ws:1", Arrays.asList("trim body", "trim body"));
+    Assert.assertNull(cache.get(others));
+    // Keys depend on the version of the sample.
+    Assert.assertNull(cache.get(ExecutionCheckpointCache.getKeys("ns:ws:2", directives)));
+  }
+
+  @Test
+  public void testLimitedResults() {
+    ExecutionCheckpointCache cache = new ExecutionCheckpointCache(1024 * 1024);
+    List<String> keys = ExecutionCheckpointCache.getKeys("ns:ws:1", Arrays.asList("trim body", "uppercase body"));
+    String limitedKey = ExecutionCheckpointCache.getLimitedKey(keys.get(1), 100);
+    cache.put(keys.get(0), 1, createRows("full"), Collections.emptyMap());
+    cache.put(limitedKey, 2, createRows("limited"), Collections.emptyMap());
+
+    // A limited result is only found for the same directives and limit, before the prefixes.
+    List<String> lookup = new ArrayList<>(keys);
+    lookup.add(limitedKey);
+    Assert.assertEquals("limited", cache.get(lookup).getRows().get(0).getValue("body"));
+    lookup.set(2, ExecutionCheckpointCache.getLimitedKey(keys.get(1), 200));
+    Assert.assertEquals("full", cache.get(lookup).getRows().get(0).getValue("body"));
+    List<String> longer = ExecutionCheckpointCache.getKeys(
+      "ns:ws:1", Arrays.asList("trim body", "uppercase body", "lowercase body"));
+    Assert.assertEquals(1, cache.get(longer).getDirectives());
+
+    // Limited results are invalidated with the other checkpoints of the workspace.
+    cache.invalidate("ns:ws");
+    Assert.assertNull(cache.get(Collections.singletonList(limitedKey)));
+  }
+
+  @Test
+  public void testRowsAreCopied() {
+    ExecutionCheckpointCache cache = new ExecutionCheckpointCache(1024 * 1024);
+    List<String> keys = ExecutionCheckpointCache.getKeys("ns:ws:1", Collections.singletonList("trim body"));
+    List<Row> rows = createRows("a");
+    cache.put(keys.get(0), 1, rows, Collections.emptyMap());
+    rows.get(0).setValue(0, "changed");
+
+    ExecutionCheckpointCache.Checkpoint checkpoint = cache.get(keys);
+    Assert.assertEquals("a", checkpoint.getRows().get(0).getValue("body"));
+    checkpoint.getRows().get(0).setValue(0, "changed");
+    Assert.assertEquals("a", cache.get(keys).getRows().get(0).getValue("body"));
+  }
+
+  @Test
+  public void testMutableValuesAreNotCached() {
+    ExecutionCheckpointCache cache = new ExecutionCheckpointCache(1024 * 1024);
+    List<String> keys = ExecutionCheckpointCache.getKeys("ns:ws:1", Arrays.asList("trim body", "set-type id long"));
+    cache.put(keys.get(0), 1, createRows("a"), Collections.emptyMap());
+    List<Row> rows = createRows("b");
+    rows.get(0).add("bytes", new byte[] { 1 });
+    cache.put(keys.get(1), 2, rows, Collections.emptyMap());
+    Assert.assertEquals(1, cache.get(keys).getDirectives());
+
+    rows.get(0).setValue(1, 1L);
+    cache.put(keys.get(1), 2, rows, Collections.emptyMap());
+    Assert.assertEquals(2, cache.get(keys).getDirectives());
+  }
+
+  @Test
+  public void testEvictionAndInvalidation() {
+    List<String> directives = Arrays.asList("a", "b", "c");
+    List<String> keys = ExecutionCheckpointCache.getKeys("ns:ws:1", directives);
+    ExecutionCheckpointCache cache = new ExecutionCheckpointCache(1024 * 1024);
+    cache.put(keys.get(0), 1, createRows("x"), Collections.emptyMap());
+    long size = cache.getSize();
+    Assert.assertTrue(size > 0);
+
+    // Only two checkpoints of the same size fit, the least recently used one is evicted.
+    cache = new ExecutionCheckpointCache(2 * size);
+    cache.put(keys.get(0), 1, createRows("x"), Collections.emptyMap());
+    cache.put(keys.get(1), 2, createRows("y"), Collections.emptyMap());
+    Assert.assertEquals(1, cache.get(keys.subList(0, 1)).getDirectives());
+    cache.put(keys.get(2), 3, createRows("z"), Collections.emptyMap());
+    Assert.assertEquals(2 * size, cache.getSize());
+    Assert.assertNull(cache.get(Collections.singletonList(keys.get(1))));
+    Assert.assertEquals(1, cache.get(keys.subList(0, 1)).getDirectives());
+
+    cache.invalidate("ns:ws");
+    Assert.assertEquals(0, cache.getSize());
+    Assert.assertNull(cache.get(keys));
+  }
+
+  private static List<Row> createRows(String value) {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      rows.add(new Row("body", value));
+    }
+    return rows;
+  }
+}
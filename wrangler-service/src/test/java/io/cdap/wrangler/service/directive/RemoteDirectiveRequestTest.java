@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.service.directive;
+
+import io.cdap.cdap.api.artifact.ArtifactId;
+import io.cdap.cdap.api.artifact.ArtifactScope;
+import io.cdap.cdap.api.artifact.ArtifactVersion;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.parser.DirectiveClass;
+import io.cdap.wrangler.registry.DirectiveScope;
+import io.cdap.wrangler.store.workspace.SampleCodec;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tests {@link RemoteDirectiveRequest}
+ */
+public class RemoteDirectiveRequestTest {
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    Map<String, DirectiveClass> directives = new HashMap<>();
+    directives.put("lowercase", new DirectiveClass("lowercase", "io.cdap.directives.column.Lower",
+                                                   DirectiveScope.SYSTEM, null));
+    directives.put("my-directive", new DirectiveClass(
+      "my-directive", "org.example.MyDirective", DirectiveScope.USER,
+      new ArtifactId("my-artifact", new ArtifactVersion("1.0.0"), ArtifactScope.USER)));
+    Schema schema = Schema.recordOf("input", Schema.Field.of("body", Schema.of(Schema.Type.STRING)));
+    byte[] sample = SampleCodec.encode(Arrays.asList(new Row("body", "a"), new Row("body", "b")));
+
+    RemoteDirectiveRequest request = new RemoteDirectiveRequest("lowercase :body;", directives, "default",
+                                                                "checksum", sample, schema);
+    RemoteDirectiveRequest decoded = RemoteDirectiveRequest.fromParam(request.toParam());
+    Assert.assertEquals("lowercase :body;", decoded.getRecipe());
+    Assert.assertEquals("default", decoded.getPluginNameSpace());
+    Assert.assertEquals("checksum", decoded.getSampleChecksum());
+    Assert.assertEquals(schema, decoded.getInputSchema());
+    Assert.assertArrayEquals(sample, decoded.getSample());
+    Assert.assertEquals(directives.keySet(), decoded.getSystemDirectives().keySet());
+    for (Map.Entry<String, DirectiveClass> entry : directives.entrySet()) {
+      DirectiveClass actual = decoded.getSystemDirectives().get(entry.getKey());
+      Assert.assertEquals(entry.getValue().getClassName(), actual.getClassName());
+      Assert.assertEquals(entry.getValue().getScope(), actual.getScope());
+      Assert.assertEquals(entry.getValue().getArtifactId(), actual.getArtifactId());
+    }
+
+    decoded = RemoteDirectiveRequest.fromParam(request.withoutSample().toParam());
+    Assert.assertNull(decoded.getSample());
+    Assert.assertEquals("checksum", decoded.getSampleChecksum());
+    Assert.assertNull(RemoteDirectiveRequest.fromParam(
+      new RemoteDirectiveRequest("", directives, "default", "checksum", null, null).toParam()).getInputSchema());
+  }
+}
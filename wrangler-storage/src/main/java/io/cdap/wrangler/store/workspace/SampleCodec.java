@@ -0,0 +1,759 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.store.workspace;
+
+import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.RowLayout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javax.annotation.Nullable;
+
+/**
+ * Encodes the sample of a workspace in a compact, versioned columnar format.
+ *
+ * <p>Rows are split in groups of {@value #GROUP_ROWS} rows. Within a group, the values of each column are stored
+ * in a separate page: a page holding values of a single type stores the type once, strings with few distinct
+ * values are dictionary encoded, and numbers are stored as variable length integers. Each page is compressed
+ * on its own, so that reading a subset of the columns or rows only decompresses the pages holding them. The
+ * layouts of the rows, the column names in order, are stored once for all the rows sharing them, and decoded
+ * rows with the same layout share a {@link RowLayout}.</p>
+ *
+ * <p>Samples stored before this format are Java serialized lists of rows, which are still decoded.</p>
+ */
+public final class SampleCodec {
+  private static final byte[] MAGIC = {'W', 'S', 'C', 'F'};
+  private static final byte VERSION = 1;
+  private static final int GROUP_ROWS = 1024;
+  // Columns of strings are dictionary encoded when at most this fraction of their values is distinct.
+  private static final int DICTIONARY_RATIO = 2;
+
+  // Types of the values. MIXED is only used for pages with values of different types.
+  private static final byte MIXED = 0;
+  private static final byte STRING = 1;
+  private static final byte STRING_DICTIONARY = 2;
+  private static final byte INT = 3;
+  private static final byte LONG = 4;
+  private static final byte DOUBLE = 5;
+  private static final byte FLOAT = 6;
+  private static final byte BOOLEAN = 7;
+  private static final byte SHORT = 8;
+  private static final byte BYTES = 9;
+  private static final byte DECIMAL = 10;
+  private static final byte DATE = 11;
+  private static final byte TIME = 12;
+  private static final byte DATETIME = 13;
+  private static final byte TIMESTAMP = 14;
+  private static final byte SERIALIZED = 15;
+
+  private SampleCodec() {
+    // no-op
+  }
+
+  /**
+   * Encodes the rows.
+   *
+   * @param rows to encode.
+   * @return the encoded rows.
+   * @throws IOException if a value can neither be encoded natively nor serialized.
+   */
+  public static byte[] encode(List<Row> rows) throws IOException {
+    Map<String, Integer> columns = new HashMap<>();
+    List<String> columnNames = new ArrayList<>();
+    Map<List<String>, Integer> layoutIndexes = new HashMap<>();
+    List<int[]> layouts = new ArrayList<>();
+    int[] rowLayouts = new int[rows.size()];
+    for (int i = 0; i < rows.size(); i++) {
+      Row row = rows.get(i);
+      List<String> names = row.getLayout() != null ? row.getLayout().getColumns() : columnsOf(row);
+      Integer layout = layoutIndexes.get(names);
+      if (layout == null) {
+        int[] indexes = new int[names.size()];
+        for (int j = 0; j < indexes.length; j++) {
+          indexes[j] = columns.computeIfAbsent(names.get(j), name -> {
+            columnNames.add(name);
+            return columnNames.size() - 1;
+          });
+        }
+        layout = layouts.size();
+        layouts.add(indexes);
+        layoutIndexes.put(new ArrayList<>(names), layout);
+      }
+      rowLayouts[i] = layout;
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.write(MAGIC);
+    out.writeByte(VERSION);
+    out.writeInt(rows.size());
+    writeVarInt(out, columnNames.size());
+    for (String name : columnNames) {
+      writeString(out, name);
+    }
+    writeVarInt(out, layouts.size());
+    for (int[] layout : layouts) {
+      writeVarInt(out, layout.length);
+      for (int column : layout) {
+        writeVarInt(out, column);
+      }
+    }
+
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      for (int start = 0; start < rows.size(); start += GROUP_ROWS) {
+        int end = Math.min(start + GROUP_ROWS, rows.size());
+        writeVarInt(out, end - start);
+
+        ByteArrayOutputStream page = new ByteArrayOutputStream();
+        DataOutputStream pageOut = new DataOutputStream(page);
+        List<List<Object>> cells = new ArrayList<>(columnNames.size());
+        for (int i = 0; i < columnNames.size(); i++) {
+          cells.add(new ArrayList<>());
+        }
+        for (int i = start; i < end; i++) {
+          writeVarInt(pageOut, rowLayouts[i]);
+          int[] layout = layouts.get(rowLayouts[i]);
+          Row row = rows.get(i);
+          for (int j = 0; j < layout.length; j++) {
+            cells.get(layout[j]).add(row.getValue(j));
+          }
+        }
+        writePage(out, page.toByteArray(), deflater);
+        for (List<Object> column : cells) {
+          writePage(out, column.isEmpty() ? new byte[0] : encodeColumn(column), deflater);
+        }
+      }
+    } finally {
+      deflater.end();
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decodes all the rows.
+   *
+   * @param bytes encoded rows, either by {@link #encode(List)} or as a Java serialized list of rows.
+   * @return the rows.
+   * @throws IOException if the bytes cannot be decoded.
+   */
+  public static List<Row> decode(byte[] bytes) throws IOException {
+    return decode(bytes, null, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Decodes a range of the rows, keeping only some of the columns. Only the pages holding the requested columns
+   * and rows are decompressed.
+   *
+   * @param bytes encoded rows, either by {@link #encode(List)} or as a Java serialized list of rows.
+   * @param columns names of the columns to keep, case insensitive, or {@code null} to keep all the columns.
+   * @param offset index of the first row to decode.
+   * @param limit maximum number of rows to decode.
+   * @return the rows.
+   * @throws IOException if the bytes cannot be decoded.
+   */
+  public static List<Row> decode(byte[] bytes, @Nullable Collection<String> columns,
+                                 int offset, int limit) throws IOException {
+    if (!isColumnar(bytes)) {
+      return project(deserialize(bytes), columns, offset, limit);
+    }
+    try {
+      return new Reader(ByteBuffer.wrap(bytes), columns).read(offset, limit);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | DataFormatException e) {
+      throw new IOException("Sample data is corrupted", e);
+    }
+  }
+
+  /**
+   * @return {@code true} if the bytes were encoded by {@link #encode(List)}, {@code false} if they are in the
+   *   format used before, a Java serialized list of rows.
+   */
+  public static boolean isColumnar(byte[] bytes) {
+    if (bytes.length < MAGIC.length) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (bytes[i] != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static List<String> columnsOf(Row row) {
+    List<String> names = new ArrayList<>(row.width());
+    for (int i = 0; i < row.width(); i++) {
+      names.add(row.getColumn(i));
+    }
+    return names;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Row> deserialize(byte[] bytes) throws IOException {
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      return (List<Row>) ois.readObject();
+    } catch (ClassNotFoundException e) {
+      throw new IOException("Sample data contains values of unknown classes", e);
+    }
+  }
+
+  private static List<Row> project(List<Row> rows, @Nullable Collection<String> columns, int offset, int limit) {
+    if (offset >= rows.size()) {
+      return new ArrayList<>();
+    }
+    List<Row> range = rows.subList(offset, (int) Math.min(rows.size(), (long) offset + limit));
+    if (columns == null) {
+      return offset == 0 && range.size() == rows.size() ? rows : new ArrayList<>(range);
+    }
+    List<Row> result = new ArrayList<>(range.size());
+    for (Row row : range) {
+      Row projected = new Row();
+      for (int i = 0; i < row.width(); i++) {
+        if (contains(columns, row.getColumn(i))) {
+          projected.add(row.getColumn(i), row.getValue(i));
+        }
+      }
+      result.add(projected);
+    }
+    return result;
+  }
+
+  private static boolean contains(Collection<String> columns, String column) {
+    for (String name : columns) {
+      if (name.equalsIgnoreCase(column)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void writePage(DataOutputStream out, byte[] page, Deflater deflater) throws IOException {
+    out.writeInt(page.length);
+    if (page.length == 0) {
+      out.writeInt(0);
+      return;
+    }
+    deflater.reset();
+    deflater.setInput(page);
+    deflater.finish();
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, page.length / 4));
+    byte[] buffer = new byte[8192];
+    while (!deflater.finished()) {
+      int length = deflater.deflate(buffer);
+      compressed.write(buffer, 0, length);
+    }
+    out.writeInt(compressed.size());
+    compressed.writeTo(out);
+  }
+
+  /**
+   * Encodes the values of a column in a group.
+   */
+  private static byte[] encodeColumn(List<Object> values) throws IOException {
+    byte type = -1;
+    boolean hasNulls = false;
+    for (Object value : values) {
+      if (value == null) {
+        hasNulls = true;
+        continue;
+      }
+      byte valueType = typeOf(value);
+      type = type == -1 || type == valueType ? valueType : MIXED;
+    }
+    if (type == -1) {
+      // Only null values.
+      type = MIXED;
+    }
+
+    Map<String, Integer> dictionary = null;
+    if (type == STRING) {
+      dictionary = new HashMap<>();
+      for (Object value : values) {
+        if (value != null) {
+          dictionary.putIfAbsent((String) value, dictionary.size());
+        }
+      }
+      if (dictionary.size() * DICTIONARY_RATIO <= values.size()) {
+        type = STRING_DICTIONARY;
+      } else {
+        dictionary = null;
+      }
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    writeVarInt(out, values.size());
+    out.writeByte(type);
+    out.writeBoolean(hasNulls);
+    if (hasNulls) {
+      byte[] nulls = new byte[(values.size() + 7) / 8];
+      for (int i = 0; i < values.size(); i++) {
+        if (values.get(i) == null) {
+          nulls[i / 8] |= 1 << (i % 8);
+        }
+      }
+      out.write(nulls);
+    }
+    if (dictionary != null) {
+      String[] entries = new String[dictionary.size()];
+      dictionary.forEach((value, id) -> entries[id] = value);
+      writeVarInt(out, entries.length);
+      for (String entry : entries) {
+        writeString(out, entry);
+      }
+    }
+    for (Object value : values) {
+      if (value == null) {
+        continue;
+      }
+      if (dictionary != null) {
+        writeVarInt(out, dictionary.get(value));
+      } else if (type == MIXED) {
+        byte valueType = typeOf(value);
+        out.writeByte(valueType);
+        writeValue(out, valueType, value);
+      } else {
+        writeValue(out, type, value);
+      }
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  private static byte typeOf(Object value) {
+    if (value instanceof String) {
+      // Strings that are not valid UTF-16 are serialized, so that they are not altered by the UTF-8 encoding.
+      return isWellFormed((String) value) ? STRING : SERIALIZED;
+    }
+    if (value instanceof Integer) {
+      return INT;
+    }
+    if (value instanceof Long) {
+      return LONG;
+    }
+    if (value instanceof Double) {
+      return DOUBLE;
+    }
+    if (value instanceof Float) {
+      return FLOAT;
+    }
+    if (value instanceof Boolean) {
+      return BOOLEAN;
+    }
+    if (value instanceof Short) {
+      return SHORT;
+    }
+    if (value instanceof byte[]) {
+      return BYTES;
+    }
+    if (value instanceof BigDecimal) {
+      return DECIMAL;
+    }
+    if (value instanceof LocalDate) {
+      return DATE;
+    }
+    if (value instanceof LocalTime) {
+      return TIME;
+    }
+    if (value instanceof LocalDateTime) {
+      return DATETIME;
+    }
+    if (value instanceof ZonedDateTime) {
+      return TIMESTAMP;
+    }
+    return SERIALIZED;
+  }
+
+  private static void writeValue(DataOutputStream out, byte type, Object value) throws IOException {
+    switch (type) {
+      case STRING:
+        writeString(out, (String) value);
+        break;
+      case INT:
+        writeVarLong(out, zigZag((Integer) value));
+        break;
+      case LONG:
+        writeVarLong(out, zigZag((Long) value));
+        break;
+      case DOUBLE:
+        out.writeDouble((Double) value);
+        break;
+      case FLOAT:
+        out.writeFloat((Float) value);
+        break;
+      case BOOLEAN:
+        out.writeBoolean((Boolean) value);
+        break;
+      case SHORT:
+        out.writeShort((Short) value);
+        break;
+      case BYTES:
+        writeBytes(out, (byte[]) value);
+        break;
+      case DECIMAL:
+        BigDecimal decimal = (BigDecimal) value;
+        writeVarLong(out, zigZag(decimal.scale()));
+        writeBytes(out, decimal.unscaledValue().toByteArray());
+        break;
+      case DATE:
+        writeVarLong(out, zigZag(((LocalDate) value).toEpochDay()));
+        break;
+      case TIME:
+        writeVarLong(out, ((LocalTime) value).toNanoOfDay());
+        break;
+      case DATETIME:
+        LocalDateTime dateTime = (LocalDateTime) value;
+        writeVarLong(out, zigZag(dateTime.toLocalDate().toEpochDay()));
+        writeVarLong(out, dateTime.toLocalTime().toNanoOfDay());
+        break;
+      case TIMESTAMP:
+        ZonedDateTime timestamp = (ZonedDateTime) value;
+        writeVarLong(out, zigZag(timestamp.toEpochSecond()));
+        writeVarLong(out, timestamp.getNano());
+        writeString(out, timestamp.getZone().getId());
+        break;
+      default:
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(serialized)) {
+          oos.writeObject(value);
+        }
+        writeBytes(out, serialized.toByteArray());
+    }
+  }
+
+  private static boolean isWellFormed(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (Character.isHighSurrogate(c)) {
+        if (i + 1 >= value.length() || !Character.isLowSurrogate(value.charAt(i + 1))) {
+          return false;
+        }
+        i++;
+      } else if (Character.isLowSurrogate(c)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+    writeVarInt(out, value.length);
+    out.write(value);
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+    writeVarLong(out, value & 0xFFFFFFFFL);
+  }
+
+  private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  /**
+   * Decodes the rows of a sample in the columnar format.
+   */
+  private static final class Reader {
+    private final ByteBuffer buffer;
+    private final int rowCount;
+    private final String[] columns;
+    private final boolean[] selected;
+    private final int[][] layouts;
+    private final RowLayout[] rowLayouts;
+    // Index in the decoded row of each column of a layout, or -1 if the column is not selected.
+    private final int[][] positions;
+    private final Inflater inflater = new Inflater();
+
+    Reader(ByteBuffer buffer, @Nullable Collection<String> selection) throws IOException {
+      this.buffer = buffer;
+      buffer.position(MAGIC.length);
+      byte version = buffer.get();
+      if (version != VERSION) {
+        throw new IOException("Unsupported sample format version " + version);
+      }
+      this.rowCount = buffer.getInt();
+      this.columns = new String[readVarInt()];
+      this.selected = new boolean[columns.length];
+      for (int i = 0; i < columns.length; i++) {
+        columns[i] = readString();
+        selected[i] = selection == null || contains(selection, columns[i]);
+      }
+      this.layouts = new int[readVarInt()][];
+      this.rowLayouts = new RowLayout[layouts.length];
+      this.positions = new int[layouts.length][];
+      for (int i = 0; i < layouts.length; i++) {
+        int[] layout = new int[readVarInt()];
+        int[] layoutPositions = new int[layout.length];
+        List<String> names = new ArrayList<>();
+        for (int j = 0; j < layout.length; j++) {
+          layout[j] = readVarInt();
+          layoutPositions[j] = selected[layout[j]] ? names.size() : -1;
+          if (selected[layout[j]]) {
+            names.add(columns[layout[j]]);
+          }
+        }
+        layouts[i] = layout;
+        positions[i] = layoutPositions;
+        rowLayouts[i] = RowLayout.of(names);
+      }
+    }
+
+    List<Row> read(int offset, int limit) throws IOException, DataFormatException {
+      try {
+        int end = (int) Math.min(rowCount, (long) offset + limit);
+        List<Row> rows = new ArrayList<>(Math.max(0, end - offset));
+        for (int start = 0; start < end; ) {
+          int count = readVarInt();
+          if (start + count <= offset) {
+            skipPage();
+            for (int i = 0; i < columns.length; i++) {
+              skipPage();
+            }
+          } else {
+            readGroup(start, count, offset, end, rows);
+          }
+          start += count;
+        }
+        return rows;
+      } finally {
+        inflater.end();
+      }
+    }
+
+    private void readGroup(int start, int count, int offset, int end, List<Row> rows)
+      throws IOException, DataFormatException {
+      ByteBuffer layoutPage = ByteBuffer.wrap(readPage());
+      int[] groupLayouts = new int[count];
+      for (int i = 0; i < count; i++) {
+        groupLayouts[i] = readVarInt(layoutPage);
+      }
+      Object[][] values = new Object[columns.length][];
+      for (int i = 0; i < columns.length; i++) {
+        if (selected[i]) {
+          values[i] = decodeColumn(readPage());
+        } else {
+          skipPage();
+        }
+      }
+
+      int[] cursors = new int[columns.length];
+      for (int i = 0; i < count && start + i < end; i++) {
+        int[] layout = layouts[groupLayouts[i]];
+        if (start + i < offset) {
+          for (int column : layout) {
+            cursors[column]++;
+          }
+          continue;
+        }
+        int[] layoutPositions = positions[groupLayouts[i]];
+        Row row = new Row(rowLayouts[groupLayouts[i]]);
+        for (int j = 0; j < layout.length; j++) {
+          int column = layout[j];
+          Object value = values[column] == null ? null : values[column][cursors[column]];
+          cursors[column]++;
+          if (layoutPositions[j] >= 0) {
+            row.setValue(layoutPositions[j], value);
+          }
+        }
+        rows.add(row);
+      }
+    }
+
+    private byte[] readPage() throws DataFormatException {
+      int length = buffer.getInt();
+      int compressedLength = buffer.getInt();
+      byte[] page = new byte[length];
+      if (length == 0) {
+        return page;
+      }
+      inflater.reset();
+      inflater.setInput(buffer.array(), buffer.arrayOffset() + buffer.position(), compressedLength);
+      int read = 0;
+      while (read < length) {
+        int inflated = inflater.inflate(page, read, length - read);
+        if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+          throw new DataFormatException("Page is shorter than expected");
+        }
+        read += inflated;
+      }
+      buffer.position(buffer.position() + compressedLength);
+      return page;
+    }
+
+    private void skipPage() {
+      buffer.getInt();
+      int compressedLength = buffer.getInt();
+      buffer.position(buffer.position() + compressedLength);
+    }
+
+    private Object[] decodeColumn(byte[] page) throws IOException {
+      if (page.length == 0) {
+        return null;
+      }
+      ByteBuffer in = ByteBuffer.wrap(page);
+      Object[] values = new Object[readVarInt(in)];
+      byte type = in.get();
+      boolean[] nulls = new boolean[values.length];
+      if (in.get() != 0) {
+        byte[] bitmap = new byte[(values.length + 7) / 8];
+        in.get(bitmap);
+        for (int i = 0; i < values.length; i++) {
+          nulls[i] = (bitmap[i / 8] & (1 << (i % 8))) != 0;
+        }
+      }
+      String[] dictionary = null;
+      if (type == STRING_DICTIONARY) {
+        dictionary = new String[readVarInt(in)];
+        for (int i = 0; i < dictionary.length; i++) {
+          dictionary[i] = readString(in);
+        }
+      }
+      for (int i = 0; i < values.length; i++) {
+        if (nulls[i]) {
+          continue;
+        }
+        if (dictionary != null) {
+          values[i] = dictionary[readVarInt(in)];
+        } else if (type == MIXED) {
+          values[i] = readValue(in, in.get());
+        } else {
+          values[i] = readValue(in, type);
+        }
+      }
+      return values;
+    }
+
+    private static Object readValue(ByteBuffer in, byte type) throws IOException {
+      switch (type) {
+        case STRING:
+          return readString(in);
+        case INT:
+          return (int) unZigZag(readVarLong(in));
+        case LONG:
+          return unZigZag(readVarLong(in));
+        case DOUBLE:
+          return in.getDouble();
+        case FLOAT:
+          return in.getFloat();
+        case BOOLEAN:
+          return in.get() != 0;
+        case SHORT:
+          return in.getShort();
+        case BYTES:
+          return readBytes(in);
+        case DECIMAL:
+          int scale = (int) unZigZag(readVarLong(in));
+          return new BigDecimal(new BigInteger(readBytes(in)), scale);
+        case DATE:
+          return LocalDate.ofEpochDay(unZigZag(readVarLong(in)));
+        case TIME:
+          return LocalTime.ofNanoOfDay(readVarLong(in));
+        case DATETIME:
+          LocalDate date = LocalDate.ofEpochDay(unZigZag(readVarLong(in)));
+          return LocalDateTime.of(date, LocalTime.ofNanoOfDay(readVarLong(in)));
+        case TIMESTAMP:
+          long seconds = unZigZag(readVarLong(in));
+          long nanos = readVarLong(in);
+          return ZonedDateTime.ofInstant(Instant.ofEpochSecond(seconds, nanos), ZoneId.of(readString(in)));
+        case SERIALIZED:
+          try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+            return ois.readObject();
+          } catch (ClassNotFoundException e) {
+            throw new IOException("Sample data contains values of unknown classes", e);
+          }
+        default:
+          throw new IOException("Unknown value type " + type);
+      }
+    }
+
+    private int readVarInt() {
+      return readVarInt(buffer);
+    }
+
+    private String readString() {
+      return readString(buffer);
+    }
+
+    private static String readString(ByteBuffer in) {
+      int length = readVarInt(in);
+      String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+      in.position(in.position() + length);
+      return value;
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+      byte[] value = new byte[readVarInt(in)];
+      in.get(value);
+      return value;
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+      return (int) readVarLong(in);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        byte b = in.get();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IndexOutOfBoundsException("Malformed variable length integer");
+    }
+
+    private static long unZigZag(long value) {
+      return (value >>> 1) ^ -(value & 1);
+    }
+  }
+}
@@ -37,11 +37,14 @@ import io.cdap.wrangler.dataset.workspace.WorkspaceNotFoundException;
 import io.cdap.wrangler.proto.workspace.v2.Workspace;
 import io.cdap.wrangler.proto.workspace.v2.WorkspaceDetail;
 import io.cdap.wrangler.proto.workspace.v2.WorkspaceId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -51,6 +54,7 @@ import javax.annotation.Nullable;
  * Workspace store for v2 endpoint
  */
 public class WorkspaceStore {
+  private static final Logger LOG = LoggerFactory.getLogger(WorkspaceStore.class);
   private static final StructuredTableId TABLE_ID = new StructuredTableId("workspaces_store");
   private static final String NAMESPACE_FIELD = "namespace";
   private static final String WORKSPACE_ID_FIELD = "workspace_id";
@@ -116,15 +120,29 @@ public class WorkspaceStore {
       List<Row> rows = new ArrayList<>();
       byte[] sample = row.get().getBytes(SAMPLE_COL);
       if (sample != null) {
-        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(sample))) {
-          rows = (List<Row>) ois.readObject();
-        }
+        rows = SampleCodec.decode(sample);
       }
 
-      return new WorkspaceDetail(workspace, rows);
+      return new WorkspaceDetail(workspace, rows, getSampleVersion(sample));
     }, WorkspaceNotFoundException.class);
   }
 
+  /**
+   * Returns the version of a stored sample, a digest of its bytes.
+   */
+  private static String getSampleVersion(@Nullable byte[] sample) {
+    if (sample == null) {
+      return "none";
+    }
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(sample);
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      // SHA-256 is supported by every Java platform.
+      throw new IllegalStateException(e);
+    }
+  }
+
   /**
    * Get all the workspaces in the given namespace
    *
@@ -152,7 +170,13 @@ public class WorkspaceStore {
    * @param workspace workspace to create/update
    */
   public void saveWorkspace(WorkspaceId workspaceId, WorkspaceDetail workspace) {
-    saveWorkspace(workspaceId, workspace.getWorkspace(), workspace.getSampleAsBytes(), false);
+    byte[] sample;
+    try {
+      sample = SampleCodec.encode(workspace.getSample());
+    } catch (IOException e) {
+      throw new RuntimeException("Error getting bytes from sample", e);
+    }
+    saveWorkspace(workspaceId, workspace.getWorkspace(), sample, false);
   }
 
   /**
@@ -179,6 +203,50 @@ public class WorkspaceStore {
     }, WorkspaceNotFoundException.class);
   }
 
+  /**
+   * Rewrites the samples stored in the format used before {@link SampleCodec} in the columnar format.
+   * Samples in the previous format can still be read, so samples that cannot be upgraded are left as they are.
+   *
+   * @return the number of samples upgraded
+   */
+  public int upgradeSamples() {
+    List<Collection<Field<?>>> workspaces = TransactionRunners.run(transactionRunner, context -> {
+      StructuredTable table = context.getTable(TABLE_ID);
+      List<Collection<Field<?>>> keys = new ArrayList<>();
+      try (CloseableIterator<StructuredRow> rowIter = table.scan(Range.all(), Integer.MAX_VALUE)) {
+        rowIter.forEachRemaining(structuredRow -> {
+          byte[] sample = structuredRow.getBytes(SAMPLE_COL);
+          if (sample != null && !SampleCodec.isColumnar(sample)) {
+            keys.add(getWorkspaceKeys(structuredRow));
+          }
+        });
+      }
+      return keys;
+    });
+
+    int upgraded = 0;
+    for (Collection<Field<?>> keys : workspaces) {
+      try {
+        boolean rewritten = TransactionRunners.run(transactionRunner, context -> {
+          StructuredTable table = context.getTable(TABLE_ID);
+          Optional<StructuredRow> row = table.read(keys);
+          byte[] sample = row.isPresent() ? row.get().getBytes(SAMPLE_COL) : null;
+          if (sample == null || SampleCodec.isColumnar(sample)) {
+            return false;
+          }
+          List<Field<?>> fields = new ArrayList<>(keys);
+          fields.add(Fields.bytesField(SAMPLE_COL, SampleCodec.encode(SampleCodec.decode(sample))));
+          table.upsert(fields);
+          return true;
+        }, IOException.class);
+        upgraded += rewritten ? 1 : 0;
+      } catch (Exception e) {
+        LOG.warn("Could not upgrade the sample of workspace {}", keys, e);
+      }
+    }
+    return upgraded;
+  }
+
   // clean up all workspaces, only usable by tests, do not add @VisibleForTesting to not
   // introduce extra guava dependency
   void clear() {
@@ -237,6 +305,14 @@ public class WorkspaceStore {
     return keys;
   }
 
+  private Collection<Field<?>> getWorkspaceKeys(StructuredRow row) {
+    List<Field<?>> keys = new ArrayList<>();
+    keys.add(Fields.stringField(NAMESPACE_FIELD, row.getString(NAMESPACE_FIELD)));
+    keys.add(Fields.longField(GENERATION_COL, row.getLong(GENERATION_COL)));
+    keys.add(Fields.stringField(WORKSPACE_ID_FIELD, row.getString(WORKSPACE_ID_FIELD)));
+    return keys;
+  }
+
   private Collection<Field<?>> getNamespaceKeys(NamespaceSummary namespace) {
     List<Field<?>> keys = new ArrayList<>();
     keys.add(Fields.stringField(NAMESPACE_FIELD, namespace.getName()));
@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler.store.workspace;
+
+import com.google.common.collect.ImmutableList;
+import io.cdap.wrangler.api.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests {@link SampleCodec}
+ */
+public class SampleCodecTest {
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    List<Row> rows = createRows(2500);
+    byte[] bytes = SampleCodec.encode(rows);
+    Assert.assertTrue(SampleCodec.isColumnar(bytes));
+    Assert.assertEquals(rows, SampleCodec.decode(bytes));
+    Assert.assertTrue(SampleCodec.decode(SampleCodec.encode(Collections.emptyList())).isEmpty());
+  }
+
+  @Test
+  public void testSmallerThanSerializedRows() throws Exception {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      rows.add(new Row("body", "2020-01-0" + (i % 9) + ",user" + i + ",text " + (i % 13) + "," + i * 7));
+    }
+    Assert.assertTrue(SampleCodec.encode(rows).length * 5 < serialize(rows).length);
+  }
+
+  @Test
+  public void testSerializedRows() throws Exception {
+    List<Row> rows = createRows(10);
+    byte[] bytes = serialize(rows);
+    Assert.assertFalse(SampleCodec.isColumnar(bytes));
+    Assert.assertEquals(rows, SampleCodec.decode(bytes));
+    Assert.assertEquals(rows.subList(2, 4), SampleCodec.decode(bytes, null, 2, 2));
+  }
+
+  @Test
+  public void testColumnsAndRange() throws Exception {
+    List<Row> rows = createRows(3000);
+    byte[] bytes = SampleCodec.encode(rows);
+
+    // The range spans two groups of rows.
+    List<Row> decoded = SampleCodec.decode(bytes, Arrays.asList("ID", "extra"), 1020, 10);
+    Assert.assertEquals(10, decoded.size());
+    for (int i = 0; i < decoded.size(); i++) {
+      Row expected = rows.get(1020 + i);
+      Row row = decoded.get(i);
+      Assert.assertEquals(expected.getValue("id"), row.getValue("id"));
+      Assert.assertEquals(expected.getValue("extra"), row.getValue("extra"));
+      Assert.assertEquals(expected.find("extra") == -1 ? 1 : 2, row.width());
+    }
+
+    Assert.assertEquals(1, SampleCodec.decode(bytes, null, 2999, 10).size());
+    Assert.assertTrue(SampleCodec.decode(bytes, null, 3000, 10).isEmpty());
+  }
+
+  private static List<Row> createRows(int count) {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Row row = new Row("body", "line " + (i % 7))
+        .add("id", i)
+        .add("score", i * 0.5)
+        .add("total", i * 100000000000L)
+        .add("name", i % 3 == 0 ? null : "user" + i)
+        .add("amount", new BigDecimal("12.50"))
+        .add("date", LocalDate.of(2020, 1, 1 + i % 28))
+        .add("time", LocalTime.of(i % 24, 30))
+        .add("datetime", LocalDateTime.of(2020, 1, 2, 3, 4))
+        .add("ts", ZonedDateTime.of(2020, 1, 2, 3, 4, 5, 6, ZoneId.of("America/Los_Angeles")))
+        .add("mixed", i % 2 == 0 ? "even" : i)
+        .add("tags", ImmutableList.of("a", "b"))
+        .add("surrogate", "\ud800" + i);
+      if (i % 5 == 0) {
+        row.add("extra", true);
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  private static byte[] serialize(List<Row> rows) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(rows);
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -61,11 +61,13 @@ import io.cdap.wrangler.api.RecipeParser;
 import io.cdap.wrangler.api.RecipePipeline;
 import io.cdap.wrangler.api.RecipeSymbol;
 import io.cdap.wrangler.api.Row;
+import io.cdap.wrangler.api.RowLayout;
 import io.cdap.wrangler.api.TokenGroup;
 import io.cdap.wrangler.api.TransientStore;
 import io.cdap.wrangler.api.TransientVariableScope;
 import io.cdap.wrangler.executor.RecipePipelineExecutor;
 import io.cdap.wrangler.lineage.LineageOperations;
+import io.cdap.wrangler.optimizer.OptimizingRecipeParser;
 import io.cdap.wrangler.parser.GrammarBasedParser;
 import io.cdap.wrangler.parser.MigrateToV2;
 import io.cdap.wrangler.parser.NoOpDirectiveContext;
@@ -76,6 +78,8 @@ import io.cdap.wrangler.registry.DirectiveInfo;
 import io.cdap.wrangler.registry.DirectiveRegistry;
 import io.cdap.wrangler.registry.SystemDirectiveRegistry;
 import io.cdap.wrangler.registry.UserDirectiveRegistry;
+import io.cdap.wrangler.utils.RecordConvertorException;
+import io.cdap.wrangler.utils.RecordWriter;
 import io.cdap.wrangler.utils.StructuredToRowTransformer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -118,6 +122,11 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> impl
   private static final String ON_ERROR_FAIL_PIPELINE = "fail-pipeline";
   private static final String ON_ERROR_PROCEED = "send-to-error-port";
   private static final String ERROR_STRATEGY_DEFAULT = "wrangler.error.strategy.default";
+  // No longer supported: records cannot be buffered across calls to transform(), as records emitted after
+  // transform() returns, including from destroy(), are not collected by the next stage.
+  private static final String TRANSFORM_BATCH_SIZE = "wrangler.transform.batch.size";
+  // Optimizes the recipe before executing it when set to true.
+  private static final String TRANSFORM_OPTIMIZE = "wrangler.transform.optimize";
 
   // Directive usage metric
   public static final String DIRECTIVE_METRIC_NAME = "wrangler.directive.count";
@@ -137,6 +146,9 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> impl
   // Output Schema associated with readable output.
   private Schema oSchema = null;
 
+  // Writer converting the output rows into records of the output schema.
+  private RecordWriter writer;
+
   // Error counter.
   private long errorCounter;
 
@@ -152,6 +164,10 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> impl
   // on error strategy
   private String onErrorStrategy;
 
+  // Layout shared by the rows created from input records, along with the schema it was created for.
+  private RowLayout layout;
+  private Schema layoutSchema;
+
   // This is used only for tests, otherwise this is being injected by the ingestion framework.
   public Wrangler(Config config) {
     this.config = config;
@@ -360,12 +376,20 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> impl
     // Parse DSL and initialize the wrangle pipeline.
     store = new DefaultTransientStore();
     RecipeParser recipe = getRecipeParser(context);
+    if (Boolean.parseBoolean(context.getArguments().get(TRANSFORM_OPTIMIZE))) {
+      recipe = new OptimizingRecipeParser(recipe);
+    }
 
     ExecutorContext ctx = new WranglerPipelineContext(ExecutorContext.Environment.TRANSFORM, context, store);
+    if (context.getArguments().has(TRANSFORM_BATCH_SIZE)) {
+      LOG.warn("Ignoring the runtime argument '{}', records are always transformed one at a time.",
+               TRANSFORM_BATCH_SIZE);
+    }
 
     // Based on the configuration create output schema.
     try {
       oSchema = Schema.parseJson(config.schema);
+      writer = RecordWriter.forOutput(oSchema);
     } catch (Exception e) {
       String errorReason = "Invalid output schema format.";
       String errorMessage = String.format(
@@ -421,6 +445,9 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> impl
   /**
    * Transforms the input record by applying directives on the record being passed.
    *
+   * <p>Each record is transformed and its output emitted within this call, as records emitted after the call
+   * returns are not collected by the next stage.</p>
+   *
    * @param input record to be transformed.
    * @param emitter to collect all the output of the transformation.
    * @throws Exception thrown if there are any issue with the transformation.
@@ -432,23 +459,9 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> impl
 
     try {
       // Creates a row as starting point for input to the pipeline.
-      Row row = new Row();
-      if ("*".equalsIgnoreCase(config.getField())) {
-        row = StructuredToRowTransformer.transform(input);
-      } else if ("#".equalsIgnoreCase(config.getField())) {
-        row.add(input.getSchema().getRecordName(), input);
-      } else {
-        row.add(config.getField(), StructuredToRowTransformer.getValue(input, config.getField()));
-      }
-
-      // If pre-condition is set, then evaluate the precondition
-      if (PRECONDITION_LANGUAGE_JEXL.equalsIgnoreCase(config.getPreconditionLanguage())
-          && checkPreconditionNotEmpty(false)) {
-        boolean skip = condition.apply(row);
-        if (skip) {
-          getContext().getMetrics().count("precondition.filtered", 1);
-          return; // Expression evaluated to true, so we skip the record.
-        }
+      Row row = createRow(input);
+      if (isFiltered(row)) {
+        return; // Expression evaluated to true, so we skip the record.
       }
 
       // Reset record aggregation store.
@@ -456,7 +469,7 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> impl
       store.reset(TransientVariableScope.LOCAL);
 
       start = System.nanoTime();
-      records = pipeline.execute(Collections.singletonList(row), oSchema);
+      records = toRecords(pipeline.execute(Collections.singletonList(row)));
       // We now extract errors from the execution and pass it on to the error emitter.
       List<ErrorRecord> errors = pipeline.errors();
       if (errors.size() > 0) {
@@ -466,8 +479,7 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> impl
           emitter.emitError(new InvalidEntry<>(error.getCode(), error.getMessage(), input));
           errorMessages.add(error.getMessage());
         }
-        if (WRANGLER_FAIL_PIPELINE_FOR_ERROR.isEnabled(getContext())
-            && onErrorStrategy.equalsIgnoreCase(ON_ERROR_FAIL_PIPELINE)) {
+        if (failsPipelineOnError()) {
           String errorReason = String.format("Errors in Wrangler Transformation - %s",
               errorMessages);
           throw ErrorUtils.getProgramFailureException(
@@ -476,53 +488,99 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> impl
         }
       }
     } catch (Exception e) {
-      getContext().getMetrics().count("failure", 1);
-      if (onErrorStrategy.equalsIgnoreCase(ON_ERROR_PROCEED)) {
-        // Emit error record, if the Error flattener or error handlers are not connected, then
-        // the record is automatically omitted.
-        emitter.emitError(new InvalidEntry<>(0, e.getMessage(), input));
-        return;
-      }
-      if (onErrorStrategy.equalsIgnoreCase(ON_ERROR_FAIL_PIPELINE)) {
-        emitter.emitAlert(ImmutableMap.of(
-          "stage", getContext().getStageName(),
-          "code", String.valueOf(1),
-          "message", String.format("Stopping pipeline stage %s on error %s",
-                                   getContext().getStageName(), e.getMessage()),
-          "value", String.valueOf(errorCounter)
-        ));
-        String errorReason = "Error occurred while processing input data, possibly due to invalid "
-            + "transformation or schema mismatch.";
-        String errorMessage = String.format("Pipeline failed at stage:%s, %s: %s",
-            getContext().getStageName(), e.getClass().getName(), e.getMessage());
-        throw WranglerErrorUtil.getProgramFailureExceptionDetailsFromChain(e, errorReason,
-            errorMessage, ErrorType.UNKNOWN);
-      }
-      // If it's 'skip-on-error' we continue processing and don't emit any error records.
+      handleFailure(e, input, emitter);
       return;
     } finally {
       getContext().getMetrics().gauge("process.time", System.nanoTime() - start);
     }
 
-    for (StructuredRecord record : records) {
-      StructuredRecord.Builder builder = StructuredRecord.builder(oSchema);
-      // Iterate through output schema, if the 'record' doesn't have it, then
-      // attempt to take if from 'input'.
-      for (Schema.Field field : oSchema.getFields()) {
-        Object wObject = record.get(field.getName()); // wrangled records
-        if (wObject == null) {
-          builder.set(field.getName(), null);
-        } else {
-          if (wObject instanceof String) {
-            builder.convertAndSet(field.getName(), (String) wObject);
-          } else {
-            // No need to use specific methods for fields of logical type - timestamp, date and time. This is because
-            // the wObject should already have correct values for corresponding primitive types.
-            builder.set(field.getName(), wObject);
-          }
-        }
+    emitRecords(records, emitter);
+  }
+
+  /**
+   * Creates a row as starting point for input to the pipeline.
+   */
+  private Row createRow(StructuredRecord input) {
+    Row row = new Row();
+    if ("*".equalsIgnoreCase(config.getField())) {
+      Schema schema = input.getSchema();
+      if (schema != layoutSchema && !schema.equals(layoutSchema)) {
+        layout = StructuredToRowTransformer.getLayout(schema);
+        layoutSchema = schema;
+      }
+      row = StructuredToRowTransformer.transform(input, layout);
+    } else if ("#".equalsIgnoreCase(config.getField())) {
+      row.add(input.getSchema().getRecordName(), input);
+    } else {
+      row.add(config.getField(), StructuredToRowTransformer.getValue(input, config.getField()));
+    }
+    return row;
+  }
+
+  /**
+   * @return true if the precondition is set and evaluates to true for the row, in which case it is skipped.
+   */
+  private boolean isFiltered(Row row) throws Exception {
+    if (PRECONDITION_LANGUAGE_JEXL.equalsIgnoreCase(config.getPreconditionLanguage())
+        && checkPreconditionNotEmpty(false)) {
+      boolean skip = condition.apply(row);
+      if (skip) {
+        getContext().getMetrics().count("precondition.filtered", 1);
+        return true;
       }
-      emitter.emit(builder.build());
+    }
+    return false;
+  }
+
+  private boolean failsPipelineOnError() {
+    return WRANGLER_FAIL_PIPELINE_FOR_ERROR.isEnabled(getContext())
+      && onErrorStrategy.equalsIgnoreCase(ON_ERROR_FAIL_PIPELINE);
+  }
+
+  /**
+   * Handles a failure to transform the input record according to the on-error strategy.
+   */
+  private void handleFailure(Exception e, StructuredRecord input, Emitter<StructuredRecord> emitter) {
+    getContext().getMetrics().count("failure", 1);
+    if (onErrorStrategy.equalsIgnoreCase(ON_ERROR_PROCEED)) {
+      // Emit error record, if the Error flattener or error handlers are not connected, then
+      // the record is automatically omitted.
+      emitter.emitError(new InvalidEntry<>(0, e.getMessage(), input));
+      return;
+    }
+    if (onErrorStrategy.equalsIgnoreCase(ON_ERROR_FAIL_PIPELINE)) {
+      emitter.emitAlert(ImmutableMap.of(
+        "stage", getContext().getStageName(),
+        "code", String.valueOf(1),
+        "message", String.format("Stopping pipeline stage %s on error %s",
+                                 getContext().getStageName(), e.getMessage()),
+        "value", String.valueOf(errorCounter)
+      ));
+      String errorReason = "Error occurred while processing input data, possibly due to invalid "
+          + "transformation or schema mismatch.";
+      String errorMessage = String.format("Pipeline failed at stage:%s, %s: %s",
+          getContext().getStageName(), e.getClass().getName(), e.getMessage());
+      throw WranglerErrorUtil.getProgramFailureExceptionDetailsFromChain(e, errorReason,
+          errorMessage, ErrorType.UNKNOWN);
+    }
+    // If it's 'skip-on-error' we continue processing and don't emit any error records.
+  }
+
+  /**
+   * Converts the rows produced by the recipe into records of the output schema.
+   */
+  @SuppressWarnings("unchecked")
+  private List<StructuredRecord> toRecords(List<?> rows) throws RecipeException {
+    try {
+      return writer.write((List<Row>) rows);
+    } catch (RecordConvertorException e) {
+      throw new RecipeException("Problem converting into output record. Reason : " + e.getMessage(), e);
+    }
+  }
+
+  private void emitRecords(List<StructuredRecord> records, Emitter<StructuredRecord> emitter) {
+    for (StructuredRecord record : records) {
+      emitter.emit(record);
     }
   }
 
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2025 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.wrangler;
+
+import com.google.common.collect.ImmutableMap;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.cdap.etl.mock.common.MockEmitter;
+import io.cdap.cdap.etl.mock.transform.MockTransformContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Tests {@link Wrangler}
+ */
+public class WranglerTest {
+
+  private static final Schema SCHEMA = Schema.recordOf("record",
+                                                       Schema.Field.of("name", Schema.of(Schema.Type.STRING)));
+
+  @Test
+  public void testAllRecordsEmittedWithinTransform() throws Exception {
+    Wrangler wrangler = new Wrangler(new Wrangler.Config("jexl", null, "uppercase :name", null, "*",
+                                                         SCHEMA.toString(), null));
+    // Records used to be buffered across calls with this argument, losing the last partial batch.
+    wrangler.initialize(new MockTransformContext("wrangler", ImmutableMap.of("wrangler.transform.batch.size", "4")));
+
+    MockEmitter<StructuredRecord> emitter = new MockEmitter<>();
+    for (int i = 0; i < 7; i++) {
+      wrangler.transform(StructuredRecord.builder(SCHEMA).set("name", "name" + i).build(), emitter);
+      Assert.assertEquals(i + 1, emitter.getEmitted().size());
+    }
+    wrangler.destroy();
+
+    List<StructuredRecord> records = emitter.getEmitted();
+    Assert.assertEquals(7, records.size());
+    for (int i = 0; i < 7; i++) {
+      Assert.assertEquals("NAME" + i, records.get(i).get("name"));
+    }
+  }
+}